@@ -0,0 +1,146 @@
+package com.astrapay.qris;
+
+import com.astrapay.qris.MerchantCategoryCodes.Iso18245MerchantCategoryCode;
+import com.astrapay.qris.MerchantCategoryCodes.MerchantCategoryRange;
+
+/**
+ * Lookup Merchant Category Code [ISO 18245] dengan index array 0 - 9999.
+ * <p>
+ * Validasi kode hanya menggunakan bitmap dari daftar kode pada konstanta {@link #CODES}, sehingga memeriksa MCC
+ * tidak perlu menginisialisasi {@link Iso18245MerchantCategoryCode} beserta deskripsi, TCC, MCG dan TRBC-nya.
+ * Enum tersebut baru diinisialisasi saat {@link #find(int)} pertama kali dipanggil. Kode yang tidak dikenal
+ * menghasilkan {@code false} / {@code null}, bukan exception.
+ * </p>
+ * <p>
+ * {@link #CODES} dibuat dari {@link Iso18245MerchantCategoryCode}, dan enum tetap menjadi sumber daftar kode.
+ * Setelah enum diubah, jalankan {@code mvn test -Dtest=MerchantCategoryCodeRegistryTest}: test
+ * {@code testCodesSameAsEnum} gagal dan pesannya berisi literal {@link #CODES} baru yang dibuat dari enum, siap
+ * disalin ke class ini.
+ * </p>
+ * <b>4.7.6</b> Merchant Category Code (ID "52")<br/>
+ * <b>4.7.6.1</b> Merchant Category Code (MCC) harus memuat informasi MCC yang didefinisikan oleh [ISO 18245].
+ */
+public final class MerchantCategoryCodeRegistry {
+
+    /**
+     * Kode MCC terbesar.
+     */
+    public static final int MAX_CODE = 9999;
+
+    private static final int CODE_LENGTH = 4;
+
+    /**
+     * Seluruh kode {@link Iso18245MerchantCategoryCode}, masing-masing 4 digit, urut dari kecil ke besar,
+     * 24 kode per baris. Dibuat ulang dari enum, lihat javadoc class.
+     */
+    static final String CODES =
+            "074207630780152017111731174017501761177117992741279128423000300130023003300430053006300730083009" +
+            "301030113012301330143015301630173018301930203021302230233024302530263027302830293030303130323033" +
+            "303430353036303730383039304030413042304330443045304630473048304930503051305230533054305530563057" +
+            "305830603061306230633064306530663067306830693071307230753076307730783079308130823083308430853086" +
+            "308730893090309430963097309830993100310231033106311031113112311531173118312531263127312931303131" +
+            "313231333135313631373138314331443145314631483151315431593161316431653167317031713172317431753176" +
+            "317731783180318131823183318431853186318731883190319131923193319631973200320332043206321132123213" +
+            "321532163217321832193220322132223223322832293231323332343235323632383239324032413242324332453246" +
+            "324732483251325232533254325632593261326232633266326732733274328032823284328532863287329232933294" +
+            "329532963297329832993351335233533354335733593360336133623364336633683370337433763380338133853386" +
+            "338733893390339133933394339533963398340034053409341234143420342134233425342734283429343034313432" +
+            "343334343435343634373438343934413501350235033504350535063507350835093510351135123513351435153516" +
+            "351735183519352035213522352335243525352735283529353035313532353335343535353635373538353935403541" +
+            "354235433544354535463547354835493550355135523553355435553556355735583559356035613562356335643565" +
+            "356635673568356935703571357235733574357535763577357835793580358135823583358435853586358735883589" +
+            "359035913592359335943595359635973598359936003601360236033604360536063607360836093610361136123613" +
+            "361436153616361736183619362036213622362336243625362636273628362936303631363236333634363536363637" +
+            "363836393640364136423643364436453646364736483649365036513652365336543655365636573658365936603661" +
+            "366236633664366536663667366836693670367136723673367436753676367736783679368036813682368336843685" +
+            "368636873688368936903691369236933694369536963697369836993700370137023703370437053706370737083709" +
+            "371037113712371337143715371637173718371937203721372237233724372537263727372837293730373137323733" +
+            "373437353736373737383739374037413742374337443745374637473748374937503751375237533754375537573758" +
+            "375937603761376237633764376537663767376837693770377137723773377437753776377737783779378037813782" +
+            "378337843785378637873788378937903791379237933794379537963797379837993800380138023803380438053806" +
+            "380738083809381038113812381338143815381638173818381938203821382238233824382538263827382838293830" +
+            "383140114111411241194121413142144215422544114457446845114582472247234784478948124813481448164821" +
+            "482948994900501350215039504450455046504750515065507250745085509450995111512251315137513951695172" +
+            "519251935198519952005211523152515261527153005309531053115331539954115422544154515462549955115521" +
+            "553155325533554155425551556155715592559855995611562156315641565156555661568156915697569856995712" +
+            "571357145718571957225732573357345735581158125813581458155816581758185912592159315932593359355937" +
+            "594059415942594359445945594659475948594959505960596259635964596559665967596859695970597159725973" +
+            "597559765977597859835992599359945995599659975998599960106011601260506051621163006513652965306531" +
+            "653265336534653570117012703270337210721172167217722172307251726172737276727772787296729772987299" +
+            "731173217333733873397342734973617372737573797392739373947395739975117512751375197523753175347535" +
+            "753875427549762276237629763176417692769978007801782978327841791179227929793279337941799179927993" +
+            "799479957996799779987999801180218031804180428043804980508062807180998111821182208241824482498299" +
+            "8351839886418651866186758699873489118931899992119222922393119399940294059700970197029751";
+
+    private static final long[] VALID = new long[(MAX_CODE >> 6) + 1];
+
+    static {
+        for (int i = 0; i < CODES.length(); i += CODE_LENGTH) {
+            int code = (CODES.charAt(i) - '0') * 1000 + (CODES.charAt(i + 1) - '0') * 100
+                    + (CODES.charAt(i + 2) - '0') * 10 + (CODES.charAt(i + 3) - '0');
+            VALID[code >> 6] |= 1L << code;
+        }
+    }
+
+    private MerchantCategoryCodeRegistry() {
+    }
+
+    /**
+     * @param code kode MCC
+     * @return true jika kode terdaftar di [ISO 18245]
+     */
+    public static boolean isValid(int code) {
+        return code >= 0 && code <= MAX_CODE && (VALID[code >> 6] & (1L << code)) != 0;
+    }
+
+    /**
+     * @param value Value Merchant Category Code (ID "52")
+     * @return true jika Value berupa 4 digit angka dan terdaftar di [ISO 18245]
+     */
+    public static boolean isValid(CharSequence value) {
+        if (value == null || value.length() != CODE_LENGTH) {
+            return false;
+        }
+        int code = 0;
+        for (int i = 0; i < CODE_LENGTH; i++) {
+            int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return false;
+            }
+            code = code * 10 + digit;
+        }
+        return isValid(code);
+    }
+
+    /**
+     * @param code kode MCC
+     * @return MCC beserta metadata-nya, atau null jika kode tidak terdaftar
+     */
+    public static Iso18245MerchantCategoryCode find(int code) {
+        return isValid(code) ? Holder.CODES[code] : null;
+    }
+
+    /**
+     * @param code kode MCC
+     * @return range kategori, atau null jika kode di luar range yang dialokasikan
+     */
+    public static MerchantCategoryRange findRange(int code) {
+        return MerchantCategoryRange.find(code);
+    }
+
+    /**
+     * Diinisialisasi saat metadata MCC pertama kali dibutuhkan.
+     */
+    private static final class Holder {
+
+        private static final Iso18245MerchantCategoryCode[] CODES = new Iso18245MerchantCategoryCode[MAX_CODE + 1];
+
+        static {
+            for (Iso18245MerchantCategoryCode mcc : Iso18245MerchantCategoryCode.values()) {
+                if (CODES[mcc.getCode()] == null) {
+                    CODES[mcc.getCode()] = mcc;
+                }
+            }
+        }
+    }
+}
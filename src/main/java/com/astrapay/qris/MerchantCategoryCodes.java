@@ -146,6 +146,21 @@ public interface MerchantCategoryCodes {
         private final int startRange;
         private final int endRange;
 
+        /**
+         * Category range per code 0 - 9999, first declared range wins
+         */
+        private static final MerchantCategoryRange[] BY_CODE = new MerchantCategoryRange[MerchantCategoryCodeRegistry.MAX_CODE + 1];
+
+        static {
+            for (MerchantCategoryRange category : values()) {
+                for (int code = category.startRange; code <= category.endRange; code++) {
+                    if (BY_CODE[code] == null) {
+                        BY_CODE[code] = category;
+                    }
+                }
+            }
+        }
+
         /**
          * Builds a new Merchant Category range given start and range and description
          */
@@ -177,18 +192,20 @@ public interface MerchantCategoryCodes {
          * @throws IllegalArgumentException IllegalArgumentException
          */
         public static MerchantCategoryRange valueOf(int code) throws IllegalArgumentException {
-            MerchantCategoryRange schemeCategory = null;
-            for (MerchantCategoryRange category : values()) {
-                if (code >= category.startRange && code <= category.endRange) {
-                    schemeCategory = category;
-                    break;
-                }
-            }
+            MerchantCategoryRange schemeCategory = find(code);
             if (schemeCategory == null)
                 throw new IllegalArgumentException("Invalid code (" + code + "): outside of allocated ranges"); //$NON-NLS-1$ //$NON-NLS-2$
             return schemeCategory;
         }
 
+        /**
+         * @param code code
+         * @return MerchantCategoryRange, or null if outside of allocated ranges
+         */
+        static MerchantCategoryRange find(int code) {
+            return code >= 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+        }
+
         /**
          * Return a Human readable representation of this Country Code.
          */
@@ -5609,12 +5626,7 @@ public interface MerchantCategoryCodes {
          * @throws IllegalArgumentException if the code is not recognised
          */
         public static Iso18245MerchantCategoryCode valueOf(int code) throws IllegalArgumentException {
-            Iso18245MerchantCategoryCode merchantCategoryCode = null;
-            for (Iso18245MerchantCategoryCode mcc : values())
-                if (mcc.getCode() == code) {
-                    merchantCategoryCode = mcc;
-                    break;
-                }
+            Iso18245MerchantCategoryCode merchantCategoryCode = MerchantCategoryCodeRegistry.find(code);
             if (merchantCategoryCode == null) throw new IllegalArgumentException("Invalid MCC " + code);
             return merchantCategoryCode;
         }
@@ -0,0 +1,161 @@
+package com.astrapay.qris;
+
+/**
+ * Validasi kelas karakter QRIS tanpa regex dan tanpa alokasi, langsung pada range {@link CharSequence}.
+ * <p>
+ * Setiap method memberikan hasil yang sama dengan regex yang sebelumnya dipakai oleh validator, sehingga dapat
+ * dipakai bersama oleh validator MPM tanpa {@code Pattern.compile} per panggilan. Nilai {@code null} selalu
+ * menghasilkan {@code false}.
+ * </p>
+ */
+public final class QrisCharacters {
+
+    /**
+     * Panjang maksimum satu label domain.
+     */
+    private static final int MAX_LABEL_LENGTH = 63;
+
+    private static final int MIN_TLD_LENGTH = 2;
+    private static final int MIN_DOMAIN_LENGTH = 4;
+    private static final int MAX_DOMAIN_LENGTH = 253;
+    private static final int MAX_AMOUNT_DECIMALS = 2;
+
+    private QrisCharacters() {
+    }
+
+    /**
+     * Sama dengan regex {@code \d+}.
+     *
+     * @param value nilai
+     * @return true jika tidak kosong dan hanya berisi digit "0" hingga "9"
+     */
+    public static boolean isDigits(CharSequence value) {
+        return value != null && isDigits(value, 0, value.length());
+    }
+
+    /**
+     * @param value nilai
+     * @param start index awal (inklusif)
+     * @param end   index akhir (eksklusif)
+     * @return true jika range tidak kosong dan hanya berisi digit "0" hingga "9"
+     */
+    public static boolean isDigits(CharSequence value, int start, int end) {
+        if (start >= end) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (!isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * <b>4.7.8.1</b> Transaction Amount, sama dengan regex
+     * {@code ^(([1-9]\d{0,2}(\d{3})*)|(([1-9]\d*)?\d))(\.\d{0,2})?$}: bilangan bulat tanpa nol di depan (kecuali
+     * satu digit), diikuti "." dengan nol hingga dua digit desimal secara opsional.
+     *
+     * @param value nilai
+     * @return true jika sesuai format nominal
+     */
+    public static boolean isAmount(CharSequence value) {
+        return value != null && isAmount(value, 0, value.length());
+    }
+
+    /**
+     * @param value nilai
+     * @param start index awal (inklusif)
+     * @param end   index akhir (eksklusif)
+     * @return true jika range sesuai format nominal
+     */
+    public static boolean isAmount(CharSequence value, int start, int end) {
+        int i = start;
+        while (i < end && isDigit(value.charAt(i))) {
+            i++;
+        }
+        int integers = i - start;
+        if (integers == 0 || (integers > 1 && value.charAt(start) == '0')) {
+            return false;
+        }
+        if (i == end) {
+            return true;
+        }
+        if (value.charAt(i) != '.') {
+            return false;
+        }
+        int decimals = end - i - 1;
+        return decimals <= MAX_AMOUNT_DECIMALS && (decimals == 0 || isDigits(value, i + 1, end));
+    }
+
+    /**
+     * <b>4.7.5.3</b> Reverse Domain, misalnya "ID.CO.ASTRAPAY.WWW".
+     * <p>
+     * Sama dengan membalik urutan label hasil {@code split("\\.")} lalu mencocokkan domain dengan regex
+     * {@code (?=^.{4,253}\.?$)(^((?!-)[a-zA-Z0-9-]{1,63}(?<!-)\.)+[a-zA-Z]{2,63}\.?$)}: label pertama merupakan
+     * TLD berisi 2 - 63 huruf, diikuti minimal satu label 1 - 63 karakter huruf, angka atau "-" yang tidak diawali
+     * maupun diakhiri "-". Titik di akhir diabaikan oleh {@code split}, sedangkan satu titik di awal menjadi titik
+     * di akhir domain.
+     * </p>
+     *
+     * @param value nilai
+     * @return true jika reverse domain valid
+     */
+    public static boolean isReverseDomain(CharSequence value) {
+        return value != null && isReverseDomain(value, 0, value.length());
+    }
+
+    /**
+     * @param value nilai
+     * @param start index awal (inklusif)
+     * @param end   index akhir (eksklusif)
+     * @return true jika range berisi reverse domain yang valid
+     */
+    public static boolean isReverseDomain(CharSequence value, int start, int end) {
+        while (end > start && value.charAt(end - 1) == '.') {
+            end--;
+        }
+        int i = start;
+        boolean leadingDot = i < end && value.charAt(i) == '.';
+        if (leadingDot) {
+            i++;
+        }
+        int length = end - start;
+        if (length < MIN_DOMAIN_LENGTH || length > MAX_DOMAIN_LENGTH + (leadingDot ? 1 : 0)) {
+            return false;
+        }
+        int tldStart = i;
+        while (i < end && isLetter(value.charAt(i))) {
+            i++;
+        }
+        int tldLength = i - tldStart;
+        if (tldLength < MIN_TLD_LENGTH || tldLength > MAX_LABEL_LENGTH || i == end || value.charAt(i) != '.') {
+            return false;
+        }
+        while (i < end) {
+            // value.charAt(i) == '.'
+            int labelStart = ++i;
+            while (i < end && value.charAt(i) != '.') {
+                char c = value.charAt(i);
+                if (!isLetter(c) && !isDigit(c) && c != '-') {
+                    return false;
+                }
+                i++;
+            }
+            int labelLength = i - labelStart;
+            if (labelLength == 0 || labelLength > MAX_LABEL_LENGTH
+                    || value.charAt(labelStart) == '-' || value.charAt(i - 1) == '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+}
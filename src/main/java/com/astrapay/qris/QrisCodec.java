@@ -0,0 +1,419 @@
+package com.astrapay.qris;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Konversi HEX, compressed numeric (BCD dengan padding "F"), alphanumeric dan base64 untuk QR CPM menggunakan tabel
+ * lookup 256 entry.
+ * <p>
+ * Setiap konversi tersedia untuk range {@code byte[]}/{@link CharSequence} dan dapat menulis ke buffer milik
+ * pemanggil, sehingga encoder dan parser tidak perlu membuat String atau array perantara. Hasilnya sama byte per byte
+ * dengan {@link QrisHexConverter} (commons-codec {@code Hex}, {@link String#getBytes()} dan {@link java.util.Base64}),
+ * yang kini mendelegasikan ke class ini.
+ * </p>
+ * <p>
+ * Input tidak valid ditolak dengan {@link IllegalArgumentException}. Alphanumeric menggunakan default charset seperti
+ * {@link String#getBytes()}; karakter ASCII ditulis langsung tanpa encoder charset.
+ * </p>
+ */
+public final class QrisCodec {
+
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+    private static final byte[] BASE64_DIGITS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".getBytes(StandardCharsets.US_ASCII);
+    private static final byte BASE64_PAD = '=';
+    private static final int COMPRESSED_NUMERIC_PADDING = 0x0F;
+    private static final char COMPRESSED_NUMERIC_PADDING_DIGIT = 'F';
+    private static final int INVALID = -1;
+
+    // nilai nibble untuk karakter ASCII, -1 jika bukan hexadecimal
+    private static final int[] HEX_VALUES = new int[256];
+    // dua karakter HEX huruf besar untuk setiap byte, high nibble pada index 2n dan low nibble pada 2n + 1
+    private static final char[] HEX_PAIRS = new char[512];
+    // nilai 6 bit untuk karakter base64, -1 jika bukan karakter base64
+    private static final int[] BASE64_VALUES = new int[256];
+
+    private static final String ERROR_ODD_HEX = "Odd number of characters.";
+    private static final String ERROR_ILLEGAL_HEX = "Illegal hexadecimal character %s at index %d";
+    private static final String ERROR_ILLEGAL_BASE64 = "Illegal base64 character %s";
+    private static final String ERROR_BASE64_ENDING_UNIT = "Input byte array has wrong 4-byte ending unit";
+    private static final String ERROR_BASE64_LAST_UNIT = "Last unit does not have enough valid bits";
+    private static final String ERROR_BASE64_ENDING_BYTE = "Input byte array has incorrect ending byte at %d";
+    private static final String ERROR_BASE64_TOO_SHORT = "Input byte[] should at least have 2 bytes for base64 bytes";
+
+    static {
+        Arrays.fill(HEX_VALUES, INVALID);
+        for (int i = 0; i < 10; i++) {
+            HEX_VALUES['0' + i] = i;
+        }
+        for (int i = 0; i < 6; i++) {
+            HEX_VALUES['A' + i] = 10 + i;
+            HEX_VALUES['a' + i] = 10 + i;
+        }
+        for (int i = 0; i < 256; i++) {
+            HEX_PAIRS[i * 2] = HEX_DIGITS[i >>> 4];
+            HEX_PAIRS[i * 2 + 1] = HEX_DIGITS[i & 0x0F];
+        }
+        Arrays.fill(BASE64_VALUES, INVALID);
+        for (int i = 0; i < BASE64_DIGITS.length; i++) {
+            BASE64_VALUES[BASE64_DIGITS[i]] = i;
+        }
+    }
+
+    private QrisCodec() {
+    }
+
+    // ---------------------------------------------------------------- HEX
+
+    /**
+     * @param value byte
+     * @return HEX huruf besar
+     */
+    public static String encodeHex(byte[] value) {
+        return encodeHex(value, 0, value.length);
+    }
+
+    /**
+     * @param source byte
+     * @param offset offset awal
+     * @param length jumlah byte
+     * @return HEX huruf besar
+     */
+    public static String encodeHex(byte[] source, int offset, int length) {
+        char[] hex = new char[length * 2];
+        encodeHex(source, offset, length, hex, 0);
+        return new String(hex);
+    }
+
+    /**
+     * @param source       byte
+     * @param offset       offset awal
+     * @param length       jumlah byte
+     * @param target       buffer tujuan, minimal {@code length * 2} karakter dari {@code targetOffset}
+     * @param targetOffset offset tujuan
+     * @return offset setelah karakter terakhir yang ditulis
+     */
+    public static int encodeHex(byte[] source, int offset, int length, char[] target, int targetOffset) {
+        for (int i = offset, end = offset + length; i < end; i++) {
+            int pair = (source[i] & 0xFF) << 1;
+            target[targetOffset++] = HEX_PAIRS[pair];
+            target[targetOffset++] = HEX_PAIRS[pair + 1];
+        }
+        return targetOffset;
+    }
+
+    /**
+     * Sama dengan commons-codec {@code Hex.decodeHex}: huruf besar dan kecil diterima.
+     *
+     * @param hex HEX
+     * @return byte
+     * @throws IllegalArgumentException jika jumlah karakter ganjil atau terdapat karakter bukan hexadecimal
+     */
+    public static byte[] decodeHex(CharSequence hex) {
+        return decodeHex(hex, 0, hex.length());
+    }
+
+    /**
+     * @param hex   HEX
+     * @param start index awal (inklusif)
+     * @param end   index akhir (eksklusif)
+     * @return byte
+     * @throws IllegalArgumentException jika jumlah karakter ganjil atau terdapat karakter bukan hexadecimal
+     */
+    public static byte[] decodeHex(CharSequence hex, int start, int end) {
+        if (((end - start) & 1) != 0) {
+            throw new IllegalArgumentException(ERROR_ODD_HEX);
+        }
+        byte[] target = new byte[(end - start) >> 1];
+        decodeHex(hex, start, end, target, 0);
+        return target;
+    }
+
+    /**
+     * @param hex          HEX dengan jumlah karakter genap
+     * @param start        index awal (inklusif)
+     * @param end          index akhir (eksklusif)
+     * @param target       buffer tujuan, minimal {@code (end - start) / 2} byte dari {@code targetOffset}
+     * @param targetOffset offset tujuan
+     * @return offset setelah byte terakhir yang ditulis
+     * @throws IllegalArgumentException jika jumlah karakter ganjil atau terdapat karakter bukan hexadecimal
+     */
+    public static int decodeHex(CharSequence hex, int start, int end, byte[] target, int targetOffset) {
+        if (((end - start) & 1) != 0) {
+            throw new IllegalArgumentException(ERROR_ODD_HEX);
+        }
+        for (int i = start; i < end; i += 2) {
+            int high = hexValue(hex, i, start);
+            int low = hexValue(hex, i + 1, start);
+            target[targetOffset++] = (byte) ((high << 4) | low);
+        }
+        return targetOffset;
+    }
+
+    /**
+     * Decode HEX tanpa validasi karakter, sama dengan {@link QrisHexConverter#hexStringToByteArray(String)}: karakter
+     * bukan hexadecimal dihitung sebagai nibble -1.
+     *
+     * @param hex HEX
+     * @return byte
+     * @throws StringIndexOutOfBoundsException jika jumlah karakter ganjil
+     */
+    public static byte[] decodeHexUnchecked(CharSequence hex) {
+        int length = hex.length();
+        if ((length & 1) != 0) {
+            throw new StringIndexOutOfBoundsException(length);
+        }
+        byte[] target = new byte[length >> 1];
+        for (int i = 0, j = 0; i < length; i += 2, j++) {
+            target[j] = (byte) ((digit(hex.charAt(i)) << 4) + digit(hex.charAt(i + 1)));
+        }
+        return target;
+    }
+
+    private static int hexValue(CharSequence hex, int index, int start) {
+        char c = hex.charAt(index);
+        int value = digit(c);
+        if (value == INVALID) {
+            throw new IllegalArgumentException(String.format(ERROR_ILLEGAL_HEX, c, index - start));
+        }
+        return value;
+    }
+
+    private static int digit(char c) {
+        // Character.digit juga menerima digit Unicode, dipertahankan untuk karakter di luar ASCII
+        return c < 0x80 ? HEX_VALUES[c] : Character.digit(c, 16);
+    }
+
+    // ---------------------------------------------------------------- compressed numeric
+
+    /**
+     * Compressed numeric (cn) EMV: dua digit per byte, jumlah digit ganjil diberi padding "F".
+     *
+     * @param digits digit
+     * @return byte
+     * @throws IllegalArgumentException jika terdapat karakter bukan hexadecimal
+     */
+    public static byte[] encodeCompressedNumeric(CharSequence digits) {
+        int length = digits.length();
+        byte[] target = new byte[(length + 1) >> 1];
+        encodeCompressedNumeric(digits, 0, length, target, 0);
+        return target;
+    }
+
+    /**
+     * @param digits       digit
+     * @param start        index awal (inklusif)
+     * @param end          index akhir (eksklusif)
+     * @param target       buffer tujuan, minimal {@code (end - start + 1) / 2} byte dari {@code targetOffset}
+     * @param targetOffset offset tujuan
+     * @return offset setelah byte terakhir yang ditulis
+     * @throws IllegalArgumentException jika terdapat karakter bukan hexadecimal
+     */
+    public static int encodeCompressedNumeric(CharSequence digits, int start, int end, byte[] target, int targetOffset) {
+        int evenEnd = end - ((end - start) & 1);
+        targetOffset = decodeHex(digits, start, evenEnd, target, targetOffset);
+        if (evenEnd < end) {
+            target[targetOffset++] = (byte) ((hexValue(digits, evenEnd, start) << 4) | COMPRESSED_NUMERIC_PADDING);
+        }
+        return targetOffset;
+    }
+
+    /**
+     * @param source byte compressed numeric
+     * @param offset offset awal
+     * @param length jumlah byte
+     * @return digit dalam HEX huruf besar, tanpa satu padding "F" terakhir
+     */
+    public static String decodeCompressedNumeric(byte[] source, int offset, int length) {
+        int hexLength = length * 2;
+        if (length > 0 && (source[offset + length - 1] & 0x0F) == COMPRESSED_NUMERIC_PADDING) {
+            hexLength--;
+        }
+        char[] hex = new char[length * 2];
+        encodeHex(source, offset, length, hex, 0);
+        return new String(hex, 0, hexLength);
+    }
+
+    /**
+     * @param hex HEX compressed numeric
+     * @return jumlah karakter tanpa satu padding "F" terakhir
+     */
+    public static int compressedNumericLength(CharSequence hex) {
+        int length = hex.length();
+        return length > 0 && hex.charAt(length - 1) == COMPRESSED_NUMERIC_PADDING_DIGIT ? length - 1 : length;
+    }
+
+    // ---------------------------------------------------------------- alphanumeric
+
+    /**
+     * Sama dengan {@link String#getBytes()}.
+     *
+     * @param value alphanumeric
+     * @return byte
+     */
+    public static byte[] encodeAlphaNumeric(CharSequence value) {
+        int length = value.length();
+        byte[] target = new byte[length];
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                return value.toString().getBytes(Charset.defaultCharset());
+            }
+            target[i] = (byte) c;
+        }
+        return target;
+    }
+
+    /**
+     * Sama dengan {@code new String(bytes)}.
+     *
+     * @param source byte
+     * @param offset offset awal
+     * @param length jumlah byte
+     * @return alphanumeric
+     */
+    public static String decodeAlphaNumeric(byte[] source, int offset, int length) {
+        return new String(source, offset, length, Charset.defaultCharset());
+    }
+
+    /**
+     * @param hex   HEX dari byte alphanumeric
+     * @param start index awal (inklusif)
+     * @param end   index akhir (eksklusif)
+     * @return alphanumeric
+     * @throws IllegalArgumentException jika HEX tidak valid
+     */
+    public static String decodeAlphaNumericHex(CharSequence hex, int start, int end) {
+        byte[] bytes = decodeHex(hex, start, end);
+        return decodeAlphaNumeric(bytes, 0, bytes.length);
+    }
+
+    // ---------------------------------------------------------------- base64
+
+    /**
+     * @param length jumlah byte
+     * @return jumlah karakter base64 dengan padding
+     */
+    public static int base64Length(int length) {
+        return (length + 2) / 3 * 4;
+    }
+
+    /**
+     * Sama dengan {@code Base64.getEncoder().encodeToString(...)}.
+     *
+     * @param source byte
+     * @param offset offset awal
+     * @param length jumlah byte
+     * @return base64 dengan padding
+     */
+    public static String encodeBase64(byte[] source, int offset, int length) {
+        byte[] target = new byte[base64Length(length)];
+        encodeBase64(source, offset, length, target, 0);
+        return new String(target, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Base64 (RFC 4648, dengan padding) sebagai byte ASCII.
+     * <p>
+     * {@code target} boleh array yang sama dengan {@code source} selama input berada di bagian akhir area output,
+     * yaitu {@code targetOffset + base64Length(length) == offset + length}: setiap kelompok 3 byte dibaca sebelum
+     * 4 karakternya ditulis, dan posisi tulis tidak pernah melewati posisi baca kelompok berikutnya.
+     * </p>
+     *
+     * @param source       byte
+     * @param offset       offset awal
+     * @param length       jumlah byte
+     * @param target       buffer tujuan, minimal {@link #base64Length(int)} byte dari {@code targetOffset}
+     * @param targetOffset offset tujuan
+     * @return offset setelah karakter terakhir yang ditulis
+     */
+    public static int encodeBase64(byte[] source, int offset, int length, byte[] target, int targetOffset) {
+        int read = offset;
+        int end = offset + length;
+        int write = targetOffset;
+        while (end - read >= 3) {
+            int bits = (source[read] & 0xFF) << 16 | (source[read + 1] & 0xFF) << 8 | (source[read + 2] & 0xFF);
+            read += 3;
+            target[write++] = BASE64_DIGITS[bits >>> 18];
+            target[write++] = BASE64_DIGITS[(bits >>> 12) & 0x3F];
+            target[write++] = BASE64_DIGITS[(bits >>> 6) & 0x3F];
+            target[write++] = BASE64_DIGITS[bits & 0x3F];
+        }
+        int remaining = end - read;
+        if (remaining > 0) {
+            int bits = (source[read] & 0xFF) << 16 | (remaining == 2 ? (source[read + 1] & 0xFF) << 8 : 0);
+            target[write++] = BASE64_DIGITS[bits >>> 18];
+            target[write++] = BASE64_DIGITS[(bits >>> 12) & 0x3F];
+            target[write++] = remaining == 2 ? BASE64_DIGITS[(bits >>> 6) & 0x3F] : BASE64_PAD;
+            target[write++] = BASE64_PAD;
+        }
+        return write;
+    }
+
+    /**
+     * Sama dengan {@code Base64.getDecoder().decode(...)}: padding boleh tidak ditulis, tetapi jika ditulis harus
+     * lengkap dan berada di akhir.
+     *
+     * @param base64 base64
+     * @return byte
+     * @throws IllegalArgumentException jika base64 tidak valid
+     */
+    public static byte[] decodeBase64(CharSequence base64) {
+        int length = base64.length();
+        if (length == 1) {
+            throw new IllegalArgumentException(ERROR_BASE64_TOO_SHORT);
+        }
+        int dataLength = length;
+        if (dataLength > 0 && base64.charAt(dataLength - 1) == BASE64_PAD) {
+            dataLength--;
+            if (dataLength > 0 && base64.charAt(dataLength - 1) == BASE64_PAD) {
+                dataLength--;
+            }
+        }
+        int remainder = dataLength & 3;
+        byte[] target = new byte[(dataLength >> 2) * 3 + (remainder == 0 ? 0 : remainder - 1)];
+
+        int bits = 0;
+        int count = 0;
+        int write = 0;
+        int position = 0;
+        while (position < length) {
+            char c = base64.charAt(position++);
+            if (c == BASE64_PAD) {
+                // "=" hanya boleh setelah 2 karakter (diikuti "=") atau 3 karakter dalam satu unit
+                if (count == 2 && (position == length || base64.charAt(position++) != BASE64_PAD) || count == 0) {
+                    throw new IllegalArgumentException(ERROR_BASE64_ENDING_UNIT);
+                }
+                break;
+            }
+            int value = c < 0x100 ? BASE64_VALUES[c] : INVALID;
+            if (value == INVALID) {
+                // pesan sama dengan java.util.Base64 yang membaca input sebagai ISO-8859-1
+                byte illegal = c < 0x100 ? (byte) c : (byte) '?';
+                throw new IllegalArgumentException(String.format(ERROR_ILLEGAL_BASE64, Integer.toString(illegal, 16)));
+            }
+            bits = (bits << 6) | value;
+            if (++count == 4) {
+                target[write++] = (byte) (bits >> 16);
+                target[write++] = (byte) (bits >> 8);
+                target[write++] = (byte) bits;
+                bits = 0;
+                count = 0;
+            }
+        }
+        if (count == 1) {
+            throw new IllegalArgumentException(ERROR_BASE64_LAST_UNIT);
+        }
+        if (count == 2) {
+            target[write] = (byte) (bits >> 4);
+        } else if (count == 3) {
+            target[write++] = (byte) (bits >> 10);
+            target[write] = (byte) (bits >> 2);
+        }
+        if (position < length) {
+            throw new IllegalArgumentException(String.format(ERROR_BASE64_ENDING_BYTE, position));
+        }
+        return target;
+    }
+}
@@ -1,7 +1,5 @@
 package com.astrapay.qris;
 
-import java.nio.charset.StandardCharsets;
-
 public final class QrisCommon {
 
     /**
@@ -11,20 +9,31 @@ public final class QrisCommon {
      * @return 4-character hexadecimal checksum
      */
     public static String generateChecksum(String payload) {
-        int checksum = 0xFFFF;
-        int polynomial = 0x1021;
-        byte[] data = payload.getBytes(StandardCharsets.UTF_8);
-        for (byte b : data) {
-            for (int i = 0; i < 8; i++) {
-                boolean bit = ((b >> (7 - i) & 1) == 1);
-                boolean c15 = ((checksum >> 15 & 1) == 1);
-                checksum <<= 1;
-                if (c15 ^ bit) {
-                    checksum ^= polynomial;
-                }
-            }
-        }
-        checksum &= 0xFFFF;
-        return String.format("%04X", checksum);
+        return QrisCrc16.toHexString(QrisCrc16.compute(payload));
+    }
+
+    /**
+     * Generate CRC-16 checksum untuk range {@code [start, end)} dari QR text tanpa membuat String baru.
+     * <p>Karakter non-ASCII dihitung sebagai byte UTF-8, sama dengan {@link #generateChecksum(String)}.</p>
+     *
+     * @param payload QR text
+     * @param start   offset awal (inclusive)
+     * @param end     offset akhir (exclusive)
+     * @return 4-character hexadecimal checksum
+     */
+    public static String generateChecksum(CharSequence payload, int start, int end) {
+        return QrisCrc16.toHexString(QrisCrc16.compute(payload, start, end));
+    }
+
+    /**
+     * Generate CRC-16 checksum untuk byte QR text.
+     *
+     * @param payload byte array QR text
+     * @param offset  offset awal
+     * @param length  jumlah byte yang dihitung
+     * @return 4-character hexadecimal checksum
+     */
+    public static String generateChecksum(byte[] payload, int offset, int length) {
+        return QrisCrc16.toHexString(QrisCrc16.compute(payload, offset, length));
     }
-}
\ No newline at end of file
+}
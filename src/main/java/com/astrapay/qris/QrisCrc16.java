@@ -0,0 +1,283 @@
+package com.astrapay.qris;
+
+/**
+ * CRC-16 untuk QRIS (ID "63") menggunakan polynomial '1021' (hex) dan initial value 'FFFF' (hex).
+ * <p>
+ * Perhitungan menggunakan tabel 256 entry (satu lookup per byte). Input {@link CharSequence} dihitung sebagai byte
+ * UTF-8 tanpa membuat String atau byte array perantara, sehingga hasilnya sama dengan
+ * {@code payload.getBytes(StandardCharsets.UTF_8)}.
+ * </p>
+ * <p>
+ * Selain method static one-shot, instance class ini merupakan state yang dapat dilanjutkan: prefix yang tidak
+ * berubah dapat dihitung sekali, lalu di-{@link #copy()} untuk setiap payload yang dibuat dari prefix tersebut.
+ * Instance tidak thread-safe.
+ * </p>
+ * <b>4.7.16.1</b> Checksum wajib dihitung sesuai dengan [ISO/IEC 13239] menggunakan polynomial '1021' (hex) dan initial value 'FFFF' (hex). Data yang dihitung adalah seluruh data object termasuk ID, panjang karakter, Value, serta ID dan Panjang karakter dari CRC sendiri (tidak termasuk Value dari CRC).<br/>
+ * <b>4.7.16.2</b> Penghitungan checksum menghasilkan nilai 2-byte hexadecimal yang wajib ditulis dalam 4-character Alphanumeric Special.
+ */
+public final class QrisCrc16 {
+
+    /**
+     * Initial value 'FFFF' (hex).
+     */
+    public static final int INITIAL = 0xFFFF;
+
+    /**
+     * Panjang checksum dalam hexadecimal.
+     */
+    public static final int HEX_LENGTH = 4;
+
+    private static final int POLYNOMIAL = 0x1021;
+    private static final int[] TABLE = new int[256];
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+    private static final char REPLACEMENT = '?';
+
+    static {
+        for (int i = 0; i < TABLE.length; i++) {
+            int crc = i << 8;
+            for (int bit = 0; bit < 8; bit++) {
+                crc = (crc & 0x8000) != 0 ? (crc << 1) ^ POLYNOMIAL : crc << 1;
+            }
+            TABLE[i] = crc & 0xFFFF;
+        }
+    }
+
+    private int value;
+
+    /**
+     * State baru dengan initial value 'FFFF'.
+     */
+    public QrisCrc16() {
+        this(INITIAL);
+    }
+
+    private QrisCrc16(int value) {
+        this.value = value;
+    }
+
+    /**
+     * Lanjutkan perhitungan dari nilai CRC sebelumnya.
+     *
+     * @param value nilai dari {@link #getValue()}
+     * @return state baru
+     */
+    public static QrisCrc16 resume(int value) {
+        return new QrisCrc16(value & 0xFFFF);
+    }
+
+    /**
+     * @return state baru dengan nilai yang sama, untuk checkpoint prefix
+     */
+    public QrisCrc16 copy() {
+        return new QrisCrc16(value);
+    }
+
+    /**
+     * Kembali ke initial value.
+     *
+     * @return state ini
+     */
+    public QrisCrc16 reset() {
+        value = INITIAL;
+        return this;
+    }
+
+    /**
+     * @return nilai CRC saat ini (0 - 0xFFFF)
+     */
+    public int getValue() {
+        return value;
+    }
+
+    /**
+     * @param b byte yang ditambahkan
+     * @return state ini
+     */
+    public QrisCrc16 update(byte b) {
+        value = update(value, b);
+        return this;
+    }
+
+    /**
+     * @param data   byte yang ditambahkan
+     * @param offset offset awal
+     * @param length jumlah byte
+     * @return state ini
+     */
+    public QrisCrc16 update(byte[] data, int offset, int length) {
+        value = update(value, data, offset, length);
+        return this;
+    }
+
+    /**
+     * @param data  karakter yang ditambahkan (dihitung sebagai UTF-8)
+     * @param start offset awal (inclusive)
+     * @param end   offset akhir (exclusive)
+     * @return state ini
+     */
+    public QrisCrc16 update(CharSequence data, int start, int end) {
+        value = update(value, data, start, end);
+        return this;
+    }
+
+    /**
+     * @param data karakter yang ditambahkan (dihitung sebagai UTF-8)
+     * @return state ini
+     */
+    public QrisCrc16 update(CharSequence data) {
+        return update(data, 0, data.length());
+    }
+
+    /**
+     * @param crc nilai CRC sebelumnya
+     * @param b   byte yang ditambahkan
+     * @return nilai CRC baru
+     */
+    public static int update(int crc, byte b) {
+        return ((crc << 8) ^ TABLE[((crc >>> 8) ^ b) & 0xFF]) & 0xFFFF;
+    }
+
+    /**
+     * @param crc    nilai CRC sebelumnya
+     * @param data   byte yang ditambahkan
+     * @param offset offset awal
+     * @param length jumlah byte
+     * @return nilai CRC baru
+     */
+    public static int update(int crc, byte[] data, int offset, int length) {
+        for (int i = offset, end = offset + length; i < end; i++) {
+            crc = ((crc << 8) ^ TABLE[((crc >>> 8) ^ data[i]) & 0xFF]) & 0xFFFF;
+        }
+        return crc;
+    }
+
+    /**
+     * @param crc   nilai CRC sebelumnya
+     * @param data  karakter yang ditambahkan (dihitung sebagai UTF-8)
+     * @param start offset awal (inclusive)
+     * @param end   offset akhir (exclusive)
+     * @return nilai CRC baru
+     */
+    public static int update(int crc, CharSequence data, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = data.charAt(i);
+            if (c < 0x80) {
+                crc = ((crc << 8) ^ TABLE[((crc >>> 8) ^ c) & 0xFF]) & 0xFFFF;
+            } else if (c < 0x800) {
+                crc = update(crc, (byte) (0xC0 | (c >> 6)));
+                crc = update(crc, (byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(data.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, data.charAt(++i));
+                    crc = update(crc, (byte) (0xF0 | (codePoint >> 18)));
+                    crc = update(crc, (byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                    crc = update(crc, (byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                    crc = update(crc, (byte) (0x80 | (codePoint & 0x3F)));
+                } else {
+                    crc = update(crc, (byte) REPLACEMENT);
+                }
+            } else {
+                crc = update(crc, (byte) (0xE0 | (c >> 12)));
+                crc = update(crc, (byte) (0x80 | ((c >> 6) & 0x3F)));
+                crc = update(crc, (byte) (0x80 | (c & 0x3F)));
+            }
+        }
+        return crc;
+    }
+
+    /**
+     * @param data QR text
+     * @return CRC dari seluruh karakter
+     */
+    public static int compute(CharSequence data) {
+        return update(INITIAL, data, 0, data.length());
+    }
+
+    /**
+     * @param data  QR text
+     * @param start offset awal (inclusive)
+     * @param end   offset akhir (exclusive)
+     * @return CRC dari range karakter
+     */
+    public static int compute(CharSequence data, int start, int end) {
+        return update(INITIAL, data, start, end);
+    }
+
+    /**
+     * @param data   byte QR text
+     * @param offset offset awal
+     * @param length jumlah byte
+     * @return CRC dari range byte
+     */
+    public static int compute(byte[] data, int offset, int length) {
+        return update(INITIAL, data, offset, length);
+    }
+
+    /**
+     * Tulis CRC sebagai 4 karakter hexadecimal huruf besar.
+     *
+     * @param crc    nilai CRC
+     * @param target array tujuan
+     * @param offset offset tujuan
+     */
+    public static void toHex(int crc, char[] target, int offset) {
+        target[offset] = HEX[(crc >>> 12) & 0xF];
+        target[offset + 1] = HEX[(crc >>> 8) & 0xF];
+        target[offset + 2] = HEX[(crc >>> 4) & 0xF];
+        target[offset + 3] = HEX[crc & 0xF];
+    }
+
+    /**
+     * Tulis CRC sebagai 4 byte ASCII hexadecimal huruf besar.
+     *
+     * @param crc    nilai CRC
+     * @param target array tujuan
+     * @param offset offset tujuan
+     */
+    public static void toHex(int crc, byte[] target, int offset) {
+        target[offset] = (byte) HEX[(crc >>> 12) & 0xF];
+        target[offset + 1] = (byte) HEX[(crc >>> 8) & 0xF];
+        target[offset + 2] = (byte) HEX[(crc >>> 4) & 0xF];
+        target[offset + 3] = (byte) HEX[crc & 0xF];
+    }
+
+    /**
+     * Tambahkan CRC sebagai 4 karakter hexadecimal huruf besar.
+     *
+     * @param crc    nilai CRC
+     * @param target builder tujuan
+     * @return builder tujuan
+     */
+    public static StringBuilder appendHex(int crc, StringBuilder target) {
+        return target.append(HEX[(crc >>> 12) & 0xF])
+                .append(HEX[(crc >>> 8) & 0xF])
+                .append(HEX[(crc >>> 4) & 0xF])
+                .append(HEX[crc & 0xF]);
+    }
+
+    /**
+     * @param crc nilai CRC
+     * @return 4 karakter hexadecimal huruf besar
+     */
+    public static String toHexString(int crc) {
+        char[] hex = new char[HEX_LENGTH];
+        toHex(crc, hex, 0);
+        return new String(hex);
+    }
+
+    /**
+     * Bandingkan CRC dengan Value hexadecimal (huruf besar) tanpa membuat String.
+     *
+     * @param crc   nilai CRC
+     * @param value Value CRC (ID "63")
+     * @return true jika sama
+     */
+    public static boolean matches(int crc, CharSequence value) {
+        return value != null
+                && value.length() == HEX_LENGTH
+                && value.charAt(0) == HEX[(crc >>> 12) & 0xF]
+                && value.charAt(1) == HEX[(crc >>> 8) & 0xF]
+                && value.charAt(2) == HEX[(crc >>> 4) & 0xF]
+                && value.charAt(3) == HEX[crc & 0xF];
+    }
+}
@@ -1,13 +1,14 @@
 package com.astrapay.qris;
 import org.apache.commons.codec.DecoderException;
-import org.apache.commons.codec.binary.Hex;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.nio.ByteBuffer;
-import java.util.Base64;
 
+/**
+ * Konversi value QRIS ke byte, HEX dan base64. Konversi dilakukan oleh {@link QrisCodec}; class ini mempertahankan
+ * API dan exception yang sudah dipakai ({@link DecoderException} untuk HEX tidak valid).
+ */
 @Service
 public class QrisHexConverter {
 
@@ -23,82 +24,79 @@ public class QrisHexConverter {
 
     public byte[] convertByteOrNumberToArrayByte(String numberOrByte) throws DecoderException {
         //acceptable string is a string that represent byte or number
-        return Hex.decodeHex(numberOrByte);
+        return decodeHex(numberOrByte);
     }
 
     public byte[] convertCompressedNumericToArrayByte(String compressedNumeric) throws DecoderException {
         //acceptable string is a string that represent byte or number
-
-        return Hex.decodeHex(compressedNumeric.length() % EVEN_LENGTH_CHECK == ZERO ? compressedNumeric : compressedNumeric + UNEVEN_COMPRESSED_NUMERIC_SUFFIX);
+        try {
+            return QrisCodec.encodeCompressedNumeric(compressedNumeric);
+        } catch (IllegalArgumentException e) {
+            throw new DecoderException(e.getMessage());
+        }
     }
 
     public byte[] convertAlphaNumericToArrayByte(String alphaNumeric) {
-        return alphaNumeric.getBytes();
+        return QrisCodec.encodeAlphaNumeric(alphaNumeric);
     }
 
 
     //if you want to directly encode all TLV information into HEX
     public String encode(byte[] value, byte[] tags) throws IOException {
-        var value_byteArray = new ByteArrayOutputStream();
-        //TAG INDICATOR
-        value_byteArray.write(tags[FIRST_TAG_HEX_INDEX]);
-        //SUBTAG INDICATOR
-        if(tags.length > SECOND_TAG_HEX_INDEX) {
-            value_byteArray.write(tags[SECOND_TAG_HEX_INDEX]);
-        }
-        //LENGTH INDICATOR
-        value_byteArray.write(value.length);
-        //VALUE
-        value_byteArray.write(value);
-        return Hex.encodeHexString(value_byteArray.toByteArray(), false);
+        return QrisCodec.encodeHex(encodeToByte(value, tags));
     }
 
     //if you want to encode byte[] type of data into HEX
     public String encode(byte[] value) throws IOException {
-        var value_byteArray = new ByteArrayOutputStream();
-        value_byteArray.write(value);
-        return Hex.encodeHexString(value_byteArray.toByteArray(), false);
+        return QrisCodec.encodeHex(value);
     }
 
     //if you want to encode ByteArrayOutputStream type of data into HEX
     public String encode(ByteArrayOutputStream byteArrayOutputStream) {
-        return Hex.encodeHexString(byteArrayOutputStream.toByteArray(), false);
+        return QrisCodec.encodeHex(byteArrayOutputStream.toByteArray());
     }
 
     public byte[] encodeToByte(byte[] value, byte[] tags) throws IOException {
-        var value_byteArray = new ByteArrayOutputStream();
+        int tagLength = tags.length > SECOND_TAG_HEX_INDEX ? 2 : 1;
+        byte[] tlv = new byte[tagLength + 1 + value.length];
         //TAG INDICATOR
-        value_byteArray.write(tags[FIRST_TAG_HEX_INDEX]);
+        tlv[FIRST_TAG_HEX_INDEX] = tags[FIRST_TAG_HEX_INDEX];
         //SUBTAG INDICATOR
         if(tags.length > SECOND_TAG_HEX_INDEX){
-            value_byteArray.write(tags[SECOND_TAG_HEX_INDEX]);
+            tlv[SECOND_TAG_HEX_INDEX] = tags[SECOND_TAG_HEX_INDEX];
         }
-        //LENGTH INDICATOR
-        value_byteArray.write(value.length);
+        //LENGTH INDICATOR, only the low byte is written
+        tlv[tagLength] = (byte) value.length;
         //VALUE
-        value_byteArray.write(value);
-        return value_byteArray.toByteArray();
-
+        System.arraycopy(value, ZERO, tlv, tagLength + 1, value.length);
+        return tlv;
     }
 
     public String encodeToBase64(byte[] value) {
-        return Base64.getEncoder().encodeToString(value);
+        return QrisCodec.encodeBase64(value, ZERO, value.length);
     }
 
     public String encodeToBase64(byte[] value, byte[] tags) throws IOException {
         var valueInByteArray = encodeToByte(value, tags);
-        return Base64.getEncoder().encodeToString(valueInByteArray);
+        return QrisCodec.encodeBase64(valueInByteArray, ZERO, valueInByteArray.length);
     }
 
     public byte[] decodeFromBase64(String value) {
-        return Base64.getDecoder().decode(value);
+        return QrisCodec.decodeBase64(value);
     }
 
     public String convertAlphaNumericHexToString (String hexString) throws DecoderException {
-        return new String(Hex.decodeHex(hexString));
+        return convertAlphaNumericHexToString(hexString, ZERO);
     }
     public String convertAlphaNumericHexToString (String hexString, int index) throws DecoderException {
-        return new String(Hex.decodeHex(hexString.substring(index)));
+        if (index < ZERO || index > hexString.length()) {
+            throw new StringIndexOutOfBoundsException(index);
+        }
+        try {
+            return QrisCodec.decodeAlphaNumericHex(hexString, index, hexString.length());
+        } catch (IllegalArgumentException e) {
+            throw new DecoderException(e.getMessage());
+        }
     }
 
     public String convertByteOrNumberHexToString (String hexString, int index) {
@@ -106,21 +104,20 @@ public class QrisHexConverter {
     }
 
     public String convertCompressedNumericHexToString (String hexString, int index) {
-        if (hexString.endsWith(UNEVEN_COMPRESSED_NUMERIC_SUFFIX)) {
-            return hexString.substring(index, hexString.length() - SUFFIX_INDEX);
-        }
-        return hexString.substring(index);
+        return hexString.substring(index, QrisCodec.compressedNumericLength(hexString));
     }
 
 
     public byte[] hexStringToByteArray(String s) {
-    byte[] byteArray = new byte[s.length() / EVEN_LENGTH_CHECK];
-        ByteBuffer buffer = ByteBuffer.wrap(byteArray);
-        for (int i = ZERO; i < s.length(); i += EVEN_LENGTH_CHECK) {
-            buffer.put((byte) ((Character.digit(s.charAt(i), RADIX) << SHIFT_NUMBER)
-                    + Character.digit(s.charAt(i + SUFFIX_INDEX), RADIX)));
+        return QrisCodec.decodeHexUnchecked(s);
+    }
+
+    private byte[] decodeHex(String hex) throws DecoderException {
+        try {
+            return QrisCodec.decodeHex(hex);
+        } catch (IllegalArgumentException e) {
+            throw new DecoderException(e.getMessage());
         }
-        return byteArray;
     }
 
 
@@ -10,12 +10,9 @@ import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.http.converter.HttpMessageNotWritableException;
 import org.springframework.util.StreamUtils;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
-import java.util.stream.Collectors;
 
 /**
  * @author Arthur Purnama
@@ -41,8 +38,12 @@ public class QrisHttpMessageConverter<T extends QrisPayload> extends AbstractHtt
     @Override
     @SuppressWarnings("unchecked")
     protected T readInternal(Class<? extends T> clazz, HttpInputMessage inputMessage) throws IOException, HttpMessageNotReadableException {
-        String text = new BufferedReader(new InputStreamReader(inputMessage.getBody(), StandardCharsets.UTF_8)).lines().collect(Collectors.joining("\n"));
-        return (T) qrisParser.parse(text);
+        byte[] body = StreamUtils.copyToByteArray(inputMessage.getBody());
+        int length = body.length;
+        while (length > 0 && (body[length - 1] == '\n' || body[length - 1] == '\r')) {
+            length--;
+        }
+        return (T) qrisParser.parse(body, 0, length);
     }
 
     @Override
@@ -0,0 +1,93 @@
+package com.astrapay.qris;
+
+import java.util.Collections;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lookup [ISO 4217] mata uang, [ISO 3166-1 alpha 2] negara dan [ISO 639] bahasa yang dibangun sekali saat class
+ * diinisialisasi, sehingga {@link com.astrapay.qris.mpm.QrisMapper} dan validator tidak perlu mengiterasi
+ * {@link Currency#getAvailableCurrencies()} atau {@link Locale#getAvailableLocales()} untuk setiap QR.
+ * <p>
+ * Hasil lookup sama dengan iterasi sebelumnya: mata uang pertama untuk kode numerik, serta {@link Locale} terakhir
+ * untuk kode negara dan kode bahasa ISO-3, sesuai urutan {@link Locale#getAvailableLocales()}.
+ * </p>
+ * <b>4.7.7</b> Transaction Currency (ID "53")<br/>
+ * <b>4.7.12</b> Country Code (ID "58")<br/>
+ * <b>4.9.2</b> Language Preference (ID "00")
+ */
+public final class QrisIsoRegistry {
+
+    private static final Map<String, Currency> CURRENCY_BY_NUMERIC;
+    private static final Map<String, Locale> LOCALE_BY_COUNTRY;
+    private static final Map<String, Locale> LOCALE_BY_ISO3_LANGUAGE;
+    private static final Set<String> LOCALE_COUNTRIES;
+    private static final Set<String> ISO_COUNTRIES;
+
+    static {
+        Map<String, Currency> currencies = new HashMap<>();
+        for (Currency currency : Currency.getAvailableCurrencies()) {
+            currencies.putIfAbsent(currency.getNumericCodeAsString(), currency);
+        }
+        Map<String, Locale> countries = new HashMap<>();
+        Map<String, Locale> languages = new HashMap<>();
+        Set<String> localeCountries = new HashSet<>();
+        for (Locale locale : Locale.getAvailableLocales()) {
+            countries.put(locale.getCountry(), locale);
+            languages.put(locale.getISO3Language(), locale);
+            localeCountries.add(locale.getCountry().toLowerCase(Locale.ROOT));
+        }
+        CURRENCY_BY_NUMERIC = Collections.unmodifiableMap(currencies);
+        LOCALE_BY_COUNTRY = Collections.unmodifiableMap(countries);
+        LOCALE_BY_ISO3_LANGUAGE = Collections.unmodifiableMap(languages);
+        LOCALE_COUNTRIES = Collections.unmodifiableSet(localeCountries);
+        ISO_COUNTRIES = Collections.unmodifiableSet(new HashSet<>(Locale.getISOCountries(Locale.IsoCountryCode.PART1_ALPHA2)));
+    }
+
+    private QrisIsoRegistry() {
+    }
+
+    /**
+     * @param numericCode kode numerik 3 digit [ISO 4217], misalnya "360"
+     * @return mata uang, atau null jika tidak dikenal
+     */
+    public static Currency currencyOf(String numericCode) {
+        return numericCode == null ? null : CURRENCY_BY_NUMERIC.get(numericCode);
+    }
+
+    /**
+     * @param country kode negara [ISO 3166-1 alpha 2], misalnya "ID"
+     * @return locale dengan negara tersebut, atau null jika tidak ada
+     */
+    public static Locale localeOfCountry(String country) {
+        return country == null ? null : LOCALE_BY_COUNTRY.get(country);
+    }
+
+    /**
+     * @param iso3Language kode bahasa ISO-3, misalnya "ind"
+     * @return locale dengan bahasa tersebut, atau null jika tidak ada
+     */
+    public static Locale localeOfLanguage(String iso3Language) {
+        return iso3Language == null ? null : LOCALE_BY_ISO3_LANGUAGE.get(iso3Language);
+    }
+
+    /**
+     * @param country kode negara
+     * @return true jika kode negara terdaftar pada [ISO 3166-1 alpha 2]
+     */
+    public static boolean isIsoCountry(String country) {
+        return country != null && ISO_COUNTRIES.contains(country);
+    }
+
+    /**
+     * @param country kode negara dua karakter, tidak case sensitive
+     * @return true jika kode negara dimiliki oleh salah satu {@link Locale#getAvailableLocales()}
+     */
+    public static boolean isLocaleCountry(String country) {
+        return country != null && country.length() == 2 && LOCALE_COUNTRIES.contains(country.toLowerCase(Locale.ROOT));
+    }
+}
@@ -1,5 +1,8 @@
 package com.astrapay.qris;
 
+import java.util.HashMap;
+import java.util.Map;
+
 public interface QrisNationalNumberingSystem {
 
     enum Switching{
@@ -238,14 +241,22 @@ public interface QrisNationalNumberingSystem {
             return switching;
         }
         public static QrisNationalNumberingSystem.Pjsp valueOf(Integer code) throws IllegalArgumentException {
-            QrisNationalNumberingSystem.Pjsp pjspReturn = null;
-            for (QrisNationalNumberingSystem.Pjsp pjsp : values())
-                if (pjsp.getCode().equals(code)) {
-                    pjspReturn = pjsp;
-                    break;
-                }
+            QrisNationalNumberingSystem.Pjsp pjspReturn = code == null ? null : Holder.BY_CODE.get(code);
             if (pjspReturn == null) throw new IllegalArgumentException("Invalid MCC " + code);
             return pjspReturn;
         }
+
+        /**
+         * Pjsp pertama per NNS, sama dengan hasil linear scan sebelumnya.
+         */
+        private static final class Holder {
+            private static final Map<Integer, QrisNationalNumberingSystem.Pjsp> BY_CODE = new HashMap<>();
+
+            static {
+                for (QrisNationalNumberingSystem.Pjsp pjsp : values()) {
+                    BY_CODE.putIfAbsent(pjsp.getCode(), pjsp);
+                }
+            }
+        }
     }
 }
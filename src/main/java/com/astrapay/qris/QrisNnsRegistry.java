@@ -0,0 +1,284 @@
+package com.astrapay.qris;
+
+import com.astrapay.qris.QrisNationalNumberingSystem.Pjsp;
+import com.astrapay.qris.QrisNationalNumberingSystem.Switching;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Registry National Numbering System (NNS) PJSP dengan key {@code int}.
+ * <p>
+ * Satu NNS dapat terdaftar pada beberapa switching (misalnya 93600503 pada ALTO, ARTAJASA, RINTIS dan JALIN),
+ * sehingga {@link #find(int)} mengembalikan seluruh {@link Participant} untuk NNS tersebut sesuai urutan pendaftaran.
+ * NNS yang tidak dikenal menghasilkan list kosong, bukan exception.
+ * </p>
+ * <p>
+ * Data disimpan dalam snapshot immutable (open addressing array) yang diganti secara atomik oleh
+ * {@link #load(Reader)} / {@link #replace(List)}, sehingga lookup tidak memerlukan lock dan PJSP baru dapat
+ * didaftarkan dari file tanpa rilis. Format file CSV: {@code nns,name,switching} per baris, baris kosong dan
+ * baris yang diawali {@code #} diabaikan.
+ * </p>
+ * <pre>
+ * # nns,name,switching
+ * 93600822,ASTRAPAY,ALTO
+ * 93600503,NOBU,ARTAJASA
+ * </pre>
+ * <b>4.7.5.5</b> Delapan digit pertama merupakan NNS yang digunakan di Indonesia.
+ */
+public final class QrisNnsRegistry {
+
+    /**
+     * Jumlah digit NNS pada awal PAN.
+     */
+    public static final int NNS_LENGTH = 8;
+
+    private static final String COMMENT = "#";
+    private static final String SEPARATOR = ",";
+    private static final String ERROR_INVALID_LINE = "Baris %d tidak valid, format: nns,name,switching (%s)";
+
+    private static final QrisNnsRegistry DEFAULT = new QrisNnsRegistry();
+
+    private final AtomicReference<Snapshot> snapshot;
+
+    /**
+     * Registry berisi PJSP pada {@link Pjsp}.
+     */
+    public QrisNnsRegistry() {
+        this.snapshot = new AtomicReference<>(Snapshot.of(builtIn()));
+    }
+
+    /**
+     * @return registry yang dipakai oleh validator
+     */
+    public static QrisNnsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * @param nns 8 digit NNS
+     * @return seluruh PJSP untuk NNS tersebut, atau list kosong jika tidak dikenal
+     */
+    public List<Participant> find(int nns) {
+        return snapshot.get().find(nns);
+    }
+
+    /**
+     * @param nns 8 digit NNS
+     * @return true jika NNS terdaftar
+     */
+    public boolean contains(int nns) {
+        return !snapshot.get().find(nns).isEmpty();
+    }
+
+    /**
+     * @param pan PAN, delapan digit pertama merupakan NNS
+     * @return true jika NNS dari PAN terdaftar
+     */
+    public boolean containsPan(CharSequence pan) {
+        int nns = nnsOf(pan);
+        return nns >= 0 && contains(nns);
+    }
+
+    /**
+     * @return jumlah NNS yang terdaftar
+     */
+    public int size() {
+        return snapshot.get().size;
+    }
+
+    /**
+     * @param pan PAN
+     * @return NNS dari delapan digit pertama PAN, atau -1 jika bukan angka atau kurang dari delapan digit
+     */
+    public static int nnsOf(CharSequence pan) {
+        if (pan == null || pan.length() < NNS_LENGTH) {
+            return -1;
+        }
+        int nns = 0;
+        for (int i = 0; i < NNS_LENGTH; i++) {
+            int digit = pan.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            nns = nns * 10 + digit;
+        }
+        return nns;
+    }
+
+    /**
+     * Ganti seluruh isi registry secara atomik.
+     *
+     * @param participants PJSP yang terdaftar
+     */
+    public void replace(List<Participant> participants) {
+        snapshot.set(Snapshot.of(participants));
+    }
+
+    /**
+     * Ganti seluruh isi registry dengan isi file CSV {@code nns,name,switching}.
+     *
+     * @param path file CSV (UTF-8)
+     * @throws IOException jika file tidak dapat dibaca
+     */
+    public void load(Path path) throws IOException {
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            load(reader);
+        }
+    }
+
+    /**
+     * Ganti seluruh isi registry dengan isi CSV {@code nns,name,switching}. Isi registry tidak berubah jika ada
+     * baris yang tidak valid.
+     *
+     * @param reader CSV
+     * @throws IOException              jika CSV tidak dapat dibaca
+     * @throws IllegalArgumentException jika ada baris yang tidak valid
+     */
+    public void load(Reader reader) throws IOException {
+        List<Participant> participants = new ArrayList<>();
+        BufferedReader lines = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        int number = 0;
+        for (String line = lines.readLine(); line != null; line = lines.readLine()) {
+            number++;
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith(COMMENT)) {
+                continue;
+            }
+            participants.add(parseLine(trimmed, number));
+        }
+        replace(participants);
+    }
+
+    /**
+     * Kembalikan isi registry ke PJSP pada {@link Pjsp}.
+     */
+    public void reset() {
+        replace(builtIn());
+    }
+
+    private static Participant parseLine(String line, int number) {
+        String[] fields = line.split(SEPARATOR, -1);
+        if (fields.length != 3) {
+            throw new IllegalArgumentException(String.format(ERROR_INVALID_LINE, number, line));
+        }
+        int nns = nnsOf(fields[0].trim());
+        if (nns < 0 || fields[0].trim().length() != NNS_LENGTH || fields[1].trim().isEmpty()) {
+            throw new IllegalArgumentException(String.format(ERROR_INVALID_LINE, number, line));
+        }
+        try {
+            return new Participant(nns, fields[1].trim(), Switching.valueOf(fields[2].trim()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format(ERROR_INVALID_LINE, number, line), e);
+        }
+    }
+
+    private static List<Participant> builtIn() {
+        List<Participant> participants = new ArrayList<>();
+        for (Pjsp pjsp : Pjsp.values()) {
+            participants.add(new Participant(pjsp.getCode(), pjsp.name(), pjsp.getSwitching()));
+        }
+        return participants;
+    }
+
+    /**
+     * PJSP yang terdaftar pada satu switching.
+     */
+    @Getter
+    @EqualsAndHashCode
+    @ToString
+    public static final class Participant {
+
+        /**
+         * 8 digit NNS.
+         */
+        private final int nns;
+
+        /**
+         * Nama PJSP, sama dengan nama {@link Pjsp} untuk data bawaan.
+         */
+        private final String name;
+
+        private final Switching switching;
+
+        public Participant(int nns, String name, Switching switching) {
+            this.nns = nns;
+            this.name = name;
+            this.switching = switching;
+        }
+    }
+
+    /**
+     * Tabel open addressing NNS ke daftar PJSP yang immutable.
+     */
+    private static final class Snapshot {
+
+        private static final int EMPTY = -1;
+
+        private final int[] keys;
+        private final List<List<Participant>> values;
+        private final int mask;
+        private final int size;
+
+        private Snapshot(int[] keys, List<List<Participant>> values, int size) {
+            this.keys = keys;
+            this.values = values;
+            this.mask = keys.length - 1;
+            this.size = size;
+        }
+
+        static Snapshot of(List<Participant> participants) {
+            Map<Integer, List<Participant>> grouped = new LinkedHashMap<>();
+            for (Participant participant : participants) {
+                grouped.computeIfAbsent(participant.getNns(), nns -> new ArrayList<>()).add(participant);
+            }
+            int capacity = Integer.highestOneBit(Math.max(grouped.size(), 1) * 2 - 1) << 1;
+            int[] keys = new int[capacity];
+            Arrays.fill(keys, EMPTY);
+            List<List<Participant>> values = new ArrayList<>(Collections.nCopies(capacity, null));
+            for (Map.Entry<Integer, List<Participant>> entry : grouped.entrySet()) {
+                int slot = hash(entry.getKey()) & (capacity - 1);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & (capacity - 1);
+                }
+                keys[slot] = entry.getKey();
+                values.set(slot, Collections.unmodifiableList(new ArrayList<>(entry.getValue())));
+            }
+            return new Snapshot(keys, values, grouped.size());
+        }
+
+        List<Participant> find(int nns) {
+            if (nns < 0) {
+                return Collections.emptyList();
+            }
+            for (int slot = hash(nns) & mask; ; slot = (slot + 1) & mask) {
+                int key = keys[slot];
+                if (key == nns) {
+                    return values.get(slot);
+                }
+                if (key == EMPTY) {
+                    return Collections.emptyList();
+                }
+            }
+        }
+
+        private static int hash(int nns) {
+            int h = nns * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -5,15 +5,16 @@ import com.astrapay.qris.cpm.enums.DataType;
 import com.astrapay.qris.cpm.enums.TagIndicator;
 import com.astrapay.qris.cpm.object.QrCpmDataObject;
 import com.astrapay.qris.cpm.object.QrCpmPayload;
-import lombok.Setter;
 import org.apache.commons.codec.DecoderException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.util.EnumSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Service
 public class QrCpmParser {
@@ -22,25 +23,39 @@ public class QrCpmParser {
     @Autowired
     private QrisHexConverter qrisHexConverter;
 
-    private static final Integer HEX_RADIX = 16;
-
-    private static final Integer SIZE_TO_EXTRACT_LENGTH = 2;
-    private static final Integer HEX_PAIR_REPRESENTATION = 2;
     private static final Integer FIRST_INDEX = 0;
     private static final Integer DEFAULT_TAG_LENGTH_IN_BYTES = 1;
 
+    private static final String ERROR_TRUNCATED_TLV = "Truncated TLV at offset ";
+    private static final String ERROR_INVALID_LENGTH = "Invalid length.";
+
     @Autowired
-    @Setter
     private List<String> qrisCpmSubTag;
 
     @Autowired
-    @Setter
     private List<String> applicationTemplateSubTag;
 
     @Autowired
-    @Setter
     private List<String> applicationSpecificTransparentTemplateSubTag;
 
+    // allowed tag for each level, created from the list above on first parse
+    private volatile AllowedTags allowedTags;
+
+    public void setQrisCpmSubTag(List<String> qrisCpmSubTag) {
+        this.qrisCpmSubTag = qrisCpmSubTag;
+        this.allowedTags = null;
+    }
+
+    public void setApplicationTemplateSubTag(List<String> applicationTemplateSubTag) {
+        this.applicationTemplateSubTag = applicationTemplateSubTag;
+        this.allowedTags = null;
+    }
+
+    public void setApplicationSpecificTransparentTemplateSubTag(List<String> applicationSpecificTransparentTemplateSubTag) {
+        this.applicationSpecificTransparentTemplateSubTag = applicationSpecificTransparentTemplateSubTag;
+        this.allowedTags = null;
+    }
+
     public QrCpmPayload parse(String payloadBase64) throws IOException, DecoderException {
 
         byte[] payloadByteArrayBased = qrisHexConverter.decodeFromBase64(payloadBase64);
@@ -50,69 +65,81 @@ public class QrCpmParser {
         qrCpmPayload.setPayloadBase64(payloadBase64);
         qrCpmPayload.setPayloadHex(payloadHexBased);
 
-        parse(qrCpmPayload);
+        parse(qrCpmPayload, payloadByteArrayBased);
 
         return qrCpmPayload;
     }
 
-    private void parse(QrCpmPayload qrCpmPayload) throws DecoderException {
+    private void parse(QrCpmPayload qrCpmPayload, byte[] payload) {
+        AllowedTags allowed = getAllowedTags();
         Map<String, QrCpmDataObject> qrisCpmMap = new LinkedHashMap<>();
-        parseRoot(qrCpmPayload.getPayloadHex(), qrisCpmMap);
-        parseApplicationTemplate(qrisCpmMap);
-        parseApplicationSpecificTransparentTemplate(qrisCpmMap);
+        parseRoot(allowed, payload, qrisCpmMap);
 
         qrCpmPayload.setQrisRoot(qrisCpmMap);
     }
 
 
     /***
-     * main function to parse HEX based data.
-     * @param qrisCpmSubTag -> list of the tag that needed to be parsed from parent level .can refer to QrCpmConfiguration for the list
-     * @param payloadHexBased -> HEX based data.
+     * main function to parse BER-TLV data directly from the decoded payload, without converting it to HEX first.
+     * @param allowed -> allowed tag for this level (from qrisCpmSubTag, applicationTemplateSubTag or applicationSpecificTransparentTemplateSubTag)
+     * @param payload -> decoded payload
+     * @param start -> offset of the first byte of this level
+     * @param end -> offset after the last byte of this level
      * @param qrisCpmMap -> map to store the parsed data
      *
      * step by step :
-     * 1. loop through the qrisCpmSubTag list
-     * 2. compare the tag from the list with the current tag in the payloadHexBased
-     * 3. if the tag is the same, extract the length of the value. if not then just skip to the next tag
-     * 4. extract the value based on the length
-     * 5. set the value to qrisCpmMap
-     * 6. keep track of the current position because not all tag is mandatory (can refer to https://astrapay.atlassian.net/wiki/spaces/PD/pages/2686451746/Solutioning+QR+CPM )
+     * 1. read the tag at the current position and identify it with TagIndicator.fromBytes (lookup table, no string comparison)
+     * 2. read the length of the value
+     * 3. if the tag is allowed in this level, store tag, value offset and value length to qrisCpmMap. value (HEX or string) is only created when it is read.
+     *    unknown tag and tag that is not allowed in this level is skipped, so the order of the tag doesn't matter
+     *    (can refer to https://astrapay.atlassian.net/wiki/spaces/PD/pages/2686451746/Solutioning+QR+CPM )
+     * 4. if the tag is a template, parse its sub tag from the value range
+     * 5. continue from the end of the value
      */
-    private void parser(List<String> qrisCpmSubTag, String payloadHexBased, Map<String, QrCpmDataObject> qrisCpmMap) throws DecoderException {
-        int counter = 0;
-        int currentPosition = 0;
-        int maxLength = payloadHexBased.length();
-
-        while(counter < qrisCpmSubTag.size() && currentPosition < maxLength){
-            String tag = qrisCpmSubTag.get(counter);
-            String currentTag =  payloadHexBased.substring(currentPosition, currentPosition + tag.length());
-
-            if(tag.equals(currentTag)){
-                int lengthTagStartIndex = currentPosition + tag.length();
-                int lengthTagByteCount = getTagLengthByteCount(qrisHexConverter.convertByteOrNumberToArrayByte(payloadHexBased.substring(lengthTagStartIndex)));
-                int lengthTagHexCount = getLengthInHex(lengthTagByteCount);
-                int lengthTagEndIndex = currentPosition + tag.length() + lengthTagHexCount;
-                //multiply by 2 because each value represent pair of hex. ex : length 1 = 00, length 2 = 00 00, length 3 = 00 00 00
-                String lengthTag = payloadHexBased.substring(lengthTagStartIndex, lengthTagEndIndex);
-                Integer valueLengthInHex= this.getLengthValue(lengthTag, lengthTagByteCount);
-                String valueInHexString = payloadHexBased.substring(lengthTagEndIndex, lengthTagEndIndex + valueLengthInHex);
-                String value = this.getRealTagValue(currentTag, valueInHexString);
-                this.insertTLVMap(currentTag, value, qrisCpmMap);
-
-                currentPosition = lengthTagEndIndex + valueLengthInHex;
+    private void parser(AllowedTags allowed, Set<TagIndicator> allowedInLevel, byte[] payload, int start, int end, Map<String, QrCpmDataObject> qrisCpmMap) {
+        int currentPosition = start;
+
+        while(currentPosition < end){
+            int tagLengthInBytes = TagIndicator.getTagLength(payload, currentPosition, end);
+            int lengthTagStartIndex = currentPosition + tagLengthInBytes;
+            if (tagLengthInBytes < 0 || lengthTagStartIndex >= end) {
+                throw new IllegalArgumentException(ERROR_TRUNCATED_TLV + currentPosition);
+            }
+            int lengthTagByteCount = getTagLengthByteCount(payload[lengthTagStartIndex]);
+            int valueStartIndex = lengthTagStartIndex + lengthTagByteCount;
+            if (valueStartIndex > end) {
+                throw new IllegalArgumentException(ERROR_TRUNCATED_TLV + currentPosition);
+            }
+            int valueLength = this.getLengthValue(payload, lengthTagStartIndex, lengthTagByteCount);
+            if (valueLength > end - valueStartIndex) {
+                throw new IllegalArgumentException(ERROR_TRUNCATED_TLV + currentPosition);
+            }
+
+            TagIndicator tagIndicator = TagIndicator.fromBytes(payload, currentPosition, tagLengthInBytes);
+            if (tagIndicator != null && allowedInLevel.contains(tagIndicator)) {
+                QrCpmDataObject qrCpmDataObjectSub = new QrCpmDataObject(tagIndicator.getValue(), payload, valueStartIndex, valueLength, getValueDataType(tagIndicator));
+                this.insertTLVMap(qrCpmDataObjectSub, qrisCpmMap);
+                this.parseTemplate(allowed, tagIndicator, qrCpmDataObjectSub, payload, valueStartIndex, valueStartIndex + valueLength);
             }
 
-            counter++;
+            currentPosition = valueStartIndex + valueLength;
         }
     }
-    // function to get the length of the tag in bytes
-    private int getLengthValue(String lengthTag, int lengthTagByteCount) {
+
+    // function to get the length of the value in bytes
+    private int getLengthValue(byte[] payload, int lengthTagStartIndex, int lengthTagByteCount) {
         // if the length is represented by more than 1 byte, then the first doesn't actually represent the length
         if(lengthTagByteCount > DEFAULT_TAG_LENGTH_IN_BYTES) {
-            lengthTag = lengthTag.substring(DEFAULT_TAG_LENGTH_IN_BYTES * HEX_PAIR_REPRESENTATION);
+            int length = 0;
+            for (int i = DEFAULT_TAG_LENGTH_IN_BYTES; i < lengthTagByteCount; i++) {
+                if (length > (Integer.MAX_VALUE >> 8)) {
+                    throw new IllegalArgumentException(ERROR_INVALID_LENGTH);
+                }
+                length = (length << 8) | Byte.toUnsignedInt(payload[lengthTagStartIndex + i]);
+            }
+            return length;
         }
-        return Integer.parseInt(lengthTag, HEX_RADIX) * HEX_PAIR_REPRESENTATION;
+        return Byte.toUnsignedInt(payload[lengthTagStartIndex]);
     }
     
     // get the number of bytes representing the length of the tag
@@ -120,8 +147,7 @@ public class QrCpmParser {
     //    byte 7 to 1 represents the number of subsequent bytes representing the length of the tag
     // else, the length is 1 byte
     // refer to EMV 4.4 Book 3 Application Specification, Annex B, B2
-    private int getTagLengthByteCount(byte[] qrByte) {
-        byte tagLength = qrByte[FIRST_INDEX];
+    private int getTagLengthByteCount(byte tagLength) {
         // 0x80 = 10000000, tagLength & 0x80 will remove bits b7-b1
         if ((tagLength & 0x80) == 0x80) {
             int unsignedLength = this.getUnsignedInt(tagLength);
@@ -132,85 +158,73 @@ public class QrCpmParser {
         }
     }
 
-    private void insertTLVMap(String tag, String value, Map<String, QrCpmDataObject> qrisCpmMap){
-        QrCpmDataObject qrCpmDataObjectSub = new QrCpmDataObject();
-        qrCpmDataObjectSub.setTag(tag);
-        qrCpmDataObjectSub.setLength(String.valueOf(value.length()));
-        qrCpmDataObjectSub.setValue(value);
-
+    private void insertTLVMap(QrCpmDataObject qrCpmDataObjectSub, Map<String, QrCpmDataObject> qrisCpmMap){
         qrisCpmMap.merge(qrCpmDataObjectSub.getTag(), qrCpmDataObjectSub, (v1, v2) -> {
             throw new IllegalArgumentException("Duplicate tag '" + qrCpmDataObjectSub.getTag() + "'.");
         });
 
     }
-    private String getRealTagValue(String currentTag, String valueInHexString) throws DecoderException {
-        DataType dataType = TagIndicator.getDataType(currentTag);
 
+    // data type used to create the value when it is read: string for alpha numeric, HEX without "F" padding for compressed numeric, otherwise HEX
+    private DataType getValueDataType(TagIndicator tagIndicator) {
         //no need to convert TAG 9F74,9F7A,9F7B to string,decrypt in qris-service
-        if (!isHandledInOtherService(currentTag)
-                && (DataType.ALPHA_NUMERIC.equals(dataType)
-                || DataType.ALPHA_NUMERIC_SPECIAL.equals(dataType))) {
-            return qrisHexConverter.convertAlphaNumericHexToString(valueInHexString);
-        }
-
-        if(DataType.COMPRESSED_NUMERIC.equals(dataType)){
-            return qrisHexConverter.convertCompressedNumericHexToString(valueInHexString, FIRST_INDEX);
+        if (isHandledInOtherService(tagIndicator)) {
+            return DataType.BYTE;
         }
-
-        return valueInHexString;
+        return tagIndicator.getDataType();
     }
 
-    private boolean isHandledInOtherService(String tag) {
-        return TagIndicator.ISSUER_QRIS_DATA.getValue().equals(tag)
-                || TagIndicator.ISSUER_PUBLIC_KEY_CERTIFICATE.getValue().equals(tag)
-                || TagIndicator.ISSUER_QRIS_DATA_ENCRYPTED.getValue().equals(tag);
+    private boolean isHandledInOtherService(TagIndicator tagIndicator) {
+        return TagIndicator.ISSUER_QRIS_DATA == tagIndicator
+                || TagIndicator.ISSUER_PUBLIC_KEY_CERTIFICATE == tagIndicator
+                || TagIndicator.ISSUER_QRIS_DATA_ENCRYPTED == tagIndicator;
     }
 
     /***
      * to parse the root level of the QR CPM (can refer to QrCpmConfiguration @Bean qrisCpmSubTag)
      */
-    private void parseRoot(String payloadHexBased, Map<String, QrCpmDataObject> qrisCpmMap) throws DecoderException {
-        parser(qrisCpmSubTag, payloadHexBased, qrisCpmMap);
+    private void parseRoot(AllowedTags allowed, byte[] payload, Map<String, QrCpmDataObject> qrisCpmMap) {
+        parser(allowed, allowed.root, payload, FIRST_INDEX, payload.length, qrisCpmMap);
     }
 
     /***
-     * to parse the application template sub tag (can refer to QrCpmConfiguration @Bean applicationTemplateSubTag)
-     * in order to parse application template need to parse the root first
+     * to parse the sub tag of application template (can refer to QrCpmConfiguration @Bean applicationTemplateSubTag)
+     * and application specific transparent template (can refer to QrCpmConfiguration @Bean applicationSpecificTransparentTemplateSubTag)
+     * directly from the template value range, right after the template tag is found in its parent level
      */
-    private void parseApplicationTemplate(Map<String, QrCpmDataObject> qrCpmDataObject) throws DecoderException {
-        if(qrCpmDataObject.containsKey(TagIndicator.APPLICATION_TEMPLATE.getValue())){
-            Map<String, QrCpmDataObject> qrCpmDataObjectSubMap = new LinkedHashMap<>();
-            QrCpmDataObject applicationTemplate = qrCpmDataObject.get(TagIndicator.APPLICATION_TEMPLATE.getValue());
-            String applicationTemplateValue = qrCpmDataObject.get(TagIndicator.APPLICATION_TEMPLATE.getValue()).getValue();
-
-            parser(applicationTemplateSubTag, applicationTemplateValue, qrCpmDataObjectSubMap);
-
-            applicationTemplate.setTemplateMap(qrCpmDataObjectSubMap);
+    private void parseTemplate(AllowedTags allowed, TagIndicator tagIndicator, QrCpmDataObject template, byte[] payload, int start, int end) {
+        Set<TagIndicator> allowedInTemplate;
+        if (TagIndicator.APPLICATION_TEMPLATE == tagIndicator) {
+            allowedInTemplate = allowed.applicationTemplate;
+        } else if (TagIndicator.APPLICATION_SPECIFIC_TRANSPARENT_TEMPLATE == tagIndicator) {
+            allowedInTemplate = allowed.applicationSpecificTransparentTemplate;
+        } else {
+            return;
         }
+        Map<String, QrCpmDataObject> qrCpmDataObjectSubMap = new LinkedHashMap<>();
+        parser(allowed, allowedInTemplate, payload, start, end, qrCpmDataObjectSubMap);
+        template.setTemplateMap(qrCpmDataObjectSubMap);
     }
-    /***
-     * to parse the application specific transparent template sub tag (can refer to QrCpmConfiguration @Bean applicationSpecificTransparentTemplateSubTag)
-     * in order to parse application specific transparent template need to parse the application template first
-     */
-
-    private void parseApplicationSpecificTransparentTemplate(Map<String, QrCpmDataObject> qrCpmDataObject) throws DecoderException {
-        QrCpmDataObject applicationTemplate = qrCpmDataObject.get(TagIndicator.APPLICATION_TEMPLATE.getValue());
-
-        if(qrCpmDataObject.containsKey(TagIndicator.APPLICATION_TEMPLATE.getValue()) && applicationTemplate.getTemplateMap().containsKey(TagIndicator.APPLICATION_SPECIFIC_TRANSPARENT_TEMPLATE.getValue())){
-            Map<String, QrCpmDataObject> qrCpmDataObjectSubMap = new LinkedHashMap<>();
-            QrCpmDataObject applicationSpecificTransparentTemplate = applicationTemplate.getTemplateMap().get(TagIndicator.APPLICATION_SPECIFIC_TRANSPARENT_TEMPLATE.getValue());
-            String applicationSpecificTransparentTemplateValue = applicationTemplate.getTemplateMap().get(TagIndicator.APPLICATION_SPECIFIC_TRANSPARENT_TEMPLATE.getValue()).getValue();
-
-            parser(applicationSpecificTransparentTemplateSubTag, applicationSpecificTransparentTemplateValue, qrCpmDataObjectSubMap);
-
-            applicationSpecificTransparentTemplate.setTemplateMap(qrCpmDataObjectSubMap);
 
+    private AllowedTags getAllowedTags() {
+        AllowedTags allowed = allowedTags;
+        if (allowed == null) {
+            allowed = new AllowedTags(toTagIndicators(qrisCpmSubTag), toTagIndicators(applicationTemplateSubTag),
+                    toTagIndicators(applicationSpecificTransparentTemplateSubTag));
+            allowedTags = allowed;
         }
+        return allowed;
     }
-    
-    private int getLengthInHex(int lengthInBytes) {
-        // one byte is represented by two hex characters
-        return lengthInBytes * HEX_PAIR_REPRESENTATION;
+
+    private static Set<TagIndicator> toTagIndicators(List<String> subTag) {
+        Set<TagIndicator> tagIndicators = EnumSet.noneOf(TagIndicator.class);
+        for (String tag : subTag) {
+            TagIndicator tagIndicator = TagIndicator.fromValue(tag);
+            if (tagIndicator != null) {
+                tagIndicators.add(tagIndicator);
+            }
+        }
+        return tagIndicators;
     }
     
     private int getUnsignedInt(byte val) {
@@ -219,4 +233,18 @@ public class QrCpmParser {
         return Byte.toUnsignedInt(val) & 0x7F;
     }
 
+    // allowed parent check: a tag is only parsed when it is in the set of its parent level
+    private static final class AllowedTags {
+
+        private final Set<TagIndicator> root;
+        private final Set<TagIndicator> applicationTemplate;
+        private final Set<TagIndicator> applicationSpecificTransparentTemplate;
+
+        private AllowedTags(Set<TagIndicator> root, Set<TagIndicator> applicationTemplate, Set<TagIndicator> applicationSpecificTransparentTemplate) {
+            this.root = root;
+            this.applicationTemplate = applicationTemplate;
+            this.applicationSpecificTransparentTemplate = applicationSpecificTransparentTemplate;
+        }
+    }
+
 }
@@ -1,5 +1,6 @@
 package com.astrapay.qris.cpm;
 
+import com.astrapay.qris.QrisCodec;
 import com.astrapay.qris.QrisHexConverter;
 import com.astrapay.qris.cpm.enums.TagIndicator;
 import com.astrapay.qris.cpm.object.ApplicationTemplate;
@@ -10,240 +11,329 @@ import org.apache.commons.codec.DecoderException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
-import java.util.Optional;
 
+/**
+ * Encoder QR CPM (BER-TLV).
+ * <p>
+ * Value setiap tag dikonversi sekali ke byte, panjang template 63 dan 61 dihitung dari value tersebut, lalu seluruh
+ * TLV ditulis satu kali ke satu array dengan ukuran yang sudah pasti. Tag dengan value tetap (85, 4F, 50, 5F2D)
+ * disimpan sebagai TLV yang sudah di-encode. Untuk {@link #encode(QrisCpm)}, TLV ditulis di bagian akhir array
+ * base64 lalu di-encode base64 di array yang sama.
+ * </p>
+ */
 @Service
 @Slf4j
 public class QrisCpmEncoder {
-    
+
     @Autowired
     private QrisHexConverter qrisHexConverter;
-    
+
     private static final Integer FIRST_INDEX = 0;
-    
+
+    static final byte[] PAYLOAD_FORMAT_INDICATOR_TLV = constantTlv(TagIndicator.PAYLOAD_FORMAT_INDICATOR, "CPV01".getBytes(StandardCharsets.US_ASCII));
+    private static final byte[] ADF_NAME_TLV = constantTlv(TagIndicator.ADF_NAME, new byte[]{(byte) 0xA0, 0x00, 0x00, 0x06, 0x02, 0x20, 0x20});
+    private static final byte[] APPLICATION_LABEL_TLV = constantTlv(TagIndicator.APPLICATION_LABEL, "QRISCPM".getBytes(StandardCharsets.US_ASCII));
+    private static final byte[] LANGUAGE_PREFERENCE_TLV = constantTlv(TagIndicator.LANGUAGE_PREFERENCE, "iden".getBytes(StandardCharsets.US_ASCII));
+
+    // urutan tag template 61 yang value-nya berasal dari ApplicationTemplate, 5F2D ditulis sebelum LANGUAGE_PREFERENCE_POSITION
+    private static final TagIndicator[] APPLICATION_TEMPLATE_TAGS = {
+            TagIndicator.TRACK_2_EQUIVALENT_DATA,
+            TagIndicator.APP_PAN,
+            TagIndicator.CARDHOLDER_NAME,
+            TagIndicator.ISSUER_URL,
+            TagIndicator.APPLICATION_VERSION_NUMBER,
+            TagIndicator.LAST_4_DIGIT_PAN,
+            TagIndicator.TOKEN_REQUESTOR_ID,
+            TagIndicator.PAYMENT_ACCOUNT_REFERENCE
+    };
+    private static final int LANGUAGE_PREFERENCE_POSITION = 3;
+
+    // urutan tag template 63
+    private static final TagIndicator[] APPLICATION_SPECIFIC_TRANSPARENT_TEMPLATE_TAGS = {
+            TagIndicator.ISSUER_QRIS_DATA,
+            TagIndicator.ISSUER_PUBLIC_KEY_CERTIFICATE,
+            TagIndicator.ISSUER_QRIS_DATA_ENCRYPTED,
+            TagIndicator.APPLICATION_CRYPTOGRAM,
+            TagIndicator.CRYPTOGRAM_INFORMATION_DATA,
+            TagIndicator.ISSUER_APPLICATION_DATA,
+            TagIndicator.APPLICATION_TRANSACTION_COUNTER,
+            TagIndicator.APPLICATION_INTERCHANGE_PROFILE,
+            TagIndicator.UNPREDICTABLE_NUMBER
+    };
+
+    // index of APPLICATION_SPECIFIC_TRANSPARENT_TEMPLATE_TAGS around the dynamic tag of QrisCpmTemplate
+    private static final int ISSUER_PUBLIC_KEY_CERTIFICATE_INDEX = 1;
+    private static final int APPLICATION_CRYPTOGRAM_INDEX = 3;
+    private static final int CRYPTOGRAM_INFORMATION_DATA_INDEX = 4;
+    private static final int APPLICATION_TRANSACTION_COUNTER_INDEX = 6;
+    private static final int APPLICATION_INTERCHANGE_PROFILE_INDEX = 7;
+    private static final int UNPREDICTABLE_NUMBER_INDEX = 8;
+
+    private static final String ERROR_APPLICATION_TEMPLATE_REQUIRED = "Application Template (tag 61) is required.";
+
     public String encode(QrisCpm qrisCpm) throws IOException {
-        return qrisHexConverter.encodeToBase64(this.getBytes(qrisCpm));
+        byte[] base64 = this.getBytes(qrisCpm, true);
+        return new String(base64, StandardCharsets.US_ASCII);
     }
+
     public byte[] getBytes(QrisCpm qrisCpm) throws IOException {
+        return this.getBytes(qrisCpm, false);
+    }
+
+    private byte[] getBytes(QrisCpm qrisCpm, boolean base64) throws IOException {
+        Values values;
         try {
-            ByteArrayOutputStream qrisCpmByteStream = new ByteArrayOutputStream();
-            qrisCpmByteStream.write(this.getPayloadFormatIndicator());
-            qrisCpmByteStream.write(this.getApplicationTemplate(qrisCpm.getApplicationTemplate()));
-            return qrisCpmByteStream.toByteArray();
-        } catch (IOException | DecoderException e) {
+            values = this.getValues(qrisCpm.getApplicationTemplate());
+        } catch (DecoderException e) {
             log.error("QrisCpmEncoder::Encode failed to encode QR CPM ", e);
             throw new IOException("Failed to encode QR CPM");
         }
+        int size = PAYLOAD_FORMAT_INDICATOR_TLV.length + (values == null ? 0 : values.getApplicationTemplateSize());
+        byte[] target = new byte[base64 ? getBase64Length(size) : size];
+        int position = target.length - size;
+        position = writeBytes(target, position, PAYLOAD_FORMAT_INDICATOR_TLV);
+        if (values != null) {
+            values.writeApplicationTemplate(target, position);
+        }
+        if (base64) {
+            encodeBase64InPlace(target, size);
+        }
+        return target;
     }
-    
+
     public byte[] getApplicationTemplate(ApplicationTemplate applicationTemplate) throws DecoderException, IOException {
-        if(Objects.isNull(applicationTemplate)) {
+        Values values = this.getValues(applicationTemplate);
+        if (values == null) {
             return new byte[FIRST_INDEX];
         }
-       
-        byte[] cardholderNameSubTag = Optional.ofNullable(applicationTemplate.getCardholderName()).map(this::getCardholderName).orElse(new byte[FIRST_INDEX]);
-        byte[] issuerUrlSubtag = Optional.ofNullable(applicationTemplate.getIssuerUrl()).map(this::getIssuerUrl).orElse(new byte[FIRST_INDEX]);
-        byte[] paymentAccountRefSubTag = Optional.ofNullable(applicationTemplate.getPaymentAccountReference()).map(this::getPaymentAccountReference).orElse(new byte[FIRST_INDEX]);
-        ByteArrayOutputStream applicationTemplateStream = new ByteArrayOutputStream();
-        applicationTemplateStream.write(this.getAdfName());
-        applicationTemplateStream.write(this.getApplicationLabel());
-        if(Objects.nonNull(applicationTemplate.getTrack2EquivalentData())) {
-            applicationTemplateStream.write(this.getTrack2EquivalentData(applicationTemplate.getTrack2EquivalentData()));
-        }
-        if(Objects.nonNull(applicationTemplate.getApplicationPan())) {
-            applicationTemplateStream.write(this.getApplicationPan(applicationTemplate.getApplicationPan()));
-        }
-        applicationTemplateStream.write(cardholderNameSubTag);
-        applicationTemplateStream.write(this.getLanguagePreference());
-        applicationTemplateStream.write(issuerUrlSubtag);
-        if(Objects.nonNull(applicationTemplate.getApplicationVersionNumber())) {
-            applicationTemplateStream.write(this.getApplicationVersionNumber(applicationTemplate.getApplicationVersionNumber()));
-        }
-        if (Objects.nonNull(applicationTemplate.getLast4DigitsPan())) {
-            applicationTemplateStream.write(this.getLast4DigitsPan(applicationTemplate.getLast4DigitsPan()));
-        }
-        if (Objects.nonNull(applicationTemplate.getTokenRequestorId())) {
-            applicationTemplateStream.write(this.getTokenRequestorId(applicationTemplate.getTokenRequestorId()));
-        }
-        applicationTemplateStream.write(paymentAccountRefSubTag);
-        applicationTemplateStream.write(this.getApplicationSpecificTransparentTemplate(applicationTemplate.getApplicationSpecificTransparentTemplate()));
-        byte[] applicationTemplateByteArray = applicationTemplateStream.toByteArray();
-        return this.concatByteArrays(TagIndicator.APPLICATION_TEMPLATE.getByteTag(), this.getTagLength(applicationTemplateByteArray), applicationTemplateByteArray);
-    }
-    
-    private byte[] getApplicationSpecificTransparentTemplate(ApplicationSpecificTransparentTemplate applicationSpecificTransparentTemplate) throws IOException, DecoderException {
-        if(Objects.isNull(applicationSpecificTransparentTemplate)) {
-            return new byte[FIRST_INDEX];
+        byte[] target = new byte[values.getApplicationTemplateSize()];
+        values.writeApplicationTemplate(target, FIRST_INDEX);
+        return target;
+    }
+
+    /**
+     * Compile {@link QrisCpmTemplate} untuk satu sesi consumer. Tag dinamis pada template 63 (9F74, 9F26, 9F36 dan 9F37)
+     * dari {@code applicationTemplate} diabaikan dan diisi saat {@link QrisCpmTemplate#stamp}.
+     *
+     * @param applicationTemplate data consumer
+     * @return template
+     * @throws IOException jika value tidak dapat dikonversi
+     */
+    public QrisCpmTemplate compile(ApplicationTemplate applicationTemplate) throws IOException {
+        if (Objects.isNull(applicationTemplate)) {
+            throw new IllegalArgumentException(ERROR_APPLICATION_TEMPLATE_REQUIRED);
+        }
+        Values values;
+        try {
+            values = this.getValues(applicationTemplate);
+        } catch (DecoderException e) {
+            log.error("QrisCpmEncoder::Compile failed to compile QR CPM template ", e);
+            throw new IOException("Failed to compile QR CPM template");
         }
-        byte[] issuerDataSubTag = Optional.ofNullable(applicationSpecificTransparentTemplate.getIssuerData()).map(this::getIssuerData).orElse(new byte[FIRST_INDEX]);
-        ByteArrayOutputStream appSpecificTransparentTemplateStream = new ByteArrayOutputStream();
-        appSpecificTransparentTemplateStream.write(issuerDataSubTag);
-        if(Objects.nonNull(applicationSpecificTransparentTemplate.getIssuerPublicKeyCertificate())) {
-            appSpecificTransparentTemplateStream.write(this.getIssuerPublicKeyCertificate(applicationSpecificTransparentTemplate.getIssuerPublicKeyCertificate()));
-        }
-        if(Objects.nonNull(applicationSpecificTransparentTemplate.getIssuerQrisDataEncrypted())) {
-            appSpecificTransparentTemplateStream.write(this.getIssuerQrisDataEncrypted(applicationSpecificTransparentTemplate.getIssuerQrisDataEncrypted()));
-        }
-        if(Objects.nonNull(applicationSpecificTransparentTemplate.getApplicationCryptogram())) {
-            appSpecificTransparentTemplateStream.write(this.getApplicationCryptogram(applicationSpecificTransparentTemplate.getApplicationCryptogram()));
-        }
-        if(Objects.nonNull(applicationSpecificTransparentTemplate.getCryptogramInformationData())) {
-            appSpecificTransparentTemplateStream.write(this.getCryptogramInformationData(applicationSpecificTransparentTemplate.getCryptogramInformationData()));
-        }
-        if(Objects.nonNull(applicationSpecificTransparentTemplate.getIssuerApplicationData())) {
-            appSpecificTransparentTemplateStream.write(this.getIssuerApplicationData(applicationSpecificTransparentTemplate.getIssuerApplicationData()));
-        }
-        if(Objects.nonNull(applicationSpecificTransparentTemplate.getApplicationTransactionCounter())) {
-            appSpecificTransparentTemplateStream.write(this.getApplicationTransactionCounter(applicationSpecificTransparentTemplate.getApplicationTransactionCounter()));
-        }
-        if(Objects.nonNull(applicationSpecificTransparentTemplate.getApplicationInterchangeProfile())) {
-            appSpecificTransparentTemplateStream.write(this.getApplicationInterchangeProfile(applicationSpecificTransparentTemplate.getApplicationInterchangeProfile()));
-        }
-        if(Objects.nonNull(applicationSpecificTransparentTemplate.getUnpredictableNumber())) {
-            appSpecificTransparentTemplateStream.write(this.getUnpredictableNumber(applicationSpecificTransparentTemplate.getUnpredictableNumber()));
-        }
-        byte[] appSpecificTransparentTemplateBytes = appSpecificTransparentTemplateStream.toByteArray();
-        return this.concatByteArrays(TagIndicator.APPLICATION_SPECIFIC_TRANSPARENT_TEMPLATE.getByteTag(), this.getTagLength(appSpecificTransparentTemplateBytes), appSpecificTransparentTemplateBytes);
-    }
-    private byte[] getPayloadFormatIndicator() {
-        String payloadFormatIndicator = "CPV01";
-        byte[] byteValue = qrisHexConverter.convertAlphaNumericToArrayByte(payloadFormatIndicator);
-        byte[] length = this.getTagLength(byteValue);
-        return this.concatByteArrays(TagIndicator.PAYLOAD_FORMAT_INDICATOR.getByteTag(), length, byteValue);
-    }
-    
-    private byte[] getAdfName() throws DecoderException {
-        String adfName = "A0000006022020";
-        byte[] byteValue = qrisHexConverter.convertByteOrNumberToArrayByte(adfName);
-        return this.concatByteArrays(TagIndicator.ADF_NAME.getByteTag(), this.getTagLength(byteValue), byteValue);
-    }
-    
-    private byte[] getApplicationLabel() {
-        String applicationLabel = "QRISCPM";
-        byte[] byteValue = qrisHexConverter.convertAlphaNumericToArrayByte(applicationLabel);
-        return this.concatByteArrays(TagIndicator.APPLICATION_LABEL.getByteTag(), this.getTagLength(byteValue), byteValue);
-    }
-    
-    private byte[] getTrack2EquivalentData(String data) throws DecoderException {
-        byte[] byteValue = qrisHexConverter.convertByteOrNumberToArrayByte(data);
-        return this.concatByteArrays(TagIndicator.TRACK_2_EQUIVALENT_DATA.getByteTag(), this.getTagLength(byteValue), byteValue);
-    }
-    
-    private byte[] getApplicationVersionNumber(String version) throws DecoderException {
-        byte[] byteValue = qrisHexConverter.convertByteOrNumberToArrayByte(version);
-        return this.concatByteArrays(TagIndicator.APPLICATION_VERSION_NUMBER.getByteTag(), this.getTagLength(byteValue), byteValue);
-    }
-    
-    private byte[] getApplicationPan(String applicationPan) throws DecoderException {
-        byte[] byteValue = qrisHexConverter.convertCompressedNumericToArrayByte(applicationPan);
-        return this.concatByteArrays(TagIndicator.APP_PAN.getByteTag(), this.getTagLength(byteValue), byteValue);
-    }
-    
-    private byte[] getCardholderName(String name) {
-        byte[] byteValue = qrisHexConverter.convertAlphaNumericToArrayByte(name);
-        return this.concatByteArrays(TagIndicator.CARDHOLDER_NAME.getByteTag(), this.getTagLength(byteValue), byteValue);
-    }
-    private byte[] getLanguagePreference() {
-        String languagePreference = "iden";
-        byte[] byteValue = qrisHexConverter.convertAlphaNumericToArrayByte(languagePreference);
-        return this.concatByteArrays(TagIndicator.LANGUAGE_PREFERENCE.getByteTag(), this.getTagLength(byteValue), byteValue);
-    }
-    
-    private byte[] getIssuerUrl(String issuerUrl) {
-        byte[] byteValue = qrisHexConverter.convertAlphaNumericToArrayByte(issuerUrl);
-        return this.concatByteArrays(TagIndicator.ISSUER_URL.getByteTag(), this.getTagLength(byteValue), byteValue);
-    }
-    private byte[] getLast4DigitsPan(String last4DigitsPan) throws DecoderException {
-        byte[] byteValue = qrisHexConverter.convertByteOrNumberToArrayByte(last4DigitsPan);
-        return this.concatByteArrays(TagIndicator.LAST_4_DIGIT_PAN.getByteTag(), this.getTagLength(byteValue), byteValue);
-    }
-    
-    private byte[] getTokenRequestorId(String tokenRequestorId) throws DecoderException {
-        byte[] byteValue = qrisHexConverter.convertByteOrNumberToArrayByte(tokenRequestorId);
-        return this.concatByteArrays(TagIndicator.TOKEN_REQUESTOR_ID.getByteTag(), this.getTagLength(byteValue), byteValue);
-    }
-    
-    private byte[] getPaymentAccountReference(String paymentAccountReference) {
-        byte[] byteValue = qrisHexConverter.convertAlphaNumericToArrayByte(paymentAccountReference);
-        return this.concatByteArrays(TagIndicator.PAYMENT_ACCOUNT_REFERENCE.getByteTag(), this.getTagLength(byteValue), byteValue);
-    }
-    private byte[] getIssuerData(String issuerData) {
-        byte[] byteValue = qrisHexConverter.convertAlphaNumericToArrayByte(issuerData);
-        return this.concatByteArrays(TagIndicator.ISSUER_QRIS_DATA.getByteTag(), this.getTagLength(byteValue), byteValue);
-    }
-    private byte[] getIssuerPublicKeyCertificate(String issuerPublicKeyCertificate) {
-        byte[] byteValue = qrisHexConverter.hexStringToByteArray(issuerPublicKeyCertificate);
-        return this.concatByteArrays(TagIndicator.ISSUER_PUBLIC_KEY_CERTIFICATE.getByteTag(), this.getTagLength(byteValue), byteValue);
-    }
-    private byte[] getIssuerQrisDataEncrypted(String issuerQrisDataEncrypted) {
-        byte[] byteValue = qrisHexConverter.hexStringToByteArray(issuerQrisDataEncrypted);
-        return this.concatByteArrays(TagIndicator.ISSUER_QRIS_DATA_ENCRYPTED.getByteTag(), this.getTagLength(byteValue), byteValue);
-    }
-    
-    private byte[] getApplicationCryptogram(String appCryptogram) throws DecoderException {
-        byte[] byteValue = qrisHexConverter.convertByteOrNumberToArrayByte(appCryptogram);
-        return this.concatByteArrays(TagIndicator.APPLICATION_CRYPTOGRAM.getByteTag(), this.getTagLength(byteValue), byteValue);
-    }
-    
-    private byte[] getCryptogramInformationData(String cryptogram) throws DecoderException {
-        byte[] byteValue = qrisHexConverter.convertByteOrNumberToArrayByte(cryptogram);
-        return this.concatByteArrays(TagIndicator.CRYPTOGRAM_INFORMATION_DATA.getByteTag(), this.getTagLength(byteValue), byteValue);
-    }
-    
-    private byte[] getIssuerApplicationData(String issuerAppData) throws DecoderException {
-        byte[] byteValue = qrisHexConverter.convertByteOrNumberToArrayByte(issuerAppData);
-        return this.concatByteArrays(TagIndicator.ISSUER_APPLICATION_DATA.getByteTag(), this.getTagLength(byteValue), byteValue);
-    }
-    
-    private byte[] getApplicationTransactionCounter(String appTransactionCounter) throws DecoderException {
-        byte[] byteValue = qrisHexConverter.convertByteOrNumberToArrayByte(appTransactionCounter);
-        return this.concatByteArrays(TagIndicator.APPLICATION_TRANSACTION_COUNTER.getByteTag(), this.getTagLength(byteValue), byteValue);
-    }
-    
-    private byte[] getApplicationInterchangeProfile(String appInterchangeProfile) throws DecoderException {
-        byte[] byteValue = qrisHexConverter.convertByteOrNumberToArrayByte(appInterchangeProfile);
-        return this.concatByteArrays(TagIndicator.APPLICATION_INTERCHANGE_PROFILE.getByteTag(), this.getTagLength(byteValue), byteValue);
-    }
-    
-    private byte[] getUnpredictableNumber(String unpredictableNumber) throws DecoderException {
-        byte[] byteValue = qrisHexConverter.convertByteOrNumberToArrayByte(unpredictableNumber);
-        return this.concatByteArrays(TagIndicator.UNPREDICTABLE_NUMBER.getByteTag(), this.getTagLength(byteValue), byteValue);
-    }
-    
+        byte[] applicationTemplateStatic = new byte[values.getApplicationTemplateStaticLength()];
+        values.writeApplicationTemplateStatic(applicationTemplateStatic, FIRST_INDEX);
+        return new QrisCpmTemplate(qrisHexConverter, applicationTemplateStatic,
+                values.getApplicationSpecificTransparentTemplateSegment(ISSUER_PUBLIC_KEY_CERTIFICATE_INDEX, APPLICATION_CRYPTOGRAM_INDEX),
+                values.getApplicationSpecificTransparentTemplateSegment(CRYPTOGRAM_INFORMATION_DATA_INDEX, APPLICATION_TRANSACTION_COUNTER_INDEX),
+                values.getApplicationSpecificTransparentTemplateSegment(APPLICATION_INTERCHANGE_PROFILE_INDEX, UNPREDICTABLE_NUMBER_INDEX));
+    }
+
+    // sizing pass: convert every value to bytes once and compute the length of template 63 and 61
+    private Values getValues(ApplicationTemplate applicationTemplate) throws DecoderException {
+        if (Objects.isNull(applicationTemplate)) {
+            return null;
+        }
+        Values values = new Values();
+        values.applicationTemplate[0] = this.convertByteOrNumber(applicationTemplate.getTrack2EquivalentData());
+        values.applicationTemplate[1] = Objects.isNull(applicationTemplate.getApplicationPan()) ? null
+                : qrisHexConverter.convertCompressedNumericToArrayByte(applicationTemplate.getApplicationPan());
+        values.applicationTemplate[2] = this.convertAlphaNumeric(applicationTemplate.getCardholderName());
+        values.applicationTemplate[3] = this.convertAlphaNumeric(applicationTemplate.getIssuerUrl());
+        values.applicationTemplate[4] = this.convertByteOrNumber(applicationTemplate.getApplicationVersionNumber());
+        values.applicationTemplate[5] = this.convertByteOrNumber(applicationTemplate.getLast4DigitsPan());
+        values.applicationTemplate[6] = this.convertByteOrNumber(applicationTemplate.getTokenRequestorId());
+        values.applicationTemplate[7] = this.convertAlphaNumeric(applicationTemplate.getPaymentAccountReference());
+
+        ApplicationSpecificTransparentTemplate applicationSpecificTransparentTemplate = applicationTemplate.getApplicationSpecificTransparentTemplate();
+        if (Objects.nonNull(applicationSpecificTransparentTemplate)) {
+            byte[][] transparentTemplate = new byte[APPLICATION_SPECIFIC_TRANSPARENT_TEMPLATE_TAGS.length][];
+            transparentTemplate[0] = this.convertAlphaNumeric(applicationSpecificTransparentTemplate.getIssuerData());
+            transparentTemplate[1] = this.convertHex(applicationSpecificTransparentTemplate.getIssuerPublicKeyCertificate());
+            transparentTemplate[2] = this.convertHex(applicationSpecificTransparentTemplate.getIssuerQrisDataEncrypted());
+            transparentTemplate[3] = this.convertByteOrNumber(applicationSpecificTransparentTemplate.getApplicationCryptogram());
+            transparentTemplate[4] = this.convertByteOrNumber(applicationSpecificTransparentTemplate.getCryptogramInformationData());
+            transparentTemplate[5] = this.convertByteOrNumber(applicationSpecificTransparentTemplate.getIssuerApplicationData());
+            transparentTemplate[6] = this.convertByteOrNumber(applicationSpecificTransparentTemplate.getApplicationTransactionCounter());
+            transparentTemplate[7] = this.convertByteOrNumber(applicationSpecificTransparentTemplate.getApplicationInterchangeProfile());
+            transparentTemplate[8] = this.convertByteOrNumber(applicationSpecificTransparentTemplate.getUnpredictableNumber());
+            values.applicationSpecificTransparentTemplate = transparentTemplate;
+            values.applicationSpecificTransparentTemplateLength = getValuesLength(APPLICATION_SPECIFIC_TRANSPARENT_TEMPLATE_TAGS, transparentTemplate);
+        }
+
+        int applicationTemplateLength = values.getApplicationTemplateStaticLength();
+        if (values.applicationSpecificTransparentTemplate != null) {
+            applicationTemplateLength += getTlvSize(TagIndicator.APPLICATION_SPECIFIC_TRANSPARENT_TEMPLATE, values.applicationSpecificTransparentTemplateLength);
+        }
+        values.applicationTemplateLength = applicationTemplateLength;
+        return values;
+    }
+
+    private byte[] convertByteOrNumber(String value) throws DecoderException {
+        return Objects.isNull(value) ? null : qrisHexConverter.convertByteOrNumberToArrayByte(value);
+    }
+
+    private byte[] convertAlphaNumeric(String value) {
+        return Objects.isNull(value) ? null : qrisHexConverter.convertAlphaNumericToArrayByte(value);
+    }
+
+    private byte[] convertHex(String value) {
+        return Objects.isNull(value) ? null : qrisHexConverter.hexStringToByteArray(value);
+    }
+
     public byte[] getTagLength(byte[] value) {
-        int valLength = value.length;
+        byte[] length = new byte[getTagLengthSize(value.length)];
+        writeTagLength(length, FIRST_INDEX, value.length);
+        return length;
+    }
+
+    // number of bytes needed to represent the length, see getTagLength
+    private static int getTagLengthSize(int valLength) {
         if(valLength < 0x80) {
             // 0x80 = 10000000, max value when bit b8 is 0
-            return new byte[] {(byte) valLength};
+            return 1;
         } else if (valLength <0x100) {
             // length of up to 255(0xFF) can be represented in one byte
-            // 0x81 = 10000001
-            return new byte[] {(byte) 0x81, (byte) valLength};
+            return 2;
         } else if( valLength < 0x10000) {
             // length of up to 65535(0xFFFF) can be represented in two bytes
-            // 0x82 = 10000010
-            return new byte[] {(byte) 0x82, (byte) (valLength / 0x100), (byte) (valLength % 0x100)};
-            
+            return 3;
         } else if( valLength < 0x1000000 ) {
             // length of up to 16777215(0xFFFFFF) can be represented in three bytes
-            // 0x83 = 10000011
-            byte firstTwoDigits = (byte) (valLength / 0x10000);
-            int firstTwoDigitsMod = valLength % 0x10000;
-            return new byte[] {(byte) 0x83, firstTwoDigits, (byte) (firstTwoDigitsMod / 0x100), (byte) (valLength % 0x100)};
+            return 4;
         } else {
             throw new IllegalStateException("Length ["+valLength+"] out of range (0x1000000)");
         }
     }
-    
-    private byte[] concatByteArrays(byte[] tag, byte[] length, byte[] value) {
-        byte[] result = new byte[tag.length + length.length + value.length];
-        System.arraycopy(tag, FIRST_INDEX, result, 0, tag.length);
-        System.arraycopy(length, FIRST_INDEX, result, tag.length, length.length);
-        System.arraycopy(value, FIRST_INDEX, result, tag.length + length.length, value.length);
-        return result;
+
+    private static int writeTagLength(byte[] target, int position, int valLength) {
+        int lengthSize = getTagLengthSize(valLength);
+        if (lengthSize == 1) {
+            target[position] = (byte) valLength;
+            return position + 1;
+        }
+        // 0x81 = 10000001, 0x82 = 10000010, 0x83 = 10000011
+        target[position] = (byte) (0x80 | (lengthSize - 1));
+        for (int i = lengthSize - 1; i > 0; i--) {
+            target[position + i] = (byte) valLength;
+            valLength >>>= 8;
+        }
+        return position + lengthSize;
     }
-}
 
+    static int getTlvSize(TagIndicator tag, int valueLength) {
+        return tag.getByteTag().length + getTagLengthSize(valueLength) + valueLength;
+    }
+
+    private static int getValuesLength(TagIndicator[] tags, byte[][] values) {
+        return getValuesLength(tags, values, 0, tags.length);
+    }
+
+    private static int getValuesLength(TagIndicator[] tags, byte[][] values, int from, int to) {
+        int length = 0;
+        for (int i = from; i < to; i++) {
+            if (values[i] != null) {
+                length += getTlvSize(tags[i], values[i].length);
+            }
+        }
+        return length;
+    }
+
+    static int writeTagAndLength(byte[] target, int position, TagIndicator tag, int valueLength) {
+        position = writeBytes(target, position, tag.getByteTag());
+        return writeTagLength(target, position, valueLength);
+    }
+
+    private static int writeValues(byte[] target, int position, TagIndicator[] tags, byte[][] values, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (values[i] != null) {
+                position = writeTagAndLength(target, position, tags[i], values[i].length);
+                position = writeBytes(target, position, values[i]);
+            }
+        }
+        return position;
+    }
+
+    static int writeBytes(byte[] target, int position, byte[] value) {
+        System.arraycopy(value, FIRST_INDEX, target, position, value.length);
+        return position + value.length;
+    }
+
+    private static byte[] constantTlv(TagIndicator tag, byte[] value) {
+        byte[] tlv = new byte[getTlvSize(tag, value.length)];
+        int position = writeTagAndLength(tlv, FIRST_INDEX, tag, value.length);
+        writeBytes(tlv, position, value);
+        return tlv;
+    }
+
+    static int getBase64Length(int length) {
+        return QrisCodec.base64Length(length);
+    }
+
+    /**
+     * Base64 (RFC 4648, dengan padding) dari {@code length} byte terakhir {@code target}, ditulis mulai index 0.
+     */
+    static void encodeBase64InPlace(byte[] target, int length) {
+        QrisCodec.encodeBase64(target, target.length - length, length, target, 0);
+    }
+
+    // value of template 61 and 63 in bytes, with the length computed in the sizing pass
+    private static final class Values {
+
+        private final byte[][] applicationTemplate = new byte[APPLICATION_TEMPLATE_TAGS.length][];
+        private byte[][] applicationSpecificTransparentTemplate;
+        private int applicationTemplateLength;
+        private int applicationSpecificTransparentTemplateLength;
+
+        private int getApplicationTemplateSize() {
+            return getTlvSize(TagIndicator.APPLICATION_TEMPLATE, applicationTemplateLength);
+        }
+
+        private int writeApplicationTemplate(byte[] target, int position) {
+            position = writeTagAndLength(target, position, TagIndicator.APPLICATION_TEMPLATE, applicationTemplateLength);
+            position = writeApplicationTemplateStatic(target, position);
+            if (applicationSpecificTransparentTemplate != null) {
+                position = writeTagAndLength(target, position, TagIndicator.APPLICATION_SPECIFIC_TRANSPARENT_TEMPLATE, applicationSpecificTransparentTemplateLength);
+                position = writeValues(target, position, APPLICATION_SPECIFIC_TRANSPARENT_TEMPLATE_TAGS, applicationSpecificTransparentTemplate,
+                        0, APPLICATION_SPECIFIC_TRANSPARENT_TEMPLATE_TAGS.length);
+            }
+            return position;
+        }
+
+        // content of template 61 before template 63
+        private int getApplicationTemplateStaticLength() {
+            return ADF_NAME_TLV.length + APPLICATION_LABEL_TLV.length + LANGUAGE_PREFERENCE_TLV.length
+                    + getValuesLength(APPLICATION_TEMPLATE_TAGS, applicationTemplate);
+        }
+
+        private int writeApplicationTemplateStatic(byte[] target, int position) {
+            position = writeBytes(target, position, ADF_NAME_TLV);
+            position = writeBytes(target, position, APPLICATION_LABEL_TLV);
+            position = writeValues(target, position, APPLICATION_TEMPLATE_TAGS, applicationTemplate, 0, LANGUAGE_PREFERENCE_POSITION);
+            position = writeBytes(target, position, LANGUAGE_PREFERENCE_TLV);
+            return writeValues(target, position, APPLICATION_TEMPLATE_TAGS, applicationTemplate, LANGUAGE_PREFERENCE_POSITION, APPLICATION_TEMPLATE_TAGS.length);
+        }
+
+        // TLV of template 63 with index [from, to) of APPLICATION_SPECIFIC_TRANSPARENT_TEMPLATE_TAGS, empty when template 63 is not set
+        private byte[] getApplicationSpecificTransparentTemplateSegment(int from, int to) {
+            if (applicationSpecificTransparentTemplate == null) {
+                return new byte[FIRST_INDEX];
+            }
+            byte[] segment = new byte[getValuesLength(APPLICATION_SPECIFIC_TRANSPARENT_TEMPLATE_TAGS, applicationSpecificTransparentTemplate, from, to)];
+            writeValues(segment, FIRST_INDEX, APPLICATION_SPECIFIC_TRANSPARENT_TEMPLATE_TAGS, applicationSpecificTransparentTemplate, from, to);
+            return segment;
+        }
+    }
+}
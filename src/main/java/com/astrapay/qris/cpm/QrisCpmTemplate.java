@@ -0,0 +1,122 @@
+package com.astrapay.qris.cpm;
+
+import com.astrapay.qris.QrisHexConverter;
+import com.astrapay.qris.cpm.enums.TagIndicator;
+import com.astrapay.qris.cpm.object.ApplicationTemplate;
+import com.astrapay.qris.cpm.object.QrisCpm;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.DecoderException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Template QR CPM per consumer yang di-compile sekali per sesi dengan {@link QrisCpmEncoder#compile(ApplicationTemplate)}.
+ * <p>
+ * Dalam satu sesi, QR CPM hanya berbeda pada tag dinamis di template 63: Issuer QRIS Data (9F74), Application
+ * Cryptogram (9F26), Application Transaction Counter (9F36) dan Unpredictable Number (9F37). Tag lain sudah di-encode
+ * saat compile:
+ * </p>
+ * <ul>
+ *   <li>isi template 61 sebelum template 63 (4F, 50, 57, 5A, 5F20, 5F2D, 5F50, 9F08, 9F25, 9F19, 9F24)</li>
+ *   <li>9F7A dan 9F7B, di antara 9F74 dan 9F26</li>
+ *   <li>9F27 dan 9F10, di antara 9F26 dan 9F36</li>
+ *   <li>82, di antara 9F36 dan 9F37</li>
+ * </ul>
+ * <p>
+ * {@link #stamp} hanya mengkonversi tag dinamis, menghitung ulang panjang template 63 dan 61, lalu menyalin bagian
+ * statis. Hasilnya sama dengan {@link QrisCpmEncoder#encode(QrisCpm)} untuk {@link ApplicationTemplate} yang sama
+ * dengan tag dinamis tersebut, dengan template 63 selalu ditulis.
+ * </p>
+ * <p>
+ * Instance immutable dan thread-safe.
+ * </p>
+ */
+@Slf4j
+public final class QrisCpmTemplate {
+
+    private final QrisHexConverter qrisHexConverter;
+    private final byte[] applicationTemplateStatic;
+    private final byte[] afterIssuerData;
+    private final byte[] afterApplicationCryptogram;
+    private final byte[] afterApplicationTransactionCounter;
+    private final int staticLength;
+
+    QrisCpmTemplate(QrisHexConverter qrisHexConverter, byte[] applicationTemplateStatic, byte[] afterIssuerData,
+                    byte[] afterApplicationCryptogram, byte[] afterApplicationTransactionCounter) {
+        this.qrisHexConverter = qrisHexConverter;
+        this.applicationTemplateStatic = applicationTemplateStatic;
+        this.afterIssuerData = afterIssuerData;
+        this.afterApplicationCryptogram = afterApplicationCryptogram;
+        this.afterApplicationTransactionCounter = afterApplicationTransactionCounter;
+        this.staticLength = afterIssuerData.length + afterApplicationCryptogram.length + afterApplicationTransactionCounter.length;
+    }
+
+    /**
+     * @param issuerData                    tag 9F74, null jika tidak ditulis
+     * @param applicationCryptogram         tag 9F26 dalam HEX, null jika tidak ditulis
+     * @param applicationTransactionCounter tag 9F36 dalam HEX, null jika tidak ditulis
+     * @param unpredictableNumber           tag 9F37 dalam HEX, null jika tidak ditulis
+     * @return QR CPM dalam base64
+     * @throws IOException jika value HEX tidak valid
+     */
+    public String stamp(String issuerData, String applicationCryptogram, String applicationTransactionCounter,
+                        String unpredictableNumber) throws IOException {
+        byte[] issuerDataValue = Objects.isNull(issuerData) ? null : qrisHexConverter.convertAlphaNumericToArrayByte(issuerData);
+        byte[] applicationCryptogramValue;
+        byte[] applicationTransactionCounterValue;
+        byte[] unpredictableNumberValue;
+        try {
+            applicationCryptogramValue = convertByteOrNumber(applicationCryptogram);
+            applicationTransactionCounterValue = convertByteOrNumber(applicationTransactionCounter);
+            unpredictableNumberValue = convertByteOrNumber(unpredictableNumber);
+        } catch (DecoderException e) {
+            log.error("QrisCpmTemplate::Stamp failed to encode QR CPM ", e);
+            throw new IOException("Failed to encode QR CPM");
+        }
+
+        int applicationSpecificTransparentTemplateLength = staticLength
+                + getTlvSize(TagIndicator.ISSUER_QRIS_DATA, issuerDataValue)
+                + getTlvSize(TagIndicator.APPLICATION_CRYPTOGRAM, applicationCryptogramValue)
+                + getTlvSize(TagIndicator.APPLICATION_TRANSACTION_COUNTER, applicationTransactionCounterValue)
+                + getTlvSize(TagIndicator.UNPREDICTABLE_NUMBER, unpredictableNumberValue);
+        int applicationTemplateLength = applicationTemplateStatic.length
+                + QrisCpmEncoder.getTlvSize(TagIndicator.APPLICATION_SPECIFIC_TRANSPARENT_TEMPLATE, applicationSpecificTransparentTemplateLength);
+        int size = QrisCpmEncoder.PAYLOAD_FORMAT_INDICATOR_TLV.length
+                + QrisCpmEncoder.getTlvSize(TagIndicator.APPLICATION_TEMPLATE, applicationTemplateLength);
+
+        byte[] target = new byte[QrisCpmEncoder.getBase64Length(size)];
+        int position = target.length - size;
+        position = QrisCpmEncoder.writeBytes(target, position, QrisCpmEncoder.PAYLOAD_FORMAT_INDICATOR_TLV);
+        position = QrisCpmEncoder.writeTagAndLength(target, position, TagIndicator.APPLICATION_TEMPLATE, applicationTemplateLength);
+        position = QrisCpmEncoder.writeBytes(target, position, applicationTemplateStatic);
+        position = QrisCpmEncoder.writeTagAndLength(target, position, TagIndicator.APPLICATION_SPECIFIC_TRANSPARENT_TEMPLATE, applicationSpecificTransparentTemplateLength);
+        position = writeTlv(target, position, TagIndicator.ISSUER_QRIS_DATA, issuerDataValue);
+        position = QrisCpmEncoder.writeBytes(target, position, afterIssuerData);
+        position = writeTlv(target, position, TagIndicator.APPLICATION_CRYPTOGRAM, applicationCryptogramValue);
+        position = QrisCpmEncoder.writeBytes(target, position, afterApplicationCryptogram);
+        position = writeTlv(target, position, TagIndicator.APPLICATION_TRANSACTION_COUNTER, applicationTransactionCounterValue);
+        position = QrisCpmEncoder.writeBytes(target, position, afterApplicationTransactionCounter);
+        writeTlv(target, position, TagIndicator.UNPREDICTABLE_NUMBER, unpredictableNumberValue);
+
+        QrisCpmEncoder.encodeBase64InPlace(target, size);
+        return new String(target, StandardCharsets.US_ASCII);
+    }
+
+    private byte[] convertByteOrNumber(String value) throws DecoderException {
+        return Objects.isNull(value) ? null : qrisHexConverter.convertByteOrNumberToArrayByte(value);
+    }
+
+    private static int getTlvSize(TagIndicator tag, byte[] value) {
+        return value == null ? 0 : QrisCpmEncoder.getTlvSize(tag, value.length);
+    }
+
+    private static int writeTlv(byte[] target, int position, TagIndicator tag, byte[] value) {
+        if (value == null) {
+            return position;
+        }
+        position = QrisCpmEncoder.writeTagAndLength(target, position, tag, value.length);
+        return QrisCpmEncoder.writeBytes(target, position, value);
+    }
+}
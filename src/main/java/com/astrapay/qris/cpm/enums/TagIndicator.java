@@ -3,6 +3,9 @@ package com.astrapay.qris.cpm.enums;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @AllArgsConstructor
 @Getter
 public enum TagIndicator {
@@ -37,7 +40,34 @@ public enum TagIndicator {
 
     final DataType dataType;
 
+    // tag hanya terdiri dari 1 atau 2 byte, sehingga trie cukup 2 level: byte pertama lalu byte kedua
+    // refer to EMV 4.4 Book 3 Application Specification, Annex B, B1
+    private static final int SUBSEQUENT_BYTES_MASK = 0x1F;
+    private static final int ANOTHER_BYTE_FOLLOWS = 0x80;
+    private static final TagIndicator[] SINGLE_BYTE_TAGS = new TagIndicator[256];
+    private static final TagIndicator[][] DOUBLE_BYTE_TAGS = new TagIndicator[256][];
+    private static final Map<String, TagIndicator> TAG_BY_VALUE = new HashMap<>();
+
+    static {
+        for (TagIndicator tag : values()) {
+            int first = Byte.toUnsignedInt(tag.byteTag[0]);
+            if (tag.byteTag.length == 1) {
+                SINGLE_BYTE_TAGS[first] = tag;
+            } else {
+                if (DOUBLE_BYTE_TAGS[first] == null) {
+                    DOUBLE_BYTE_TAGS[first] = new TagIndicator[256];
+                }
+                DOUBLE_BYTE_TAGS[first][Byte.toUnsignedInt(tag.byteTag[1])] = tag;
+            }
+            TAG_BY_VALUE.put(tag.value, tag);
+        }
+    }
+
     public static DataType getDataType(String input) {
+        TagIndicator tagIndicator = TAG_BY_VALUE.get(input);
+        if (tagIndicator != null) {
+            return tagIndicator.dataType;
+        }
         for (TagIndicator tag : TagIndicator.values()) {
             if (input.startsWith(tag.value)) {
                 return tag.dataType;
@@ -45,7 +75,51 @@ public enum TagIndicator {
         }
         return DataType.UNKNOWN;
     }
-}
 
+    /**
+     * @param value tag dalam HEX, contoh "9F74"
+     * @return tag, atau null jika tidak dikenal
+     */
+    public static TagIndicator fromValue(String value) {
+        return TAG_BY_VALUE.get(value);
+    }
 
+    /**
+     * Identifikasi tag pada payload tanpa membuat string.
+     *
+     * @param payload   payload
+     * @param offset    offset byte pertama tag
+     * @param tagLength panjang tag dalam byte, lihat {@link #getTagLength(byte[], int, int)}
+     * @return tag, atau null jika tidak dikenal
+     */
+    public static TagIndicator fromBytes(byte[] payload, int offset, int tagLength) {
+        int first = Byte.toUnsignedInt(payload[offset]);
+        if (tagLength == 1) {
+            return SINGLE_BYTE_TAGS[first];
+        }
+        if (tagLength == 2 && DOUBLE_BYTE_TAGS[first] != null) {
+            return DOUBLE_BYTE_TAGS[first][Byte.toUnsignedInt(payload[offset + 1])];
+        }
+        return null;
+    }
 
+    /**
+     * Panjang tag BER-TLV dalam byte: jika bit b5-b1 byte pertama bernilai 11111, tag dilanjutkan byte berikutnya
+     * selama bit b8 byte tersebut bernilai 1. Berlaku juga untuk tag yang tidak dikenal sehingga tag tersebut dapat dilewati.
+     *
+     * @param payload payload
+     * @param offset  offset byte pertama tag
+     * @param end     offset setelah byte terakhir yang boleh dibaca
+     * @return panjang tag, atau -1 jika tag terpotong
+     */
+    public static int getTagLength(byte[] payload, int offset, int end) {
+        if ((payload[offset] & SUBSEQUENT_BYTES_MASK) != SUBSEQUENT_BYTES_MASK) {
+            return 1;
+        }
+        int position = offset + 1;
+        while (position < end && (payload[position] & ANOTHER_BYTE_FOLLOWS) == ANOTHER_BYTE_FOLLOWS) {
+            position++;
+        }
+        return position < end ? position - offset + 1 : -1;
+    }
+}
@@ -1,5 +1,7 @@
 package com.astrapay.qris.cpm.object;
 
+import com.astrapay.qris.QrisCodec;
+import com.astrapay.qris.cpm.enums.DataType;
 import lombok.*;
 
 import javax.validation.Valid;
@@ -7,11 +9,85 @@ import java.util.Map;
 
 @Getter
 @Setter
-@AllArgsConstructor
 @NoArgsConstructor
 public class QrCpmDataObject {
+
     private String tag;
     private String length;
     private String value;
     private Map<String, QrCpmDataObject> templateMap;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private byte[] source;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private int valueOffset;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private int valueLength;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private DataType dataType;
+
+    public QrCpmDataObject(String tag, String length, String value, Map<String, QrCpmDataObject> templateMap) {
+        this.tag = tag;
+        this.length = length;
+        this.value = value;
+        this.templateMap = templateMap;
+    }
+
+    /**
+     * Data object yang value-nya dibaca dari payload (byte hasil decode base64) saat pertama kali dibutuhkan.
+     *
+     * @param tag         tag dalam HEX, contoh "9F74"
+     * @param source      payload
+     * @param valueOffset offset awal value pada payload
+     * @param valueLength panjang value dalam byte
+     * @param dataType    {@link DataType#ALPHA_NUMERIC} / {@link DataType#ALPHA_NUMERIC_SPECIAL} dibaca sebagai string,
+     *                    {@link DataType#COMPRESSED_NUMERIC} sebagai HEX tanpa padding "F", selain itu sebagai HEX
+     */
+    public QrCpmDataObject(String tag, byte[] source, int valueOffset, int valueLength, DataType dataType) {
+        this.tag = tag;
+        this.source = source;
+        this.valueOffset = valueOffset;
+        this.valueLength = valueLength;
+        this.dataType = dataType;
+    }
+
+    public void setValue(String value) {
+        // length tetap panjang value hasil parsing, sama seperti sebelum value dibaca saat dibutuhkan
+        if (length == null && source != null) {
+            length = getLength();
+        }
+        this.value = value;
+        this.source = null;
+    }
+
+    public String getLength() {
+        if (length == null && source != null) {
+            length = String.valueOf(getValue().length());
+        }
+        return length;
+    }
+
+    public String getValue() {
+        if (value == null && source != null) {
+            value = readValue();
+        }
+        return value;
+    }
+
+    private String readValue() {
+        if (DataType.ALPHA_NUMERIC.equals(dataType) || DataType.ALPHA_NUMERIC_SPECIAL.equals(dataType)) {
+            return QrisCodec.decodeAlphaNumeric(source, valueOffset, valueLength);
+        }
+        if (DataType.COMPRESSED_NUMERIC.equals(dataType)) {
+            return QrisCodec.decodeCompressedNumeric(source, valueOffset, valueLength);
+        }
+        return QrisCodec.encodeHex(source, valueOffset, valueLength);
+    }
 }
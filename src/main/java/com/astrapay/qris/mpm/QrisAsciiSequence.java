@@ -0,0 +1,61 @@
+package com.astrapay.qris.mpm;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link CharSequence} di atas byte ASCII tanpa decode charset.
+ * <p>
+ * Digunakan oleh {@link QrisParser} agar payload yang diterima dalam bentuk byte dapat di-tokenize langsung.
+ * String baru dibuat ketika Value data object atau payload dibaca.
+ * </p>
+ */
+final class QrisAsciiSequence implements CharSequence {
+
+    private final byte[] bytes;
+    private final int offset;
+    private final int length;
+
+    QrisAsciiSequence(byte[] bytes, int offset, int length) {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * @return true jika seluruh byte pada range merupakan karakter ASCII (0x00 - 0x7F)
+     */
+    static boolean isAscii(byte[] bytes, int offset, int length) {
+        for (int i = offset, end = offset + length; i < end; i++) {
+            if (bytes[i] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new StringIndexOutOfBoundsException(index);
+        }
+        return (char) bytes[offset + index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new StringIndexOutOfBoundsException("begin " + start + ", end " + end + ", length " + length);
+        }
+        return new String(bytes, offset + start, end - start, StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public String toString() {
+        return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,263 @@
+package com.astrapay.qris.mpm;
+
+import com.astrapay.qris.mpm.object.Qris;
+import com.astrapay.qris.mpm.object.QrisBulkReport;
+import com.astrapay.qris.mpm.object.QrisType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ * Generate QR text dalam jumlah besar secara paralel ke {@link WritableByteChannel}, satu QR per baris.
+ * <p>
+ * Record dibaca dari {@link Iterator} per chunk pada thread pemanggil, lalu di-adapt dan di-encode oleh
+ * {@link ForkJoinPool}. Setiap worker menulis ke buffer milik thread-nya sendiri dengan
+ * {@link QrisEncoder#encode(Qris, QrisType, StringBuilder)}, sehingga tidak ada lock saat encode. Selama satu chunk
+ * ditulis ke channel, chunk berikutnya di-encode, sehingga memori dibatasi dua chunk berapapun jumlah record.
+ * </p>
+ * <p>
+ * Output berurutan sesuai record. Record yang gagal di-adapt atau di-encode ditulis sebagai baris kosong dan dicatat
+ * pada {@link QrisBulkReport} tanpa menghentikan batch; hanya {@link IOException} dari channel yang menghentikan
+ * batch.
+ * </p>
+ */
+public final class QrisBulkGenerator {
+
+    /**
+     * Jumlah record per chunk.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 8192;
+
+    /**
+     * Jumlah kegagalan maksimum yang disimpan pada {@link QrisBulkReport#getFailures()}.
+     */
+    public static final int MAX_FAILURES = 1000;
+
+    /**
+     * Jumlah record per task ForkJoin.
+     */
+    private static final int LEAF_SIZE = 256;
+
+    private static final char NEWLINE = '\n';
+
+    private static final String ERROR_INVALID_CHUNK_SIZE = "Invalid chunk size ";
+
+    /**
+     * Buffer leaf per thread worker, dipakai bersama oleh semua instance agar setiap thread hanya menyimpan satu buffer.
+     */
+    private static final ThreadLocal<StringBuilder> BUFFERS =
+            ThreadLocal.withInitial(() -> new StringBuilder(LEAF_SIZE * QrisEncoder.DEFAULT_CAPACITY / 2));
+
+    private final ForkJoinPool pool;
+    private final QrisType type;
+    private final int chunkSize;
+
+    /**
+     * MPM Payment pada {@link ForkJoinPool#commonPool()} dengan {@link #DEFAULT_CHUNK_SIZE}.
+     */
+    public QrisBulkGenerator() {
+        this(ForkJoinPool.commonPool(), QrisType.MPM_PAYMENT, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param pool      pool yang menjalankan encode
+     * @param type      layout yang ditulis, lihat {@link QrisEncoder#encode(Qris, QrisType)}
+     * @param chunkSize jumlah record per chunk
+     */
+    public QrisBulkGenerator(ForkJoinPool pool, QrisType type, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException(ERROR_INVALID_CHUNK_SIZE + chunkSize);
+        }
+        this.pool = pool;
+        this.type = type;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @param records QRIS yang di-encode
+     * @param output  channel tujuan, tidak ditutup oleh method ini
+     * @return ringkasan hasil
+     * @throws IOException jika gagal menulis ke channel
+     */
+    public QrisBulkReport generate(Iterator<? extends Qris> records, WritableByteChannel output) throws IOException {
+        return generate(records, Function.identity(), output);
+    }
+
+    /**
+     * @param records QRIS yang di-encode
+     * @param output  channel tujuan, tidak ditutup oleh method ini
+     * @return ringkasan hasil
+     * @throws IOException jika gagal menulis ke channel
+     */
+    public QrisBulkReport generate(Spliterator<? extends Qris> records, WritableByteChannel output) throws IOException {
+        return generate(Spliterators.iterator(records), Function.identity(), output);
+    }
+
+    /**
+     * @param records record merchant
+     * @param adapter konversi record ke {@link Qris}, dijalankan paralel oleh worker
+     * @param output  channel tujuan, tidak ditutup oleh method ini
+     * @param <T>     tipe record
+     * @return ringkasan hasil
+     * @throws IOException jika gagal menulis ke channel
+     */
+    public <T> QrisBulkReport generate(Spliterator<? extends T> records, Function<? super T, ? extends Qris> adapter,
+                                       WritableByteChannel output) throws IOException {
+        return generate(Spliterators.iterator(records), adapter, output);
+    }
+
+    /**
+     * @param records record merchant
+     * @param adapter konversi record ke {@link Qris}, dijalankan paralel oleh worker
+     * @param output  channel tujuan, tidak ditutup oleh method ini
+     * @param <T>     tipe record
+     * @return ringkasan hasil
+     * @throws IOException jika gagal menulis ke channel
+     */
+    public <T> QrisBulkReport generate(Iterator<? extends T> records, Function<? super T, ? extends Qris> adapter,
+                                       WritableByteChannel output) throws IOException {
+        long started = System.nanoTime();
+        long count = 0;
+        long failed = 0;
+        long bytes = 0;
+        List<QrisBulkReport.Failure> failures = new ArrayList<>();
+
+        Chunk<T> current = readChunk(records, 0);
+        ForkJoinTask<?> pending = current == null ? null : pool.submit(new EncodeTask<>(current, adapter, 0, current.size));
+        try {
+            while (pending != null) {
+                pending.join();
+                Chunk<T> next = readChunk(records, current.firstIndex + current.size);
+                pending = next == null ? null : pool.submit(new EncodeTask<>(next, adapter, 0, next.size));
+
+                for (int leaf = 0; leaf < current.blocks.length; leaf++) {
+                    bytes += write(output, current.blocks[leaf]);
+                    current.blocks[leaf] = null;
+                    List<QrisBulkReport.Failure> leafFailures = current.failures.get(leaf);
+                    if (leafFailures != null) {
+                        failed += leafFailures.size();
+                        for (int i = 0; i < leafFailures.size() && failures.size() < MAX_FAILURES; i++) {
+                            failures.add(leafFailures.get(i));
+                        }
+                    }
+                }
+                count += current.size;
+                current = next;
+            }
+        } finally {
+            if (pending != null) {
+                pending.cancel(true);
+            }
+        }
+        return new QrisBulkReport(count, failed, bytes, System.nanoTime() - started, Collections.unmodifiableList(failures));
+    }
+
+    private <T> Chunk<T> readChunk(Iterator<? extends T> records, long firstIndex) {
+        if (!records.hasNext()) {
+            return null;
+        }
+        Object[] chunk = new Object[chunkSize];
+        int size = 0;
+        while (size < chunkSize && records.hasNext()) {
+            chunk[size++] = records.next();
+        }
+        return new Chunk<>(chunk, size, firstIndex);
+    }
+
+    private static long write(WritableByteChannel output, byte[] block) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(block);
+        while (buffer.hasRemaining()) {
+            output.write(buffer);
+        }
+        return block.length;
+    }
+
+    /**
+     * Record satu chunk beserta hasil encode per leaf.
+     */
+    private static final class Chunk<T> {
+
+        private final Object[] records;
+        private final int size;
+        private final long firstIndex;
+        private final byte[][] blocks;
+        private final List<List<QrisBulkReport.Failure>> failures;
+
+        private Chunk(Object[] records, int size, long firstIndex) {
+            this.records = records;
+            this.size = size;
+            this.firstIndex = firstIndex;
+            int leaves = (size + LEAF_SIZE - 1) / LEAF_SIZE;
+            this.blocks = new byte[leaves][];
+            this.failures = new ArrayList<>(Collections.nCopies(leaves, null));
+        }
+
+        @SuppressWarnings("unchecked")
+        private T get(int index) {
+            return (T) records[index];
+        }
+    }
+
+    /**
+     * Bagi range record hingga {@link #LEAF_SIZE}, lalu encode setiap leaf ke buffer thread worker.
+     */
+    private final class EncodeTask<T> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Chunk<T> chunk;
+        private final Function<? super T, ? extends Qris> adapter;
+        private final int from;
+        private final int to;
+
+        private EncodeTask(Chunk<T> chunk, Function<? super T, ? extends Qris> adapter, int from, int to) {
+            this.chunk = chunk;
+            this.adapter = adapter;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > LEAF_SIZE) {
+                int leaves = (to - from + LEAF_SIZE - 1) / LEAF_SIZE;
+                int middle = from + leaves / 2 * LEAF_SIZE;
+                invokeAll(new EncodeTask<>(chunk, adapter, from, middle), new EncodeTask<>(chunk, adapter, middle, to));
+                return;
+            }
+            StringBuilder buffer = BUFFERS.get();
+            buffer.setLength(0);
+            List<QrisBulkReport.Failure> failures = null;
+            for (int i = from; i < to; i++) {
+                int start = buffer.length();
+                try {
+                    QrisEncoder.encode(adapter.apply(chunk.get(i)), type, buffer);
+                } catch (RuntimeException e) {
+                    buffer.setLength(start);
+                    if (failures == null) {
+                        failures = new ArrayList<>();
+                    }
+                    failures.add(new QrisBulkReport.Failure(chunk.firstIndex + i, e));
+                }
+                buffer.append(NEWLINE);
+            }
+            int leaf = from / LEAF_SIZE;
+            chunk.blocks[leaf] = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            chunk.failures.set(leaf, failures);
+            Arrays.fill(chunk.records, from, to, null);
+        }
+    }
+}
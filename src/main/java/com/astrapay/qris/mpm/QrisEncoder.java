@@ -0,0 +1,457 @@
+package com.astrapay.qris.mpm;
+
+import com.astrapay.qris.QrisCrc16;
+import com.astrapay.qris.mpm.object.AdditionalData;
+import com.astrapay.qris.mpm.object.AdditionalDataFieldTransfer;
+import com.astrapay.qris.mpm.object.MerchantAccountInformation;
+import com.astrapay.qris.mpm.object.Qris;
+import com.astrapay.qris.mpm.object.QrisAmount;
+import com.astrapay.qris.mpm.object.QrisType;
+import com.astrapay.qris.mpm.object.Tip;
+import com.astrapay.qris.mpm.object.TransferAccountInformation;
+
+import java.util.Map;
+
+/**
+ * Encoder QRIS MPM yang menulis seluruh data object langsung ke satu {@link StringBuilder}.
+ * <p>
+ * Panjang Value ditulis dari tabel dua digit yang dihitung sekali, template (ID "26", "40", "51" dan "62") ditulis
+ * dengan placeholder panjang yang diisi setelah isinya selesai, dan CRC (ID "63") dihitung langsung dari buffer
+ * tanpa membuat String perantara. Urutan dan format data object sama dengan {@link Qris#toString()} untuk MPM
+ * Payment dan {@link Qris#toStringTransfer()} untuk MPM Transfer, kecuali CRC yang selalu dihitung ulang.
+ * </p>
+ * <p>
+ * Instance menyimpan buffer yang dipakai ulang untuk setiap {@link #encode(Qris, QrisType)}, sehingga tidak
+ * thread-safe; gunakan satu instance per thread. Method static dapat dipakai bersama.
+ * </p>
+ * <b>4.7.2</b> Setiap data object terdiri dari ID (2 digit), Panjang (2 digit) dan Value.<br/>
+ * <b>4.7.16.1</b> Data yang dihitung adalah seluruh data object termasuk ID dan Panjang karakter dari CRC sendiri.
+ */
+public final class QrisEncoder {
+
+    /**
+     * Kapasitas awal buffer, cukup untuk QR MPM pada umumnya tanpa perlu diperbesar.
+     */
+    public static final int DEFAULT_CAPACITY = 512;
+
+    private static final String ERROR_AMOUNT_NOT_ENCODABLE = "Nominal ID \"%s\" tidak dapat ditulis: %s";
+
+    private static final String TAG_ID_PAYLOAD_FORMAT_INDICATOR = "00";
+    private static final String TAG_ID_POINT_OF_INITIATION_METHOD = "01";
+    private static final String TAG_ID_MERCHANT_ACCOUNT_INFORMATION = "26";
+    private static final String TAG_ID_TRANSFER_ACCOUNT_INFORMATION = "40";
+    private static final String TAG_ID_DOMESTIC_CENTRAL_REPOSITORY = "51";
+    private static final String TAG_ID_MERCHANT_CATEGORY_CODE = "52";
+    private static final String TAG_ID_TRANSACTION_CURRENCY = "53";
+    private static final String TAG_ID_TRANSACTION_AMOUNT = "54";
+    private static final String TAG_ID_TIP_INDICATOR = "55";
+    private static final String TAG_ID_TIP_FIXED = "56";
+    private static final String TAG_ID_TIP_PERCENTAGE = "57";
+    private static final String TAG_ID_COUNTRY_CODE = "58";
+    private static final String TAG_ID_NAME = "59";
+    private static final String TAG_ID_CITY = "60";
+    private static final String TAG_ID_POSTAL_CODE = "61";
+    private static final String TAG_ID_ADDITIONAL_DATA = "62";
+    private static final String TAG_ID_CRC = "63";
+
+    private static final String TAG_ID_GLOBALLY_UNIQUE_IDENTIFIER = "00";
+    private static final String TAG_ID_PAN = "01";
+    private static final String TAG_ID_MERCHANT_ID = "02";
+    private static final String TAG_ID_MERCHANT_CRITERIA = "03";
+    private static final String TAG_ID_BANK_IDENTIFIER_CODE = "04";
+    private static final String TAG_ID_PURPOSE_OF_TRANSACTION = "08";
+    private static final String TAG_ID_UNIQUE_PER_GENERATED = "99";
+    private static final String TAG_ID_DEFAULT_VALUE = "00";
+    private static final String TAG_ID_UNIQUE_DATA = "01";
+
+    private static final int MERCHANT_ACCOUNT_INFORMATION_ID = 26;
+    private static final int MERCHANT_CATEGORY_CODE_LENGTH = 4;
+    private static final int MAX_TWO_DIGITS = 99;
+
+    /**
+     * "00", "01", ..., "99" berurutan, dua karakter per panjang.
+     */
+    private static final char[] TWO_DIGITS = new char[(MAX_TWO_DIGITS + 1) * 2];
+
+    static {
+        for (int i = 0; i <= MAX_TWO_DIGITS; i++) {
+            TWO_DIGITS[i * 2] = (char) ('0' + i / 10);
+            TWO_DIGITS[i * 2 + 1] = (char) ('0' + i % 10);
+        }
+    }
+
+    private final StringBuilder buffer;
+
+    public QrisEncoder() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity kapasitas awal buffer
+     */
+    public QrisEncoder(int capacity) {
+        this.buffer = new StringBuilder(capacity);
+    }
+
+    /**
+     * @param qris QRIS MPM Payment
+     * @return QR text termasuk CRC (ID "63")
+     * @throws IllegalArgumentException jika nominal positif tidak dapat ditulis sebagai nominal QRIS
+     */
+    public String encode(Qris qris) {
+        return encode(qris, QrisType.MPM_PAYMENT);
+    }
+
+    /**
+     * @param qris QRIS MPM Transfer
+     * @return QR text termasuk CRC (ID "63")
+     * @throws IllegalArgumentException jika nominal positif tidak dapat ditulis sebagai nominal QRIS
+     */
+    public String encodeTransfer(Qris qris) {
+        return encode(qris, QrisType.MPM_TRANSFER);
+    }
+
+    /**
+     * @param qris QRIS
+     * @param type layout yang ditulis, {@link QrisType#MPM_TRANSFER} atau selain itu sebagai MPM Payment
+     * @return QR text termasuk CRC (ID "63")
+     * @throws IllegalArgumentException jika nominal positif tidak dapat ditulis sebagai nominal QRIS
+     */
+    public String encode(Qris qris, QrisType type) {
+        buffer.setLength(0);
+        return encode(qris, type, buffer).toString();
+    }
+
+    /**
+     * Tulis QR text termasuk CRC (ID "63") ke akhir builder. CRC hanya dihitung dari karakter yang ditulis oleh
+     * method ini.
+     *
+     * @param qris   QRIS
+     * @param type   layout yang ditulis, {@link QrisType#MPM_TRANSFER} atau selain itu sebagai MPM Payment
+     * @param target builder tujuan
+     * @return builder tujuan
+     * @throws IllegalArgumentException jika nominal positif tidak dapat ditulis sebagai nominal QRIS; builder
+     *                                  dikembalikan ke panjang semula
+     */
+    public static StringBuilder encode(Qris qris, QrisType type, StringBuilder target) {
+        int start = target.length();
+        try {
+            if (type == QrisType.MPM_TRANSFER) {
+                appendTransfer(qris, target);
+            } else {
+                appendPayment(qris, target);
+            }
+        } catch (IllegalArgumentException e) {
+            target.setLength(start);
+            throw e;
+        }
+        return appendCrc(target, start);
+    }
+
+    /**
+     * Tulis data object MPM Payment tanpa CRC (ID "63"): 00, 01, 26, 51, 52, 53, 54, 55 (beserta 57 dan 56), 58, 59,
+     * 60, 61 dan 62. Data object yang bernilai null tidak ditulis.
+     *
+     * @param qris   QRIS MPM Payment
+     * @param target builder tujuan
+     * @return builder tujuan
+     */
+    public static StringBuilder appendPayment(Qris qris, StringBuilder target) {
+        appendPaymentHead(qris, qris.getPointOfInitiationMethod(), target);
+        appendTransactionAmount(qris, target);
+        appendPaymentTail(qris, target);
+        appendAdditionalData(qris.getAdditionalData(), target);
+        return target;
+    }
+
+    /**
+     * Data object MPM Payment sebelum Transaction Amount: 00, 01, 26, 51, 52 dan 53.
+     *
+     * @param pointOfInitiationMethod Point of Initiation Method (ID "01") yang ditulis
+     */
+    static void appendPaymentHead(Qris qris, Integer pointOfInitiationMethod, StringBuilder target) {
+        appendTlv(target, TAG_ID_PAYLOAD_FORMAT_INDICATOR, qris.getPayloadFormatIndicator());
+        appendPointOfInitiationMethod(pointOfInitiationMethod, target);
+        Map<Integer, MerchantAccountInformation> domestics = qris.getMerchantAccountInformationDomestics();
+        if (domestics != null) {
+            appendMerchantAccountInformation(target, TAG_ID_MERCHANT_ACCOUNT_INFORMATION, domestics.get(MERCHANT_ACCOUNT_INFORMATION_ID));
+        }
+        appendMerchantAccountInformation(target, TAG_ID_DOMESTIC_CENTRAL_REPOSITORY, qris.getDomesticCentralRepository());
+        appendMerchantCategoryAndCurrency(qris, target);
+    }
+
+    /**
+     * Data object MPM Payment antara Transaction Amount dan Additional Data Field Template: 55 (beserta 57 dan 56),
+     * 58, 59, 60 dan 61.
+     */
+    static void appendPaymentTail(Qris qris, StringBuilder target) {
+        appendTip(qris.getTip(), target);
+        appendCountryCode(qris, target);
+        appendTlv(target, TAG_ID_NAME, qris.getMerchantName());
+        appendTlv(target, TAG_ID_CITY, qris.getMerchantCity());
+        appendTlv(target, TAG_ID_POSTAL_CODE, qris.getPostalCode());
+    }
+
+    /**
+     * Tulis data object MPM Transfer tanpa CRC (ID "63"): 00, 01, 40, 52, 53, 54, 58, 59, 60, 61 dan 62. Additional
+     * Data Field Template (ID "62") diambil dari {@link AdditionalDataFieldTransfer} apabila ada.
+     *
+     * @param qris   QRIS MPM Transfer
+     * @param target builder tujuan
+     * @return builder tujuan
+     */
+    public static StringBuilder appendTransfer(Qris qris, StringBuilder target) {
+        appendTlv(target, TAG_ID_PAYLOAD_FORMAT_INDICATOR, qris.getPayloadFormatIndicator());
+        appendPointOfInitiationMethod(qris.getPointOfInitiationMethod(), target);
+        appendTransferAccountInformation(qris.getTransferAccountInformation(), target);
+        appendMerchantCategoryAndCurrency(qris, target);
+        appendTransactionAmount(qris, target);
+        appendCountryCode(qris, target);
+        appendTlv(target, TAG_ID_NAME, qris.getBeneficiaryName());
+        appendTlv(target, TAG_ID_CITY, qris.getBeneficiaryCity());
+        appendTlv(target, TAG_ID_POSTAL_CODE, qris.getPostalCode());
+        if (qris.getAdditionalDataFieldTransfer() != null) {
+            appendAdditionalDataFieldTransfer(qris.getAdditionalDataFieldTransfer(), target);
+        } else {
+            appendAdditionalData(qris.getAdditionalData(), target);
+        }
+        return target;
+    }
+
+    /**
+     * <b>4.7.11</b> Additional Data Field Template (ID "62") MPM Transfer: Purpose of Transaction (ID "08") dan
+     * Unique per Generated (ID "99") berisi ID "00" dan "01". Template yang kosong tidak ditulis.
+     *
+     * @param additionalData Additional Data Field MPM Transfer
+     * @param target         builder tujuan
+     * @return builder tujuan
+     */
+    public static StringBuilder appendAdditionalDataFieldTransfer(AdditionalDataFieldTransfer additionalData, StringBuilder target) {
+        int template = beginTlv(target, TAG_ID_ADDITIONAL_DATA);
+        if (additionalData.getPurposeOfTransaction() != null) {
+            appendTlv(target, TAG_ID_PURPOSE_OF_TRANSACTION, additionalData.getPurposeOfTransaction().getCode());
+        }
+        int uniquePerGenerated = beginTlv(target, TAG_ID_UNIQUE_PER_GENERATED);
+        appendNonEmptyTlv(target, TAG_ID_DEFAULT_VALUE, additionalData.getDefaultValue());
+        appendNonEmptyTlv(target, TAG_ID_UNIQUE_DATA, additionalData.getUniqueData());
+        endNonEmptyTlv(target, uniquePerGenerated);
+        endNonEmptyTlv(target, template);
+        return target;
+    }
+
+    /**
+     * Tulis satu data object: ID, panjang Value dan Value. Value null tidak ditulis.
+     *
+     * @param target builder tujuan
+     * @param tag    ID data object
+     * @param value  Value
+     * @return builder tujuan
+     */
+    public static StringBuilder appendTlv(StringBuilder target, String tag, CharSequence value) {
+        if (value != null) {
+            appendLength(target.append(tag), value.length()).append(value);
+        }
+        return target;
+    }
+
+    /**
+     * Tulis panjang Value dua digit dari tabel. Panjang di atas 99 ditulis apa adanya, sama dengan
+     * {@code String.format("%02d", length)}.
+     *
+     * @param target builder tujuan
+     * @param length panjang Value
+     * @return builder tujuan
+     */
+    public static StringBuilder appendLength(StringBuilder target, int length) {
+        if (length < 0 || length > MAX_TWO_DIGITS) {
+            return target.append(length);
+        }
+        return target.append(TWO_DIGITS, length * 2, 2);
+    }
+
+    /**
+     * <b>4.7.16</b> Tulis "6304" diikuti CRC dari karakter sejak {@code start} hingga ID dan panjang CRC.
+     *
+     * @param target builder tujuan
+     * @param start  index awal QR text pada builder
+     * @return builder tujuan
+     */
+    public static StringBuilder appendCrc(StringBuilder target, int start) {
+        appendLength(target.append(TAG_ID_CRC), QrisCrc16.HEX_LENGTH);
+        int crc = QrisCrc16.update(QrisCrc16.INITIAL, target, start, target.length());
+        return QrisCrc16.appendHex(crc, target);
+    }
+
+    private static void appendPointOfInitiationMethod(Integer pointOfInitiationMethod, StringBuilder target) {
+        if (pointOfInitiationMethod != null) {
+            appendInteger(target, TAG_ID_POINT_OF_INITIATION_METHOD, pointOfInitiationMethod);
+        }
+    }
+
+    private static void appendMerchantCategoryAndCurrency(Qris qris, StringBuilder target) {
+        if (qris.getMerchantCategoryCode() != null) {
+            appendMerchantCategoryCode(qris.getMerchantCategoryCode(), target);
+        }
+        if (qris.getTransactionCurrency() != null) {
+            appendTlv(target, TAG_ID_TRANSACTION_CURRENCY, qris.getTransactionCurrency().getNumericCodeAsString());
+        }
+    }
+
+    private static void appendTransactionAmount(Qris qris, StringBuilder target) {
+        appendAmount(target, TAG_ID_TRANSACTION_AMOUNT, qris.getTransactionAmountValue(), qris.getTransactionAmount());
+    }
+
+    /**
+     * Sama dengan {@code String.format("%04d", code)}.
+     */
+    private static void appendMerchantCategoryCode(int code, StringBuilder target) {
+        if (code < 0 || code > 9999) {
+            appendTlv(target, TAG_ID_MERCHANT_CATEGORY_CODE, String.format("%04d", code));
+            return;
+        }
+        appendLength(target.append(TAG_ID_MERCHANT_CATEGORY_CODE), MERCHANT_CATEGORY_CODE_LENGTH)
+                .append(TWO_DIGITS, code / 100 * 2, 2)
+                .append(TWO_DIGITS, code % 100 * 2, 2);
+    }
+
+    /**
+     * Tip Indicator (ID "55") diikuti Tip Value Percentage (ID "57") lalu Tip Value Fixed (ID "56").
+     */
+    private static void appendTip(Tip tip, StringBuilder target) {
+        if (tip == null || tip.getIndicator() == null) {
+            return;
+        }
+        appendTlv(target, TAG_ID_TIP_INDICATOR, tip.getIndicator());
+        appendAmount(target, TAG_ID_TIP_PERCENTAGE, tip.getPercentageValue(), tip.getPercentage());
+        appendAmount(target, TAG_ID_TIP_FIXED, tip.getFixedValue(), tip.getFixed());
+    }
+
+    private static void appendCountryCode(Qris qris, StringBuilder target) {
+        if (qris.getCountryCode() != null) {
+            appendTlv(target, TAG_ID_COUNTRY_CODE, qris.getCountryCode().getCountry());
+        }
+    }
+
+    /**
+     * Template ditulis meskipun isinya kosong.
+     */
+    private static void appendMerchantAccountInformation(StringBuilder target, String tag, MerchantAccountInformation information) {
+        if (information == null) {
+            return;
+        }
+        int position = beginTlv(target, tag);
+        appendTlv(target, TAG_ID_GLOBALLY_UNIQUE_IDENTIFIER, information.getGloballyUniqueIdentifier());
+        appendTlv(target, TAG_ID_PAN, information.getPersonalAccountNumber());
+        appendTlv(target, TAG_ID_MERCHANT_ID, information.getMerchantId());
+        if (information.getCriteria() != null) {
+            appendTlv(target, TAG_ID_MERCHANT_CRITERIA, information.getCriteria().toString());
+        }
+        endTlv(target, position);
+    }
+
+    /**
+     * Template yang kosong tidak ditulis.
+     */
+    private static void appendTransferAccountInformation(TransferAccountInformation transfer, StringBuilder target) {
+        if (transfer == null) {
+            return;
+        }
+        int position = beginTlv(target, TAG_ID_TRANSFER_ACCOUNT_INFORMATION);
+        appendTlv(target, TAG_ID_GLOBALLY_UNIQUE_IDENTIFIER, transfer.getReverseDomain());
+        appendTlv(target, TAG_ID_PAN, transfer.getCustomerPan());
+        appendTlv(target, TAG_ID_MERCHANT_ID, transfer.getBeneficiaryId());
+        appendTlv(target, TAG_ID_BANK_IDENTIFIER_CODE, transfer.getBankIdentifierCode());
+        endNonEmptyTlv(target, position);
+    }
+
+    private static void appendAdditionalData(AdditionalData additionalData, StringBuilder target) {
+        if (additionalData != null) {
+            appendTlv(target, TAG_ID_ADDITIONAL_DATA, additionalData.getValue());
+        }
+    }
+
+    /**
+     * Nominal nol tidak ditulis.
+     */
+    static void appendAmount(StringBuilder target, String tag, QrisAmount amount) {
+        if (amount.signum() != 0) {
+            amount.appendTo(appendLength(target.append(tag), amount.length()));
+        }
+    }
+
+    /**
+     * Nominal model ditulis dari nilai fixed-point-nya. Nominal yang tidak diisi, nol, negatif atau bukan bilangan
+     * tidak ditulis; nominal positif yang tidak dapat ditulis sebagai nominal QRIS ditolak.
+     *
+     * @throws IllegalArgumentException jika nominal positif tetapi tak hingga, lebih dari 18 digit desimal atau
+     *                                  melebihi kapasitas {@code long}
+     */
+    private static void appendAmount(StringBuilder target, String tag, QrisAmount amount, Double value) {
+        QrisAmount written = writtenAmount(tag, amount, value);
+        if (written != null) {
+            written.appendTo(appendLength(target.append(tag), written.length()));
+        }
+    }
+
+    /**
+     * Nominal model yang ditulis oleh {@link #appendAmount(StringBuilder, String, QrisAmount, Double)}.
+     *
+     * @return nominal yang ditulis, atau null jika tidak ditulis
+     * @throws IllegalArgumentException jika nominal positif tetapi tidak dapat ditulis sebagai nominal QRIS
+     */
+    static QrisAmount writtenAmount(String tag, QrisAmount amount, Double value) {
+        if (amount != null) {
+            return amount.signum() != 0 ? amount : null;
+        }
+        if (value != null && value > 0) {
+            throw new IllegalArgumentException(String.format(ERROR_AMOUNT_NOT_ENCODABLE, tag, value));
+        }
+        return null;
+    }
+
+    private static void appendInteger(StringBuilder target, String tag, int value) {
+        int position = beginTlv(target, tag);
+        target.append(value);
+        endTlv(target, position);
+    }
+
+    static void appendNonEmptyTlv(StringBuilder target, String tag, String value) {
+        if (value != null && !value.isEmpty()) {
+            appendTlv(target, tag, value);
+        }
+    }
+
+    /**
+     * Tulis ID dan placeholder panjang.
+     *
+     * @return index awal Value
+     */
+    static int beginTlv(StringBuilder target, String tag) {
+        target.append(tag).append(TWO_DIGITS, 0, 2);
+        return target.length();
+    }
+
+    /**
+     * Isi placeholder panjang dengan jumlah karakter sejak {@code position}.
+     */
+    private static void endTlv(StringBuilder target, int position) {
+        int length = target.length() - position;
+        if (length > MAX_TWO_DIGITS) {
+            target.replace(position - 2, position, Integer.toString(length));
+            return;
+        }
+        target.setCharAt(position - 2, TWO_DIGITS[length * 2]);
+        target.setCharAt(position - 1, TWO_DIGITS[length * 2 + 1]);
+    }
+
+    /**
+     * Sama dengan {@link #endTlv(StringBuilder, int)}, tetapi ID dan placeholder dihapus jika Value kosong.
+     */
+    static void endNonEmptyTlv(StringBuilder target, int position) {
+        if (target.length() == position) {
+            target.setLength(position - 4);
+        } else {
+            endTlv(target, position);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.astrapay.qris.mpm;
 
 import com.astrapay.qris.MerchantCriteria;
+import com.astrapay.qris.QrisIsoRegistry;
 import com.astrapay.qris.mpm.object.*;
 
 import java.util.*;
@@ -17,11 +18,24 @@ public class QrisMapper {
      * @return Qris
      */
     public Qris map(Map<Integer, QrisDataObject> payload) {
+        return map(payload, isTransferQr(payload) ? QrisType.MPM_TRANSFER : QrisType.MPM_PAYMENT);
+    }
+
+    /**
+     * map dengan tipe QRIS yang sudah terdeteksi oleh {@link QrisParser} ({@link QrisPayload#getQrisType()} atau
+     * {@link QrisParser#peekType(CharSequence)}), sehingga template
+     * tag 62 tidak perlu dibaca ulang untuk menentukan tipe.
+     *
+     * @param payload   payload
+     * @param qrisType  tipe QRIS, {@link QrisType#MPM_TRANSFER} di-map sebagai Transfer dan selainnya sebagai Payment
+     * @return Qris
+     */
+    public Qris map(Map<Integer, QrisDataObject> payload, QrisType qrisType) {
         Qris object = new Qris();
         object.setPayloadFormatIndicator(payload.get(0).getValue());
         object.setPointOfInitiationMethod(Integer.valueOf(payload.get(1).getValue()));
 
-        boolean isTransfer = isTransferQr(payload);
+        boolean isTransfer = qrisType == QrisType.MPM_TRANSFER;
 
         if (isTransfer) {
             mapTransferAccountInformation(payload, object);
@@ -31,14 +45,14 @@ public class QrisMapper {
         }
 
         object.setMerchantCategoryCode(Integer.valueOf(payload.get(52).getValue()));
-        for (Currency currency : Currency.getAvailableCurrencies()) {
-            if (currency.getNumericCodeAsString().equals(payload.get(53).getValue())) {
-                object.setTransactionCurrency(currency);
-                break;
-            }
-        }
+        object.setTransactionCurrency(QrisIsoRegistry.currencyOf(payload.get(53).getValue()));
         if (payload.containsKey(54)) {
-            object.setTransactionAmount(Double.valueOf(payload.get(54).getValue()));
+            QrisAmount transactionAmount = payload.get(54).toAmount();
+            if (transactionAmount != null) {
+                object.setTransactionAmountValue(transactionAmount);
+            } else {
+                object.setTransactionAmount(Double.valueOf(payload.get(54).getValue()));
+            }
         }
 
         mapTip(payload, object);
@@ -133,37 +147,37 @@ public class QrisMapper {
 
     private void mapMerchantInformationLanguage(Map<Integer, QrisDataObject> payload, Qris object) {
         if (payload.containsKey(64)) {
+            Map<Integer, QrisDataObject> languageMap = payload.get(64).getTemplateMap();
             MerchantInformationLanguage merchantInformationLanguage = new MerchantInformationLanguage();
-            String languagePreference = payload.get(64).getTemplateMap().get(0).getValue();
-            for (Locale locale : Locale.getAvailableLocales()) {
-                if (languagePreference.equals(locale.getISO3Language())) {
-                    merchantInformationLanguage.setLanguagePreference(locale);
-                }
-            }
-            merchantInformationLanguage.setMerchantNameAlternateLanguage(payload.get(64).getTemplateMap().get(1).getValue());
-            merchantInformationLanguage.setMerchantCityAlternateLanguage(payload.get(64).getTemplateMap().get(2).getValue());
+            String languagePreference = languageMap.get(0).getValue();
+            merchantInformationLanguage.setLanguagePreference(QrisIsoRegistry.localeOfLanguage(languagePreference));
+            merchantInformationLanguage.setMerchantNameAlternateLanguage(languageMap.get(1).getValue());
+            merchantInformationLanguage.setMerchantCityAlternateLanguage(languageMap.get(2).getValue());
             object.setMerchantInformationLanguage(merchantInformationLanguage);
         }
     }
 
     private void mapAdditionalData(Map<Integer, QrisDataObject> payload, Qris object) {
         if (payload.containsKey(62)) {
+            Map<Integer, QrisDataObject> additionalDataMap = payload.get(62).getTemplateMap();
             AdditionalData additionalData = new AdditionalData();
             Map<Integer, String> dataObjects = new LinkedHashMap<>();
             for (int i = 1; i <= 8; i++) {
-                if (payload.get(62).getTemplateMap().containsKey(i)) {
-                    dataObjects.put(i, payload.get(62).getTemplateMap().get(i).getValue());
+                QrisDataObject dataObject = additionalDataMap.get(i);
+                if (dataObject != null) {
+                    dataObjects.put(i, dataObject.getValue());
                 }
             }
             additionalData.setDataObjects(dataObjects);
             additionalData.setValue(payload.get(62).getValue());
-            if (payload.get(62).getTemplateMap().containsKey(9)) {
-                additionalData.setConsumerDataRequest(payload.get(62).getTemplateMap().get(9).getValue());
+            if (additionalDataMap.containsKey(9)) {
+                additionalData.setConsumerDataRequest(additionalDataMap.get(9).getValue());
             }
-            if (payload.get(62).getTemplateMap().containsKey(99)) {
+            if (additionalDataMap.containsKey(99)) {
+                Map<Integer, QrisDataObject> proprietaryMap = additionalDataMap.get(99).getTemplateMap();
                 ProprietaryDomestic proprietaryDomestic = new ProprietaryDomestic();
-                proprietaryDomestic.setProprietary(payload.get(62).getTemplateMap().get(99).getTemplateMap().get(0).getValue());
-                proprietaryDomestic.setProprietary(payload.get(62).getTemplateMap().get(99).getTemplateMap().get(1).getValue());
+                proprietaryDomestic.setProprietary(proprietaryMap.get(0).getValue());
+                proprietaryDomestic.setProprietary(proprietaryMap.get(1).getValue());
                 additionalData.setProprietaryDomestic(proprietaryDomestic);
             }
             object.setAdditionalData(additionalData);
@@ -171,11 +185,7 @@ public class QrisMapper {
     }
 
     private void mapCountryCode(Map<Integer, QrisDataObject> payload, Qris object) {
-        for (Locale locale : Locale.getAvailableLocales()) {
-            if (locale.getCountry().equals(payload.get(58).getValue())) {
-                object.setCountryCode(locale);
-            }
-        }
+        object.setCountryCode(QrisIsoRegistry.localeOfCountry(payload.get(58).getValue()));
     }
 
     private void mapTip(Map<Integer, QrisDataObject> payload, Qris object) {
@@ -183,10 +193,20 @@ public class QrisMapper {
         if (payload.containsKey(55)) {
             tip.setIndicator(payload.get(55).getValue());
             if (payload.containsKey(56)) {
-                tip.setFixed(Double.valueOf(payload.get(56).getValue()));
+                QrisAmount fixed = payload.get(56).toAmount();
+                if (fixed != null) {
+                    tip.setFixedValue(fixed);
+                } else {
+                    tip.setFixed(Double.valueOf(payload.get(56).getValue()));
+                }
             }
             if (payload.containsKey(57)) {
-                tip.setPercentage(Double.valueOf(payload.get(57).getValue()));
+                QrisAmount percentage = payload.get(57).toAmount();
+                if (percentage != null) {
+                    tip.setPercentageValue(percentage);
+                } else {
+                    tip.setPercentage(Double.valueOf(payload.get(57).getValue()));
+                }
             }
         }
         object.setTip(tip);
@@ -0,0 +1,362 @@
+package com.astrapay.qris.mpm;
+
+import com.astrapay.qris.QrisCrc16;
+import com.astrapay.qris.mpm.object.AdditionalData;
+import com.astrapay.qris.mpm.object.AdditionalDataFieldTransfer;
+import com.astrapay.qris.mpm.object.MerchantAccountInformation;
+import com.astrapay.qris.mpm.object.Qris;
+import com.astrapay.qris.mpm.object.QrisAmount;
+import com.astrapay.qris.mpm.object.QrisDataObject;
+import com.astrapay.qris.mpm.object.QrisMpmPaymentPayload;
+import com.astrapay.qris.mpm.object.QrisParseStatus;
+import com.astrapay.qris.mpm.object.QrisPayload;
+import com.astrapay.qris.mpm.object.QrisTlvMap;
+import com.astrapay.qris.mpm.object.QrisTransferPayload;
+import com.astrapay.qris.mpm.object.QrisType;
+import com.astrapay.qris.mpm.object.Tip;
+import com.astrapay.qris.mpm.object.TransferAccountInformation;
+import com.astrapay.qris.mpm.validation.QrisValidationMode;
+import com.astrapay.qris.mpm.validation.QrisValidationPlan;
+import com.astrapay.qris.mpm.validation.QrisViolation;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Validasi {@link Qris} sebelum diterbitkan tanpa {@code toString()}, {@link QrisParser} dan Bean Validation.
+ * <p>
+ * Data object root dibentuk langsung dari field {@link Qris} dengan urutan dan format Value yang sama dengan
+ * {@link QrisEncoder}, dan template (ID "26", "40", "51" dan "62") dibentuk dari sub-field-nya, lalu divalidasi oleh
+ * {@link QrisValidationPlan} class payload yang sama dengan hasil parsing: {@link QrisMpmPaymentPayload} atau
+ * {@link QrisTransferPayload}. Aturan dan kode pelanggaran dengan demikian hanya didefinisikan satu kali pada
+ * constraint annotation, tanpa menulis QR text lalu men-tokenize-nya kembali. Hanya Value mentah
+ * {@link AdditionalData#getValue()} yang di-index untuk membentuk sub-tag ID "62".
+ * </p>
+ * <p>
+ * CRC (ID "63") dihitung dari data object seperti pada {@link QrisEncoder}, sehingga field {@link Qris#getCrc()}
+ * tidak diperiksa. Payload tidak memiliki QR text, sehingga aturan yang membaca QR text (CRC dan panjang maksimum
+ * 512 karakter) tidak diperiksa.
+ * </p>
+ * <pre>
+ * List&lt;QrisViolation&gt; violations = QrisModelValidator.validate(qris, QrisType.MPM_PAYMENT);
+ * </pre>
+ */
+public final class QrisModelValidator {
+
+    private static final String ERROR_INVALID_ADDITIONAL_DATA = "Additional Data: %s at offset %d (id %d).";
+
+    private static final int TAG_ID_PAYLOAD_FORMAT_INDICATOR = 0;
+    private static final int TAG_ID_POINT_OF_INITIATION_METHOD = 1;
+    private static final int TAG_ID_MERCHANT_ACCOUNT_INFORMATION = 26;
+    private static final int TAG_ID_TRANSFER_ACCOUNT_INFORMATION = 40;
+    private static final int TAG_ID_DOMESTIC_CENTRAL_REPOSITORY = 51;
+    private static final int TAG_ID_MERCHANT_CATEGORY_CODE = 52;
+    private static final int TAG_ID_TRANSACTION_CURRENCY = 53;
+    private static final int TAG_ID_TRANSACTION_AMOUNT = 54;
+    private static final int TAG_ID_TIP_INDICATOR = 55;
+    private static final int TAG_ID_TIP_FIXED = 56;
+    private static final int TAG_ID_TIP_PERCENTAGE = 57;
+    private static final int TAG_ID_COUNTRY_CODE = 58;
+    private static final int TAG_ID_NAME = 59;
+    private static final int TAG_ID_CITY = 60;
+    private static final int TAG_ID_POSTAL_CODE = 61;
+    private static final int TAG_ID_ADDITIONAL_DATA = 62;
+    private static final int TAG_ID_CRC = 63;
+
+    private static final int TAG_ID_GLOBALLY_UNIQUE_IDENTIFIER = 0;
+    private static final int TAG_ID_PAN = 1;
+    private static final int TAG_ID_MERCHANT_ID = 2;
+    private static final int TAG_ID_MERCHANT_CRITERIA = 3;
+    private static final int TAG_ID_BANK_IDENTIFIER_CODE = 4;
+    private static final int TAG_ID_PURPOSE_OF_TRANSACTION = 8;
+    private static final int TAG_ID_UNIQUE_PER_GENERATED = 99;
+    private static final int TAG_ID_DEFAULT_VALUE = 0;
+    private static final int TAG_ID_UNIQUE_DATA = 1;
+
+    private static final String CRC_ID_AND_LENGTH = "6304";
+    private static final int MAX_MERCHANT_CATEGORY_CODE = 9999;
+    private static final int MERCHANT_CATEGORY_CODE_OFFSET = 10000;
+    private static final int INITIAL_CAPACITY = 32;
+
+    /**
+     * "00", "01", ..., "99" untuk ID dan panjang Value.
+     */
+    private static final String[] TWO_DIGITS = new String[QrisTlvMap.CAPACITY];
+
+    static {
+        for (int i = 0; i < TWO_DIGITS.length; i++) {
+            TWO_DIGITS[i] = (i < 10 ? "0" : "") + i;
+        }
+    }
+
+    private QrisModelValidator() {
+    }
+
+    /**
+     * Jalankan seluruh aturan dan kumpulkan semua pelanggaran.
+     *
+     * @param qris QRIS yang akan diterbitkan
+     * @param type {@link QrisType#MPM_PAYMENT} atau {@link QrisType#MPM_TRANSFER}
+     * @return pelanggaran, kosong jika valid
+     */
+    public static List<QrisViolation> validate(Qris qris, QrisType type) {
+        return validate(qris, type, QrisValidationMode.COLLECT_ALL);
+    }
+
+    /**
+     * @param qris QRIS yang akan diterbitkan
+     * @param type {@link QrisType#MPM_PAYMENT} atau {@link QrisType#MPM_TRANSFER}
+     * @param mode {@link QrisValidationMode#FAIL_FAST} untuk berhenti pada pelanggaran pertama
+     * @return pelanggaran, kosong jika valid
+     * @throws UnsupportedOperationException jika tipe belum memiliki class payload
+     */
+    public static List<QrisViolation> validate(Qris qris, QrisType type, QrisValidationMode mode) {
+        return validate(qris, QrisValidationPlan.forType(type), type, mode);
+    }
+
+    /**
+     * @param qris QRIS yang akan diterbitkan
+     * @param plan plan yang dijalankan, misalnya {@link QrisValidationPlan#withDataObjects()}
+     * @param type layout yang ditulis, lihat {@link QrisEncoder#encode(Qris, QrisType)}
+     * @param mode {@link QrisValidationMode#FAIL_FAST} untuk berhenti pada pelanggaran pertama
+     * @return pelanggaran, kosong jika valid
+     */
+    public static List<QrisViolation> validate(Qris qris, QrisValidationPlan plan, QrisType type, QrisValidationMode mode) {
+        return plan.validate(toPayload(qris, type), mode);
+    }
+
+    /**
+     * Bentuk payload dari field {@link Qris}, dengan {@code qrisRoot} berisi data object sesuai urutan encoder.
+     *
+     * @param qris QRIS
+     * @param type {@link QrisType#MPM_TRANSFER} untuk {@link QrisTransferPayload}, selain itu
+     *             {@link QrisMpmPaymentPayload}
+     * @return payload yang dapat divalidasi seperti hasil parsing
+     * @throws IllegalArgumentException jika nominal positif tidak dapat ditulis sebagai nominal QRIS, atau Value
+     *                                  Additional Data bukan data object ID-Panjang-Value yang valid
+     */
+    public static QrisPayload toPayload(Qris qris, QrisType type) {
+        Map<Integer, QrisDataObject> root = new LinkedHashMap<>(INITIAL_CAPACITY);
+        QrisPayload payload;
+        if (type == QrisType.MPM_TRANSFER) {
+            putTransfer(qris, root);
+            payload = new QrisTransferPayload();
+        } else {
+            putPayment(qris, root);
+            payload = new QrisMpmPaymentPayload();
+        }
+        putCrc(root);
+        payload.setQrisRoot(root);
+        return payload;
+    }
+
+    /**
+     * 00, 01, 26, 51, 52, 53, 54, 55 (beserta 57 dan 56), 58, 59, 60, 61 dan 62.
+     */
+    private static void putPayment(Qris qris, Map<Integer, QrisDataObject> root) {
+        put(root, TAG_ID_PAYLOAD_FORMAT_INDICATOR, qris.getPayloadFormatIndicator());
+        putPointOfInitiationMethod(qris, root);
+        Map<Integer, MerchantAccountInformation> domestics = qris.getMerchantAccountInformationDomestics();
+        if (domestics != null) {
+            putMerchantAccountInformation(root, TAG_ID_MERCHANT_ACCOUNT_INFORMATION, domestics.get(TAG_ID_MERCHANT_ACCOUNT_INFORMATION));
+        }
+        putMerchantAccountInformation(root, TAG_ID_DOMESTIC_CENTRAL_REPOSITORY, qris.getDomesticCentralRepository());
+        putMerchantCategoryAndCurrency(qris, root);
+        putAmount(root, TAG_ID_TRANSACTION_AMOUNT, qris.getTransactionAmountValue(), qris.getTransactionAmount());
+        Tip tip = qris.getTip();
+        if (tip != null && tip.getIndicator() != null) {
+            put(root, TAG_ID_TIP_INDICATOR, tip.getIndicator());
+            putAmount(root, TAG_ID_TIP_PERCENTAGE, tip.getPercentageValue(), tip.getPercentage());
+            putAmount(root, TAG_ID_TIP_FIXED, tip.getFixedValue(), tip.getFixed());
+        }
+        putCountryCode(qris, root);
+        put(root, TAG_ID_NAME, qris.getMerchantName());
+        put(root, TAG_ID_CITY, qris.getMerchantCity());
+        put(root, TAG_ID_POSTAL_CODE, qris.getPostalCode());
+        putAdditionalData(qris.getAdditionalData(), root);
+    }
+
+    /**
+     * 00, 01, 40, 52, 53, 54, 58, 59, 60, 61 dan 62.
+     */
+    private static void putTransfer(Qris qris, Map<Integer, QrisDataObject> root) {
+        put(root, TAG_ID_PAYLOAD_FORMAT_INDICATOR, qris.getPayloadFormatIndicator());
+        putPointOfInitiationMethod(qris, root);
+        putTransferAccountInformation(qris.getTransferAccountInformation(), root);
+        putMerchantCategoryAndCurrency(qris, root);
+        putAmount(root, TAG_ID_TRANSACTION_AMOUNT, qris.getTransactionAmountValue(), qris.getTransactionAmount());
+        putCountryCode(qris, root);
+        put(root, TAG_ID_NAME, qris.getBeneficiaryName());
+        put(root, TAG_ID_CITY, qris.getBeneficiaryCity());
+        put(root, TAG_ID_POSTAL_CODE, qris.getPostalCode());
+        if (qris.getAdditionalDataFieldTransfer() != null) {
+            putAdditionalDataFieldTransfer(qris.getAdditionalDataFieldTransfer(), root);
+        } else {
+            putAdditionalData(qris.getAdditionalData(), root);
+        }
+    }
+
+    private static void putPointOfInitiationMethod(Qris qris, Map<Integer, QrisDataObject> root) {
+        if (qris.getPointOfInitiationMethod() != null) {
+            put(root, TAG_ID_POINT_OF_INITIATION_METHOD, Integer.toString(qris.getPointOfInitiationMethod()));
+        }
+    }
+
+    private static void putMerchantCategoryAndCurrency(Qris qris, Map<Integer, QrisDataObject> root) {
+        Integer code = qris.getMerchantCategoryCode();
+        if (code != null) {
+            put(root, TAG_ID_MERCHANT_CATEGORY_CODE, code >= 0 && code <= MAX_MERCHANT_CATEGORY_CODE
+                    ? Integer.toString(code + MERCHANT_CATEGORY_CODE_OFFSET).substring(1)
+                    : String.format("%04d", code));
+        }
+        if (qris.getTransactionCurrency() != null) {
+            put(root, TAG_ID_TRANSACTION_CURRENCY, qris.getTransactionCurrency().getNumericCodeAsString());
+        }
+    }
+
+    private static void putCountryCode(Qris qris, Map<Integer, QrisDataObject> root) {
+        if (qris.getCountryCode() != null) {
+            put(root, TAG_ID_COUNTRY_CODE, qris.getCountryCode().getCountry());
+        }
+    }
+
+    /**
+     * Nominal nol tidak ditulis, sama dengan {@link QrisEncoder}.
+     */
+    private static void putAmount(Map<Integer, QrisDataObject> root, int id, QrisAmount amount, Double value) {
+        QrisAmount written = QrisEncoder.writtenAmount(TWO_DIGITS[id], amount, value);
+        if (written != null) {
+            put(root, id, written.toString());
+        }
+    }
+
+    /**
+     * Template ditulis meskipun isinya kosong.
+     */
+    private static void putMerchantAccountInformation(Map<Integer, QrisDataObject> root, int id, MerchantAccountInformation information) {
+        if (information == null) {
+            return;
+        }
+        Map<Integer, QrisDataObject> template = new LinkedHashMap<>();
+        put(template, TAG_ID_GLOBALLY_UNIQUE_IDENTIFIER, information.getGloballyUniqueIdentifier());
+        put(template, TAG_ID_PAN, information.getPersonalAccountNumber());
+        put(template, TAG_ID_MERCHANT_ID, information.getMerchantId());
+        if (information.getCriteria() != null) {
+            put(template, TAG_ID_MERCHANT_CRITERIA, information.getCriteria().toString());
+        }
+        putTemplate(root, id, template);
+    }
+
+    /**
+     * Template yang kosong tidak ditulis.
+     */
+    private static void putTransferAccountInformation(TransferAccountInformation transfer, Map<Integer, QrisDataObject> root) {
+        if (transfer == null) {
+            return;
+        }
+        Map<Integer, QrisDataObject> template = new LinkedHashMap<>();
+        put(template, TAG_ID_GLOBALLY_UNIQUE_IDENTIFIER, transfer.getReverseDomain());
+        put(template, TAG_ID_PAN, transfer.getCustomerPan());
+        put(template, TAG_ID_MERCHANT_ID, transfer.getBeneficiaryId());
+        put(template, TAG_ID_BANK_IDENTIFIER_CODE, transfer.getBankIdentifierCode());
+        if (!template.isEmpty()) {
+            putTemplate(root, TAG_ID_TRANSFER_ACCOUNT_INFORMATION, template);
+        }
+    }
+
+    /**
+     * Purpose of Transaction (ID "08") dan Unique per Generated (ID "99") berisi ID "00" dan "01". Template yang
+     * kosong tidak ditulis.
+     */
+    private static void putAdditionalDataFieldTransfer(AdditionalDataFieldTransfer additionalData, Map<Integer, QrisDataObject> root) {
+        Map<Integer, QrisDataObject> template = new LinkedHashMap<>();
+        if (additionalData.getPurposeOfTransaction() != null) {
+            put(template, TAG_ID_PURPOSE_OF_TRANSACTION, additionalData.getPurposeOfTransaction().getCode());
+        }
+        Map<Integer, QrisDataObject> uniquePerGenerated = new LinkedHashMap<>();
+        putNonEmpty(uniquePerGenerated, TAG_ID_DEFAULT_VALUE, additionalData.getDefaultValue());
+        putNonEmpty(uniquePerGenerated, TAG_ID_UNIQUE_DATA, additionalData.getUniqueData());
+        if (!uniquePerGenerated.isEmpty()) {
+            putTemplate(template, TAG_ID_UNIQUE_PER_GENERATED, uniquePerGenerated);
+        }
+        if (!template.isEmpty()) {
+            putTemplate(root, TAG_ID_ADDITIONAL_DATA, template);
+        }
+    }
+
+    /**
+     * Value mentah ditulis apa adanya oleh {@link QrisEncoder}, sehingga sub-tag-nya di-index dari Value tersebut.
+     *
+     * @throws IllegalArgumentException jika Value bukan data object ID-Panjang-Value yang valid, sama dengan
+     *                                  {@link QrisParser#parse(CharSequence)} terhadap QR hasil encode
+     */
+    private static void putAdditionalData(AdditionalData additionalData, Map<Integer, QrisDataObject> root) {
+        if (additionalData == null || additionalData.getValue() == null) {
+            return;
+        }
+        String value = additionalData.getValue();
+        QrisTlvMap template = QrisTlvMap.tryOf(value, 0, value.length(), TAG_ID_ADDITIONAL_DATA);
+        if (template.getStatus() != QrisParseStatus.OK) {
+            throw new IllegalArgumentException(String.format(ERROR_INVALID_ADDITIONAL_DATA,
+                    template.getStatus().getDescription(), template.getErrorOffset(), template.getErrorId()));
+        }
+        QrisDataObject dataObject = dataObject(TAG_ID_ADDITIONAL_DATA, value);
+        dataObject.setTemplateMap(template);
+        root.put(TAG_ID_ADDITIONAL_DATA, dataObject);
+    }
+
+    /**
+     * <b>4.7.16</b> CRC dari ID, panjang dan Value seluruh data object, serta ID dan panjang CRC.
+     */
+    private static void putCrc(Map<Integer, QrisDataObject> root) {
+        int crc = QrisCrc16.INITIAL;
+        for (QrisDataObject dataObject : root.values()) {
+            crc = update(crc, dataObject);
+        }
+        crc = QrisCrc16.update(crc, CRC_ID_AND_LENGTH, 0, CRC_ID_AND_LENGTH.length());
+        put(root, TAG_ID_CRC, QrisCrc16.toHexString(crc));
+    }
+
+    private static int update(int crc, QrisDataObject dataObject) {
+        crc = QrisCrc16.update(crc, dataObject.getId(), 0, dataObject.getId().length());
+        crc = QrisCrc16.update(crc, dataObject.getLength(), 0, dataObject.getLength().length());
+        return QrisCrc16.update(crc, dataObject.getValue(), 0, dataObject.getValue().length());
+    }
+
+    /**
+     * Template dengan Value berupa gabungan ID, panjang dan Value sub-tag-nya.
+     */
+    private static void putTemplate(Map<Integer, QrisDataObject> map, int id, Map<Integer, QrisDataObject> template) {
+        StringBuilder value = new StringBuilder();
+        for (QrisDataObject dataObject : template.values()) {
+            value.append(dataObject.getId()).append(dataObject.getLength()).append(dataObject.getValue());
+        }
+        QrisDataObject dataObject = dataObject(id, value.toString());
+        dataObject.setTemplateMap(template);
+        map.put(id, dataObject);
+    }
+
+    private static void putNonEmpty(Map<Integer, QrisDataObject> map, int id, String value) {
+        if (value != null && !value.isEmpty()) {
+            put(map, id, value);
+        }
+    }
+
+    /**
+     * Value null tidak ditulis.
+     */
+    private static void put(Map<Integer, QrisDataObject> map, int id, String value) {
+        if (value != null) {
+            map.put(id, dataObject(id, value));
+        }
+    }
+
+    /**
+     * Panjang ditulis dua digit hingga 99, selain itu apa adanya seperti {@link QrisEncoder#appendLength}.
+     */
+    private static QrisDataObject dataObject(int id, String value) {
+        int length = value.length();
+        return new QrisDataObject(TWO_DIGITS[id], length < TWO_DIGITS.length ? TWO_DIGITS[length] : Integer.toString(length), value);
+    }
+}
@@ -1,13 +1,23 @@
 package com.astrapay.qris.mpm;
 
 import com.astrapay.qris.mpm.object.QrisDataObject;
+import com.astrapay.qris.mpm.object.QrisParseResult;
+import com.astrapay.qris.mpm.object.QrisParseStatus;
 import com.astrapay.qris.mpm.object.QrisPayload;
+import com.astrapay.qris.mpm.object.QrisTlvMap;
 import com.astrapay.qris.mpm.object.QrisMpmPaymentPayload;
 import com.astrapay.qris.mpm.object.QrisTransferPayload;
 import com.astrapay.qris.mpm.object.QrisType;
 import com.astrapay.qris.mpm.object.PurposeOfTransaction;
+import com.astrapay.qris.mpm.object.Qris;
+import com.astrapay.qris.mpm.validation.QrisValidationMode;
+import com.astrapay.qris.mpm.validation.QrisValidationPlan;
+import com.astrapay.qris.mpm.validation.QrisViolation;
 
-import java.util.LinkedHashMap;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -17,15 +27,15 @@ import java.util.Map;
  * <ul>
  *     <li>Type detection untuk menentukan apakah QR text adalah MPM Payment atau Transfer</li>
  *     <li>Parsing QR text menjadi struktur data object dengan ID-Length-Value format</li>
- *     <li>Parsing template data objects (Merchant Account, Additional Data, dll)</li>
+ *     <li>Parsing template data objects (Merchant Account, Additional Data, dll) secara on-demand</li>
  *     <li>Return concrete payload instance sesuai tipe yang terdeteksi</li>
  * </ul>
  * </p>
  *
  * <p><b>Type Detection Logic:</b></p>
  * <pre>
- * 1. Parse QR text untuk mendapatkan tag 62 (Additional Data)
- * 2. Jika tag 62 ada, parse sub-tags nya
+ * 1. Index root dan template QR text dalam satu pass
+ * 2. Jika tag 40 dan tag 62 ada, baca sub-tag 08 dari template tag 62 yang sudah di-index
  * 3. Jika tag 08 (Purpose) ditemukan dan berisi BOOK/DMCT/XBCT → TRANSFER
  * 4. Selain itu → MPM_PAYMENT (default)
  * </pre>
@@ -45,21 +55,22 @@ public class QrisParser {
     private static final int TAG_ID_ADDITIONAL_DATA = 62;
     private static final int TAG_ID_PURPOSE_OF_TRANSACTION = 8;
     private static final int TAG_ID_TRANSFER_ACCOUNT_INFO = 40;
-    private static final int TAG_ID_MERCHANT_DOMESTIC_REPO = 51;
-    private static final int TAG_ID_MERCHANT_INFO_LANGUAGE = 64;
-    private static final int TAG_ID_PROPRIETARY_DATA = 99;
-    private static final int TAG_ID_MERCHANT_ACCOUNT_START = 26;
-    private static final int TAG_ID_MERCHANT_ACCOUNT_END = 45;
 
     // Parser constants
     private static final int ID_LENGTH = 2;
     private static final int ID_PLUS_LENGTH = 4;
+    private static final int MAX_PAYLOAD_LENGTH = 512;
+    private static final int MAX_UTF8_BYTES_PER_CHAR = 3;
 
     // Error messages
     private static final String ERROR_DUPLICATE_KEY = "Duplicate key '%d'.";
+    private static final String ERROR_INVALID_STRUCTURE = "%s at offset %d (id %d).";
+    private static final String ERROR_BROKEN_STRUCTURE = "Struktur ID-Panjang-Value QRIS rusak.";
     private static final String ERROR_TUNTAS_NOT_IMPLEMENTED = "QRIS Tuntas belum diimplementasikan";
     private static final String ERROR_UNKNOWN_TYPE = "QRIS dengan tipe UNKNOWN tidak dapat diproses";
 
+    private static final QrisMapper MAPPER = new QrisMapper();
+
     /**
      * Parse QR text string menjadi QrisPayload dengan automatic type detection.
      * <p>
@@ -83,21 +94,253 @@ public class QrisParser {
      * @throws IllegalArgumentException jika QR text invalid atau duplicate ID ditemukan
      */
     public QrisPayload parse(String qris) {
-        // Detect QRIS type first
-        QrisType qrisType = detectQrisType(qris);
+        return parse((CharSequence) qris);
+    }
+
+    /**
+     * Parse QR text dalam bentuk {@link CharSequence} (misalnya {@link StringBuilder} atau buffer milik caller).
+     * <p>
+     * Data object di-tokenize langsung dari sequence tanpa membuat String payload terlebih dahulu.
+     * {@link QrisPayload#getPayload()} baru dibuat dari sequence saat pertama kali dibaca,
+     * sehingga sequence tidak boleh diubah selama payload masih digunakan.
+     * </p>
+     *
+     * @param qris QR text yang akan di-parse (max 512 chars)
+     * @return QrisPayload (QrisMpmPaymentPayload atau QrisTransferPayload) tergantung type detection
+     * @throws IllegalArgumentException jika QR text invalid atau duplicate ID ditemukan
+     * @see #parse(String)
+     */
+    public QrisPayload parse(CharSequence qris) {
+        // Single bounded pass: root data objects + templates, structure checked while indexing
+        QrisTlvMap qrisMap = QrisTlvMap.tryOf(qris);
+        if (qrisMap.getStatus() != QrisParseStatus.OK) {
+            throw invalidStructure(qrisMap);
+        }
+
+        // Detect QRIS type from the index (tag 40 + tag 62 → 08)
+        QrisType qrisType = detectQrisType(qrisMap);
 
         // Create appropriate payload instance based on type
-        QrisPayload qrisPayload = createPayloadByType(qrisType);
-        qrisPayload.setPayload(qris);
+        return createPayload(qris, qrisMap, createPayloadByType(qrisType));
+    }
 
-        // Parse the payload
-        parse(qrisPayload);
+    /**
+     * Parse QR text langsung menjadi {@link Qris} tanpa validasi konten.
+     * <p>
+     * Tipe yang terdeteksi saat parse diteruskan ke {@link QrisMapper#map(Map, QrisType)},
+     * sehingga template tag 62 tidak dibaca ulang untuk menentukan tipe. Data object hanya di-decode dari payload
+     * saat dibaca oleh mapper.
+     * </p>
+     *
+     * @param qris QR text yang akan di-parse (max 512 chars)
+     * @return hasil map QR text
+     * @throws IllegalArgumentException      jika QR text invalid atau duplicate ID ditemukan
+     * @throws UnsupportedOperationException jika tipe QRIS belum didukung
+     * @see #parseValidateAndMap(CharSequence)
+     */
+    public Qris parseAndMap(CharSequence qris) {
+        QrisPayload payload = parse(qris);
+        return MAPPER.map(payload.getQrisRoot(), payload.getQrisType());
+    }
 
+    /**
+     * Parse, validasi dan map QR text dalam satu pemanggilan dengan mode {@link QrisValidationMode#COLLECT_ALL}.
+     *
+     * @param qris QR text yang akan di-parse
+     * @return hasil parse dengan {@link QrisParseResult#getQris()} jika valid
+     * @see #parseValidateAndMap(CharSequence, QrisValidationMode)
+     */
+    public QrisParseResult parseValidateAndMap(CharSequence qris) {
+        return parseValidateAndMap(qris, QrisValidationMode.COLLECT_ALL);
+    }
+
+    /**
+     * Parse, validasi dan map QR text dalam satu pemanggilan.
+     * <p>
+     * Struktur diperiksa seperti {@link #tryParse(CharSequence)}, kemudian konten divalidasi dengan
+     * {@link QrisValidationPlan} untuk tipe yang terdeteksi (constraint yang sama dengan Bean Validation pada
+     * payload), lalu di-map dengan {@link QrisMapper#map(Map, QrisType)}. Validator dan mapper membaca data object
+     * yang sama, sehingga nominal ({@link QrisDataObject#toAmount()}) dan Value hanya di-decode satu kali.
+     * </p>
+     *
+     * @param qris QR text yang akan di-parse
+     * @param mode berhenti pada pelanggaran pertama atau kumpulkan seluruh pelanggaran
+     * @return hasil parse dengan {@link QrisParseResult#getQris()} jika valid, status
+     * {@link QrisParseStatus#CONSTRAINT_VIOLATION} beserta pelanggarannya jika konten tidak valid, atau status
+     * struktur yang gagal
+     * @throws IllegalArgumentException jika konten yang lolos validasi tetap tidak dapat di-map
+     */
+    public QrisParseResult parseValidateAndMap(CharSequence qris, QrisValidationMode mode) {
+        QrisParseResult result = tryParse(qris);
+        if (!result.isSuccess()) {
+            return result;
+        }
+        QrisPayload payload = result.getPayload();
+        List<QrisViolation> violations = QrisValidationPlan.forType(payload.getQrisType()).validate(payload, mode);
+        if (!violations.isEmpty()) {
+            return QrisParseResult.invalid(payload, violations);
+        }
+        return QrisParseResult.success(payload, MAPPER.map(payload.getQrisRoot(), payload.getQrisType()));
+    }
+
+    private static QrisPayload createPayload(CharSequence qris, Map<Integer, QrisDataObject> qrisMap, QrisPayload qrisPayload) {
+        if (qris instanceof String) {
+            qrisPayload.setPayload((String) qris);
+        }
+        qrisPayload.setQrisRoot(qrisMap);
         return qrisPayload;
     }
 
+    private static IllegalArgumentException invalidStructure(QrisTlvMap qrisMap) {
+        QrisParseStatus status = qrisMap.getStatus();
+        if (status == QrisParseStatus.DUPLICATE_ID) {
+            return new IllegalArgumentException(String.format(ERROR_DUPLICATE_KEY, qrisMap.getErrorId()));
+        }
+        return new IllegalArgumentException(String.format(ERROR_INVALID_STRUCTURE, status.getDescription(),
+                qrisMap.getErrorOffset(), qrisMap.getErrorId()));
+    }
+
     /**
-     * Detect tipe QRIS dari QR text string.
+     * Parse QR text tanpa melempar exception.
+     * <p>
+     * Struktur diperiksa saat root dan template di-index ({@link QrisTlvMap#tryOf(CharSequence)}), dalam satu pass
+     * yang dibatasi panjang payload:
+     * <ul>
+     *     <li>QR text kosong atau lebih dari 512 karakter ({@link QrisParseStatus#PAYLOAD_TOO_LONG}, <b>4.1</b>)</li>
+     *     <li>ID dan panjang karakter harus dua digit angka, termasuk di dalam template</li>
+     *     <li>Value tidak boleh melewati akhir payload / template</li>
+     *     <li>ID duplikat di root maupun template</li>
+     * </ul>
+     * Tipe Tuntas / UNKNOWN menghasilkan {@link QrisParseStatus#UNSUPPORTED_TYPE}.
+     * Validasi konten (Bean Validation) tetap dilakukan terpisah terhadap {@link QrisParseResult#getPayload()}.
+     * </p>
+     *
+     * @param qris QR text yang akan di-parse
+     * @return hasil parse dengan status, offset dan ID data object yang gagal
+     */
+    public QrisParseResult tryParse(CharSequence qris) {
+        if (qris == null || qris.length() == 0) {
+            return QrisParseResult.failure(QrisParseStatus.EMPTY_PAYLOAD, 0, -1);
+        }
+        if (qris.length() > MAX_PAYLOAD_LENGTH) {
+            return QrisParseResult.failure(QrisParseStatus.PAYLOAD_TOO_LONG, MAX_PAYLOAD_LENGTH, -1);
+        }
+        QrisTlvMap qrisMap = QrisTlvMap.tryOf(qris);
+        if (qrisMap.getStatus() != QrisParseStatus.OK) {
+            return QrisParseResult.failure(qrisMap.getStatus(), qrisMap.getErrorOffset(), qrisMap.getErrorId());
+        }
+        QrisType qrisType = detectQrisType(qrisMap);
+        switch (qrisType) {
+            case MPM_TRANSFER:
+                return QrisParseResult.success(createPayload(qris, qrisMap, new QrisTransferPayload()));
+            case MPM_PAYMENT:
+                return QrisParseResult.success(createPayload(qris, qrisMap, new QrisMpmPaymentPayload()));
+            default:
+                return QrisParseResult.failure(QrisParseStatus.UNSUPPORTED_TYPE,
+                        qrisMap.valueStart(TAG_ID_ADDITIONAL_DATA), TAG_ID_ADDITIONAL_DATA);
+        }
+    }
+
+    /**
+     * Parse QR text dalam bentuk byte tanpa melempar exception.
+     * <p>
+     * Payload non-ASCII di-decode sebagai UTF-8; input yang pasti melebihi 512 karakter ditolak sebelum di-decode.
+     * </p>
+     *
+     * @param qris   byte array yang berisi QR text
+     * @param offset offset awal QR text
+     * @param length panjang QR text
+     * @return hasil parse dengan status, offset dan ID data object yang gagal
+     * @see #tryParse(CharSequence)
+     */
+    public QrisParseResult tryParse(byte[] qris, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > qris.length - length) {
+            throw new IndexOutOfBoundsException("offset " + offset + ", length " + length + ", size " + qris.length);
+        }
+        if (length > MAX_PAYLOAD_LENGTH * MAX_UTF8_BYTES_PER_CHAR) {
+            return QrisParseResult.failure(QrisParseStatus.PAYLOAD_TOO_LONG, MAX_PAYLOAD_LENGTH, -1);
+        }
+        if (!QrisAsciiSequence.isAscii(qris, offset, length)) {
+            return tryParse(new String(qris, offset, length, StandardCharsets.UTF_8));
+        }
+        return tryParse(new QrisAsciiSequence(qris, offset, length));
+    }
+
+    /**
+     * Parse QR text dari {@link ByteBuffer} (position hingga limit) tanpa melempar exception.
+     * Position buffer tidak diubah.
+     *
+     * @param qris buffer yang berisi QR text
+     * @return hasil parse dengan status, offset dan ID data object yang gagal
+     * @see #tryParse(CharSequence)
+     */
+    public QrisParseResult tryParse(ByteBuffer qris) {
+        if (qris.hasArray()) {
+            return tryParse(qris.array(), qris.arrayOffset() + qris.position(), qris.remaining());
+        }
+        if (qris.remaining() > MAX_PAYLOAD_LENGTH * MAX_UTF8_BYTES_PER_CHAR) {
+            return QrisParseResult.failure(QrisParseStatus.PAYLOAD_TOO_LONG, MAX_PAYLOAD_LENGTH, -1);
+        }
+        byte[] bytes = new byte[qris.remaining()];
+        qris.duplicate().get(bytes);
+        return tryParse(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Parse QR text yang diterima dalam bentuk byte (misalnya body HTTP, Netty buffer atau Kafka record).
+     * <p>
+     * Payload ASCII di-tokenize langsung dari byte array tanpa decode charset dan tanpa String perantara;
+     * CRC juga dihitung langsung dari byte yang sama. Payload yang mengandung karakter non-ASCII
+     * (misalnya Merchant Information—Language Template ID "64") di-decode sebagai UTF-8 terlebih dahulu.
+     * Array tidak boleh diubah selama payload masih digunakan.
+     * </p>
+     *
+     * @param qris   byte array yang berisi QR text
+     * @param offset offset awal QR text
+     * @param length panjang QR text
+     * @return QrisPayload (QrisMpmPaymentPayload atau QrisTransferPayload) tergantung type detection
+     * @throws IllegalArgumentException jika QR text invalid atau duplicate ID ditemukan
+     */
+    public QrisPayload parse(byte[] qris, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > qris.length - length) {
+            throw new IndexOutOfBoundsException("offset " + offset + ", length " + length + ", size " + qris.length);
+        }
+        if (!QrisAsciiSequence.isAscii(qris, offset, length)) {
+            return parse(new String(qris, offset, length, StandardCharsets.UTF_8));
+        }
+        return parse(new QrisAsciiSequence(qris, offset, length));
+    }
+
+    /**
+     * Parse QR text dari {@link ByteBuffer} mulai dari position hingga limit.
+     * <p>
+     * Position buffer tidak diubah. Untuk heap buffer, backing array dipakai langsung;
+     * direct buffer disalin satu kali ke byte array.
+     * </p>
+     *
+     * @param qris buffer yang berisi QR text
+     * @return QrisPayload (QrisMpmPaymentPayload atau QrisTransferPayload) tergantung type detection
+     * @throws IllegalArgumentException jika QR text invalid atau duplicate ID ditemukan
+     * @see #parse(byte[], int, int)
+     */
+    public QrisPayload parse(ByteBuffer qris) {
+        if (qris.hasArray()) {
+            return parse(qris.array(), qris.arrayOffset() + qris.position(), qris.remaining());
+        }
+        byte[] bytes = new byte[qris.remaining()];
+        qris.duplicate().get(bytes);
+        return parse(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Detect tipe QRIS langsung dari QR text tanpa parse penuh.
+     * <p>
+     * Data object dilewati berdasarkan panjang karakter saja; hanya tag 40 dan sub-tag 62 → 08 yang dibaca,
+     * dan purpose code dibandingkan langsung terhadap {@link PurposeOfTransaction} tanpa membuat String maupun map.
+     * Cocok untuk routing di I/O thread sebelum parse dan validasi penuh di worker.
+     * {@link #parse(CharSequence)} dan {@link #tryParse(CharSequence)} tidak memakai method ini; tipe diambil dari
+     * root dan template tag 62 yang sudah di-index.
+     * </p>
      * <p>
      * Detection logic:
      * <ul>
@@ -110,46 +353,153 @@ public class QrisParser {
      *             <li>Purpose tidak dikenali / tag 62 tidak ada → MPM_PAYMENT (default)</li>
      *         </ul>
      *     </li>
+     *     <li>Struktur ID-Panjang-Value root atau tag 62 rusak → UNKNOWN</li>
      * </ul>
      * </p>
      *
-     * @param qris QR text string
+     * @param qris QR text
      * @return QrisType yang terdeteksi
      */
-    private QrisType detectQrisType(String qris) {
-        try {
-            Map<Integer, QrisDataObject> tempMap = new LinkedHashMap<>();
-            parseRoot(qris, tempMap);
-
-            // Tag 40 (Transfer Account Information) harus ada untuk Transfer / Tuntas
-            if (!tempMap.containsKey(TAG_ID_TRANSFER_ACCOUNT_INFO)) {
-                return QrisType.MPM_PAYMENT;
+    public QrisType peekType(CharSequence qris) {
+        int length = qris.length();
+        boolean transferAccountInformation = false;
+        int additionalDataStart = -1;
+        int additionalDataEnd = -1;
+        for (int i = 0; i < length; ) {
+            int valueEnd = valueEnd(qris, i, length);
+            if (valueEnd < 0) {
+                return QrisType.UNKNOWN;
             }
+            int id = QrisTlvMap.twoDigits(qris, i);
+            if (id == TAG_ID_TRANSFER_ACCOUNT_INFO) {
+                transferAccountInformation = true;
+            } else if (id == TAG_ID_ADDITIONAL_DATA) {
+                additionalDataStart = i + ID_PLUS_LENGTH;
+                additionalDataEnd = valueEnd;
+            }
+            i = valueEnd;
+        }
+
+        // Tag 40 (Transfer Account Information) harus ada untuk Transfer / Tuntas
+        if (!transferAccountInformation || additionalDataStart < 0) {
+            return QrisType.MPM_PAYMENT;
+        }
 
-            // Jika tag 40 ada, periksa tag 62 → tag 08 (Purpose of Transaction)
-            String purposeValue = parsePurposeValue(tempMap);
-            if (purposeValue != null) {
-                return purposeToQrisType(purposeValue);
+        // Jika tag 40 ada, periksa tag 62 → tag 08 (Purpose of Transaction)
+        for (int i = additionalDataStart; i < additionalDataEnd; ) {
+            int valueEnd = valueEnd(qris, i, additionalDataEnd);
+            if (valueEnd < 0) {
+                return QrisType.UNKNOWN;
             }
-        } catch (Exception e) {
-            // If parsing fails during detection, default to MPM_PAYMENT
+            if (QrisTlvMap.twoDigits(qris, i) == TAG_ID_PURPOSE_OF_TRANSACTION) {
+                return purposeToQrisType(PurposeOfTransaction.fromCode(qris, i + ID_PLUS_LENGTH, valueEnd));
+            }
+            i = valueEnd;
         }
         return QrisType.MPM_PAYMENT;
     }
 
-    private String parsePurposeValue(Map<Integer, QrisDataObject> rootMap) {
-        QrisDataObject additionalData = rootMap.get(TAG_ID_ADDITIONAL_DATA);
+    /**
+     * Ambil Value dari data object tertentu saja tanpa parse penuh.
+     * <p>
+     * Data object yang tidak diminta dilewati berdasarkan panjang karakter, dan parser hanya masuk ke template yang
+     * berada pada path yang diminta. Value disimpan ke {@code values} sesuai index path pada projection;
+     * path yang tidak ditemukan bernilai null. Tidak ada validasi struktur maupun konten;
+     * gunakan {@link #tryParse(CharSequence)} jika payload perlu divalidasi.
+     * </p>
+     *
+     * @param qris       QR text
+     * @param projection path yang sudah dikompilasi
+     * @param values     array output dengan panjang minimal {@link QrisProjection#size()}
+     * @return jumlah path yang ditemukan, atau -1 jika struktur ID-Panjang-Value rusak sebelum seluruh path ditemukan
+     */
+    public int extract(CharSequence qris, QrisProjection projection, String[] values) {
+        if (values.length < projection.size()) {
+            throw new IllegalArgumentException("Output array length " + values.length + " < " + projection.size());
+        }
+        Arrays.fill(values, 0, projection.size(), null);
+        return extract(qris, 0, qris.length(), projection.root(), values);
+    }
+
+    /**
+     * Ambil Value dari data object tertentu saja tanpa parse penuh.
+     * Untuk pemanggilan berulang, kompilasi projection sekali dengan {@link QrisProjection#compile(QrisTagPath...)}.
+     *
+     * @param qris  QR text
+     * @param paths path yang diminta
+     * @return Value sesuai urutan path, null jika tidak ditemukan
+     * @throws IllegalArgumentException jika struktur ID-Panjang-Value rusak
+     * @see #extract(CharSequence, QrisProjection, String[])
+     */
+    public String[] extract(CharSequence qris, QrisTagPath... paths) {
+        String[] values = new String[paths.length];
+        if (extract(qris, QrisProjection.compile(paths), values) < 0) {
+            throw new IllegalArgumentException(ERROR_BROKEN_STRUCTURE);
+        }
+        return values;
+    }
+
+    private static int extract(CharSequence qris, int start, int end, QrisProjection.Node node, String[] values) {
+        int found = 0;
+        for (int i = start; i < end && found < node.paths; ) {
+            int valueEnd = valueEnd(qris, i, end);
+            if (valueEnd < 0) {
+                return -1;
+            }
+            int id = QrisTlvMap.twoDigits(qris, i);
+            int slot = node.slots[id];
+            if (slot >= 0) {
+                values[slot] = qris.subSequence(i + ID_PLUS_LENGTH, valueEnd).toString();
+                found++;
+            }
+            QrisProjection.Node child = node.children[id];
+            if (child != null) {
+                int nested = extract(qris, i + ID_PLUS_LENGTH, valueEnd, child, values);
+                if (nested < 0) {
+                    return -1;
+                }
+                found += nested;
+            }
+            i = valueEnd;
+        }
+        return found;
+    }
+
+    /**
+     * @return offset akhir Value data object yang dimulai pada {@code offset}, atau -1 jika struktur rusak
+     */
+    private static int valueEnd(CharSequence qris, int offset, int end) {
+        if (offset + ID_PLUS_LENGTH > end || QrisTlvMap.twoDigits(qris, offset) < 0) {
+            return -1;
+        }
+        int length = QrisTlvMap.twoDigits(qris, offset + ID_LENGTH);
+        if (length < 0 || offset + ID_PLUS_LENGTH + length > end) {
+            return -1;
+        }
+        return offset + ID_PLUS_LENGTH + length;
+    }
+
+    /**
+     * Detect tipe QRIS dari root yang sudah di-index, dengan logika yang sama seperti {@link #peekType(CharSequence)}.
+     * Purpose of Transaction dibaca dari offset pada template tag 62 tanpa membuat String.
+     */
+    private static QrisType detectQrisType(QrisTlvMap qrisMap) {
+        if (!qrisMap.contains(TAG_ID_TRANSFER_ACCOUNT_INFO)) {
+            return QrisType.MPM_PAYMENT;
+        }
+        QrisTlvMap additionalData = qrisMap.getTemplate(TAG_ID_ADDITIONAL_DATA);
         if (additionalData == null) {
-            return null;
+            return QrisType.MPM_PAYMENT;
+        }
+        int purposeStart = additionalData.valueStart(TAG_ID_PURPOSE_OF_TRANSACTION);
+        if (purposeStart < 0) {
+            return QrisType.MPM_PAYMENT;
         }
-        Map<Integer, QrisDataObject> tag62Map = new LinkedHashMap<>();
-        parser(additionalData.getValue(), tag62Map);
-        QrisDataObject purposeTag = tag62Map.get(TAG_ID_PURPOSE_OF_TRANSACTION);
-        return purposeTag != null ? purposeTag.getValue() : null;
+        return purposeToQrisType(PurposeOfTransaction.fromCode(additionalData.getSource(), purposeStart,
+                purposeStart + additionalData.valueLength(TAG_ID_PURPOSE_OF_TRANSACTION)));
     }
 
-    private QrisType purposeToQrisType(String purposeValue) {
-        PurposeOfTransaction purpose = PurposeOfTransaction.fromCode(purposeValue);
+    private static QrisType purposeToQrisType(PurposeOfTransaction purpose) {
         if (purpose == null) {
             return QrisType.MPM_PAYMENT;
         }
@@ -201,115 +551,20 @@ public class QrisParser {
      *
      * <p><b>Parsing Steps:</b></p>
      * <ol>
-     *     <li>Parse root data objects dari payload string</li>
-     *     <li>Parse Merchant Account Information templates (ID 26-45)</li>
-     *     <li>Parse Merchant Domestic Repository (ID 51)</li>
-     *     <li>Parse Additional Data Field Template (ID 62)</li>
-     *     <li>Parse Merchant Information Language Template (ID 64)</li>
-     *     <li>Parse Proprietary Data Template (tag 99 dalam ID 62) jika ada</li>
+     *     <li>Scan root data objects dari payload string</li>
+     *     <li>Tandai template Merchant Account Information (ID 26-45), Transfer Account Information (ID 40),
+     *     Merchant Domestic Repository (ID 51), Additional Data Field Template (ID 62) dan
+     *     Merchant Information Language Template (ID 64)</li>
+     *     <li>Proprietary Data Template (tag 99 dalam ID 62) ditandai saat tag 62 di-decode</li>
      * </ol>
+     * <p>
+     * Sub data object dari setiap template baru di-decode saat {@link QrisDataObject#getTemplateMap()} pertama kali dibaca.
+     * Root disimpan dalam {@link QrisTlvMap} yang hanya mencatat offset Value terhadap payload.
+     * </p>
      *
      * @param payload QrisPayload object yang akan di-parse (harus sudah memiliki payload string)
      */
     public void parse(QrisPayload payload) {
-        Map<Integer, QrisDataObject> qrisMap = new LinkedHashMap<>();
-        parseRoot(payload.getPayload(), qrisMap);
-        parseMerchantAccountInformationTemplate(qrisMap);
-        parseTransferAccountInformation(qrisMap);  // Parse ID 40 for Transfer
-        parseMerchantDomesticRepository(qrisMap);
-        parseAdditionalDataFieldTemplate(qrisMap);
-        parseMerchantInformationLanguageTemplate(qrisMap);
-        if(qrisMap.containsKey(TAG_ID_ADDITIONAL_DATA)){
-            parseProprietaryDataTemplate(qrisMap.get(TAG_ID_ADDITIONAL_DATA).getTemplateMap());
-        }
-        payload.setQrisRoot(qrisMap);
-    }
-
-    /**
-     * Parse Merchant Account Information templates (ID 26-45).
-     * <p>Digunakan untuk MPM Payment QRIS.</p>
-     */
-    private void parseMerchantAccountInformationTemplate(Map<Integer, QrisDataObject> qrisMap) {
-        for (int i = TAG_ID_MERCHANT_ACCOUNT_START; i <= TAG_ID_MERCHANT_ACCOUNT_END; i++) {
-            parseTemplate(qrisMap, i);
-        }
-    }
-
-    /**
-     * Parse Transfer Account Information (ID 40).
-     * <p>
-     * Digunakan untuk Transfer QRIS. Template ini berisi:
-     * <ul>
-     *     <li>00: Reverse Domain</li>
-     *     <li>01: Customer PAN</li>
-     *     <li>02: Beneficiary ID</li>
-     *     <li>04: Bank Identifier Code (optional)</li>
-     * </ul>
-     * </p>
-     */
-    private void parseTransferAccountInformation(Map<Integer, QrisDataObject> qrisMap) {
-        parseTemplate(qrisMap, TAG_ID_TRANSFER_ACCOUNT_INFO);
-    }
-
-    /**
-     * Parse Merchant Domestic Repository (ID 51).
-     * <p>Digunakan untuk MPM Payment QRIS static (Point of Initiation Method "11").</p>
-     */
-    private void parseMerchantDomesticRepository(Map<Integer, QrisDataObject> qrisMap) {
-        parseTemplate(qrisMap, TAG_ID_MERCHANT_DOMESTIC_REPO);
-    }
-
-    /**
-     * Parse Additional Data Field Template (ID 62).
-     * <p>
-     * Template ini berisi:
-     * <ul>
-     *     <li>08: Purpose of Transaction (untuk Transfer: BOOK/DMCT/XBCT)</li>
-     *     <li>99: Unique per Generated</li>
-     *     <li>00: Default Value</li>
-     *     <li>01: Unique Data</li>
-     * </ul>
-     * </p>
-     */
-    private void parseAdditionalDataFieldTemplate(Map<Integer, QrisDataObject> qrisMap) {
-        parseTemplate(qrisMap, TAG_ID_ADDITIONAL_DATA);
-    }
-
-    private void parseMerchantInformationLanguageTemplate(Map<Integer, QrisDataObject> qrisMap) {
-        parseTemplate(qrisMap, TAG_ID_MERCHANT_INFO_LANGUAGE);
-    }
-
-    private void parseProprietaryDataTemplate(Map<Integer, QrisDataObject> qrisMap) {
-        parseTemplate(qrisMap, TAG_ID_PROPRIETARY_DATA);
-    }
-
-    private void parseTemplate(Map<Integer, QrisDataObject> qrisMap, int i) {
-        if (qrisMap.containsKey(i)) {
-            Map<Integer, QrisDataObject> map = new LinkedHashMap<>();
-            QrisDataObject object = qrisMap.get(i);
-            parser(object.getValue(), map);
-            object.setTemplateMap(map);
-        }
-    }
-
-
-    private void parseRoot(String qris, Map<Integer, QrisDataObject> qrisMap) {
-        parser(qris, qrisMap);
-    }
-
-    /**
-     * <b>4.3.1.2</b> Hanya boleh terdapat satu data object dengan ID spesifik di bawah root QR Code dan hanya boleh terdapat satu ID spesifik dalam template-nya.
-     */
-    private void parser(String qris, Map<Integer, QrisDataObject> qrisMap) {
-        String length;//6238 0115220121 0026830150 715ASTRAPA Y2100176
-        for (int i = 0 ; i < qris.length(); i = i + ID_PLUS_LENGTH + Integer.parseInt(length)) {
-            String id = qris.substring(i, i + ID_LENGTH);
-            length = qris.substring(i + ID_LENGTH, i + ID_PLUS_LENGTH);
-            String value = qris.substring(i + ID_PLUS_LENGTH, i + ID_PLUS_LENGTH + Integer.parseInt(length));
-            QrisDataObject qrisDataObject = new QrisDataObject(id, length, value);
-            qrisMap.merge(qrisDataObject.getIntId(), qrisDataObject, (v1, v2) -> {
-                throw new IllegalArgumentException(String.format(ERROR_DUPLICATE_KEY, qrisDataObject.getIntId()));
-            });
-        }
+        payload.setQrisRoot(QrisTlvMap.of(payload.getPayload()));
     }
-}
\ No newline at end of file
+}
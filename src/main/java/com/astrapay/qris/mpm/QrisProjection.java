@@ -0,0 +1,102 @@
+package com.astrapay.qris.mpm;
+
+import java.util.Arrays;
+
+/**
+ * Kumpulan {@link QrisTagPath} yang sudah dikompilasi untuk {@link QrisParser#extract(CharSequence, QrisProjection, String[])}.
+ * <p>
+ * Setiap level template disimpan sebagai tabel 100 slot per ID, sehingga saat extract setiap data object cukup
+ * dicek dengan satu akses array: disalin ke output, di-descend (jika template berada di path yang diminta),
+ * atau dilewati berdasarkan panjang karakter. Projection bersifat immutable dan aman dipakai bersama antar thread.
+ * </p>
+ * <pre>
+ * QrisProjection analytics = QrisProjection.compile(
+ *         QrisTagPath.of(52), QrisTagPath.of(54), QrisTagPath.of(59), QrisTagPath.of(62, 1));
+ * String[] values = new String[analytics.size()];
+ * parser.extract(qr, analytics, values);
+ * </pre>
+ */
+public final class QrisProjection {
+
+    private static final int CAPACITY = 100;
+    private static final int NONE = -1;
+
+    private final QrisTagPath[] paths;
+    private final Node root;
+
+    private QrisProjection(QrisTagPath[] paths, Node root) {
+        this.paths = paths;
+        this.root = root;
+    }
+
+    /**
+     * @param paths path yang diminta; index output sesuai urutan parameter
+     * @return projection yang sudah dikompilasi
+     */
+    public static QrisProjection compile(QrisTagPath... paths) {
+        Node root = new Node();
+        for (int index = 0; index < paths.length; index++) {
+            Node node = root;
+            QrisTagPath path = paths[index];
+            for (int level = 0; level < path.depth() - 1; level++) {
+                int id = path.idAt(level);
+                if (node.children[id] == null) {
+                    node.children[id] = new Node();
+                }
+                node.paths++;
+                node = node.children[id];
+            }
+            int id = path.idAt(path.depth() - 1);
+            if (node.slots[id] != NONE) {
+                throw new IllegalArgumentException("Duplicate tag path '" + path + "'.");
+            }
+            node.slots[id] = index;
+            node.paths++;
+        }
+        return new QrisProjection(paths.clone(), root);
+    }
+
+    /**
+     * @return jumlah path, sekaligus ukuran minimum array output
+     */
+    public int size() {
+        return paths.length;
+    }
+
+    /**
+     * @param index index output
+     * @return path untuk index tersebut
+     */
+    public QrisTagPath pathAt(int index) {
+        return paths[index];
+    }
+
+    Node root() {
+        return root;
+    }
+
+    /**
+     * Satu level template pada projection.
+     */
+    static final class Node {
+
+        /**
+         * Index output per ID, atau -1 jika ID tidak diminta.
+         */
+        final int[] slots = new int[CAPACITY];
+
+        /**
+         * Node turunan per ID, atau null jika tidak ada path yang melewati ID tersebut.
+         */
+        final Node[] children = new Node[CAPACITY];
+
+        /**
+         * Jumlah path yang berakhir di node ini atau di turunannya.
+         */
+        int paths;
+
+        Node() {
+            Arrays.fill(slots, NONE);
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.astrapay.qris.mpm;
+
+import com.astrapay.qris.mpm.object.QrisAmount;
+import com.astrapay.qris.mpm.object.QrisDataObject;
+import com.astrapay.qris.mpm.object.QrisPayload;
+import com.astrapay.qris.mpm.object.QrisTlvMap;
+
+import java.util.Map;
+
+/**
+ * Ubah data object tertentu langsung pada payload QR hasil parse tanpa {@link QrisMapper} dan {@link QrisEncoder}.
+ * <p>
+ * Contoh penggunaan: QR statis merchant dijadikan QR dinamis dengan nominal.
+ * </p>
+ * <pre>
+ * String dynamic = QrisSplice.of(parser.parse(staticQr))
+ *     .pointOfInitiationMethod(QrisTemplate.DYNAMIC)
+ *     .transactionAmount(QrisAmount.parse("15000"))
+ *     .setAdditionalData(1, "INV-001")
+ *     .apply();
+ * </pre>
+ * <p>
+ * Data object yang tidak diubah disalin apa adanya sesuai urutan pada payload asli, termasuk template "02" - "45",
+ * "64" dan ID yang tidak dikenal. Data object yang diubah ditulis di posisi semula, sedangkan data object baru
+ * disisipkan sebelum data object pertama dengan ID yang lebih besar. Panjang Additional Data Field Template
+ * (ID "62") dihitung ulang dan CRC (ID "63") selalu ditulis ulang di akhir payload.
+ * </p>
+ * <p>
+ * Seperti {@link QrisTlvMap}, class ini tidak thread-safe.
+ * </p>
+ * <b>4.6.1.2</b> Seluruh turunan data object root dapat ditempatkan di urutan lain.
+ */
+public final class QrisSplice {
+
+    private static final int TAG_ID_PAYLOAD_FORMAT_INDICATOR = 0;
+    private static final int TAG_ID_POINT_OF_INITIATION_METHOD = 1;
+    private static final int TAG_ID_TRANSACTION_AMOUNT = 54;
+    private static final int TAG_ID_ADDITIONAL_DATA = 62;
+    private static final int TAG_ID_CRC = 63;
+
+    private static final String TAG_ADDITIONAL_DATA = "62";
+    private static final int ID_PLUS_LENGTH = 4;
+    private static final int MAX_LENGTH = 99;
+
+    private static final String ERROR_NOT_PARSED = "Payload tidak berasal dari QrisParser";
+    private static final String ERROR_READ_ONLY = "ID %d tidak dapat diubah";
+    private static final String ERROR_TOO_LONG = "Panjang Value ID %d melebihi 99 karakter: %d";
+
+    private final QrisTlvMap root;
+    private final CharSequence[] values = new CharSequence[QrisTlvMap.CAPACITY];
+    private final boolean[] edited = new boolean[QrisTlvMap.CAPACITY];
+    private final CharSequence[] additionalDataValues = new CharSequence[QrisTlvMap.CAPACITY];
+    private final boolean[] additionalDataEdited = new boolean[QrisTlvMap.CAPACITY];
+    private boolean additionalDataChanged;
+    private boolean additionalDataAdded;
+
+    private QrisSplice(QrisTlvMap root) {
+        this.root = root;
+    }
+
+    /**
+     * @param payload payload hasil {@link QrisParser#parse(CharSequence)}
+     * @return splice terhadap payload tersebut
+     * @throws IllegalArgumentException jika root payload tidak di-index dari QR text
+     */
+    public static QrisSplice of(QrisPayload payload) {
+        Map<Integer, QrisDataObject> root = payload.getQrisRoot();
+        if (!(root instanceof QrisTlvMap) || ((QrisTlvMap) root).getParentId() != QrisTlvMap.ROOT) {
+            throw new IllegalArgumentException(ERROR_NOT_PARSED);
+        }
+        return new QrisSplice((QrisTlvMap) root);
+    }
+
+    /**
+     * @param qris QR text, struktur ID-Panjang-Value diasumsikan sudah valid
+     * @return splice terhadap QR text tersebut
+     */
+    public static QrisSplice of(CharSequence qris) {
+        return new QrisSplice(QrisTlvMap.of(qris));
+    }
+
+    /**
+     * Ganti atau sisipkan data object root yang bukan template, misalnya ID "01" atau "54".
+     *
+     * @param id    ID data object, bukan "00", "63" maupun template
+     * @param value Value baru, atau null untuk menghapus data object
+     * @return splice ini
+     * @throws IllegalArgumentException jika ID tidak dapat diubah atau Value melebihi 99 karakter
+     */
+    public QrisSplice set(int id, CharSequence value) {
+        if (id < 0 || id >= QrisTlvMap.CAPACITY || id == TAG_ID_PAYLOAD_FORMAT_INDICATOR || id == TAG_ID_CRC
+                || QrisTlvMap.isTemplate(QrisTlvMap.ROOT, id)) {
+            throw new IllegalArgumentException(String.format(ERROR_READ_ONLY, id));
+        }
+        values[id] = checkLength(id, value);
+        edited[id] = true;
+        return this;
+    }
+
+    /**
+     * @param id ID data object root
+     * @return splice ini
+     */
+    public QrisSplice remove(int id) {
+        return set(id, null);
+    }
+
+    /**
+     * <b>4.7.2</b> Point of Initiation Method (ID "01").
+     *
+     * @param pointOfInitiationMethod "11" untuk QR statis atau "12" untuk QR dinamis
+     * @return splice ini
+     */
+    public QrisSplice pointOfInitiationMethod(int pointOfInitiationMethod) {
+        return set(TAG_ID_POINT_OF_INITIATION_METHOD, Integer.toString(pointOfInitiationMethod));
+    }
+
+    /**
+     * <b>4.7.8</b> Transaction Amount (ID "54").
+     *
+     * @param amount nominal, atau null / nol untuk menghapus data object
+     * @return splice ini
+     */
+    public QrisSplice transactionAmount(QrisAmount amount) {
+        return set(TAG_ID_TRANSACTION_AMOUNT, amount == null || amount.signum() == 0 ? null : amount.toString());
+    }
+
+    /**
+     * Ganti atau sisipkan data object pada Additional Data Field Template (ID "62"), misalnya Bill Number ("01")
+     * atau Reference Label ("05"). Template ID "62" dibuat jika belum ada.
+     *
+     * @param id    ID data object pada ID "62", bukan template "99"
+     * @param value Value baru, atau null untuk menghapus data object
+     * @return splice ini
+     * @throws IllegalArgumentException jika ID tidak dapat diubah atau Value melebihi 99 karakter
+     */
+    public QrisSplice setAdditionalData(int id, CharSequence value) {
+        if (id < 0 || id >= QrisTlvMap.CAPACITY || QrisTlvMap.isTemplate(TAG_ID_ADDITIONAL_DATA, id)) {
+            throw new IllegalArgumentException(String.format(ERROR_READ_ONLY, id));
+        }
+        additionalDataValues[id] = checkLength(id, value);
+        additionalDataEdited[id] = true;
+        additionalDataChanged = true;
+        additionalDataAdded |= value != null;
+        return this;
+    }
+
+    /**
+     * @param id ID data object pada ID "62"
+     * @return splice ini
+     */
+    public QrisSplice removeAdditionalData(int id) {
+        return setAdditionalData(id, null);
+    }
+
+    private static CharSequence checkLength(int id, CharSequence value) {
+        if (value != null && value.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException(String.format(ERROR_TOO_LONG, id, value.length()));
+        }
+        return value;
+    }
+
+    /**
+     * @return QR text baru termasuk CRC (ID "63")
+     */
+    public String apply() {
+        return apply(new StringBuilder(root.getEnd() - root.getStart() + QrisEncoder.DEFAULT_CAPACITY / 4)).toString();
+    }
+
+    /**
+     * Tulis QR text baru ke akhir builder.
+     *
+     * @param target builder tujuan
+     * @return builder tujuan
+     * @throws IllegalArgumentException jika Additional Data Field Template melebihi 99 karakter; builder tidak
+     *                                  diubah
+     */
+    public StringBuilder apply(StringBuilder target) {
+        QrisTlvMap additionalData = root.getTemplate(TAG_ID_ADDITIONAL_DATA);
+        if (additionalDataChanged) {
+            int length = additionalDataLength(additionalData);
+            if (length > MAX_LENGTH) {
+                throw new IllegalArgumentException(String.format(ERROR_TOO_LONG, TAG_ID_ADDITIONAL_DATA, length));
+            }
+        }
+        int start = target.length();
+        CharSequence source = root.getSource();
+        int next = 0;
+        for (int i = 0; i < root.size(); i++) {
+            int id = root.idAt(i);
+            next = appendInserted(target, next, id == TAG_ID_CRC ? QrisTlvMap.CAPACITY : id);
+            if (id == TAG_ID_CRC) {
+                continue;
+            }
+            if (edited[id]) {
+                appendValue(target, id, values[id]);
+            } else if (id == TAG_ID_ADDITIONAL_DATA && additionalDataChanged) {
+                appendAdditionalData(target, additionalData);
+            } else {
+                int valueStart = root.valueStart(id);
+                target.append(source, valueStart - ID_PLUS_LENGTH, valueStart + root.valueLength(id));
+            }
+        }
+        appendInserted(target, next, QrisTlvMap.CAPACITY);
+        return QrisEncoder.appendCrc(target, start);
+    }
+
+    /**
+     * Tulis data object root baru dengan ID {@code from} hingga sebelum {@code to}.
+     *
+     * @return ID berikutnya yang belum ditulis
+     */
+    private int appendInserted(StringBuilder target, int from, int to) {
+        for (int id = from; id < to; id++) {
+            if (root.contains(id)) {
+                continue;
+            }
+            if (edited[id]) {
+                appendValue(target, id, values[id]);
+            } else if (id == TAG_ID_ADDITIONAL_DATA && additionalDataAdded) {
+                appendAdditionalData(target, null);
+            }
+        }
+        return Math.max(from, to);
+    }
+
+    /**
+     * Panjang Value ID "62" setelah diubah, dihitung sebelum apa pun ditulis ke builder.
+     */
+    private int additionalDataLength(QrisTlvMap template) {
+        int length = 0;
+        for (int id = 0; id < QrisTlvMap.CAPACITY; id++) {
+            if (additionalDataEdited[id]) {
+                if (additionalDataValues[id] != null) {
+                    length += ID_PLUS_LENGTH + additionalDataValues[id].length();
+                }
+            } else if (template != null && template.contains(id)) {
+                length += ID_PLUS_LENGTH + template.valueLength(id);
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Tulis ulang ID "62" dengan urutan dan Value asli kecuali data object yang diubah. Template yang menjadi kosong
+     * dihapus. Panjangnya sudah diperiksa oleh {@link #additionalDataLength(QrisTlvMap)}.
+     */
+    private void appendAdditionalData(StringBuilder target, QrisTlvMap template) {
+        int position = QrisEncoder.beginTlv(target, TAG_ADDITIONAL_DATA);
+        int next = 0;
+        if (template != null) {
+            CharSequence source = template.getSource();
+            for (int i = 0; i < template.size(); i++) {
+                int id = template.idAt(i);
+                next = appendAdditionalDataInserted(target, template, next, id);
+                if (additionalDataEdited[id]) {
+                    appendValue(target, id, additionalDataValues[id]);
+                } else {
+                    int valueStart = template.valueStart(id);
+                    target.append(source, valueStart - ID_PLUS_LENGTH, valueStart + template.valueLength(id));
+                }
+            }
+        }
+        appendAdditionalDataInserted(target, template, next, QrisTlvMap.CAPACITY);
+        QrisEncoder.endNonEmptyTlv(target, position);
+    }
+
+    private int appendAdditionalDataInserted(StringBuilder target, QrisTlvMap template, int from, int to) {
+        for (int id = from; id < to; id++) {
+            if (additionalDataEdited[id] && (template == null || !template.contains(id))) {
+                appendValue(target, id, additionalDataValues[id]);
+            }
+        }
+        return Math.max(from, to);
+    }
+
+    private static void appendValue(StringBuilder target, int id, CharSequence value) {
+        if (value != null) {
+            QrisEncoder.appendLength(QrisEncoder.appendLength(target, id), value.length()).append(value);
+        }
+    }
+}
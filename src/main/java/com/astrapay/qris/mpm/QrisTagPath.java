@@ -0,0 +1,113 @@
+package com.astrapay.qris.mpm;
+
+import com.astrapay.qris.QrisCharacters;
+import com.astrapay.qris.mpm.object.QrisTlvMap;
+
+import java.util.Arrays;
+
+/**
+ * Path ke sebuah data object, dimulai dari root QR Code.
+ * <p>
+ * Contoh: {@code QrisTagPath.of(54)} untuk Transaction Amount, {@code QrisTagPath.of(62, 1)} untuk Bill Number
+ * di dalam Additional Data Field Template, atau {@code QrisTagPath.parse("62/99/00")}.
+ * Setiap ID selain ID terakhir harus merupakan template (lihat {@link QrisTlvMap#isTemplate(int, int)}).
+ * </p>
+ *
+ * @see QrisProjection
+ */
+public final class QrisTagPath {
+
+    private static final String SEPARATOR = "/";
+    private static final String ERROR_INVALID_PATH = "Invalid tag path '%s'.";
+
+    private final int[] ids;
+
+    private QrisTagPath(int[] ids) {
+        this.ids = ids;
+    }
+
+    /**
+     * @param ids ID data object dari root hingga data object yang diminta, masing-masing "00" - "99"
+     * @return tag path
+     * @throws IllegalArgumentException jika ID di luar "00" - "99" atau ID selain ID terakhir bukan template
+     */
+    public static QrisTagPath of(int... ids) {
+        if (ids.length == 0) {
+            throw new IllegalArgumentException(String.format(ERROR_INVALID_PATH, ""));
+        }
+        for (int id : ids) {
+            if (id < 0 || id > 99) {
+                throw new IllegalArgumentException(String.format(ERROR_INVALID_PATH, Arrays.toString(ids)));
+            }
+        }
+        return checked(ids.clone(), Arrays.toString(ids));
+    }
+
+    /**
+     * @param path path dengan format {@code "62/01"}
+     * @return tag path
+     * @throws IllegalArgumentException jika format path salah atau ID selain ID terakhir bukan template
+     */
+    public static QrisTagPath parse(String path) {
+        String[] parts = path.split(SEPARATOR);
+        int[] ids = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            if (parts[i].length() != 2 || !QrisCharacters.isDigits(parts[i])) {
+                throw new IllegalArgumentException(String.format(ERROR_INVALID_PATH, path));
+            }
+            ids[i] = (parts[i].charAt(0) - '0') * 10 + (parts[i].charAt(1) - '0');
+        }
+        return checked(ids, path);
+    }
+
+    private static QrisTagPath checked(int[] ids, String path) {
+        int parentId = QrisTlvMap.ROOT;
+        for (int i = 0; i < ids.length - 1; i++) {
+            if (!QrisTlvMap.isTemplate(parentId, ids[i])) {
+                throw new IllegalArgumentException(String.format(ERROR_INVALID_PATH, path));
+            }
+            parentId = ids[i];
+        }
+        return new QrisTagPath(ids);
+    }
+
+    /**
+     * @return jumlah level path
+     */
+    public int depth() {
+        return ids.length;
+    }
+
+    /**
+     * @param level 0 untuk root
+     * @return ID data object pada level tersebut
+     */
+    public int idAt(int level) {
+        return ids[level];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof QrisTagPath && Arrays.equals(ids, ((QrisTagPath) o).ids);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(ids);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < ids.length; i++) {
+            if (i > 0) {
+                builder.append(SEPARATOR);
+            }
+            if (ids[i] < 10) {
+                builder.append('0');
+            }
+            builder.append(ids[i]);
+        }
+        return builder.toString();
+    }
+}
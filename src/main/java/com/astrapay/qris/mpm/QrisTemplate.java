@@ -0,0 +1,190 @@
+package com.astrapay.qris.mpm;
+
+import com.astrapay.qris.QrisCrc16;
+import com.astrapay.qris.mpm.object.AdditionalData;
+import com.astrapay.qris.mpm.object.Qris;
+import com.astrapay.qris.mpm.object.QrisAmount;
+import com.astrapay.qris.mpm.object.QrisTlvMap;
+
+/**
+ * Template QRIS MPM Payment dinamis per merchant yang di-compile sekali dari {@link Qris}.
+ * <p>
+ * Untuk satu merchant, QR dinamis hanya berbeda pada Transaction Amount (ID "54"), Bill Number (ID "01") dan
+ * Reference Label (ID "05") pada Additional Data Field Template (ID "62"), serta CRC (ID "63"). Data object lain
+ * ditulis satu kali saat compile:
+ * </p>
+ * <ul>
+ *   <li><b>head</b>: 00, 01 (selalu "12"), 26, 51, 52 dan 53 beserta CRC-nya sebagai checkpoint</li>
+ *   <li><b>tail</b>: 55 (beserta 57 dan 56), 58, 59, 60 dan 61 beserta transformasi CRC-nya</li>
+ *   <li>data object ID "62" lain dari {@link Qris#getAdditionalData()}, misalnya Terminal Label (ID "07")</li>
+ * </ul>
+ * <p>
+ * CRC bersifat affine terhadap state sebelumnya, sehingga CRC setelah tail dapat dihitung dari CRC sebelum tail
+ * dengan 16 kolom yang disiapkan saat compile, tanpa membaca ulang karakter tail. Dengan demikian {@link #stamp}
+ * hanya menyalin head dan tail, lalu menghitung CRC dari karakter yang berubah. Hasilnya sama dengan
+ * {@link QrisEncoder#encode(Qris)} untuk {@link Qris} dengan nilai yang sama.
+ * </p>
+ * <p>
+ * Instance immutable dan thread-safe.
+ * </p>
+ * <b>4.7.3</b> Point of Initiation Method "12" digunakan ketika QR Code berisi data yang berubah untuk setiap transaksi.
+ */
+public final class QrisTemplate {
+
+    /**
+     * Point of Initiation Method untuk QR dinamis.
+     */
+    public static final int DYNAMIC = 12;
+
+    private static final String TAG_ID_TRANSACTION_AMOUNT = "54";
+    private static final String TAG_ID_ADDITIONAL_DATA = "62";
+    private static final String TAG_ID_BILL_NUMBER = "01";
+    private static final String TAG_ID_REFERENCE_LABEL = "05";
+    private static final String TAG_ID_CRC = "63";
+
+    private static final int BILL_NUMBER_ID = 1;
+    private static final int REFERENCE_LABEL_ID = 5;
+    private static final int ADDITIONAL_DATA_ID = 62;
+    private static final int ID_PLUS_LENGTH = 4;
+    private static final int CRC_BITS = 16;
+
+    private static final String ERROR_INVALID_ADDITIONAL_DATA = "Additional Data Field Template (ID 62) tidak valid: %s";
+
+    private final String head;
+    private final int headCrc;
+    private final String tail;
+    private final int tailCrc;
+    private final int[] tailColumns = new int[CRC_BITS];
+    private final String additionalDataBeforeBillNumber;
+    private final String additionalDataBeforeReferenceLabel;
+    private final String additionalDataAfterReferenceLabel;
+
+    private QrisTemplate(Qris qris) {
+        StringBuilder builder = new StringBuilder(QrisEncoder.DEFAULT_CAPACITY);
+        QrisEncoder.appendPaymentHead(qris, DYNAMIC, builder);
+        this.head = builder.toString();
+        this.headCrc = QrisCrc16.compute(head);
+
+        builder.setLength(0);
+        QrisEncoder.appendPaymentTail(qris, builder);
+        this.tail = builder.toString();
+        this.tailCrc = QrisCrc16.update(0, tail, 0, tail.length());
+        for (int bit = 0; bit < CRC_BITS; bit++) {
+            tailColumns[bit] = QrisCrc16.update(1 << bit, tail, 0, tail.length()) ^ tailCrc;
+        }
+
+        StringBuilder beforeBillNumber = new StringBuilder();
+        StringBuilder beforeReferenceLabel = new StringBuilder();
+        StringBuilder afterReferenceLabel = new StringBuilder();
+        AdditionalData additionalData = qris.getAdditionalData();
+        if (additionalData != null && additionalData.getValue() != null) {
+            String value = additionalData.getValue();
+            QrisTlvMap dataObjects = additionalDataOf(value);
+            for (int i = 0; i < dataObjects.size(); i++) {
+                int id = dataObjects.idAt(i);
+                int start = dataObjects.valueStart(id);
+                if (id < BILL_NUMBER_ID) {
+                    beforeBillNumber.append(value, start - ID_PLUS_LENGTH, start + dataObjects.valueLength(id));
+                } else if (id > BILL_NUMBER_ID && id < REFERENCE_LABEL_ID) {
+                    beforeReferenceLabel.append(value, start - ID_PLUS_LENGTH, start + dataObjects.valueLength(id));
+                } else if (id > REFERENCE_LABEL_ID) {
+                    afterReferenceLabel.append(value, start - ID_PLUS_LENGTH, start + dataObjects.valueLength(id));
+                }
+            }
+        }
+        this.additionalDataBeforeBillNumber = beforeBillNumber.toString();
+        this.additionalDataBeforeReferenceLabel = beforeReferenceLabel.toString();
+        this.additionalDataAfterReferenceLabel = afterReferenceLabel.toString();
+    }
+
+    /**
+     * Compile template dari data merchant. Transaction Amount (ID "54"), Bill Number dan Reference Label pada
+     * {@code qris} diabaikan, sedangkan data object ID "62" lain dipertahankan.
+     *
+     * @param qris QRIS MPM Payment merchant
+     * @return template
+     * @throws IllegalArgumentException jika Additional Data Field Template bukan ID-Panjang-Value yang valid
+     */
+    public static QrisTemplate compile(Qris qris) {
+        return new QrisTemplate(qris);
+    }
+
+    private static QrisTlvMap additionalDataOf(String value) {
+        try {
+            return QrisTlvMap.of(value, 0, value.length(), ADDITIONAL_DATA_ID);
+        } catch (StringIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException(String.format(ERROR_INVALID_ADDITIONAL_DATA, value), e);
+        }
+    }
+
+    /**
+     * @param amount         Transaction Amount (ID "54"), tidak ditulis jika null atau nol
+     * @param billNumber     Bill Number (ID "62" "01"), tidak ditulis jika null atau kosong
+     * @param referenceLabel Reference Label (ID "62" "05"), tidak ditulis jika null atau kosong
+     * @return QR text termasuk CRC (ID "63")
+     */
+    public String stamp(QrisAmount amount, String billNumber, String referenceLabel) {
+        return stamp(amount, billNumber, referenceLabel,
+                new StringBuilder(head.length() + tail.length() + QrisEncoder.DEFAULT_CAPACITY / 4)).toString();
+    }
+
+    /**
+     * Tulis QR text ke akhir builder, sehingga builder dapat dipakai ulang antar transaksi.
+     *
+     * @param amount         Transaction Amount (ID "54"), tidak ditulis jika null atau nol
+     * @param billNumber     Bill Number (ID "62" "01"), tidak ditulis jika null atau kosong
+     * @param referenceLabel Reference Label (ID "62" "05"), tidak ditulis jika null atau kosong
+     * @param target         builder tujuan
+     * @return builder tujuan
+     */
+    public StringBuilder stamp(QrisAmount amount, String billNumber, String referenceLabel, StringBuilder target) {
+        target.append(head);
+        int changed = target.length();
+        if (amount != null) {
+            QrisEncoder.appendAmount(target, TAG_ID_TRANSACTION_AMOUNT, amount);
+        }
+        int crc = QrisCrc16.update(headCrc, target, changed, target.length());
+        target.append(tail);
+        crc = skipTail(crc);
+
+        changed = target.length();
+        int additionalData = QrisEncoder.beginTlv(target, TAG_ID_ADDITIONAL_DATA);
+        target.append(additionalDataBeforeBillNumber);
+        QrisEncoder.appendNonEmptyTlv(target, TAG_ID_BILL_NUMBER, billNumber);
+        target.append(additionalDataBeforeReferenceLabel);
+        QrisEncoder.appendNonEmptyTlv(target, TAG_ID_REFERENCE_LABEL, referenceLabel);
+        target.append(additionalDataAfterReferenceLabel);
+        QrisEncoder.endNonEmptyTlv(target, additionalData);
+
+        QrisEncoder.appendLength(target.append(TAG_ID_CRC), QrisCrc16.HEX_LENGTH);
+        crc = QrisCrc16.update(crc, target, changed, target.length());
+        return QrisCrc16.appendHex(crc, target);
+    }
+
+    /**
+     * Sama dengan {@code QrisCrc16.update(crc, tail, 0, tail.length())}.
+     */
+    private int skipTail(int crc) {
+        int result = tailCrc;
+        for (int bit = 0; crc != 0; bit++, crc >>>= 1) {
+            if ((crc & 1) != 0) {
+                result ^= tailColumns[bit];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return data object sebelum Transaction Amount
+     */
+    public String getHead() {
+        return head;
+    }
+
+    /**
+     * @return data object antara Transaction Amount dan Additional Data Field Template
+     */
+    public String getTail() {
+        return tail;
+    }
+}
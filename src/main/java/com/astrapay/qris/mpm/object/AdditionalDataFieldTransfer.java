@@ -1,5 +1,6 @@
 package com.astrapay.qris.mpm.object;
 
+import com.astrapay.qris.mpm.QrisEncoder;
 import lombok.*;
 
 /**
@@ -128,52 +129,7 @@ public class AdditionalDataFieldTransfer {
      */
     @Override
     public String toString() {
-        StringBuilder content = new StringBuilder();
-
-        // Sub-tag 08: Purpose of Transaction (Direct child of tag 62, Mandatory, 4 chars)
-        if (purposeOfTransaction != null) {
-            String tagPurpose = "08";
-            String purposeCode = purposeOfTransaction.getCode();
-            String lengthPurpose = String.format("%02d", purposeCode.length());
-            content.append(tagPurpose).append(lengthPurpose).append(purposeCode);
-        }
-
-        // Sub-tag 99: Unique per generated (Direct child of tag 62)
-        // Tag 99 adalah hasil encoding dari tag 00 dan tag 01
-        // Format: 99 + length + (00+02+defaultVal + 01+len+uniqueData)
-        StringBuilder tag99Content = new StringBuilder();
-
-        // Sub-tag 00: Default Value (Child of tag 99, Mandatory, 2 chars)
-        if (defaultValue != null && !defaultValue.isEmpty()) {
-            String tagDefault = "00";
-            String lengthDefault = String.format("%02d", defaultValue.length());
-            tag99Content.append(tagDefault).append(lengthDefault).append(defaultValue);
-        }
-
-        // Sub-tag 01: Unique Data (Child of tag 99, Mandatory, 8-64 chars)
-        if (uniqueData != null && !uniqueData.isEmpty()) {
-            String tagUniqueData = "01";
-            String lengthUniqueData = String.format("%02d", uniqueData.length());
-            tag99Content.append(tagUniqueData).append(lengthUniqueData).append(uniqueData);
-        }
-
-        // Encode tag 99 jika ada content
-        if (tag99Content.length() > 0) {
-            String tag99 = "99";
-            String tag99ContentStr = tag99Content.toString();
-            String length99 = String.format("%02d", tag99ContentStr.length());
-            content.append(tag99).append(length99).append(tag99ContentStr);
-        }
-
-        String contentStr = content.toString();
-        if (contentStr.isEmpty()) {
-            return "";
-        }
-
-        // Tag 62: Additional Data Field Template
-        String tag = "62";
-        String length = String.format("%02d", contentStr.length());
-        return tag + length + contentStr;
+        return QrisEncoder.appendAdditionalDataFieldTransfer(this, new StringBuilder()).toString();
     }
 
     /**
@@ -78,6 +78,8 @@ public enum PurposeOfTransaction {
      */
     BILL("BILL", "Billing Payment", "Pembayaran tagihan");
 
+    private static final PurposeOfTransaction[] VALUES = values();
+
     private final String code;
     private final String displayName;
     private final String description;
@@ -135,6 +137,33 @@ public enum PurposeOfTransaction {
         return null;
     }
 
+    /**
+     * Cari PurposeOfTransaction dari range karakter tanpa membuat String baru.
+     *
+     * @param source sequence yang berisi purpose code
+     * @param start  offset awal (inclusive)
+     * @param end    offset akhir (exclusive)
+     * @return PurposeOfTransaction atau null jika tidak ditemukan
+     */
+    public static PurposeOfTransaction fromCode(CharSequence source, int start, int end) {
+        for (PurposeOfTransaction purpose : VALUES) {
+            String code = purpose.code;
+            if (code.length() == end - start && regionMatches(source, start, code)) {
+                return purpose;
+            }
+        }
+        return null;
+    }
+
+    private static boolean regionMatches(CharSequence source, int start, String code) {
+        for (int i = 0; i < code.length(); i++) {
+            if (source.charAt(start + i) != code.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Validasi apakah code adalah purpose yang valid.
      *
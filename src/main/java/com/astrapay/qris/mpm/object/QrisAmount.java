@@ -0,0 +1,278 @@
+package com.astrapay.qris.mpm.object;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * Nominal fixed-point untuk Transaction Amount (ID "54"), Tip Value Fixed (ID "56") dan Tip Value Percentage
+ * (ID "57"), disimpan sebagai {@code long} unscaled value dan jumlah digit desimal ({@code scale}).
+ * <p>
+ * Value dibaca satu kali tanpa {@code Double.parseDouble}, misalnya "1000.50" menjadi unscaled value 100050 dengan
+ * scale 2, sehingga dapat diteruskan ke ledger tanpa konversi double ke {@link BigDecimal} yang tidak presisi.
+ * </p>
+ * <b>4.7.8.1</b> Apabila ada nilai desimal, karakter “.” (titik) digunakan sebagai pemisah antara nilai bulat dengan
+ * nilai desimalnya. Karakter “.” (titik) juga dapat digunakan tanpa nilai desimal.
+ */
+@Getter
+@EqualsAndHashCode
+public final class QrisAmount {
+
+    /**
+     * Jumlah digit desimal maksimum.
+     */
+    public static final int MAX_SCALE = 18;
+
+    public static final QrisAmount ZERO = new QrisAmount(0, 0);
+
+    private static final String ERROR_INVALID_AMOUNT = "Invalid amount ";
+    private static final String ERROR_INVALID_SCALE = "Invalid scale ";
+
+    private static final long[] POWERS_OF_TEN = new long[MAX_SCALE + 1];
+
+    /**
+     * 2^53, unscaled value di bawah nilai ini dapat direpresentasikan secara tepat oleh double.
+     */
+    private static final long MAX_EXACT_DOUBLE = 1L << 53;
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    /**
+     * Nominal tanpa titik desimal, misalnya 100050 untuk "1000.50".
+     */
+    private final long unscaledValue;
+
+    /**
+     * Jumlah digit setelah titik desimal, misalnya 2 untuk "1000.50".
+     */
+    private final int scale;
+
+    private QrisAmount(long unscaledValue, int scale) {
+        this.unscaledValue = unscaledValue;
+        this.scale = scale;
+    }
+
+    /**
+     * @param unscaledValue nominal tanpa titik desimal, tidak boleh negatif
+     * @param scale         jumlah digit desimal, 0 - {@link #MAX_SCALE}
+     * @return nominal
+     */
+    public static QrisAmount of(long unscaledValue, int scale) {
+        if (unscaledValue < 0) {
+            throw new IllegalArgumentException(ERROR_INVALID_AMOUNT + unscaledValue);
+        }
+        if (scale < 0 || scale > MAX_SCALE) {
+            throw new IllegalArgumentException(ERROR_INVALID_SCALE + scale);
+        }
+        return new QrisAmount(unscaledValue, scale);
+    }
+
+    /**
+     * Nominal dari double dengan representasi desimal terpendek yang sama dengan {@link Double#toString(double)},
+     * misalnya 2.5 menjadi "2.5" dan 500.0 menjadi "500.0". Notasi eksponen ditulis tanpa eksponen, misalnya 1.0E7
+     * menjadi "10000000".
+     *
+     * @param value nominal, tidak boleh negatif
+     * @return nominal
+     * @throws IllegalArgumentException jika value negatif, bukan bilangan, atau melebihi kapasitas {@code long}
+     */
+    public static QrisAmount valueOf(double value) {
+        QrisAmount amount = tryValueOf(value);
+        if (amount == null) {
+            throw new IllegalArgumentException(ERROR_INVALID_AMOUNT + value);
+        }
+        return amount;
+    }
+
+    /**
+     * Sama dengan {@link #valueOf(double)} tanpa exception.
+     *
+     * @param value nominal
+     * @return nominal, atau null jika value negatif, bukan bilangan, tak hingga, lebih dari {@link #MAX_SCALE} digit
+     * desimal, atau melebihi kapasitas {@code long}
+     */
+    public static QrisAmount tryValueOf(double value) {
+        if (!(value >= 0) || Double.isInfinite(value)) {
+            return null;
+        }
+        BigDecimal decimal = BigDecimal.valueOf(value);
+        if (decimal.scale() < 0) {
+            decimal = decimal.setScale(0);
+        }
+        if (decimal.scale() > MAX_SCALE || decimal.unscaledValue().bitLength() >= Long.SIZE) {
+            return null;
+        }
+        long unscaled = decimal.unscaledValue().longValue();
+        return unscaled == 0 && decimal.scale() == 0 ? ZERO : new QrisAmount(unscaled, decimal.scale());
+    }
+
+    /**
+     * @param value Value data object, misalnya "1000", "1000." atau "1000.50"
+     * @return nominal
+     * @throws NumberFormatException jika Value bukan digit dengan titik desimal opsional
+     */
+    public static QrisAmount parse(CharSequence value) {
+        QrisAmount amount = tryParse(value);
+        if (amount == null) {
+            throw new NumberFormatException(ERROR_INVALID_AMOUNT + value);
+        }
+        return amount;
+    }
+
+    /**
+     * @param value Value data object
+     * @return nominal, atau null jika Value bukan digit dengan titik desimal opsional
+     */
+    public static QrisAmount tryParse(CharSequence value) {
+        return value == null ? null : tryParse(value, 0, value.length());
+    }
+
+    /**
+     * Baca nominal dari range {@link CharSequence} tanpa membuat {@link String}. Format yang diterima adalah digit
+     * dengan satu titik desimal opsional dan minimal satu digit, misalnya "1000", "1000.", "05.00" atau ".5".
+     *
+     * @param value payload
+     * @param start index awal (inklusif)
+     * @param end   index akhir (eksklusif)
+     * @return nominal, atau null jika format tidak sesuai atau melebihi kapasitas {@code long}
+     */
+    public static QrisAmount tryParse(CharSequence value, int start, int end) {
+        long unscaled = 0;
+        int point = -1;
+        boolean digits = false;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c == '.' && point < 0) {
+                point = i;
+                continue;
+            }
+            int digit = c - '0';
+            if (digit < 0 || digit > 9 || unscaled > (Long.MAX_VALUE - digit) / 10) {
+                return null;
+            }
+            unscaled = unscaled * 10 + digit;
+            digits = true;
+        }
+        int scale = point < 0 ? 0 : end - point - 1;
+        if (!digits || scale > MAX_SCALE) {
+            return null;
+        }
+        return unscaled == 0 && scale == 0 ? ZERO : new QrisAmount(unscaled, scale);
+    }
+
+    /**
+     * @return 1 jika lebih besar dari nol, 0 jika nol
+     */
+    public int signum() {
+        return unscaledValue == 0 ? 0 : 1;
+    }
+
+    /**
+     * @return nilai bulat tanpa desimal (dibulatkan ke bawah)
+     */
+    public long longValue() {
+        return unscaledValue / POWERS_OF_TEN[scale];
+    }
+
+    /**
+     * @return nilai double, sama dengan {@code Double.parseDouble(toString())}
+     */
+    public double doubleValue() {
+        if (scale == 0) {
+            return unscaledValue;
+        }
+        if (unscaledValue < MAX_EXACT_DOUBLE) {
+            // kedua operand tepat, pembagian IEEE menghasilkan pembulatan yang sama dengan parseDouble
+            return unscaledValue / (double) POWERS_OF_TEN[scale];
+        }
+        return Double.parseDouble(toString());
+    }
+
+    /**
+     * @return nominal yang sama tanpa nol di akhir desimal, misalnya "500.0" menjadi "500" dan "1000.50" menjadi
+     * "1000.5"
+     */
+    public QrisAmount stripTrailingZeros() {
+        long unscaled = unscaledValue;
+        int stripped = scale;
+        while (stripped > 0 && unscaled % 10 == 0) {
+            unscaled /= 10;
+            stripped--;
+        }
+        if (stripped == scale) {
+            return this;
+        }
+        return unscaled == 0 && stripped == 0 ? ZERO : new QrisAmount(unscaled, stripped);
+    }
+
+    /**
+     * @return nilai {@link BigDecimal} dengan scale yang sama
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(unscaledValue, scale);
+    }
+
+    /**
+     * Nominal dalam minor unit mata uang, misalnya 100050 untuk "1000.5" dengan exponent [ISO 4217] 2.
+     *
+     * @param currencyScale exponent mata uang ({@link java.util.Currency#getDefaultFractionDigits()})
+     * @return nominal dalam minor unit
+     * @throws ArithmeticException jika digit desimal melebihi exponent mata uang atau melebihi kapasitas {@code long}
+     */
+    public long toMinorUnits(int currencyScale) {
+        if (currencyScale < 0 || currencyScale > MAX_SCALE) {
+            throw new IllegalArgumentException(ERROR_INVALID_SCALE + currencyScale);
+        }
+        if (currencyScale >= scale) {
+            return Math.multiplyExact(unscaledValue, POWERS_OF_TEN[currencyScale - scale]);
+        }
+        long divisor = POWERS_OF_TEN[scale - currencyScale];
+        if (unscaledValue % divisor != 0) {
+            throw new ArithmeticException(ERROR_INVALID_AMOUNT + this + " for scale " + currencyScale);
+        }
+        return unscaledValue / divisor;
+    }
+
+    /**
+     * Tulis nominal tanpa notasi eksponen, misalnya "1000.50".
+     *
+     * @param target builder tujuan
+     * @return builder tujuan
+     */
+    public StringBuilder appendTo(StringBuilder target) {
+        if (scale == 0) {
+            return target.append(unscaledValue);
+        }
+        long divisor = POWERS_OF_TEN[scale];
+        long fraction = unscaledValue % divisor;
+        target.append(unscaledValue / divisor).append('.');
+        for (int i = scale - 1; i > 0 && fraction < POWERS_OF_TEN[i]; i--) {
+            target.append('0');
+        }
+        return target.append(fraction);
+    }
+
+    /**
+     * @return jumlah karakter {@link #toString()}
+     */
+    public int length() {
+        int length = scale == 0 ? 0 : scale + 1;
+        long integer = longValue();
+        do {
+            length++;
+            integer /= 10;
+        } while (integer > 0);
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        return appendTo(new StringBuilder(20)).toString();
+    }
+}
@@ -0,0 +1,74 @@
+package com.astrapay.qris.mpm.object;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ringkasan hasil {@code QrisBulkGenerator.generate}.
+ * <p>
+ * Record yang gagal tetap menghasilkan baris kosong pada output, sehingga baris ke-n selalu milik record ke-n.
+ * {@link #getFailures()} hanya menyimpan sejumlah kegagalan pertama, sedangkan {@link #getFailed()} berisi jumlah
+ * seluruh record yang gagal.
+ * </p>
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public final class QrisBulkReport {
+
+    /**
+     * Jumlah record yang dibaca.
+     */
+    private final long records;
+
+    /**
+     * Jumlah record yang gagal di-adapt atau di-encode.
+     */
+    private final long failed;
+
+    /**
+     * Jumlah byte yang ditulis ke output, termasuk newline.
+     */
+    private final long bytes;
+
+    private final long elapsedNanos;
+
+    /**
+     * Kegagalan pertama sesuai urutan record, maksimum {@code QrisBulkGenerator.MAX_FAILURES}.
+     */
+    private final List<Failure> failures;
+
+    /**
+     * @return jumlah record yang berhasil di-encode
+     */
+    public long getSucceeded() {
+        return records - failed;
+    }
+
+    /**
+     * @return jumlah record per detik
+     */
+    public double getRecordsPerSecond() {
+        return elapsedNanos == 0 ? 0 : records * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    /**
+     * Record yang gagal beserta penyebabnya.
+     */
+    @Getter
+    @ToString
+    @AllArgsConstructor
+    public static final class Failure {
+
+        /**
+         * Index record (dimulai dari 0), sama dengan index baris pada output.
+         */
+        private final long index;
+
+        private final Exception cause;
+    }
+}
@@ -72,10 +72,16 @@ import java.util.Map;
 @MerchantNameAlternateLanguage
 @Getter
 @Setter
-@RequiredArgsConstructor
 @Valid
 public class QrisDataObject {
 
+    private static final String[] TWO_DIGITS = new String[QrisTlvMap.CAPACITY];
+
+    static {
+        for (int i = 0; i < TWO_DIGITS.length; i++) {
+            TWO_DIGITS[i] = (i < 10 ? "0" : "") + i;
+        }
+    }
 
     /**
      * <b>3.2</b> ID merupakan kode dua digit angka dari “00” hingga “99”. <br/>
@@ -97,9 +103,9 @@ public class QrisDataObject {
 
     /**
      * <b>3.2</b> Value data object memiliki panjang minimum satu karakter dan maksimum 99 karakter.
+     * <p>Untuk data object hasil {@link QrisTlvMap}, Value baru dibuat dari payload saat pertama kali dibaca.</p>
      */
     @NonNull
-    @NotEmpty
     private String value;
 
     /**
@@ -108,12 +114,119 @@ public class QrisDataObject {
     @Valid
     private Map<Integer, QrisDataObject> templateMap;
 
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private int intId = -1;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private int intLength = -1;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private CharSequence source;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final int valueStart;
+
+    /**
+     * Panjang Value pada payload, terpisah dari {@link #length} yang dapat diubah dengan {@link #setLength(String)}.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final int valueLength;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private QrisAmount amount;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean amountParsed;
+
+    public QrisDataObject(@NonNull String id, @NonNull String length, @NonNull String value) {
+        this.id = id;
+        this.length = length;
+        this.value = value;
+        this.valueStart = -1;
+        this.valueLength = -1;
+    }
+
+    /**
+     * Data object yang Value-nya dibaca dari payload saat dibutuhkan.
+     *
+     * @param id         ID data object ("00" - "99")
+     * @param length     panjang karakter Value ("00" - "99")
+     * @param source     payload QR
+     * @param valueStart offset awal Value pada payload
+     */
+    QrisDataObject(int id, int length, CharSequence source, int valueStart) {
+        this.id = TWO_DIGITS[id];
+        this.length = TWO_DIGITS[length];
+        this.intId = id;
+        this.intLength = length;
+        this.source = source;
+        this.valueStart = valueStart;
+        this.valueLength = length;
+    }
+
+    public void setId(@NonNull String id) {
+        this.id = id;
+        this.intId = -1;
+    }
+
+    public void setLength(@NonNull String length) {
+        this.length = length;
+        this.intLength = -1;
+    }
+
+    public void setValue(@NonNull String value) {
+        this.value = value;
+        this.source = null;
+        this.amount = null;
+        this.amountParsed = false;
+    }
+
+    /**
+     * <b>3.2</b> Value data object memiliki panjang minimum satu karakter dan maksimum 99 karakter.
+     *
+     * @return Value data object
+     */
+    @NotEmpty
+    public String getValue() {
+        if (value == null && source != null) {
+            value = source.subSequence(valueStart, valueStart + valueLength).toString();
+            source = null;
+        }
+        return value;
+    }
+
+    /**
+     * Value sebagai nominal fixed-point, dibaca satu kali lalu disimpan. Digunakan untuk Transaction Amount (ID "54"),
+     * Tip Value Fixed (ID "56") dan Tip Value Percentage (ID "57").
+     *
+     * @return nominal, atau null jika Value bukan nominal
+     */
+    public QrisAmount toAmount() {
+        if (!amountParsed) {
+            amount = source != null
+                    ? QrisAmount.tryParse(source, valueStart, valueStart + valueLength)
+                    : QrisAmount.tryParse(value);
+            amountParsed = true;
+        }
+        return amount;
+    }
+
     /**
      *
      * @return Integer
      */
     public Integer getIntId(){
-        return Integer.valueOf(this.id);
+        if (intId < 0) {
+            intId = Integer.parseInt(this.id);
+        }
+        return intId;
     }
 
     /**
@@ -121,6 +234,9 @@ public class QrisDataObject {
      * @return Integer
      */
     public Integer getIntLength(){
-        return Integer.valueOf(this.length);
+        if (intLength < 0) {
+            intLength = Integer.parseInt(this.length);
+        }
+        return intLength;
     }
 }
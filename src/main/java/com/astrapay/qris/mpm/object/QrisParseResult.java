@@ -0,0 +1,90 @@
+package com.astrapay.qris.mpm.object;
+
+import com.astrapay.qris.mpm.validation.QrisViolation;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Hasil {@code QrisParser.tryParse} yang tidak melempar exception.
+ * <p>
+ * Jika {@link #isSuccess()} bernilai true maka {@link #getPayload()} berisi payload hasil parse.
+ * Selain itu {@link #getStatus()} berisi alasan penolakan, {@link #getErrorOffset()} berisi offset karakter
+ * pada QR text dan {@link #getErrorId()} berisi ID data object yang gagal (-1 jika ID belum dapat dibaca).
+ * </p>
+ * <p>
+ * Hasil {@code QrisParser.parseValidateAndMap} juga berisi {@link #getQris()} jika payload valid, atau
+ * {@link #getViolations()} dengan status {@link QrisParseStatus#CONSTRAINT_VIOLATION} jika konten tidak valid.
+ * </p>
+ *
+ * @see QrisParseStatus
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class QrisParseResult {
+
+    private final QrisParseStatus status;
+    private final int errorOffset;
+    private final int errorId;
+    private final QrisPayload payload;
+    private final Qris qris;
+    private final List<QrisViolation> violations;
+
+    /**
+     * @param payload payload hasil parse
+     * @return hasil parse yang sukses
+     */
+    public static QrisParseResult success(QrisPayload payload) {
+        return success(payload, null);
+    }
+
+    /**
+     * @param payload payload hasil parse
+     * @param qris    hasil map payload
+     * @return hasil parse yang sukses
+     */
+    public static QrisParseResult success(QrisPayload payload, Qris qris) {
+        return new QrisParseResult(QrisParseStatus.OK, -1, -1, payload, qris, Collections.emptyList());
+    }
+
+    /**
+     * @param payload    payload hasil parse
+     * @param violations pelanggaran constraint, tidak kosong
+     * @return hasil parse dengan konten yang tidak valid, {@link #getErrorId()} berisi tag pelanggaran pertama
+     */
+    public static QrisParseResult invalid(QrisPayload payload, List<QrisViolation> violations) {
+        return new QrisParseResult(QrisParseStatus.CONSTRAINT_VIOLATION, -1, violations.get(0).getTag(), payload,
+                null, Collections.unmodifiableList(violations));
+    }
+
+    /**
+     * @param status      alasan penolakan
+     * @param errorOffset offset karakter pada QR text
+     * @param errorId     ID data object yang gagal, atau -1
+     * @return hasil parse yang gagal
+     */
+    public static QrisParseResult failure(QrisParseStatus status, int errorOffset, int errorId) {
+        return new QrisParseResult(status, errorOffset, errorId, null, null, Collections.emptyList());
+    }
+
+    /**
+     * @return true jika payload berhasil di-parse
+     */
+    public boolean isSuccess() {
+        return status == QrisParseStatus.OK;
+    }
+
+    @Override
+    public String toString() {
+        if (isSuccess()) {
+            return status.name();
+        }
+        if (status == QrisParseStatus.CONSTRAINT_VIOLATION) {
+            return status.name() + " " + violations;
+        }
+        return status.name() + " at offset " + errorOffset + (errorId < 0 ? "" : ", id " + errorId);
+    }
+}
@@ -0,0 +1,76 @@
+package com.astrapay.qris.mpm.object;
+
+/**
+ * Status hasil {@code QrisParser.tryParse}.
+ * <p>
+ * Setiap status selain {@link #OK} dan {@link #CONSTRAINT_VIOLATION} menunjukkan alasan payload ditolak sebelum
+ * data object dibuat.
+ * Offset dan ID data object yang gagal tersedia pada {@link QrisParseResult}.
+ * </p>
+ *
+ * @see QrisParseResult
+ */
+public enum QrisParseStatus {
+
+    /**
+     * Payload berhasil di-parse.
+     */
+    OK("QRIS valid secara struktur"),
+
+    /**
+     * Payload kosong.
+     */
+    EMPTY_PAYLOAD("QR text kosong"),
+
+    /**
+     * <b>4.1</b> Panjang karakter dari konten QR Code melebihi 512 karakter.
+     */
+    PAYLOAD_TOO_LONG("Panjang QR text melebihi 512 karakter"),
+
+    /**
+     * <b>4.3.1.1</b> Sebuah ID wajib memiliki dua digit Value numerik.
+     */
+    INVALID_ID("ID bukan dua digit angka"),
+
+    /**
+     * <b>4.4.1.2</b> Panjang karakter wajib dikodekan dengan dua digit Value numerik.
+     */
+    INVALID_LENGTH("Panjang karakter bukan dua digit angka"),
+
+    /**
+     * <b>4.4.1.1</b> Panjang karakter wajib sama dengan jumlah karakter dalam Value field.
+     * ID, panjang karakter atau Value terpotong sebelum akhir payload / template.
+     */
+    TRUNCATED("Data object terpotong"),
+
+    /**
+     * <b>4.3.1.2</b> Hanya boleh terdapat satu data object dengan ID spesifik di bawah root QR Code dan hanya boleh terdapat satu ID spesifik dalam template-nya.
+     */
+    DUPLICATE_ID("ID data object duplikat"),
+
+    /**
+     * Tipe QRIS terdeteksi tetapi belum didukung (Tuntas / UNKNOWN).
+     */
+    UNSUPPORTED_TYPE("Tipe QRIS belum didukung"),
+
+    /**
+     * Struktur valid tetapi konten melanggar constraint, detail pelanggaran tersedia pada
+     * {@link QrisParseResult#getViolations()}.
+     */
+    CONSTRAINT_VIOLATION("QRIS tidak valid secara konten");
+
+    private final String description;
+
+    QrisParseStatus(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Mendapatkan deskripsi dari status parse.
+     *
+     * @return Deskripsi status
+     */
+    public String getDescription() {
+        return description;
+    }
+}
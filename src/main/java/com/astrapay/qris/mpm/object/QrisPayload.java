@@ -46,8 +46,8 @@ public abstract class QrisPayload {
     /**
      * <b>4.1 Payload</b>
      * <p>Panjang karakter dari konten QR Code sebaiknya tidak melebihi 512 karakter. Harap diperhatikan apabila menggunakan karakter Unicode karena akan berdampak pada sisa kapasitas payload.</p>
+     * <p>Untuk payload yang di-parse dari byte atau {@link CharSequence}, String baru dibuat saat {@link #getPayload()} dipanggil.</p>
      */
-    @Size(max = 512)
     private String payload;
 
     /**
@@ -103,6 +103,38 @@ public abstract class QrisPayload {
     @Valid
     private Map<Integer, QrisDataObject> qrisRoot;
     
+    /**
+     * <b>4.1 Payload</b>
+     * <p>Panjang karakter dari konten QR Code sebaiknya tidak melebihi 512 karakter.</p>
+     *
+     * @return QR text
+     */
+    @Size(max = 512)
+    public String getPayload() {
+        if (payload == null) {
+            Map<Integer, QrisDataObject> root = getQrisRoot();
+            if (root instanceof QrisTlvMap) {
+                payload = ((QrisTlvMap) root).getSource().toString();
+            }
+        }
+        return payload;
+    }
+
+    /**
+     * QR text tanpa membuat String baru jika payload di-parse dari byte atau {@link CharSequence}.
+     *
+     * @return QR text, atau null jika payload belum di-set
+     */
+    public CharSequence payloadSequence() {
+        if (payload == null) {
+            Map<Integer, QrisDataObject> root = getQrisRoot();
+            if (root instanceof QrisTlvMap) {
+                return ((QrisTlvMap) root).getSource();
+            }
+        }
+        return payload;
+    }
+
     /**
      * Mendapatkan tipe QRIS dari payload ini.
      * <p>
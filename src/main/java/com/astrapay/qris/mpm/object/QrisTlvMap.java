@@ -0,0 +1,641 @@
+package com.astrapay.qris.mpm.object;
+
+import com.astrapay.qris.QrisCrc16;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Penyimpanan data object QRIS berbasis offset.
+ * <p>
+ * Setiap ID data object ("00" - "99") memiliki slot tetap pada array 100 elemen. Untuk setiap data object
+ * hanya disimpan offset awal dan panjang Value terhadap payload asli; {@link QrisDataObject} dan String Value-nya
+ * baru dibuat ketika dibaca. Urutan data object sesuai urutan kemunculan pada payload tetap dipertahankan,
+ * sehingga class ini dapat dipakai sebagai pengganti {@code LinkedHashMap<Integer, QrisDataObject>} pada
+ * {@link QrisPayload#getQrisRoot()}.
+ * </p>
+ * <p>
+ * Template (ID "26" - "45", "51", "62", "64" pada root dan "99" pada "62") menggunakan {@link QrisTlvMap} yang sama
+ * terhadap payload yang sama. Dengan {@link #of(CharSequence)} template baru di-index saat pertama kali dibaca,
+ * sedangkan {@link #tryOf(CharSequence)} meng-index root dan seluruh template dalam satu pass.
+ * </p>
+ * <p>
+ * Seperti {@link java.util.LinkedHashMap}, class ini tidak thread-safe.
+ * </p>
+ *
+ * <b>3.2 Organisasi Data</b><br/>
+ * <b>4.3.1.2</b> Hanya boleh terdapat satu data object dengan ID spesifik di bawah root QR Code dan hanya boleh terdapat satu ID spesifik dalam template-nya.
+ */
+public final class QrisTlvMap extends AbstractMap<Integer, QrisDataObject> {
+
+    /**
+     * Jumlah ID yang mungkin, "00" hingga "99".
+     */
+    public static final int CAPACITY = 100;
+
+    /**
+     * Parent ID untuk root QR Code.
+     */
+    public static final int ROOT = -1;
+
+    private static final int ID_LENGTH = 2;
+    private static final int ID_PLUS_LENGTH = 4;
+    private static final int INITIAL_ENTRIES = 8;
+    private static final int DETACHED = -1;
+    private static final int NO_ID = -1;
+    private static final int NO_CHECKSUM = -1;
+
+    private static final int TAG_ID_MERCHANT_ACCOUNT_START = 26;
+    private static final int TAG_ID_MERCHANT_ACCOUNT_END = 45;
+    private static final int TAG_ID_MERCHANT_DOMESTIC_REPO = 51;
+    private static final int TAG_ID_ADDITIONAL_DATA = 62;
+    private static final int TAG_ID_MERCHANT_INFO_LANGUAGE = 64;
+    private static final int TAG_ID_PROPRIETARY_DATA = 99;
+    private static final int TAG_ID_CRC = 63;
+
+    private static final String ERROR_DUPLICATE_KEY = "Duplicate key '%d'.";
+    private static final String ERROR_INVALID_ID = "Invalid key '%d'.";
+    private static final String ERROR_INVALID_STRUCTURE = "%s at offset %d (id %d).";
+
+    private final CharSequence source;
+    private final int start;
+    private final int end;
+    private final int parentId;
+    private boolean indexed;
+    private int checksum = NO_CHECKSUM;
+    private QrisParseStatus status = QrisParseStatus.OK;
+    private int errorOffset = -1;
+    private int errorId = NO_ID;
+
+    /**
+     * Slot per ID, berisi posisi entry + 1 (0 berarti ID tidak ada).
+     */
+    private final byte[] slots = new byte[CAPACITY];
+    private int[] ids;
+    private int[] valueStarts;
+    private int[] valueLengths;
+    private QrisDataObject[] objects;
+    private QrisTlvMap[] templates;
+    private int size;
+    private int modCount;
+    private EntrySet entrySet;
+
+    private QrisTlvMap(CharSequence source, int start, int end, int parentId, boolean indexed) {
+        this.source = source;
+        this.start = start;
+        this.end = end;
+        this.parentId = parentId;
+        this.indexed = indexed;
+    }
+
+    /**
+     * Index root QR Code dari payload.
+     *
+     * @param source payload QR
+     * @return map data object root
+     * @throws IllegalArgumentException jika ID/panjang karakter bukan angka atau terdapat duplicate ID
+     * @throws StringIndexOutOfBoundsException jika panjang karakter melebihi payload
+     */
+    public static QrisTlvMap of(CharSequence source) {
+        return of(source, 0, source.length(), ROOT);
+    }
+
+    /**
+     * Index root QR Code beserta seluruh template dalam satu pass tanpa melempar exception.
+     * <p>
+     * Setiap data object diperiksa saat di-index: ID dan panjang karakter harus dua digit angka, Value tidak boleh
+     * melewati akhir payload / template, dan tidak boleh ada ID duplikat. Template di-index dan diperiksa saat
+     * data object pemiliknya di-index, sehingga setiap karakter hanya dibaca sekali per level template.
+     * Jika struktur rusak, index berhenti pada data object pertama yang gagal dan {@link #getStatus()},
+     * {@link #getErrorOffset()} serta {@link #getErrorId()} berisi lokasinya; isi map tidak boleh dipakai.
+     * </p>
+     *
+     * @param source payload QR
+     * @return map data object root, dengan status {@link QrisParseStatus#OK} jika struktur valid
+     */
+    public static QrisTlvMap tryOf(CharSequence source) {
+        return tryOf(source, 0, source.length(), ROOT);
+    }
+
+    /**
+     * Sama dengan {@link #tryOf(CharSequence)} untuk data object pada range {@code [start, end)}, misalnya Value
+     * template yang tersimpan terpisah dari QR text. Offset error relatif terhadap {@code source}.
+     *
+     * @param source   payload QR
+     * @param start    offset awal (inclusive)
+     * @param end      offset akhir (exclusive)
+     * @param parentId ID template pemilik range ini, atau {@link #ROOT}
+     * @return map data object, dengan status {@link QrisParseStatus#OK} jika struktur valid
+     */
+    public static QrisTlvMap tryOf(CharSequence source, int start, int end, int parentId) {
+        QrisTlvMap map = new QrisTlvMap(source, start, end, parentId, true);
+        map.index(true);
+        return map;
+    }
+
+    /**
+     * Index data object pada range {@code [start, end)} dari payload.
+     *
+     * @param source   payload QR
+     * @param start    offset awal (inclusive)
+     * @param end      offset akhir (exclusive)
+     * @param parentId ID template pemilik range ini, atau {@link #ROOT}
+     * @return map data object
+     */
+    public static QrisTlvMap of(CharSequence source, int start, int end, int parentId) {
+        QrisTlvMap map = new QrisTlvMap(source, start, end, parentId, true);
+        map.indexOrThrow();
+        return map;
+    }
+
+    /**
+     * Template yang baru di-index saat pertama kali dibaca.
+     */
+    static QrisTlvMap template(CharSequence source, int start, int end, int parentId) {
+        return new QrisTlvMap(source, start, end, parentId, false);
+    }
+
+    /**
+     * Menentukan apakah data object dengan ID tertentu merupakan template.
+     *
+     * @param parentId ID template pemilik, atau {@link #ROOT}
+     * @param id       ID data object
+     * @return true jika Value data object berisi data object turunan
+     */
+    public static boolean isTemplate(int parentId, int id) {
+        if (parentId == ROOT) {
+            return (id >= TAG_ID_MERCHANT_ACCOUNT_START && id <= TAG_ID_MERCHANT_ACCOUNT_END)
+                    || id == TAG_ID_MERCHANT_DOMESTIC_REPO
+                    || id == TAG_ID_ADDITIONAL_DATA
+                    || id == TAG_ID_MERCHANT_INFO_LANGUAGE;
+        }
+        return parentId == TAG_ID_ADDITIONAL_DATA && id == TAG_ID_PROPRIETARY_DATA;
+    }
+
+    /**
+     * @param templates true untuk ikut meng-index seluruh template
+     * @return false jika struktur rusak, lokasinya disimpan pada {@link #status}
+     */
+    private boolean index(boolean templates) {
+        indexed = true;
+        boolean root = parentId == ROOT;
+        int crc = QrisCrc16.INITIAL;
+        for (int i = start; i < end; ) {
+            if (i + ID_LENGTH > end) {
+                return fail(QrisParseStatus.TRUNCATED, i, NO_ID);
+            }
+            int id = twoDigits(source, i);
+            if (id < 0) {
+                return fail(QrisParseStatus.INVALID_ID, i, NO_ID);
+            }
+            if (i + ID_PLUS_LENGTH > end) {
+                return fail(QrisParseStatus.TRUNCATED, i, id);
+            }
+            int length = twoDigits(source, i + ID_LENGTH);
+            if (length < 0) {
+                return fail(QrisParseStatus.INVALID_LENGTH, i + ID_LENGTH, id);
+            }
+            int valueStart = i + ID_PLUS_LENGTH;
+            int valueEnd = valueStart + length;
+            if (valueEnd > end) {
+                return fail(QrisParseStatus.TRUNCATED, i, id);
+            }
+            if (slots[id] != 0) {
+                return fail(QrisParseStatus.DUPLICATE_ID, i, id);
+            }
+            append(id, valueStart, length, null);
+            if (templates && isTemplate(parentId, id)) {
+                QrisTlvMap template = new QrisTlvMap(source, valueStart, valueEnd, id, true);
+                if (!template.index(true)) {
+                    return fail(template.status, template.errorOffset, template.errorId);
+                }
+                templates()[size - 1] = template;
+            }
+            if (root) {
+                if (id == TAG_ID_CRC) {
+                    crc = QrisCrc16.update(crc, source, i, valueStart);
+                    if (length == QrisCrc16.HEX_LENGTH && valueEnd == end) {
+                        checksum = crc;
+                    }
+                } else {
+                    crc = QrisCrc16.update(crc, source, i, valueEnd);
+                }
+            }
+            i = valueEnd;
+        }
+        return true;
+    }
+
+    private boolean fail(QrisParseStatus status, int offset, int id) {
+        this.status = status;
+        this.errorOffset = offset;
+        this.errorId = id;
+        return false;
+    }
+
+    private void indexOrThrow() {
+        if (index(false)) {
+            return;
+        }
+        String message = String.format(ERROR_INVALID_STRUCTURE, status.getDescription(), errorOffset, errorId);
+        switch (status) {
+            case DUPLICATE_ID:
+                throw new IllegalArgumentException(String.format(ERROR_DUPLICATE_KEY, errorId));
+            case INVALID_ID:
+            case INVALID_LENGTH:
+                throw new NumberFormatException(message);
+            default:
+                throw new StringIndexOutOfBoundsException(message);
+        }
+    }
+
+    /**
+     * @param source QR text
+     * @param offset offset digit pertama
+     * @return dua digit angka ASCII pada offset, atau -1 jika bukan angka
+     */
+    public static int twoDigits(CharSequence source, int offset) {
+        int high = source.charAt(offset) - '0';
+        int low = source.charAt(offset + 1) - '0';
+        if (high < 0 || high > 9 || low < 0 || low > 9) {
+            return -1;
+        }
+        return high * 10 + low;
+    }
+
+    private void ensureIndexed() {
+        if (!indexed) {
+            indexOrThrow();
+        }
+    }
+
+    private void append(int id, int valueStart, int valueLength, QrisDataObject object) {
+        if (ids == null) {
+            ids = new int[INITIAL_ENTRIES];
+            valueStarts = new int[INITIAL_ENTRIES];
+            valueLengths = new int[INITIAL_ENTRIES];
+        } else if (size == ids.length) {
+            int capacity = Math.min(CAPACITY, size * 2);
+            ids = Arrays.copyOf(ids, capacity);
+            valueStarts = Arrays.copyOf(valueStarts, capacity);
+            valueLengths = Arrays.copyOf(valueLengths, capacity);
+            if (objects != null) {
+                objects = Arrays.copyOf(objects, capacity);
+            }
+            if (templates != null) {
+                templates = Arrays.copyOf(templates, capacity);
+            }
+        }
+        ids[size] = id;
+        valueStarts[size] = valueStart;
+        valueLengths[size] = valueLength;
+        if (object != null) {
+            objects()[size] = object;
+        }
+        size++;
+        slots[id] = (byte) size;
+        modCount++;
+    }
+
+    private QrisDataObject[] objects() {
+        if (objects == null) {
+            objects = new QrisDataObject[ids.length];
+        }
+        return objects;
+    }
+
+    private QrisTlvMap[] templates() {
+        if (templates == null) {
+            templates = new QrisTlvMap[ids.length];
+        }
+        return templates;
+    }
+
+    private int entryOf(int id) {
+        if (id < 0 || id >= CAPACITY) {
+            return -1;
+        }
+        ensureIndexed();
+        return slots[id] - 1;
+    }
+
+    private static int toId(Object key) {
+        return key instanceof Integer ? (Integer) key : -1;
+    }
+
+    private QrisDataObject objectAt(int entry) {
+        QrisDataObject[] cache = objects();
+        QrisDataObject object = cache[entry];
+        if (object == null) {
+            int id = ids[entry];
+            object = new QrisDataObject(id, valueLengths[entry], source, valueStarts[entry]);
+            if (templates != null && templates[entry] != null) {
+                object.setTemplateMap(templates[entry]);
+            } else if (isTemplate(parentId, id)) {
+                object.setTemplateMap(template(source, valueStarts[entry], valueStarts[entry] + valueLengths[entry], id));
+            }
+            cache[entry] = object;
+        }
+        return object;
+    }
+
+    /**
+     * @param id ID data object
+     * @return true jika data object dengan ID tersebut ada
+     */
+    public boolean contains(int id) {
+        return entryOf(id) >= 0;
+    }
+
+    /**
+     * @param id ID data object
+     * @return data object, atau null jika tidak ada
+     */
+    public QrisDataObject get(int id) {
+        int entry = entryOf(id);
+        return entry < 0 ? null : objectAt(entry);
+    }
+
+    /**
+     * Template milik data object tanpa membuat {@link QrisDataObject}-nya.
+     *
+     * @param id ID data object
+     * @return template yang sama dengan {@link QrisDataObject#getTemplateMap()}, atau null jika data object tidak
+     * ada, bukan template, atau tidak berasal dari payload (hasil {@link #put})
+     */
+    public QrisTlvMap getTemplate(int id) {
+        int entry = entryOf(id);
+        if (entry < 0 || valueStarts[entry] == DETACHED || !isTemplate(parentId, id)) {
+            return null;
+        }
+        if (objects != null && objects[entry] != null) {
+            return (QrisTlvMap) objects[entry].getTemplateMap();
+        }
+        QrisTlvMap[] cache = templates();
+        if (cache[entry] == null) {
+            cache[entry] = template(source, valueStarts[entry], valueStarts[entry] + valueLengths[entry], id);
+        }
+        return cache[entry];
+    }
+
+    /**
+     * Offset awal Value data object terhadap {@link #getSource()}.
+     *
+     * @param id ID data object
+     * @return offset, atau -1 jika data object tidak ada atau tidak berasal dari payload (hasil {@link #put})
+     */
+    public int valueStart(int id) {
+        int entry = entryOf(id);
+        return entry < 0 ? -1 : valueStarts[entry];
+    }
+
+    /**
+     * @param id ID data object
+     * @return panjang Value data object, atau -1 jika tidak ada
+     */
+    public int valueLength(int id) {
+        int entry = entryOf(id);
+        if (entry < 0) {
+            return -1;
+        }
+        return valueStarts[entry] == DETACHED ? objectAt(entry).getIntLength() : valueLengths[entry];
+    }
+
+    /**
+     * ID data object pada urutan ke-{@code index} sesuai urutan kemunculan.
+     *
+     * @param index 0 hingga {@link #size()} - 1
+     * @return ID data object
+     */
+    public int idAt(int index) {
+        ensureIndexed();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.valueOf(index));
+        }
+        return ids[index];
+    }
+
+    /**
+     * @return payload asli yang di-index
+     */
+    public CharSequence getSource() {
+        return source;
+    }
+
+    /**
+     * @return offset awal range pada payload
+     */
+    public int getStart() {
+        return start;
+    }
+
+    /**
+     * @return offset akhir range pada payload (exclusive)
+     */
+    public int getEnd() {
+        return end;
+    }
+
+    /**
+     * @return {@link QrisParseStatus#OK}, atau status struktur yang rusak untuk map hasil {@link #tryOf(CharSequence)}
+     */
+    public QrisParseStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * @return offset data object yang rusak terhadap {@link #getSource()}, atau -1 jika struktur valid
+     */
+    public int getErrorOffset() {
+        return errorOffset;
+    }
+
+    /**
+     * @return ID data object yang rusak, atau -1 jika struktur valid atau ID tidak dapat dibaca
+     */
+    public int getErrorId() {
+        return errorId;
+    }
+
+    /**
+     * @return ID template pemilik, atau {@link #ROOT}
+     */
+    public int getParentId() {
+        return parentId;
+    }
+
+    /**
+     * CRC-16 yang dihitung bersamaan dengan index root, yaitu dari {@link #getStart()} hingga ID dan panjang karakter
+     * CRC (ID "63"), tidak termasuk Value-nya.
+     *
+     * @return nilai CRC, atau -1 jika bukan root atau CRC tidak berada di akhir payload dengan panjang 4 karakter
+     */
+    public int getChecksum() {
+        ensureIndexed();
+        return checksum;
+    }
+
+    @Override
+    public int size() {
+        ensureIndexed();
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return contains(toId(key));
+    }
+
+    @Override
+    public QrisDataObject get(Object key) {
+        return get(toId(key));
+    }
+
+    @Override
+    public QrisDataObject put(Integer key, QrisDataObject value) {
+        int id = toId(key);
+        if (id < 0 || id >= CAPACITY) {
+            throw new IllegalArgumentException(String.format(ERROR_INVALID_ID, key));
+        }
+        int entry = entryOf(id);
+        if (entry < 0) {
+            append(id, DETACHED, 0, value);
+            return null;
+        }
+        QrisDataObject previous = objectAt(entry);
+        objects()[entry] = value;
+        if (templates != null) {
+            templates[entry] = null;
+        }
+        valueStarts[entry] = DETACHED;
+        valueLengths[entry] = 0;
+        return previous;
+    }
+
+    @Override
+    public QrisDataObject remove(Object key) {
+        int entry = entryOf(toId(key));
+        if (entry < 0) {
+            return null;
+        }
+        QrisDataObject previous = objectAt(entry);
+        int moved = size - entry - 1;
+        System.arraycopy(ids, entry + 1, ids, entry, moved);
+        System.arraycopy(valueStarts, entry + 1, valueStarts, entry, moved);
+        System.arraycopy(valueLengths, entry + 1, valueLengths, entry, moved);
+        System.arraycopy(objects, entry + 1, objects, entry, moved);
+        size--;
+        objects[size] = null;
+        if (templates != null) {
+            System.arraycopy(templates, entry + 1, templates, entry, moved);
+            templates[size] = null;
+        }
+        slots[toId(key)] = 0;
+        for (int i = entry; i < size; i++) {
+            slots[ids[i]] = (byte) (i + 1);
+        }
+        modCount++;
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        ensureIndexed();
+        Arrays.fill(slots, (byte) 0);
+        if (objects != null) {
+            Arrays.fill(objects, null);
+        }
+        if (templates != null) {
+            Arrays.fill(templates, null);
+        }
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public Set<Entry<Integer, QrisDataObject>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<Integer, QrisDataObject>> {
+
+        @Override
+        public Iterator<Entry<Integer, QrisDataObject>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return QrisTlvMap.this.size();
+        }
+    }
+
+    /**
+     * Entry yang menulis ke map saat {@link #setValue} dipanggil, seperti entry {@link java.util.LinkedHashMap}.
+     */
+    private final class MapEntry extends SimpleEntry<Integer, QrisDataObject> {
+
+        private static final long serialVersionUID = 1L;
+
+        MapEntry(Integer key, QrisDataObject value) {
+            super(key, value);
+        }
+
+        @Override
+        public QrisDataObject setValue(QrisDataObject value) {
+            put(getKey(), value);
+            return super.setValue(value);
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<Integer, QrisDataObject>> {
+
+        private int next;
+        private int last = -1;
+        private int expectedModCount;
+
+        EntryIterator() {
+            ensureIndexed();
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public Entry<Integer, QrisDataObject> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+            last = next++;
+            return new MapEntry(ids[last], objectAt(last));
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            QrisTlvMap.this.remove(ids[last]);
+            next = last;
+            last = -1;
+            expectedModCount = modCount;
+        }
+    }
+}
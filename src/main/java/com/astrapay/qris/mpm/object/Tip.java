@@ -1,5 +1,6 @@
 package com.astrapay.qris.mpm.object;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 
 /**
@@ -7,14 +8,76 @@ import lombok.*;
  */
 @Getter
 @Setter
-@AllArgsConstructor
 @NoArgsConstructor
-@Builder
 public class Tip {
 
     String indicator;
-    @Builder.Default
     Double fixed = 0.0;
-    @Builder.Default
     Double percentage = 0.0;
+    /**
+     * Tip Value Fixed (ID "56") fixed-point, selalu sama dengan {@link #fixed}. Null jika tidak diisi atau tidak
+     * dapat ditulis sebagai nominal QRIS, seperti {@link Qris#getTransactionAmountValue()}.
+     */
+    @JsonIgnore
+    QrisAmount fixedValue = QrisAmount.ZERO;
+    /**
+     * Tip Value Percentage (ID "57") fixed-point, selalu sama dengan {@link #percentage}. Null jika tidak diisi
+     * atau tidak dapat ditulis sebagai nominal QRIS.
+     */
+    @JsonIgnore
+    QrisAmount percentageValue = QrisAmount.ZERO;
+
+    @Builder
+    public Tip(String indicator, Double fixed, Double percentage) {
+        this.indicator = indicator;
+        this.setFixed(fixed);
+        this.setPercentage(percentage);
+    }
+
+    /**
+     * Nominal disimpan apa adanya, dan {@link #getFixedValue()} tanpa nol di akhir desimal, misalnya 500.0 ditulis
+     * "500".
+     *
+     * @param fixed Tip Value Fixed (ID "56"), null jika tidak diisi
+     */
+    public void setFixed(Double fixed) {
+        this.fixed = fixed;
+        QrisAmount amount = fixed == null ? null : QrisAmount.tryValueOf(fixed);
+        this.fixedValue = amount == null ? null : amount.stripTrailingZeros();
+    }
+
+    /**
+     * @param fixedValue Tip Value Fixed (ID "56") fixed-point, null jika tidak diisi
+     */
+    public void setFixedValue(QrisAmount fixedValue) {
+        this.fixedValue = fixedValue;
+        this.fixed = fixedValue == null ? null : fixedValue.doubleValue();
+    }
+
+    /**
+     * Persentase disimpan apa adanya, dan {@link #getPercentageValue()} sama dengan {@link Double#toString(double)},
+     * misalnya 2.5 ditulis "2.5" dan 10.0 ditulis "10.0".
+     *
+     * @param percentage Tip Value Percentage (ID "57"), null jika tidak diisi
+     */
+    public void setPercentage(Double percentage) {
+        this.percentage = percentage;
+        this.percentageValue = percentage == null ? null : QrisAmount.tryValueOf(percentage);
+    }
+
+    /**
+     * @param percentageValue Tip Value Percentage (ID "57") fixed-point, null jika tidak diisi
+     */
+    public void setPercentageValue(QrisAmount percentageValue) {
+        this.percentageValue = percentageValue;
+        this.percentage = percentageValue == null ? null : percentageValue.doubleValue();
+    }
+
+    /**
+     * Tip Value Fixed dan Percentage default builder adalah nol, sama dengan {@link #Tip()}.
+     */
+    public static class TipBuilder {
+        private Double fixed = 0.0;
+        private Double percentage = 0.0;
+    }
 }
@@ -1,23 +1,48 @@
 package com.astrapay.qris.mpm.validation;
 
-import com.astrapay.qris.QrisCommon;
+import com.astrapay.qris.QrisCrc16;
+import com.astrapay.qris.mpm.object.QrisDataObject;
 import com.astrapay.qris.mpm.object.QrisPayload;
+import com.astrapay.qris.mpm.object.QrisTlvMap;
 import com.astrapay.qris.mpm.validation.constraints.CheckSum;
 
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
+import java.util.Map;
 
 /**
  * <b>4.7.16</b> CRC (ID "63")<br/>
  * <b>4.7.16.1</b> Checksum wajib dihitung sesuai dengan [ISO/IEC 13239] menggunakan polynomial '1021' (hex) dan initial value 'FFFF' (hex). Data yang dihitung adalah seluruh data object termasuk ID, panjang karakter, Value, serta ID dan Panjang karakter dari CRC sendiri (tidak termasuk Value dari CRC).<br/>
  * <b>4.7.16.2</b> Penghitungan checksum menghasilkan nilai 2-byte hexadecimal yang wajib ditulis dalam 4-character Alphanumeric Special dimana nilainya akan dikonversikan sebagai bagian dari karakter Alphanumeric Special.<br/>
+ * <p>Payload tanpa QR text, misalnya hasil {@code QrisModelValidator.toPayload}, tidak diperiksa.</p>
  */
 public class CheckSumValidator implements ConstraintValidator<CheckSum, QrisPayload> {
 
     @Override
     public boolean isValid(QrisPayload value, ConstraintValidatorContext context) {
-        String crcCheckSum = QrisCommon.generateChecksum(value.getPayload().substring(0, value.getPayload().length()-4));
-        return crcCheckSum.equals(value.getQrisRoot().get(63).getValue());
+        CharSequence payload = value.payloadSequence();
+        if (payload == null) {
+            return true;
+        }
+        Map<Integer, QrisDataObject> root = value.getQrisRoot();
+        int checksum = checksumOf(root, payload);
+        if (checksum < 0) {
+            checksum = QrisCrc16.compute(payload, 0, payload.length() - QrisCrc16.HEX_LENGTH);
+        }
+        return QrisCrc16.matches(checksum, root.get(63).getValue());
+    }
+
+    /**
+     * CRC yang sudah dihitung saat parsing, jika root di-index dari payload yang sama.
+     */
+    private static int checksumOf(Map<Integer, QrisDataObject> root, CharSequence payload) {
+        if (root instanceof QrisTlvMap) {
+            QrisTlvMap map = (QrisTlvMap) root;
+            if (map.getSource() == payload && map.getStart() == 0 && map.getEnd() == payload.length()) {
+                return map.getChecksum();
+            }
+        }
+        return -1;
     }
 
 }
\ No newline at end of file
@@ -1,11 +1,11 @@
 package com.astrapay.qris.mpm.validation;
 
+import com.astrapay.qris.QrisIsoRegistry;
 import com.astrapay.qris.mpm.object.QrisDataObject;
 import com.astrapay.qris.mpm.validation.constraints.CountryCode;
 
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
-import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -16,6 +16,6 @@ public class CountryCodeValidator implements ConstraintValidator<CountryCode, Ma
 
     @Override
     public boolean isValid(Map<Integer, QrisDataObject> value, ConstraintValidatorContext context) {
-        return Locale.getISOCountries(Locale.IsoCountryCode.PART1_ALPHA2).contains(value.get(58).getValue());
+        return QrisIsoRegistry.isIsoCountry(value.get(58).getValue());
     }
 }
@@ -1,5 +1,6 @@
 package com.astrapay.qris.mpm.validation;
 
+import com.astrapay.qris.QrisIsoRegistry;
 import com.astrapay.qris.mpm.object.QrisDataObject;
 import com.astrapay.qris.mpm.validation.constraints.LanguagePreferance;
 import lombok.Builder;
@@ -7,7 +8,6 @@ import lombok.NoArgsConstructor;
 
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
-import java.util.Locale;
 
 /**
  * <b>4.9.2</b> Language Preference (ID "00")
@@ -21,12 +21,7 @@ public class LanguagePreferenceValidator implements ConstraintValidator<Language
     public boolean isValid(QrisDataObject value, ConstraintValidatorContext context) {
         if(value.getIntId().equals(64)){
             String localeStr = value.getTemplateMap().get(0).getValue();
-            for(Locale locale : Locale.getAvailableLocales()){
-                if(localeStr.length() == 2 && localeStr.toLowerCase(Locale.ROOT).equals(locale.getCountry().toLowerCase(Locale.ROOT))){
-                    return true;
-                }
-            }
-            return false;
+            return QrisIsoRegistry.isLocaleCountry(localeStr);
         }
         return true;
     }
@@ -1,5 +1,6 @@
 package com.astrapay.qris.mpm.validation;
 
+import com.astrapay.qris.QrisCharacters;
 import com.astrapay.qris.mpm.object.QrisDataObject;
 import com.astrapay.qris.mpm.validation.constraints.MerchantAccountInformationPanIsNumber;
 
@@ -14,11 +15,7 @@ public class MerchantAccountInformationPanIsNumberValidator implements Constrain
     @Override
     public boolean isValid(QrisDataObject value, ConstraintValidatorContext context) {
         if(value.getIntId() >= 26 && value.getIntId() <= 45){
-            try {
-                Double.parseDouble(value.getTemplateMap().get(1).getValue());
-            } catch (NumberFormatException nfe) {
-                return false;
-            }
+            return QrisCharacters.isDigits(value.getTemplateMap().get(1).getValue());
         }
         return true;
     }
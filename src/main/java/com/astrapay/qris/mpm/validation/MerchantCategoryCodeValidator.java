@@ -1,6 +1,6 @@
 package com.astrapay.qris.mpm.validation;
 
-import com.astrapay.qris.MerchantCategoryCodes;
+import com.astrapay.qris.MerchantCategoryCodeRegistry;
 import com.astrapay.qris.mpm.object.QrisDataObject;
 import com.astrapay.qris.mpm.validation.constraints.MerchantCategoryCode;
 
@@ -16,11 +16,6 @@ public class MerchantCategoryCodeValidator implements ConstraintValidator<Mercha
 
     @Override
     public boolean isValid(Map<Integer, QrisDataObject> value, ConstraintValidatorContext context) {
-        try {
-            MerchantCategoryCodes.Iso18245MerchantCategoryCode.valueOf(Integer.parseInt(value.get(52).getValue()));
-            return value.get(52).getValue().length() == 4;
-        } catch (IllegalArgumentException nfe) {
-            return false;
-        }
+        return MerchantCategoryCodeRegistry.isValid(value.get(52).getValue());
     }
 }
@@ -1,6 +1,6 @@
 package com.astrapay.qris.mpm.validation;
 
-import com.astrapay.qris.QrisNationalNumberingSystem;
+import com.astrapay.qris.QrisNnsRegistry;
 import com.astrapay.qris.mpm.object.QrisDataObject;
 import com.astrapay.qris.mpm.validation.constraints.NationalNumberingSystem;
 import lombok.Builder;
@@ -20,12 +20,8 @@ public class NationalNumberingSystemValidator implements ConstraintValidator<Nat
     @Override
     public boolean isValid(QrisDataObject value, ConstraintValidatorContext context) {
         if(value.getIntId() >= 26 && value.getIntId() <= 45){
-            try {
-                QrisNationalNumberingSystem.Pjsp.valueOf(Integer.valueOf(value.getTemplateMap().get(1).getValue().substring(0,8)));
-                return true;
-            } catch (IllegalArgumentException|NullPointerException|IndexOutOfBoundsException ex) {
-                return false;
-            }
+            QrisDataObject pan = value.getTemplateMap() == null ? null : value.getTemplateMap().get(1);
+            return pan != null && QrisNnsRegistry.getDefault().containsPan(pan.getValue());
         }
         return true;
     }
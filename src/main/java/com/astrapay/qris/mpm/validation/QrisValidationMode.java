@@ -0,0 +1,17 @@
+package com.astrapay.qris.mpm.validation;
+
+/**
+ * Mode eksekusi {@link QrisValidationPlan}.
+ */
+public enum QrisValidationMode {
+
+    /**
+     * Berhenti pada pelanggaran pertama.
+     */
+    FAIL_FAST,
+
+    /**
+     * Jalankan seluruh aturan dan kumpulkan semua pelanggaran.
+     */
+    COLLECT_ALL
+}
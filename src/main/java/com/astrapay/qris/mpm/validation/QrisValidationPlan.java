@@ -0,0 +1,555 @@
+package com.astrapay.qris.mpm.validation;
+
+import com.astrapay.qris.mpm.object.QrisDataObject;
+import com.astrapay.qris.mpm.object.QrisMpmPaymentPayload;
+import com.astrapay.qris.mpm.object.QrisPayload;
+import com.astrapay.qris.mpm.object.QrisTransferPayload;
+import com.astrapay.qris.mpm.object.QrisType;
+import com.astrapay.qris.mpm.validation.constraints.*;
+
+import javax.validation.Constraint;
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Validasi QRIS yang sudah dikompilasi dari constraint annotation pada class payload dan {@link QrisDataObject}.
+ * <p>
+ * Annotation dibaca satu kali per class payload. Setiap constraint menjadi satu aturan dengan validator yang sudah
+ * di-{@code initialize} dan pesan yang sudah diinterpolasi. Aturan data object didaftarkan per ID sesuai ID yang
+ * diperiksa oleh validatornya (misalnya {@link MerchantAccountInformationCriteria} hanya pada "26" - "45"), dan aturan
+ * pada {@code qrisRoot} yang hanya berlaku jika ID tertentu ada (misalnya {@link CharLength} dan
+ * {@link TransactionAmount}) dilewati jika tidak ada ID tersebut. Dengan begitu setiap data object hanya menjalankan
+ * aturan yang relevan, tanpa traversal metadata maupun alokasi context Bean Validation. Aturan data object hanya
+ * dijalankan oleh {@link #withDataObjects()}.
+ * </p>
+ * <p>
+ * Kode pelanggaran sama dengan nama annotation constraint, dan path mengikuti property path Bean Validation.
+ * Exception dari validator (misalnya sub ID wajib yang tidak ada) dilaporkan sebagai pelanggaran constraint tersebut.
+ * Plan bersifat immutable dan aman dipakai bersama antar thread.
+ * </p>
+ * <pre>
+ * List&lt;QrisViolation&gt; violations = QrisValidationPlan.forType(payload.getQrisType())
+ *         .validate(payload, QrisValidationMode.FAIL_FAST);
+ * </pre>
+ */
+public final class QrisValidationPlan {
+
+    private static final int CAPACITY = 100;
+    private static final int NO_TAG = -1;
+    private static final String ROOT_PATH = "qrisRoot";
+    private static final String TEMPLATE_PATH = "templateMap";
+    private static final String[] MESSAGE_BUNDLES = {"ValidationMessages", "org.hibernate.validator.ValidationMessages"};
+
+    private static final String ERROR_UNSUPPORTED_TYPE = "Validation plan untuk QRIS dengan tipe %s belum tersedia";
+    private static final String ERROR_UNSUPPORTED_CONSTRAINT = "Constraint %s pada %s tidak didukung.";
+
+    private static final Map<String, Function<QrisPayload, Object>> PAYLOAD_PROPERTIES =
+            Map.of("payload", QrisPayload::getPayload);
+    private static final Map<String, Function<QrisDataObject, Object>> DATA_OBJECT_PROPERTIES =
+            Map.of("id", QrisDataObject::getId, "length", QrisDataObject::getLength, "value", QrisDataObject::getValue);
+
+    private static final Map<Class<? extends QrisPayload>, QrisValidationPlan> PLANS = new ConcurrentHashMap<>();
+
+    private final Rule[] payloadRules;
+    private final Rule[] rootRules;
+    private final Rule[][] dataObjectRules;
+    private final Rule[] allDataObjectRules;
+    private final boolean includeDataObjects;
+    private volatile QrisValidationPlan cascading;
+
+    private QrisValidationPlan(Rule[] payloadRules, Rule[] rootRules, Rule[][] dataObjectRules, Rule[] allDataObjectRules,
+                               boolean includeDataObjects) {
+        this.payloadRules = payloadRules;
+        this.rootRules = rootRules;
+        this.dataObjectRules = dataObjectRules;
+        this.allDataObjectRules = allDataObjectRules;
+        this.includeDataObjects = includeDataObjects;
+    }
+
+    /**
+     * @param qrisType tipe QRIS hasil {@link com.astrapay.qris.mpm.QrisParser#peekType(CharSequence)}
+     * @return plan untuk class payload tipe tersebut
+     * @throws UnsupportedOperationException jika tipe belum memiliki class payload
+     */
+    public static QrisValidationPlan forType(QrisType qrisType) {
+        switch (qrisType) {
+            case MPM_PAYMENT:
+                return forPayload(QrisMpmPaymentPayload.class);
+            case MPM_TRANSFER:
+                return forPayload(QrisTransferPayload.class);
+            default:
+                throw new UnsupportedOperationException(String.format(ERROR_UNSUPPORTED_TYPE, qrisType));
+        }
+    }
+
+    /**
+     * @param payloadClass class payload yang constraint-nya dikompilasi
+     * @return plan yang di-cache per class
+     */
+    public static QrisValidationPlan forPayload(Class<? extends QrisPayload> payloadClass) {
+        return PLANS.computeIfAbsent(payloadClass, QrisValidationPlan::compile);
+    }
+
+    /**
+     * Plan yang juga menjalankan constraint {@link QrisDataObject} pada setiap data object dan template-nya.
+     * <p>
+     * Constraint tersebut tidak ikut dijalankan oleh {@code Validator.validate(payload)} karena field {@code qrisRoot}
+     * dengan {@code @Valid} pada {@link QrisPayload} tertutup oleh field {@code qrisRoot} pada subclass, sehingga
+     * plan dari {@link #forType(QrisType)} tidak menjalankannya agar hasilnya sama.
+     * </p>
+     *
+     * @return plan dengan aturan data object
+     */
+    public QrisValidationPlan withDataObjects() {
+        if (includeDataObjects) {
+            return this;
+        }
+        QrisValidationPlan plan = cascading;
+        if (plan == null) {
+            plan = new QrisValidationPlan(payloadRules, rootRules, dataObjectRules, allDataObjectRules, true);
+            cascading = plan;
+        }
+        return plan;
+    }
+
+    /**
+     * Jalankan seluruh aturan dan kumpulkan semua pelanggaran.
+     *
+     * @param payload hasil parsing
+     * @return pelanggaran, kosong jika valid
+     */
+    public List<QrisViolation> validate(QrisPayload payload) {
+        return validate(payload, QrisValidationMode.COLLECT_ALL);
+    }
+
+    /**
+     * @param payload hasil parsing
+     * @param mode    {@link QrisValidationMode#FAIL_FAST} untuk berhenti pada pelanggaran pertama
+     * @return pelanggaran, kosong jika valid
+     */
+    public List<QrisViolation> validate(QrisPayload payload, QrisValidationMode mode) {
+        List<QrisViolation> violations = new ArrayList<>(0);
+        boolean failFast = mode == QrisValidationMode.FAIL_FAST;
+        for (Rule rule : payloadRules) {
+            if (!rule.test(payload)) {
+                violations.add(rule.violation("", NO_TAG));
+                if (failFast) {
+                    return violations;
+                }
+            }
+        }
+        Map<Integer, QrisDataObject> root = payload.getQrisRoot();
+        if (root == null) {
+            return violations;
+        }
+        long presentLow = 0L;
+        long presentHigh = 0L;
+        for (Integer id : root.keySet()) {
+            if (id != null && id >= 0 && id < 64) {
+                presentLow |= 1L << id;
+            } else if (id != null && id >= 64 && id < CAPACITY) {
+                presentHigh |= 1L << (id - 64);
+            }
+        }
+        for (Rule rule : rootRules) {
+            if (rule.triggeredBy(presentLow, presentHigh) && !rule.test(root)) {
+                violations.add(rule.violation(ROOT_PATH, rule.tag));
+                if (failFast) {
+                    return violations;
+                }
+            }
+        }
+        if (includeDataObjects) {
+            validateDataObjects(root, ROOT_PATH, violations, failFast);
+        }
+        return violations;
+    }
+
+    /**
+     * @return true jika berhenti karena fail-fast
+     */
+    private boolean validateDataObjects(Map<Integer, QrisDataObject> map, String path, List<QrisViolation> violations, boolean failFast) {
+        for (Map.Entry<Integer, QrisDataObject> entry : map.entrySet()) {
+            QrisDataObject dataObject = entry.getValue();
+            if (dataObject == null) {
+                continue;
+            }
+            int tag = tagOf(dataObject);
+            Rule[] rules = tag >= 0 && tag < CAPACITY ? dataObjectRules[tag] : allDataObjectRules;
+            for (Rule rule : rules) {
+                if (!rule.test(dataObject)) {
+                    violations.add(rule.violation(path + "[" + entry.getKey() + "]", tag));
+                    if (failFast) {
+                        return true;
+                    }
+                }
+            }
+            Map<Integer, QrisDataObject> templateMap = dataObject.getTemplateMap();
+            if (templateMap != null
+                    && validateDataObjects(templateMap, path + "[" + entry.getKey() + "]." + TEMPLATE_PATH, violations, failFast)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int tagOf(QrisDataObject dataObject) {
+        try {
+            return dataObject.getIntId();
+        } catch (RuntimeException e) {
+            return NO_TAG;
+        }
+    }
+
+    private static QrisValidationPlan compile(Class<? extends QrisPayload> payloadClass) {
+        List<Rule> payloadRules = new ArrayList<>();
+        List<Rule> rootRules = new ArrayList<>();
+        for (Class<?> type = payloadClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Annotation constraint : constraintsOf(type)) {
+                payloadRules.add(rule(constraint, type.getSimpleName(), null, null));
+            }
+            for (Field field : type.getDeclaredFields()) {
+                List<Annotation> constraints = constraintsOf(field);
+                if (ROOT_PATH.equals(field.getName())) {
+                    for (Annotation constraint : constraints) {
+                        rootRules.add(rule(constraint, field.getName(), null, rootTriggers(constraint)));
+                    }
+                } else {
+                    addPropertyRules(payloadRules, constraints, field.getName(), PAYLOAD_PROPERTIES);
+                }
+            }
+            for (Method method : type.getDeclaredMethods()) {
+                addPropertyRules(payloadRules, constraintsOf(method), propertyOf(method), PAYLOAD_PROPERTIES);
+            }
+        }
+
+        List<List<Rule>> byTag = new ArrayList<>(CAPACITY);
+        for (int tag = 0; tag < CAPACITY; tag++) {
+            byTag.add(new ArrayList<>());
+        }
+        List<Rule> allRules = new ArrayList<>();
+        for (Annotation constraint : constraintsOf(QrisDataObject.class)) {
+            Rule rule = rule(constraint, QrisDataObject.class.getSimpleName(), null, null);
+            allRules.add(rule);
+            int[] range = dataObjectRange(constraint);
+            for (int tag = range[0]; tag <= range[1]; tag++) {
+                byTag.get(tag).add(rule);
+            }
+        }
+        List<Rule> propertyRules = new ArrayList<>();
+        for (Field field : QrisDataObject.class.getDeclaredFields()) {
+            addPropertyRules(propertyRules, constraintsOf(field), field.getName(), DATA_OBJECT_PROPERTIES);
+        }
+        for (Method method : QrisDataObject.class.getDeclaredMethods()) {
+            addPropertyRules(propertyRules, constraintsOf(method), propertyOf(method), DATA_OBJECT_PROPERTIES);
+        }
+        allRules.addAll(propertyRules);
+        Rule[][] dataObjectRules = new Rule[CAPACITY][];
+        for (int tag = 0; tag < CAPACITY; tag++) {
+            byTag.get(tag).addAll(propertyRules);
+            dataObjectRules[tag] = byTag.get(tag).toArray(new Rule[0]);
+        }
+        return new QrisValidationPlan(payloadRules.toArray(new Rule[0]), rootRules.toArray(new Rule[0]),
+                dataObjectRules, allRules.toArray(new Rule[0]), false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void addPropertyRules(List<Rule> rules, List<Annotation> constraints, String property,
+                                             Map<String, Function<T, Object>> properties) {
+        if (constraints.isEmpty()) {
+            return;
+        }
+        Function<T, Object> accessor = properties.get(property);
+        if (accessor == null) {
+            throw new IllegalStateException(String.format(ERROR_UNSUPPORTED_CONSTRAINT, constraints.get(0), property));
+        }
+        for (Annotation constraint : constraints) {
+            rules.add(rule(constraint, property, (Function<Object, Object>) accessor, null));
+        }
+    }
+
+    private static String propertyOf(Method method) {
+        String name = method.getName();
+        if (name.startsWith("get") && name.length() > 3 && method.getParameterCount() == 0) {
+            return Character.toLowerCase(name.charAt(3)) + name.substring(4);
+        }
+        return name;
+    }
+
+    /**
+     * Constraint pada element, termasuk constraint repeatable yang dibungkus annotation {@code List}.
+     */
+    private static List<Annotation> constraintsOf(AnnotatedElement element) {
+        List<Annotation> constraints = new ArrayList<>();
+        for (Annotation annotation : element.getDeclaredAnnotations()) {
+            if (annotation.annotationType().isAnnotationPresent(Constraint.class)) {
+                constraints.add(annotation);
+                continue;
+            }
+            Object value = attribute(annotation, "value");
+            if (value instanceof Annotation[]) {
+                for (Annotation repeated : (Annotation[]) value) {
+                    if (repeated.annotationType().isAnnotationPresent(Constraint.class)) {
+                        constraints.add(repeated);
+                    }
+                }
+            }
+        }
+        return constraints;
+    }
+
+    /**
+     * ID data object yang diperiksa oleh validator. Validator lain dianggap berlaku untuk semua ID.
+     */
+    private static int[] dataObjectRange(Annotation constraint) {
+        if (constraint instanceof MerchantAccountInformationMandatoryField) {
+            MerchantAccountInformationMandatoryField field = (MerchantAccountInformationMandatoryField) constraint;
+            return new int[]{field.from(), field.to()};
+        }
+        if (constraint instanceof MerchantAccountInformationCharLength) {
+            MerchantAccountInformationCharLength charLength = (MerchantAccountInformationCharLength) constraint;
+            return new int[]{charLength.from(), charLength.to()};
+        }
+        if (constraint instanceof MerchantAccountInformationPanIsNumber
+                || constraint instanceof MerchantAccountInformationReverseDomain
+                || constraint instanceof MerchantAccountInformationCriteria
+                || constraint instanceof NationalNumberingSystem) {
+            return new int[]{26, 45};
+        }
+        if (constraint instanceof AdditionalDataField
+                || constraint instanceof AdditionalDataFieldAsterisk
+                || constraint instanceof AdditionalConsumerDataRequest
+                || constraint instanceof AdditionalDataFieldCharLength
+                || constraint instanceof ProprietaryDomesticData
+                || constraint instanceof ProprietaryDataTemplate) {
+            return new int[]{62, 62};
+        }
+        if (constraint instanceof LanguagePreferance || constraint instanceof MerchantNameAlternateLanguage) {
+            return new int[]{64, 64};
+        }
+        return new int[]{0, CAPACITY - 1};
+    }
+
+    /**
+     * ID pada {@code qrisRoot} yang membuat validator perlu dijalankan, atau null jika selalu dijalankan.
+     */
+    private static int[] rootTriggers(Annotation constraint) {
+        if (constraint instanceof CharLength) {
+            CharLength charLength = (CharLength) constraint;
+            return new int[]{charLength.from(), charLength.to()};
+        }
+        if (constraint instanceof TransactionAmount) {
+            int id = ((TransactionAmount) constraint).id();
+            return new int[]{id, id};
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Rule rule(Annotation constraint, String element, Function<Object, Object> accessor, int[] triggers) {
+        ConstraintValidator<Annotation, Object> validator = (ConstraintValidator<Annotation, Object>) validatorOf(constraint, element);
+        validator.initialize(constraint);
+        Object id = attribute(constraint, "id");
+        return new Rule(constraint.annotationType().getSimpleName(), interpolate((String) attribute(constraint, "message"), constraint),
+                accessor == null ? null : "." + element, accessor, validator, triggers, id instanceof Integer ? (Integer) id : NO_TAG);
+    }
+
+    private static ConstraintValidator<?, ?> validatorOf(Annotation constraint, String element) {
+        if (constraint instanceof Size) {
+            return new SizeCheck();
+        }
+        if (constraint instanceof Pattern) {
+            return new PatternCheck();
+        }
+        if (constraint instanceof NotEmpty) {
+            return new NotEmptyCheck();
+        }
+        if (constraint instanceof NotNull) {
+            return new NotNullCheck();
+        }
+        Class<? extends ConstraintValidator<?, ?>>[] validators = constraint.annotationType().getAnnotation(Constraint.class).validatedBy();
+        if (validators.length != 1) {
+            throw new IllegalStateException(String.format(ERROR_UNSUPPORTED_CONSTRAINT, constraint, element));
+        }
+        try {
+            return validators[0].getDeclaredConstructor().newInstance();
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+            throw new IllegalStateException(String.format(ERROR_UNSUPPORTED_CONSTRAINT, constraint, element), e);
+        }
+    }
+
+    private static Object attribute(Annotation annotation, String name) {
+        try {
+            return annotation.annotationType().getMethod(name).invoke(annotation);
+        } catch (NoSuchMethodException e) {
+            return null;
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Interpolasi {@code {attribute}} dengan atribut annotation dan {@code {key}} dengan resource bundle
+     * Bean Validation, seperti pesan {@link javax.validation.ConstraintViolation#getMessage()}.
+     */
+    static String interpolate(String template, Annotation constraint) {
+        StringBuilder message = new StringBuilder(template.length());
+        int i = 0;
+        while (i < template.length()) {
+            int open = template.indexOf('{', i);
+            int close = open < 0 ? -1 : template.indexOf('}', open);
+            if (close < 0) {
+                message.append(template, i, template.length());
+                break;
+            }
+            message.append(template, i, open);
+            String name = template.substring(open + 1, close);
+            Object value = attribute(constraint, name);
+            if (value != null) {
+                message.append(value);
+            } else {
+                String resolved = resource(name);
+                message.append(resolved == null ? template.substring(open, close + 1) : interpolate(resolved, constraint));
+            }
+            i = close + 1;
+        }
+        return message.toString();
+    }
+
+    private static String resource(String key) {
+        for (String bundle : MESSAGE_BUNDLES) {
+            try {
+                return ResourceBundle.getBundle(bundle, Locale.getDefault()).getString(key);
+            } catch (MissingResourceException e) {
+                // lanjut ke bundle berikutnya
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Satu constraint yang sudah dikompilasi.
+     */
+    private static final class Rule {
+
+        private final String code;
+        private final String message;
+        private final String property;
+        private final Function<Object, Object> accessor;
+        private final ConstraintValidator<Annotation, Object> validator;
+        private final boolean always;
+        private final long triggerLow;
+        private final long triggerHigh;
+        private final int tag;
+
+        Rule(String code, String message, String property, Function<Object, Object> accessor,
+             ConstraintValidator<Annotation, Object> validator, int[] triggers, int tag) {
+            this.code = code;
+            this.message = message;
+            this.property = property;
+            this.accessor = accessor;
+            this.validator = validator;
+            this.always = triggers == null;
+            long low = 0L;
+            long high = 0L;
+            if (triggers != null) {
+                for (int id = Math.max(triggers[0], 0); id <= Math.min(triggers[1], CAPACITY - 1); id++) {
+                    if (id < 64) {
+                        low |= 1L << id;
+                    } else {
+                        high |= 1L << (id - 64);
+                    }
+                }
+            }
+            this.triggerLow = low;
+            this.triggerHigh = high;
+            this.tag = tag;
+        }
+
+        boolean triggeredBy(long presentLow, long presentHigh) {
+            return always || (triggerLow & presentLow) != 0 || (triggerHigh & presentHigh) != 0;
+        }
+
+        boolean test(Object target) {
+            try {
+                return validator.isValid(accessor == null ? target : accessor.apply(target), null);
+            } catch (RuntimeException e) {
+                return false;
+            }
+        }
+
+        QrisViolation violation(String path, int violationTag) {
+            String fullPath = property == null ? path : path.isEmpty() ? property.substring(1) : path + property;
+            return new QrisViolation(code, message, fullPath, violationTag);
+        }
+    }
+
+    private static final class SizeCheck implements ConstraintValidator<Size, CharSequence> {
+
+        private int min;
+        private int max;
+
+        @Override
+        public void initialize(Size constraintAnnotation) {
+            this.min = constraintAnnotation.min();
+            this.max = constraintAnnotation.max();
+        }
+
+        @Override
+        public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+            return value == null || (value.length() >= min && value.length() <= max);
+        }
+    }
+
+    private static final class PatternCheck implements ConstraintValidator<Pattern, CharSequence> {
+
+        private java.util.regex.Pattern pattern;
+
+        @Override
+        public void initialize(Pattern constraintAnnotation) {
+            int flags = 0;
+            for (Pattern.Flag flag : constraintAnnotation.flags()) {
+                flags |= flag.getValue();
+            }
+            this.pattern = java.util.regex.Pattern.compile(constraintAnnotation.regexp(), flags);
+        }
+
+        @Override
+        public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+            return value == null || pattern.matcher(value).matches();
+        }
+    }
+
+    private static final class NotEmptyCheck implements ConstraintValidator<NotEmpty, CharSequence> {
+
+        @Override
+        public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+            return value != null && value.length() > 0;
+        }
+    }
+
+    private static final class NotNullCheck implements ConstraintValidator<NotNull, Object> {
+
+        @Override
+        public boolean isValid(Object value, ConstraintValidatorContext context) {
+            return value != null;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.astrapay.qris.mpm.validation;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Pelanggaran aturan validasi QRIS yang dihasilkan oleh {@link QrisValidationPlan}.
+ * <p>
+ * {@link #getCode()} adalah nama annotation constraint (misalnya {@code "CharLength"} atau {@code "CheckSum"}) dan
+ * {@link #getPath()} mengikuti property path Bean Validation (misalnya {@code "qrisRoot"} atau
+ * {@code "qrisRoot[26].templateMap[3]"}), sehingga hasilnya dapat dibandingkan dengan
+ * {@link javax.validation.ConstraintViolation}.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public final class QrisViolation {
+
+    /**
+     * Nama annotation constraint.
+     */
+    private final String code;
+
+    /**
+     * Pesan constraint yang sudah diinterpolasi.
+     */
+    private final String message;
+
+    /**
+     * Property path, kosong untuk constraint pada class payload.
+     */
+    private final String path;
+
+    /**
+     * ID data object yang dilanggar, atau -1 jika constraint tidak terkait satu data object.
+     */
+    private final int tag;
+}
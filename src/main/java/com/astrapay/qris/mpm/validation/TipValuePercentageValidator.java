@@ -1,5 +1,6 @@
 package com.astrapay.qris.mpm.validation;
 
+import com.astrapay.qris.mpm.object.QrisAmount;
 import com.astrapay.qris.mpm.object.QrisDataObject;
 import com.astrapay.qris.mpm.validation.constraints.TipValuePercentage;
 
@@ -15,6 +16,10 @@ public class TipValuePercentageValidator implements ConstraintValidator<TipValue
     @Override
     public boolean isValid(Map<Integer, QrisDataObject> value, ConstraintValidatorContext context) {
         if (value.get(57) != null) {
+            QrisAmount percentage = value.get(57).toAmount();
+            if (percentage != null) {
+                return percentage.signum() > 0 && percentage.longValue() < 100;
+            }
             double amount = Double.parseDouble(value.get(57).getValue());
             return amount > 0 && amount < 100;
         }
@@ -1,13 +1,13 @@
 package com.astrapay.qris.mpm.validation;
 
+import com.astrapay.qris.QrisCharacters;
+import com.astrapay.qris.mpm.object.QrisAmount;
 import com.astrapay.qris.mpm.object.QrisDataObject;
 import com.astrapay.qris.mpm.validation.constraints.TransactionAmount;
 
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * <b>4.7.8</b> Transaction Amount (ID "54") <br />
@@ -31,18 +31,11 @@ public class TransactionAmountValidator implements ConstraintValidator<Transacti
 
     @Override
     public boolean isValid(Map<Integer, QrisDataObject> value, ConstraintValidatorContext context) {
-        if (value.get(this.id) != null && isValidAmount(value.get(this.id).getValue())) {
-            double amount = Double.parseDouble(value.get(this.id).getValue());
-            return amount > 0;
+        if (value.get(this.id) != null && QrisCharacters.isAmount(value.get(this.id).getValue())) {
+            QrisAmount amount = value.get(this.id).toAmount();
+            // null hanya jika melebihi kapasitas long, nominal tersebut pasti lebih besar dari nol
+            return amount == null || amount.signum() > 0;
         }
         return true;
     }
-
-    private boolean isValidAmount(String str) {
-        // Regex to check valid amount.
-        String regex = "^(([1-9]\\d{0,2}(\\d{3})*)|(([1-9]\\d*)?\\d))(\\.\\d{0,2})?$";
-        Pattern p = Pattern.compile(regex);
-        Matcher m = p.matcher(str);
-        return m.matches();
-    }
 }
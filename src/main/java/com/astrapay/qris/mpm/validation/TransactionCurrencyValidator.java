@@ -1,5 +1,6 @@
 package com.astrapay.qris.mpm.validation;
 
+import com.astrapay.qris.QrisIsoRegistry;
 import com.astrapay.qris.mpm.object.QrisDataObject;
 import com.astrapay.qris.mpm.validation.constraints.TransactionCurrency;
 import lombok.Builder;
@@ -7,9 +8,7 @@ import lombok.NoArgsConstructor;
 
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
-import java.util.Currency;
 import java.util.Map;
-import java.util.Set;
 
 /**
  * <b>4.7.7</b> Transaction Currency (ID "53")<br />
@@ -21,18 +20,12 @@ public class TransactionCurrencyValidator implements ConstraintValidator<Transac
 
     @Override
     public boolean isValid(Map<Integer, QrisDataObject> value, ConstraintValidatorContext context) {
-
-        Set<Currency> availableCurrencies = Currency.getAvailableCurrencies();
-        for (Currency currency : availableCurrencies) {
-            if(currency.getNumericCodeAsString().equals(value.get(53).getValue())) {
-                if ("ID".equals(value.get(58).getValue())) {
-                    return "360".equals(value.get(53).getValue());
-                }else {
-                    return true;
-                }
-            }
+        if (QrisIsoRegistry.currencyOf(value.get(53).getValue()) == null) {
+            return false;
         }
-        return false;
-
+        if ("ID".equals(value.get(58).getValue())) {
+            return "360".equals(value.get(53).getValue());
+        }
+        return true;
     }
 }
@@ -1,6 +1,7 @@
 package com.astrapay.qris.mpm.validation;
 
-import com.astrapay.qris.QrisNationalNumberingSystem.Pjsp;
+import com.astrapay.qris.QrisCharacters;
+import com.astrapay.qris.QrisNnsRegistry;
 import com.astrapay.qris.mpm.object.QrisDataObject;
 import com.astrapay.qris.mpm.object.QrisPayload;
 import com.astrapay.qris.mpm.validation.constraints.TransferAccountInformationValid;
@@ -10,6 +11,8 @@ import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Validator implementation untuk {@link TransferAccountInformationValid} annotation.
@@ -46,10 +49,10 @@ public class TransferAccountInformationValidator implements ConstraintValidator<
     private static final int BIC_MAX_LENGTH = 11;
     private static final int PAN_MIN_LENGTH = 16;
     private static final int PAN_MAX_LENGTH = 19;
-    private static final int NNS_START_LENGTH = 0;
-    private static final int NNS_END_LENGTH = 8;  // National Numbering System code is 8 digits
 
-    private static final String NUMERIC_PATTERN = "\\d+";
+    // NNS unknown yang sudah di-log warn, dibatasi agar PAN acak tidak membuat set terus bertambah
+    private static final int MAX_REPORTED_UNKNOWN_NNS = 1024;
+    private static final Set<Integer> REPORTED_UNKNOWN_NNS = ConcurrentHashMap.newKeySet();
 
     @Override
     public void initialize(TransferAccountInformationValid constraintAnnotation) {
@@ -122,7 +125,7 @@ public class TransferAccountInformationValidator implements ConstraintValidator<
     }
 
     private boolean isPanFormatValid(String pan) {
-        if (pan.isEmpty() || !pan.matches(NUMERIC_PATTERN)) {
+        if (!QrisCharacters.isDigits(pan)) {
             return false;
         }
 
@@ -132,14 +135,19 @@ public class TransferAccountInformationValidator implements ConstraintValidator<
 
     // check is nns valid
     private boolean isPanNnsValid(String pan) {
-        String nnsCode = pan.substring(NNS_START_LENGTH, NNS_END_LENGTH);
-        int nns = Integer.parseInt(nnsCode);
-        try {
-            Pjsp.valueOf(nns); // Throws IllegalArgumentException if invalid
-            return true;
-        } catch (IllegalArgumentException | StringIndexOutOfBoundsException e) {
-            log.warn("TransferAccountInformationValidator::isPanNnsValid NNS Unknown {}: {}",nns,e.getMessage());
-            return true;
+        int nns = QrisNnsRegistry.nnsOf(pan);
+        if (!QrisNnsRegistry.getDefault().contains(nns)) {
+            logUnknownNns(nns);
+        }
+        return true;
+    }
+
+    // warn hanya sekali per NNS, selanjutnya debug agar validasi tidak menulis log untuk setiap QR
+    private void logUnknownNns(int nns) {
+        if (REPORTED_UNKNOWN_NNS.size() < MAX_REPORTED_UNKNOWN_NNS && REPORTED_UNKNOWN_NNS.add(nns)) {
+            log.warn("TransferAccountInformationValidator::isPanNnsValid NNS Unknown {}", nns);
+        } else {
+            log.debug("TransferAccountInformationValidator::isPanNnsValid NNS Unknown {}", nns);
         }
     }
 
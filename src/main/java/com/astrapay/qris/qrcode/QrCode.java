@@ -0,0 +1,616 @@
+package com.astrapay.qris.qrcode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Simbol QR Code [ISO/IEC 18004] tanpa library eksternal.
+ * <p>
+ * Payload ditulis dalam satu segmen alphanumeric jika seluruh karakternya termasuk "0-9 A-Z spasi $%*+-./:",
+ * selain itu dalam satu segmen byte (UTF-8). Versi yang dipilih adalah versi terkecil (1 - 40) yang dapat memuat
+ * payload pada level error correction yang diminta, sedangkan mask dipilih dengan penalty terkecil. QR MPM hingga
+ * 512 karakter muat pada semua level (L, M, Q dan H); versi 40 level H memuat hingga 1273 byte.
+ * </p>
+ * <p>
+ * Instance immutable dan thread-safe.
+ * </p>
+ */
+public final class QrCode {
+
+    public static final int MIN_VERSION = 1;
+    public static final int MAX_VERSION = 40;
+
+    private static final String ALPHANUMERIC = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ $%*+-./:";
+    private static final int[] ALPHANUMERIC_VALUES = new int[128];
+
+    private static final int MODE_ALPHANUMERIC = 0x2;
+    private static final int MODE_BYTE = 0x4;
+    private static final int MODE_BITS = 4;
+    private static final int TERMINATOR_BITS = 4;
+    private static final int[] PAD_CODEWORDS = {0xEC, 0x11};
+    private static final int MASKS = 8;
+
+    private static final int PENALTY_N1 = 3;
+    private static final int PENALTY_N2 = 3;
+    private static final int PENALTY_N3 = 40;
+    private static final int PENALTY_N4 = 10;
+
+    private static final int GF_POLYNOMIAL = 0x11D;
+    private static final int FORMAT_POLYNOMIAL = 0x537;
+    private static final int FORMAT_MASK = 0x5412;
+    private static final int VERSION_POLYNOMIAL = 0x1F25;
+
+    private static final String ERROR_TOO_LONG = "Payload terlalu panjang untuk QR Code level %s: %d byte";
+    private static final String ERROR_INVALID_MASK = "Invalid mask ";
+
+    /**
+     * Jumlah codeword error correction per blok, index [level][versi], mengikuti urutan {@link QrCodeErrorCorrection}.
+     */
+    private static final int[][] ECC_CODEWORDS_PER_BLOCK = {
+            {-1, 7, 10, 15, 20, 26, 18, 20, 24, 30, 18, 20, 24, 26, 30, 22, 24, 28, 30, 28, 28, 28, 28, 30, 30, 26, 28, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30},
+            {-1, 10, 16, 26, 18, 24, 16, 18, 22, 22, 26, 30, 22, 22, 24, 24, 28, 28, 26, 26, 26, 26, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28},
+            {-1, 13, 22, 18, 26, 18, 24, 18, 22, 20, 24, 28, 26, 24, 20, 30, 24, 28, 28, 26, 30, 28, 30, 30, 30, 30, 28, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30},
+            {-1, 17, 28, 22, 16, 22, 28, 26, 26, 24, 28, 24, 28, 22, 24, 24, 30, 28, 28, 26, 28, 30, 24, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30},
+    };
+
+    /**
+     * Jumlah blok error correction, index [level][versi], mengikuti urutan {@link QrCodeErrorCorrection}.
+     */
+    private static final int[][] ERROR_CORRECTION_BLOCKS = {
+            {-1, 1, 1, 1, 1, 1, 2, 2, 2, 2, 4, 4, 4, 4, 4, 6, 6, 6, 6, 7, 8, 8, 9, 9, 10, 12, 12, 12, 13, 14, 15, 16, 17, 18, 19, 19, 20, 21, 22, 24, 25},
+            {-1, 1, 1, 1, 2, 2, 4, 4, 4, 5, 5, 5, 8, 9, 9, 10, 10, 11, 13, 14, 16, 17, 17, 18, 20, 21, 23, 25, 26, 28, 29, 31, 33, 35, 37, 38, 40, 43, 45, 47, 49},
+            {-1, 1, 1, 2, 2, 4, 4, 6, 6, 8, 8, 8, 10, 12, 16, 12, 17, 16, 18, 21, 20, 23, 23, 25, 27, 29, 34, 34, 35, 38, 40, 43, 45, 48, 51, 53, 56, 59, 62, 65, 68},
+            {-1, 1, 1, 2, 4, 4, 4, 5, 6, 8, 8, 11, 11, 16, 16, 18, 16, 19, 21, 25, 25, 25, 34, 30, 32, 35, 37, 40, 42, 45, 48, 51, 54, 57, 60, 63, 66, 70, 74, 77, 81},
+    };
+
+    static {
+        Arrays.fill(ALPHANUMERIC_VALUES, -1);
+        for (int i = 0; i < ALPHANUMERIC.length(); i++) {
+            ALPHANUMERIC_VALUES[ALPHANUMERIC.charAt(i)] = i;
+        }
+    }
+
+    private final int version;
+    private final int size;
+    private final QrCodeErrorCorrection errorCorrection;
+    private final int mask;
+    private final boolean[] modules;
+
+    private QrCode(int version, QrCodeErrorCorrection errorCorrection, int mask, boolean[] modules) {
+        this.version = version;
+        this.size = sizeOf(version);
+        this.errorCorrection = errorCorrection;
+        this.mask = mask;
+        this.modules = modules;
+    }
+
+    /**
+     * @param payload         QR text
+     * @param errorCorrection level error correction
+     * @return simbol QR Code dengan versi terkecil dan mask dengan penalty terkecil
+     * @throws IllegalArgumentException jika payload melebihi kapasitas versi 40
+     */
+    public static QrCode encode(CharSequence payload, QrCodeErrorCorrection errorCorrection) {
+        return encode(payload, errorCorrection, -1);
+    }
+
+    /**
+     * @param payload         QR text
+     * @param errorCorrection level error correction
+     * @param mask            mask 0 - 7, atau -1 untuk memilih mask dengan penalty terkecil
+     * @return simbol QR Code dengan versi terkecil
+     * @throws IllegalArgumentException jika payload melebihi kapasitas versi 40 atau mask tidak valid
+     */
+    public static QrCode encode(CharSequence payload, QrCodeErrorCorrection errorCorrection, int mask) {
+        if (mask < -1 || mask >= MASKS) {
+            throw new IllegalArgumentException(ERROR_INVALID_MASK + mask);
+        }
+        boolean alphanumeric = isAlphanumeric(payload);
+        byte[] bytes = alphanumeric ? null : payload.toString().getBytes(StandardCharsets.UTF_8);
+        int count = alphanumeric ? payload.length() : bytes.length;
+        int dataBits = alphanumeric ? count / 2 * 11 + count % 2 * 6 : count * 8;
+
+        int version = MIN_VERSION;
+        while (MODE_BITS + characterCountBits(version, alphanumeric) + dataBits > dataCodewords(version, errorCorrection) * 8) {
+            if (++version > MAX_VERSION) {
+                throw new IllegalArgumentException(String.format(ERROR_TOO_LONG, errorCorrection, count));
+            }
+        }
+
+        BitBuffer buffer = new BitBuffer(dataCodewords(version, errorCorrection));
+        buffer.append(alphanumeric ? MODE_ALPHANUMERIC : MODE_BYTE, MODE_BITS);
+        buffer.append(count, characterCountBits(version, alphanumeric));
+        if (alphanumeric) {
+            int i = 0;
+            for (; i + 1 < count; i += 2) {
+                buffer.append(ALPHANUMERIC_VALUES[payload.charAt(i)] * 45 + ALPHANUMERIC_VALUES[payload.charAt(i + 1)], 11);
+            }
+            if (i < count) {
+                buffer.append(ALPHANUMERIC_VALUES[payload.charAt(i)], 6);
+            }
+        } else {
+            for (byte b : bytes) {
+                buffer.append(b & 0xFF, 8);
+            }
+        }
+        int capacity = buffer.data.length * 8;
+        buffer.append(0, Math.min(TERMINATOR_BITS, capacity - buffer.length));
+        buffer.append(0, (8 - buffer.length % 8) % 8);
+        for (int pad = 0; buffer.length < capacity; pad ^= 1) {
+            buffer.append(PAD_CODEWORDS[pad], 8);
+        }
+
+        Matrix matrix = new Matrix(version);
+        matrix.drawFunctionPatterns(errorCorrection);
+        matrix.drawCodewords(addErrorCorrectionAndInterleave(buffer.data, version, errorCorrection));
+
+        if (mask < 0) {
+            int minPenalty = Integer.MAX_VALUE;
+            for (int candidate = 0; candidate < MASKS; candidate++) {
+                matrix.applyMask(candidate);
+                matrix.drawFormatBits(errorCorrection, candidate);
+                int penalty = matrix.penalty();
+                if (penalty < minPenalty) {
+                    mask = candidate;
+                    minPenalty = penalty;
+                }
+                matrix.applyMask(candidate);
+            }
+        }
+        matrix.applyMask(mask);
+        matrix.drawFormatBits(errorCorrection, mask);
+        return new QrCode(version, errorCorrection, mask, matrix.modules);
+    }
+
+    /**
+     * @param payload QR text
+     * @return true jika seluruh karakter dapat ditulis dalam mode alphanumeric
+     */
+    public static boolean isAlphanumeric(CharSequence payload) {
+        for (int i = 0; i < payload.length(); i++) {
+            char c = payload.charAt(i);
+            if (c >= ALPHANUMERIC_VALUES.length || ALPHANUMERIC_VALUES[c] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return versi simbol, 1 - 40
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * @return jumlah module per sisi, 21 - 177
+     */
+    public int getSize() {
+        return size;
+    }
+
+    public QrCodeErrorCorrection getErrorCorrection() {
+        return errorCorrection;
+    }
+
+    /**
+     * @return mask yang digunakan, 0 - 7
+     */
+    public int getMask() {
+        return mask;
+    }
+
+    /**
+     * @param x kolom, 0 di kiri
+     * @param y baris, 0 di atas
+     * @return true jika module gelap; false jika terang atau di luar simbol
+     */
+    public boolean isDark(int x, int y) {
+        return x >= 0 && x < size && y >= 0 && y < size && modules[y * size + x];
+    }
+
+    static int sizeOf(int version) {
+        return version * 4 + 17;
+    }
+
+    private static int characterCountBits(int version, boolean alphanumeric) {
+        if (version <= 9) {
+            return alphanumeric ? 9 : 8;
+        }
+        if (version <= 26) {
+            return alphanumeric ? 11 : 16;
+        }
+        return alphanumeric ? 13 : 16;
+    }
+
+    /**
+     * Jumlah module data (termasuk error correction dan remainder bit) setelah dikurangi function pattern.
+     */
+    private static int rawDataModules(int version) {
+        int result = (16 * version + 128) * version + 64;
+        if (version >= 2) {
+            int alignments = version / 7 + 2;
+            result -= (25 * alignments - 10) * alignments - 55;
+            if (version >= 7) {
+                result -= 36;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param version         versi simbol
+     * @param errorCorrection level error correction
+     * @return jumlah codeword data (tanpa error correction)
+     */
+    static int dataCodewords(int version, QrCodeErrorCorrection errorCorrection) {
+        int level = errorCorrection.ordinal();
+        return rawDataModules(version) / 8
+                - ECC_CODEWORDS_PER_BLOCK[level][version] * ERROR_CORRECTION_BLOCKS[level][version];
+    }
+
+    private static byte[] addErrorCorrectionAndInterleave(byte[] data, int version, QrCodeErrorCorrection errorCorrection) {
+        int level = errorCorrection.ordinal();
+        int blocks = ERROR_CORRECTION_BLOCKS[level][version];
+        int eccLength = ECC_CODEWORDS_PER_BLOCK[level][version];
+        int rawCodewords = rawDataModules(version) / 8;
+        int shortBlocks = blocks - rawCodewords % blocks;
+        int shortBlockLength = rawCodewords / blocks;
+        int shortDataLength = shortBlockLength - eccLength;
+
+        byte[] divisor = reedSolomonDivisor(eccLength);
+        byte[] result = new byte[rawCodewords];
+        byte[] ecc = new byte[eccLength];
+        int offset = 0;
+        for (int block = 0; block < blocks; block++) {
+            int dataLength = shortDataLength + (block < shortBlocks ? 0 : 1);
+            reedSolomonRemainder(data, offset, dataLength, divisor, ecc);
+            // data codeword ke-i setiap blok ditulis berurutan, blok pendek tidak memiliki codeword terakhir
+            for (int i = 0; i < dataLength; i++) {
+                int index = i < shortDataLength ? i * blocks + block : shortDataLength * blocks + block - shortBlocks;
+                result[index] = data[offset + i];
+            }
+            int eccOffset = data.length;
+            for (int i = 0; i < eccLength; i++) {
+                result[eccOffset + i * blocks + block] = ecc[i];
+            }
+            offset += dataLength;
+        }
+        return result;
+    }
+
+    private static byte[] reedSolomonDivisor(int degree) {
+        byte[] result = new byte[degree];
+        result[degree - 1] = 1;
+        int root = 1;
+        for (int i = 0; i < degree; i++) {
+            for (int j = 0; j < result.length; j++) {
+                result[j] = (byte) multiply(result[j] & 0xFF, root);
+                if (j + 1 < result.length) {
+                    result[j] ^= result[j + 1];
+                }
+            }
+            root = multiply(root, 0x02);
+        }
+        return result;
+    }
+
+    private static void reedSolomonRemainder(byte[] data, int offset, int length, byte[] divisor, byte[] result) {
+        Arrays.fill(result, (byte) 0);
+        for (int i = offset; i < offset + length; i++) {
+            int factor = (data[i] ^ result[0]) & 0xFF;
+            System.arraycopy(result, 1, result, 0, result.length - 1);
+            result[result.length - 1] = 0;
+            for (int j = 0; j < result.length; j++) {
+                result[j] ^= (byte) multiply(divisor[j] & 0xFF, factor);
+            }
+        }
+    }
+
+    /**
+     * Perkalian pada GF(2^8) modulo x^8 + x^4 + x^3 + x^2 + 1.
+     */
+    private static int multiply(int x, int y) {
+        int z = 0;
+        for (int i = 7; i >= 0; i--) {
+            z = (z << 1) ^ ((z >>> 7) * GF_POLYNOMIAL);
+            z ^= ((y >>> i) & 1) * x;
+        }
+        return z;
+    }
+
+    /**
+     * Buffer bit big-endian dengan kapasitas tetap.
+     */
+    private static final class BitBuffer {
+
+        private final byte[] data;
+        private int length;
+
+        private BitBuffer(int codewords) {
+            this.data = new byte[codewords];
+        }
+
+        private void append(int value, int bits) {
+            for (int i = bits - 1; i >= 0; i--, length++) {
+                if (((value >>> i) & 1) != 0) {
+                    data[length >>> 3] |= (byte) (0x80 >>> (length & 7));
+                }
+            }
+        }
+    }
+
+    /**
+     * Matrix module yang sedang dibangun beserta penanda function pattern.
+     */
+    private static final class Matrix {
+
+        private final int version;
+        private final int size;
+        private final boolean[] modules;
+        private final boolean[] function;
+
+        private Matrix(int version) {
+            this.version = version;
+            this.size = sizeOf(version);
+            this.modules = new boolean[size * size];
+            this.function = new boolean[size * size];
+        }
+
+        private void set(int x, int y, boolean dark) {
+            modules[y * size + x] = dark;
+            function[y * size + x] = true;
+        }
+
+        private void drawFunctionPatterns(QrCodeErrorCorrection errorCorrection) {
+            for (int i = 0; i < size; i++) {
+                set(6, i, i % 2 == 0);
+                set(i, 6, i % 2 == 0);
+            }
+            drawFinderPattern(3, 3);
+            drawFinderPattern(size - 4, 3);
+            drawFinderPattern(3, size - 4);
+
+            int[] positions = alignmentPatternPositions();
+            int count = positions.length;
+            for (int i = 0; i < count; i++) {
+                for (int j = 0; j < count; j++) {
+                    boolean finder = (i == 0 && j == 0) || (i == 0 && j == count - 1) || (i == count - 1 && j == 0);
+                    if (!finder) {
+                        drawAlignmentPattern(positions[i], positions[j]);
+                    }
+                }
+            }
+            // placeholder, ditimpa setelah mask dipilih
+            drawFormatBits(errorCorrection, 0);
+            drawVersion();
+        }
+
+        private void drawFinderPattern(int x, int y) {
+            for (int dy = -4; dy <= 4; dy++) {
+                for (int dx = -4; dx <= 4; dx++) {
+                    int distance = Math.max(Math.abs(dx), Math.abs(dy));
+                    int xx = x + dx;
+                    int yy = y + dy;
+                    if (xx >= 0 && xx < size && yy >= 0 && yy < size) {
+                        set(xx, yy, distance != 2 && distance != 4);
+                    }
+                }
+            }
+        }
+
+        private void drawAlignmentPattern(int x, int y) {
+            for (int dy = -2; dy <= 2; dy++) {
+                for (int dx = -2; dx <= 2; dx++) {
+                    set(x + dx, y + dy, Math.max(Math.abs(dx), Math.abs(dy)) != 1);
+                }
+            }
+        }
+
+        private int[] alignmentPatternPositions() {
+            if (version == 1) {
+                return new int[0];
+            }
+            int count = version / 7 + 2;
+            int step = version == 32 ? 26 : (version * 4 + count * 2 + 1) / (count * 2 - 2) * 2;
+            int[] result = new int[count];
+            result[0] = 6;
+            for (int i = count - 1, position = size - 7; i >= 1; i--, position -= step) {
+                result[i] = position;
+            }
+            return result;
+        }
+
+        private void drawFormatBits(QrCodeErrorCorrection errorCorrection, int mask) {
+            int data = errorCorrection.getFormatBits() << 3 | mask;
+            int remainder = data;
+            for (int i = 0; i < 10; i++) {
+                remainder = (remainder << 1) ^ ((remainder >>> 9) * FORMAT_POLYNOMIAL);
+            }
+            int bits = (data << 10 | remainder) ^ FORMAT_MASK;
+
+            for (int i = 0; i <= 5; i++) {
+                set(8, i, bit(bits, i));
+            }
+            set(8, 7, bit(bits, 6));
+            set(8, 8, bit(bits, 7));
+            set(7, 8, bit(bits, 8));
+            for (int i = 9; i < 15; i++) {
+                set(14 - i, 8, bit(bits, i));
+            }
+            for (int i = 0; i < 8; i++) {
+                set(size - 1 - i, 8, bit(bits, i));
+            }
+            for (int i = 8; i < 15; i++) {
+                set(8, size - 15 + i, bit(bits, i));
+            }
+            set(8, size - 8, true);
+        }
+
+        private void drawVersion() {
+            if (version < 7) {
+                return;
+            }
+            int remainder = version;
+            for (int i = 0; i < 12; i++) {
+                remainder = (remainder << 1) ^ ((remainder >>> 11) * VERSION_POLYNOMIAL);
+            }
+            int bits = version << 12 | remainder;
+            for (int i = 0; i < 18; i++) {
+                boolean dark = bit(bits, i);
+                int a = size - 11 + i % 3;
+                int b = i / 3;
+                set(a, b, dark);
+                set(b, a, dark);
+            }
+        }
+
+        /**
+         * Tulis codeword secara zig-zag dua kolom dari kanan bawah, melewati function pattern.
+         */
+        private void drawCodewords(byte[] codewords) {
+            int bits = codewords.length * 8;
+            int i = 0;
+            for (int right = size - 1; right >= 1; right -= 2) {
+                if (right == 6) {
+                    right = 5;
+                }
+                boolean upward = ((right + 1) & 2) == 0;
+                for (int vertical = 0; vertical < size; vertical++) {
+                    int y = upward ? size - 1 - vertical : vertical;
+                    for (int j = 0; j < 2; j++) {
+                        int index = y * size + right - j;
+                        if (!function[index] && i < bits) {
+                            modules[index] = bit(codewords[i >>> 3], 7 - (i & 7));
+                            i++;
+                        }
+                    }
+                }
+            }
+        }
+
+        private void applyMask(int mask) {
+            for (int y = 0; y < size; y++) {
+                for (int x = 0; x < size; x++) {
+                    int index = y * size + x;
+                    if (!function[index] && masked(mask, x, y)) {
+                        modules[index] = !modules[index];
+                    }
+                }
+            }
+        }
+
+        private static boolean masked(int mask, int x, int y) {
+            switch (mask) {
+                case 0:
+                    return (x + y) % 2 == 0;
+                case 1:
+                    return y % 2 == 0;
+                case 2:
+                    return x % 3 == 0;
+                case 3:
+                    return (x + y) % 3 == 0;
+                case 4:
+                    return (x / 3 + y / 2) % 2 == 0;
+                case 5:
+                    return x * y % 2 + x * y % 3 == 0;
+                case 6:
+                    return (x * y % 2 + x * y % 3) % 2 == 0;
+                default:
+                    return ((x + y) % 2 + x * y % 3) % 2 == 0;
+            }
+        }
+
+        /**
+         * Penalty rule N1 - N4 [ISO/IEC 18004 7.8.3].
+         */
+        private int penalty() {
+            int result = 0;
+            int dark = 0;
+            for (int i = 0; i < size; i++) {
+                result += runPenalty(i, true) + runPenalty(i, false);
+            }
+            for (int y = 0; y < size; y++) {
+                for (int x = 0; x < size; x++) {
+                    boolean color = dark(x, y);
+                    if (color) {
+                        dark++;
+                    }
+                    if (x + 1 < size && y + 1 < size && color == dark(x + 1, y)
+                            && color == dark(x, y + 1) && color == dark(x + 1, y + 1)) {
+                        result += PENALTY_N2;
+                    }
+                    if (finderLike(x, y, 1, 0)) {
+                        result += PENALTY_N3;
+                    }
+                    if (finderLike(x, y, 0, 1)) {
+                        result += PENALTY_N3;
+                    }
+                }
+            }
+            int total = size * size;
+            return result + Math.abs(dark * 2 - total) * 10 / total * PENALTY_N4;
+        }
+
+        private boolean dark(int x, int y) {
+            return modules[y * size + x];
+        }
+
+        private int runPenalty(int line, boolean horizontal) {
+            int result = 0;
+            int run = 0;
+            boolean previous = false;
+            for (int i = 0; i < size; i++) {
+                boolean color = horizontal ? dark(i, line) : dark(line, i);
+                if (i > 0 && color == previous) {
+                    run++;
+                } else {
+                    if (run >= 5) {
+                        result += PENALTY_N1 + run - 5;
+                    }
+                    run = 1;
+                    previous = color;
+                }
+            }
+            if (run >= 5) {
+                result += PENALTY_N1 + run - 5;
+            }
+            return result;
+        }
+
+        /**
+         * Pola 1:1:3:1:1 (gelap-terang-gelap-gelap-gelap-terang-gelap) dengan empat module terang di salah satu sisi.
+         */
+        private boolean finderLike(int x, int y, int dx, int dy) {
+            if (x + 6 * dx >= size || y + 6 * dy >= size) {
+                return false;
+            }
+            for (int i = 0; i < 7; i++) {
+                if (dark(x + i * dx, y + i * dy) == (i == 1 || i == 5)) {
+                    return false;
+                }
+            }
+            return light(x - 4 * dx, y - 4 * dy, x, y, dx, dy) || light(x + 7 * dx, y + 7 * dy, x + 11 * dx, y + 11 * dy, dx, dy);
+        }
+
+        /**
+         * Seluruh module pada range [from, to) terang; range yang melewati tepi simbol tidak dihitung.
+         */
+        private boolean light(int fromX, int fromY, int toX, int toY, int dx, int dy) {
+            if (Math.min(fromX, fromY) < 0 || Math.max(toX, toY) > size) {
+                return false;
+            }
+            for (int x = fromX, y = fromY; x != toX || y != toY; x += dx, y += dy) {
+                if (dark(x, y)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static boolean bit(int value, int index) {
+        return ((value >>> index) & 1) != 0;
+    }
+}
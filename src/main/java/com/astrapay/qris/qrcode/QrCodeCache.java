@@ -0,0 +1,154 @@
+package com.astrapay.qris.qrcode;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Cache LRU untuk gambar QR statis, dengan key payload beserta opsi render.
+ * <p>
+ * QR statis merchant tidak berubah antar request, sehingga encode dan render cukup dilakukan sekali. Jumlah entry
+ * dibatasi {@code maxEntries}; entry yang paling lama tidak diakses dibuang terlebih dahulu. QR dinamis sebaiknya
+ * langsung di-render dengan {@link QrCodeRenderer} tanpa melalui cache.
+ * </p>
+ */
+public final class QrCodeCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 1024;
+    public static final int DEFAULT_SCALE = 8;
+
+    private static final String ERROR_INVALID_MAX_ENTRIES = "Invalid max entries ";
+
+    private final QrCodeErrorCorrection errorCorrection;
+    private final Map<Key, Object> entries;
+
+    /**
+     * {@link #DEFAULT_MAX_ENTRIES} entry dengan level error correction M.
+     */
+    public QrCodeCache() {
+        this(DEFAULT_MAX_ENTRIES, QrCodeErrorCorrection.M);
+    }
+
+    /**
+     * @param maxEntries      jumlah gambar maksimum yang disimpan
+     * @param errorCorrection level error correction untuk setiap QR
+     */
+    public QrCodeCache(int maxEntries, QrCodeErrorCorrection errorCorrection) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException(ERROR_INVALID_MAX_ENTRIES + maxEntries);
+        }
+        this.errorCorrection = errorCorrection;
+        this.entries = new LinkedHashMap<Key, Object>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @param payload QR text
+     * @return PNG dengan {@link #DEFAULT_SCALE} dan {@link QrCodeRenderer#DEFAULT_BORDER}
+     */
+    public byte[] png(String payload) {
+        return png(payload, DEFAULT_SCALE, QrCodeRenderer.DEFAULT_BORDER);
+    }
+
+    /**
+     * @param payload QR text
+     * @param scale   ukuran satu module dalam pixel
+     * @param border  lebar quiet zone dalam module
+     * @return salinan PNG, aman untuk diubah oleh pemanggil
+     */
+    public byte[] png(String payload, int scale, int border) {
+        Key key = new Key(payload, false, scale, border);
+        byte[] png = (byte[]) get(key);
+        if (png == null) {
+            png = QrCodeRenderer.toPng(QrCode.encode(payload, errorCorrection), scale, border);
+            put(key, png);
+        }
+        return png.clone();
+    }
+
+    /**
+     * @param payload QR text
+     * @return SVG dengan {@link QrCodeRenderer#DEFAULT_BORDER}
+     */
+    public String svg(String payload) {
+        return svg(payload, QrCodeRenderer.DEFAULT_BORDER);
+    }
+
+    /**
+     * @param payload QR text
+     * @param border  lebar quiet zone dalam module
+     * @return dokumen SVG
+     */
+    public String svg(String payload, int border) {
+        Key key = new Key(payload, true, 0, border);
+        String svg = (String) get(key);
+        if (svg == null) {
+            svg = QrCodeRenderer.toSvg(QrCode.encode(payload, errorCorrection), border);
+            put(key, svg);
+        }
+        return svg;
+    }
+
+    /**
+     * @return jumlah gambar yang tersimpan
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private Object get(Key key) {
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    private void put(Key key, Object image) {
+        synchronized (entries) {
+            entries.put(key, image);
+        }
+    }
+
+    private static final class Key {
+
+        private final String payload;
+        private final boolean svg;
+        private final int scale;
+        private final int border;
+
+        private Key(String payload, boolean svg, int scale, int border) {
+            this.payload = Objects.requireNonNull(payload);
+            this.svg = svg;
+            this.scale = scale;
+            this.border = border;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return svg == key.svg && scale == key.scale && border == key.border && payload.equals(key.payload);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(payload, svg, scale, border);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.astrapay.qris.qrcode;
+
+/**
+ * Level error correction QR Code [ISO/IEC 18004] beserta perkiraan persentase codeword yang dapat dipulihkan.
+ */
+public enum QrCodeErrorCorrection {
+
+    /**
+     * Sekitar 7% codeword dapat dipulihkan.
+     */
+    L(1),
+
+    /**
+     * Sekitar 15% codeword dapat dipulihkan.
+     */
+    M(0),
+
+    /**
+     * Sekitar 25% codeword dapat dipulihkan.
+     */
+    Q(3),
+
+    /**
+     * Sekitar 30% codeword dapat dipulihkan.
+     */
+    H(2);
+
+    /**
+     * Indikator level pada format information (2 bit).
+     */
+    private final int formatBits;
+
+    QrCodeErrorCorrection(int formatBits) {
+        this.formatBits = formatBits;
+    }
+
+    public int getFormatBits() {
+        return formatBits;
+    }
+}
@@ -0,0 +1,149 @@
+package com.astrapay.qris.qrcode;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Render {@link QrCode} ke SVG atau PNG tanpa AWT/ImageIO.
+ * <p>
+ * Quiet zone yang disarankan [ISO/IEC 18004] adalah 4 module.
+ * </p>
+ */
+public final class QrCodeRenderer {
+
+    public static final int DEFAULT_BORDER = 4;
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final int PNG_BIT_DEPTH = 1;
+    private static final int PNG_COLOR_TYPE_GRAYSCALE = 0;
+    private static final int PNG_FILTER_NONE = 0;
+
+    private static final String ERROR_INVALID_BORDER = "Invalid border ";
+    private static final String ERROR_INVALID_SCALE = "Invalid scale ";
+
+    private QrCodeRenderer() {
+    }
+
+    /**
+     * @param qrCode simbol QR Code
+     * @param border lebar quiet zone dalam module
+     * @return dokumen SVG dengan satu module per unit; module gelap yang berdampingan digabung dalam satu path
+     */
+    public static String toSvg(QrCode qrCode, int border) {
+        if (border < 0) {
+            throw new IllegalArgumentException(ERROR_INVALID_BORDER + border);
+        }
+        int size = qrCode.getSize();
+        int dimension = size + border * 2;
+        StringBuilder sb = new StringBuilder(size * size * 2);
+        sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<svg xmlns=\"http://www.w3.org/2000/svg\" version=\"1.1\" viewBox=\"0 0 ")
+                .append(dimension).append(' ').append(dimension)
+                .append("\" shape-rendering=\"crispEdges\">\n")
+                .append("<rect width=\"100%\" height=\"100%\" fill=\"#FFFFFF\"/>\n")
+                .append("<path fill=\"#000000\" d=\"");
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                if (!qrCode.isDark(x, y)) {
+                    continue;
+                }
+                int run = 1;
+                while (qrCode.isDark(x + run, y)) {
+                    run++;
+                }
+                sb.append('M').append(x + border).append(',').append(y + border)
+                        .append('h').append(run).append("v1h-").append(run).append('z');
+                x += run;
+            }
+        }
+        return sb.append("\"/>\n</svg>\n").toString();
+    }
+
+    /**
+     * @param qrCode simbol QR Code
+     * @param scale  ukuran satu module dalam pixel
+     * @param border lebar quiet zone dalam module
+     * @return PNG grayscale 1 bit per pixel
+     */
+    public static byte[] toPng(QrCode qrCode, int scale, int border) {
+        if (scale <= 0) {
+            throw new IllegalArgumentException(ERROR_INVALID_SCALE + scale);
+        }
+        if (border < 0) {
+            throw new IllegalArgumentException(ERROR_INVALID_BORDER + border);
+        }
+        int dimension = (qrCode.getSize() + border * 2) * scale;
+        int stride = (dimension + 7) / 8 + 1;
+        byte[] raw = new byte[stride * dimension];
+        for (int py = 0; py < dimension; py++) {
+            int offset = py * stride;
+            raw[offset] = PNG_FILTER_NONE;
+            if (py % scale != 0) {
+                // baris pixel dalam module yang sama identik dengan baris sebelumnya
+                System.arraycopy(raw, offset - stride, raw, offset, stride);
+                continue;
+            }
+            int y = py / scale - border;
+            for (int px = 0; px < dimension; px++) {
+                // grayscale 1 bit: 0 hitam, 1 putih
+                if (!qrCode.isDark(px / scale - border, y)) {
+                    raw[offset + 1 + (px >>> 3)] |= (byte) (0x80 >>> (px & 7));
+                }
+            }
+        }
+
+        ByteArrayOutputStream png = new ByteArrayOutputStream(raw.length / 4 + 128);
+        png.write(PNG_SIGNATURE, 0, PNG_SIGNATURE.length);
+        byte[] header = new byte[13];
+        putInt(header, 0, dimension);
+        putInt(header, 4, dimension);
+        header[8] = PNG_BIT_DEPTH;
+        header[9] = PNG_COLOR_TYPE_GRAYSCALE;
+        writeChunk(png, "IHDR", header, header.length);
+
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            byte[] compressed = new byte[raw.length + 64];
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == compressed.length) {
+                    byte[] grown = new byte[compressed.length * 2];
+                    System.arraycopy(compressed, 0, grown, 0, length);
+                    compressed = grown;
+                }
+                length += deflater.deflate(compressed, length, compressed.length - length);
+            }
+            writeChunk(png, "IDAT", compressed, length);
+        } finally {
+            deflater.end();
+        }
+        writeChunk(png, "IEND", new byte[0], 0);
+        return png.toByteArray();
+    }
+
+    private static void writeChunk(ByteArrayOutputStream png, String type, byte[] data, int length) {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        byte[] word = new byte[4];
+        putInt(word, 0, length);
+        png.write(word, 0, word.length);
+        png.write(typeBytes, 0, typeBytes.length);
+        png.write(data, 0, length);
+
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data, 0, length);
+        putInt(word, 0, (int) crc.getValue());
+        png.write(word, 0, word.length);
+    }
+
+    private static void putInt(byte[] target, int offset, int value) {
+        target[offset] = (byte) (value >>> 24);
+        target[offset + 1] = (byte) (value >>> 16);
+        target[offset + 2] = (byte) (value >>> 8);
+        target[offset + 3] = (byte) value;
+    }
+}
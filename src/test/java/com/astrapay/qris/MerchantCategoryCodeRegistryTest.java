@@ -0,0 +1,88 @@
+package com.astrapay.qris;
+
+import com.astrapay.qris.MerchantCategoryCodes.Iso18245MerchantCategoryCode;
+import com.astrapay.qris.MerchantCategoryCodes.MerchantCategoryRange;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MerchantCategoryCodeRegistryTest {
+
+    private static final int CODES_PER_LINE = 24;
+
+    /**
+     * Literal {@link MerchantCategoryCodeRegistry#CODES} yang dibuat dari enum, dengan format yang sama seperti di
+     * source sehingga dapat langsung disalin saat enum berubah.
+     */
+    private static String codesLiteral() {
+        int[] codes = Arrays.stream(Iso18245MerchantCategoryCode.values())
+                .mapToInt(Iso18245MerchantCategoryCode::getCode).distinct().sorted().toArray();
+        StringBuilder literal = new StringBuilder();
+        for (int i = 0; i < codes.length; i += CODES_PER_LINE) {
+            literal.append(i == 0 ? "            \"" : " +\n            \"");
+            for (int j = i; j < Math.min(i + CODES_PER_LINE, codes.length); j++) {
+                literal.append(String.format("%04d", codes[j]));
+            }
+            literal.append('"');
+        }
+        return literal.append(';').toString();
+    }
+
+    @Test
+    void testCodesSameAsEnum() {
+        String literal = codesLiteral();
+        String codes = literal.replaceAll("[^0-9]", "");
+        assertEquals(codes, MerchantCategoryCodeRegistry.CODES,
+                "CODES tidak sama dengan Iso18245MerchantCategoryCode, ganti dengan:\n" + literal);
+    }
+
+    @Test
+    void testSameAsEnum() {
+        for (int code = -1; code <= MerchantCategoryCodeRegistry.MAX_CODE + 1; code++) {
+            Iso18245MerchantCategoryCode expected = null;
+            for (Iso18245MerchantCategoryCode mcc : Iso18245MerchantCategoryCode.values()) {
+                if (mcc.getCode() == code) {
+                    expected = mcc;
+                    break;
+                }
+            }
+            assertSame(expected, MerchantCategoryCodeRegistry.find(code), "MCC " + code);
+            assertEquals(expected != null, MerchantCategoryCodeRegistry.isValid(code), "MCC " + code);
+        }
+    }
+
+    @Test
+    void testRangeSameAsEnum() {
+        for (int code = -1; code <= MerchantCategoryCodeRegistry.MAX_CODE + 1; code++) {
+            MerchantCategoryRange expected = null;
+            for (MerchantCategoryRange range : MerchantCategoryRange.values()) {
+                // toString: "[start-end] description"
+                int start = Integer.parseInt(range.toString().substring(1, 5));
+                int end = Integer.parseInt(range.toString().substring(6, 10));
+                if (code >= start && code <= end) {
+                    expected = range;
+                    break;
+                }
+            }
+            assertSame(expected, MerchantCategoryCodeRegistry.findRange(code), "MCC " + code);
+        }
+        assertEquals(MerchantCategoryRange.AGRICULTURAL_SERVICES, MerchantCategoryRange.valueOf(742));
+        assertEquals(MerchantCategoryRange.TE_AIRLINES, MerchantCategoryRange.valueOf(3000));
+        assertNull(MerchantCategoryCodeRegistry.findRange(0));
+        assertThrows(IllegalArgumentException.class, () -> MerchantCategoryRange.valueOf(0));
+    }
+
+    @Test
+    void testIsValidValue() {
+        assertTrue(MerchantCategoryCodeRegistry.isValid("0742"));
+        assertTrue(MerchantCategoryCodeRegistry.isValid("4829"));
+        assertFalse(MerchantCategoryCodeRegistry.isValid("742"));
+        assertFalse(MerchantCategoryCodeRegistry.isValid("0000"));
+        assertFalse(MerchantCategoryCodeRegistry.isValid("+742"));
+        assertFalse(MerchantCategoryCodeRegistry.isValid("07a2"));
+        assertFalse(MerchantCategoryCodeRegistry.isValid((CharSequence) null));
+        assertThrows(IllegalArgumentException.class, () -> Iso18245MerchantCategoryCode.valueOf(1));
+    }
+}
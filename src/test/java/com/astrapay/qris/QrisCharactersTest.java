@@ -0,0 +1,82 @@
+package com.astrapay.qris;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("QRIS Character Class Test")
+class QrisCharactersTest {
+
+    private static final Pattern DIGITS = Pattern.compile("\\d+");
+    private static final Pattern AMOUNT = Pattern.compile("^(([1-9]\\d{0,2}(\\d{3})*)|(([1-9]\\d*)?\\d))(\\.\\d{0,2})?$");
+    private static final Pattern DOMAIN = Pattern.compile("(?=^.{4,253}\\.?$)(^((?!-)[a-zA-Z0-9-]{1,63}(?<!-)\\.)+[a-zA-Z]{2,63}\\.?$)");
+
+    private static boolean reverseDomainRegex(String value) {
+        List<String> components = Arrays.asList(value.split("\\."));
+        Collections.reverse(components);
+        return DOMAIN.matcher(String.join(".", components)).matches();
+    }
+
+    private static String random(Random random, String alphabet, int maxLength) {
+        int length = random.nextInt(maxLength + 1);
+        StringBuilder value = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            value.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return value.toString();
+    }
+
+    private static String randomDomain(Random random) {
+        StringBuilder value = new StringBuilder();
+        if (random.nextInt(8) == 0) {
+            value.append('.');
+        }
+        value.append(random(random, "aZ-0", random.nextInt(4) == 0 ? 70 : 4));
+        int labels = random.nextInt(random.nextInt(10) == 0 ? 40 : 4);
+        for (int i = 0; i < labels; i++) {
+            value.append('.').append(random(random, "aZ09--._", random.nextInt(6) == 0 ? 70 : 8));
+        }
+        for (int i = random.nextInt(4) == 0 ? random.nextInt(3) : 0; i > 0; i--) {
+            value.append('.');
+        }
+        return value.toString();
+    }
+
+    @Test
+    @DisplayName("Should match digits and amount regex")
+    void testDigitsAndAmount() {
+        Random random = new Random(7);
+        for (int n = 0; n < 20000; n++) {
+            String value = random(random, "0012399..-+ e\n١", 8);
+            assertEquals(DIGITS.matcher(value).matches(), QrisCharacters.isDigits(value), value);
+            assertEquals(AMOUNT.matcher(value).matches(), QrisCharacters.isAmount(value), value);
+        }
+        assertTrue(QrisCharacters.isAmount("1000."));
+        assertTrue(QrisCharacters.isDigits("x123y", 1, 4));
+        assertFalse(QrisCharacters.isDigits("x123y", 1, 1));
+        assertFalse(QrisCharacters.isDigits(null));
+        assertFalse(QrisCharacters.isAmount(null));
+    }
+
+    @Test
+    @DisplayName("Should match reverse domain split and regex")
+    void testReverseDomain() {
+        Random random = new Random(13);
+        for (int n = 0; n < 50000; n++) {
+            String value = random.nextBoolean() ? randomDomain(random) : random(random, "aZ0-.\n", 10);
+            assertEquals(reverseDomainRegex(value), QrisCharacters.isReverseDomain(value), value);
+        }
+        for (String value : new String[]{"ID.CO.ASTRAPAY.WWW", "ID.CO.QRIS.WWW", ".com.example", "com.example..", "ID", "I.CO", "ID.-CO", "ID.CO-", "ID..CO", "...", ""}) {
+            assertEquals(reverseDomainRegex(value), QrisCharacters.isReverseDomain(value), value);
+        }
+        assertTrue(QrisCharacters.isReverseDomain("ID.CO.ASTRAPAY.WWW"));
+        assertFalse(QrisCharacters.isReverseDomain(null));
+    }
+}
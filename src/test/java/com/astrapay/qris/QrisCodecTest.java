@@ -0,0 +1,142 @@
+package com.astrapay.qris;
+
+import org.apache.commons.codec.DecoderException;
+import org.apache.commons.codec.binary.Hex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("QRIS Codec Test")
+class QrisCodecTest {
+
+    private final Random random = new Random(20241017L);
+
+    private byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+
+    @Test
+    @DisplayName("Should match commons-codec Hex for random bytes")
+    void testHex_sameAsCommonsCodec() throws DecoderException {
+        for (int length = 0; length < 64; length++) {
+            byte[] bytes = randomBytes(length);
+            String hex = Hex.encodeHexString(bytes, false);
+
+            assertEquals(hex, QrisCodec.encodeHex(bytes));
+            assertArrayEquals(Hex.decodeHex(hex), QrisCodec.decodeHex(hex));
+            assertArrayEquals(Hex.decodeHex(hex.toLowerCase()), QrisCodec.decodeHex(hex.toLowerCase()));
+        }
+    }
+
+    @Test
+    @DisplayName("Should convert ranges into caller buffers")
+    void testHex_range() {
+        byte[] bytes = {0x00, 0x1A, (byte) 0xFF, 0x7F, (byte) 0x80};
+        assertEquals("1AFF7F", QrisCodec.encodeHex(bytes, 1, 3));
+
+        char[] chars = new char[8];
+        Arrays.fill(chars, '-');
+        assertEquals(7, QrisCodec.encodeHex(bytes, 2, 3, chars, 1));
+        assertEquals("-FF7F80-", new String(chars));
+
+        byte[] target = new byte[4];
+        assertEquals(3, QrisCodec.decodeHex(new StringBuilder("xx1AFFxx"), 2, 6, target, 1));
+        assertArrayEquals(new byte[]{0x00, 0x1A, (byte) 0xFF, 0x00}, target);
+        assertArrayEquals(new byte[]{0x1A}, QrisCodec.decodeHex("xx1Axx", 2, 4));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid HEX with the same message as commons-codec")
+    void testHex_invalid() {
+        IllegalArgumentException odd = assertThrows(IllegalArgumentException.class, () -> QrisCodec.decodeHex("ABC"));
+        assertEquals("Odd number of characters.", odd.getMessage());
+
+        IllegalArgumentException illegal = assertThrows(IllegalArgumentException.class, () -> QrisCodec.decodeHex("0G"));
+        DecoderException expected = assertThrows(DecoderException.class, () -> Hex.decodeHex("0G"));
+        assertEquals(expected.getMessage(), illegal.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should keep the unchecked HEX decoding of hexStringToByteArray")
+    void testHexUnchecked() {
+        assertArrayEquals(new byte[]{0x12, (byte) 0xAB}, QrisCodec.decodeHexUnchecked("12ab"));
+        assertArrayEquals(new byte[]{(byte) ((Character.digit('G', 16) << 4) + 1)}, QrisCodec.decodeHexUnchecked("G1"));
+        assertThrows(StringIndexOutOfBoundsException.class, () -> QrisCodec.decodeHexUnchecked("123"));
+    }
+
+    @Test
+    @DisplayName("Should pad odd compressed numeric with F")
+    void testCompressedNumeric() {
+        assertArrayEquals(new byte[]{(byte) 0x93, 0x60, 0x1F}, QrisCodec.encodeCompressedNumeric("93601"));
+        assertArrayEquals(new byte[]{(byte) 0x93, 0x60}, QrisCodec.encodeCompressedNumeric("9360"));
+        assertThrows(IllegalArgumentException.class, () -> QrisCodec.encodeCompressedNumeric("936X1"));
+
+        byte[] target = new byte[4];
+        assertEquals(3, QrisCodec.encodeCompressedNumeric("x123x", 1, 4, target, 1));
+        assertArrayEquals(new byte[]{0x00, 0x12, 0x3F, 0x00}, target);
+
+        byte[] bytes = {0x00, (byte) 0x93, 0x60, 0x1F};
+        assertEquals("93601", QrisCodec.decodeCompressedNumeric(bytes, 1, 3));
+        assertEquals("9360", QrisCodec.decodeCompressedNumeric(bytes, 1, 2));
+        assertEquals("", QrisCodec.decodeCompressedNumeric(bytes, 1, 0));
+
+        assertEquals(5, QrisCodec.compressedNumericLength("93601F"));
+        assertEquals(4, QrisCodec.compressedNumericLength("9360"));
+    }
+
+    @Test
+    @DisplayName("Should match String#getBytes for alphanumeric")
+    void testAlphaNumeric() {
+        for (String value : new String[]{"", "QRISCPM", "Grace Hopper", "iden", "Café ü"}) {
+            assertArrayEquals(value.getBytes(), QrisCodec.encodeAlphaNumeric(value));
+            byte[] bytes = value.getBytes();
+            assertEquals(new String(bytes), QrisCodec.decodeAlphaNumeric(bytes, 0, bytes.length));
+        }
+        assertEquals("RIS", QrisCodec.decodeAlphaNumeric("QRISCPM".getBytes(), 1, 3));
+        assertEquals("QRIS", QrisCodec.decodeAlphaNumericHex("5F2051524953", 4, 12));
+    }
+
+    @Test
+    @DisplayName("Should match java.util.Base64 for random bytes")
+    void testBase64_sameAsJavaUtil() {
+        for (int length = 0; length < 64; length++) {
+            byte[] bytes = randomBytes(length);
+            String base64 = Base64.getEncoder().encodeToString(bytes);
+
+            assertEquals(base64.length(), QrisCodec.base64Length(length));
+            assertEquals(base64, QrisCodec.encodeBase64(bytes, 0, length));
+            assertArrayEquals(bytes, QrisCodec.decodeBase64(base64));
+            assertArrayEquals(bytes, QrisCodec.decodeBase64(base64.replace("=", "")));
+        }
+    }
+
+    @Test
+    @DisplayName("Should encode base64 in place when the input is at the end of the buffer")
+    void testBase64_inPlace() {
+        for (int length = 0; length < 32; length++) {
+            byte[] bytes = randomBytes(length);
+            byte[] target = new byte[QrisCodec.base64Length(length)];
+            System.arraycopy(bytes, 0, target, target.length - length, length);
+
+            assertEquals(target.length, QrisCodec.encodeBase64(target, target.length - length, length, target, 0));
+            assertArrayEquals(Base64.getEncoder().encode(bytes), target);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject invalid base64 like java.util.Base64")
+    void testBase64_invalid() {
+        for (String base64 : new String[]{"A", "AB=", "=AAA", "A===", "QQ==QQ==", "QUI=QUI=", "QU*I", "QUJDé", "QUJDĀ"}) {
+            IllegalArgumentException expected = assertThrows(IllegalArgumentException.class, () -> Base64.getDecoder().decode(base64), base64);
+            IllegalArgumentException actual = assertThrows(IllegalArgumentException.class, () -> QrisCodec.decodeBase64(base64), base64);
+            assertEquals(expected.getMessage(), actual.getMessage(), base64);
+        }
+    }
+}
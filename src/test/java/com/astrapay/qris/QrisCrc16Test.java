@@ -0,0 +1,122 @@
+package com.astrapay.qris;
+
+import com.astrapay.qris.mpm.object.QrisTlvMap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("QRIS CRC-16 Test")
+class QrisCrc16Test {
+
+    private static final String TRANSFER_QR_DMCT =
+            "00020101021240530013ID.CO.BCA.WWW011893600014151703139202105170313927520448295303360540410005802ID5916TEST BENEFICIARY6013Jakarta Pusat61051031062470804DMCT9935000200012551703139270017707086683026304AE71";
+
+    /**
+     * Implementasi bit-by-bit sebagai pembanding.
+     */
+    private static int reference(byte[] data) {
+        int checksum = 0xFFFF;
+        for (byte b : data) {
+            for (int i = 0; i < 8; i++) {
+                boolean bit = ((b >> (7 - i) & 1) == 1);
+                boolean c15 = ((checksum >> 15 & 1) == 1);
+                checksum <<= 1;
+                if (c15 ^ bit) {
+                    checksum ^= 0x1021;
+                }
+            }
+        }
+        return checksum & 0xFFFF;
+    }
+
+    @Test
+    @DisplayName("Should match CRC-16/CCITT-FALSE check value and QR sample")
+    void testKnownValues() {
+        assertEquals(0x29B1, QrisCrc16.compute("123456789"));
+        assertEquals(QrisCrc16.INITIAL, QrisCrc16.compute(""));
+        assertEquals("AE71", QrisCrc16.toHexString(QrisCrc16.compute(TRANSFER_QR_DMCT, 0, TRANSFER_QR_DMCT.length() - 4)));
+        assertEquals("AE71", QrisCommon.generateChecksum(TRANSFER_QR_DMCT.substring(0, TRANSFER_QR_DMCT.length() - 4)));
+    }
+
+    @Test
+    @DisplayName("Should match bit-by-bit implementation for random UTF-8 text")
+    void testAgainstReference() {
+        Random random = new Random(42);
+        for (int n = 0; n < 500; n++) {
+            StringBuilder text = new StringBuilder();
+            int length = random.nextInt(64);
+            for (int i = 0; i < length; i++) {
+                switch (random.nextInt(6)) {
+                    case 0:
+                        text.append((char) (0x80 + random.nextInt(0x780)));
+                        break;
+                    case 1:
+                        text.append((char) (0x800 + random.nextInt(0xD000)));
+                        break;
+                    case 2:
+                        text.appendCodePoint(0x10000 + random.nextInt(0x100000));
+                        break;
+                    case 3:
+                        text.append((char) (0xD800 + random.nextInt(0x800)));
+                        break;
+                    default:
+                        text.append((char) random.nextInt(0x80));
+                }
+            }
+            String value = text.toString();
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            int expected = reference(bytes);
+            assertEquals(expected, QrisCrc16.compute(value), value);
+            assertEquals(expected, QrisCrc16.compute(new StringBuilder(value), 0, value.length()), value);
+            assertEquals(expected, QrisCrc16.compute(bytes, 0, bytes.length), value);
+        }
+    }
+
+    @Test
+    @DisplayName("Should resume from checkpoint")
+    void testResume() {
+        int split = 100;
+        QrisCrc16 prefix = new QrisCrc16().update(TRANSFER_QR_DMCT, 0, split);
+        QrisCrc16 copy = prefix.copy().update(TRANSFER_QR_DMCT, split, TRANSFER_QR_DMCT.length());
+        QrisCrc16 resumed = QrisCrc16.resume(prefix.getValue()).update(TRANSFER_QR_DMCT.substring(split));
+
+        int expected = QrisCrc16.compute(TRANSFER_QR_DMCT);
+        assertEquals(expected, copy.getValue());
+        assertEquals(expected, resumed.getValue());
+        assertNotEquals(expected, prefix.getValue());
+        assertEquals(QrisCrc16.INITIAL, prefix.reset().getValue());
+    }
+
+    @Test
+    @DisplayName("Should render uppercase hex without formatting")
+    void testHex() {
+        for (int crc : new int[]{0, 0x000A, 0x0ABC, 0xFFFF, 0x1376}) {
+            String expected = String.format("%04X", crc);
+            assertEquals(expected, QrisCrc16.toHexString(crc));
+            assertEquals("63" + expected, QrisCrc16.appendHex(crc, new StringBuilder("63")).toString());
+            char[] chars = new char[6];
+            QrisCrc16.toHex(crc, chars, 2);
+            assertEquals(expected, new String(chars, 2, 4));
+            byte[] bytes = new byte[4];
+            QrisCrc16.toHex(crc, bytes, 0);
+            assertEquals(expected, new String(bytes, StandardCharsets.US_ASCII));
+            assertTrue(QrisCrc16.matches(crc, expected));
+            assertFalse(QrisCrc16.matches(crc ^ 1, expected));
+            assertFalse(QrisCrc16.matches(0xABCD, "abcd"));
+        }
+        assertFalse(QrisCrc16.matches(0x1376, null));
+        assertFalse(QrisCrc16.matches(0x1376, "01376"));
+    }
+
+    @Test
+    @DisplayName("Root index should compute checksum in the same scan")
+    void testChecksumFromIndex() {
+        assertEquals(0xAE71, QrisTlvMap.of(TRANSFER_QR_DMCT).getChecksum());
+        assertEquals(-1, QrisTlvMap.of(TRANSFER_QR_DMCT.substring(0, 12)).getChecksum());
+        assertEquals(-1, QrisTlvMap.of(TRANSFER_QR_DMCT + "9800").getChecksum());
+    }
+}
@@ -19,6 +19,7 @@ import java.nio.charset.StandardCharsets;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -58,11 +59,24 @@ class QrisHttpMessageConverterTest {
         ByteArrayInputStream inputStream = new ByteArrayInputStream(mockPayload.getBytes(StandardCharsets.UTF_8));
         when(inputMessage.getBody()).thenReturn(inputStream);
         QrisPayload mockQrisPayload = new QrisMpmPaymentPayload();
-        when(qrisParser.parse(mockPayload)).thenReturn(mockQrisPayload);
+        when(qrisParser.parse(any(byte[].class), eq(0), eq(mockPayload.length()))).thenReturn(mockQrisPayload);
+
+        QrisPayload result = converter.readInternal(QrisPayload.class, inputMessage);
+
+        verify(qrisParser, times(1)).parse(aryEq(mockPayload.getBytes(StandardCharsets.UTF_8)), eq(0), eq(mockPayload.length()));
+        assertEquals(mockQrisPayload, result);
+    }
+
+    @Test
+    void testReadInternalIgnoresTrailingLineBreak() throws IOException {
+        String mockPayload = "mockPayload";
+        ByteArrayInputStream inputStream = new ByteArrayInputStream((mockPayload + "\r\n").getBytes(StandardCharsets.UTF_8));
+        when(inputMessage.getBody()).thenReturn(inputStream);
+        QrisPayload mockQrisPayload = new QrisMpmPaymentPayload();
+        when(qrisParser.parse(any(byte[].class), eq(0), eq(mockPayload.length()))).thenReturn(mockQrisPayload);
 
         QrisPayload result = converter.readInternal(QrisPayload.class, inputMessage);
 
-        verify(qrisParser, times(1)).parse(mockPayload);
         assertEquals(mockQrisPayload, result);
     }
 
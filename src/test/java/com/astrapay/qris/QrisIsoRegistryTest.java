@@ -0,0 +1,63 @@
+package com.astrapay.qris;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Currency;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QrisIsoRegistryTest {
+
+    @Test
+    void testCurrencySameAsIteration() {
+        for (int code = 0; code <= 999; code++) {
+            String numeric = String.format("%03d", code);
+            Currency expected = null;
+            for (Currency currency : Currency.getAvailableCurrencies()) {
+                if (currency.getNumericCodeAsString().equals(numeric)) {
+                    expected = currency;
+                    break;
+                }
+            }
+            assertEquals(expected, QrisIsoRegistry.currencyOf(numeric), numeric);
+        }
+        assertEquals(Currency.getInstance("IDR"), QrisIsoRegistry.currencyOf("360"));
+        assertNull(QrisIsoRegistry.currencyOf("36"));
+        assertNull(QrisIsoRegistry.currencyOf(null));
+    }
+
+    @Test
+    void testLocaleSameAsIteration() {
+        for (Locale available : Locale.getAvailableLocales()) {
+            Locale country = null;
+            Locale language = null;
+            for (Locale locale : Locale.getAvailableLocales()) {
+                if (locale.getCountry().equals(available.getCountry())) {
+                    country = locale;
+                }
+                if (locale.getISO3Language().equals(available.getISO3Language())) {
+                    language = locale;
+                }
+            }
+            assertEquals(country, QrisIsoRegistry.localeOfCountry(available.getCountry()), available.toString());
+            assertEquals(language, QrisIsoRegistry.localeOfLanguage(available.getISO3Language()), available.toString());
+        }
+        assertEquals("ID", QrisIsoRegistry.localeOfCountry("ID").getCountry());
+        assertNull(QrisIsoRegistry.localeOfCountry("XX"));
+        assertNull(QrisIsoRegistry.localeOfLanguage("xxx"));
+    }
+
+    @Test
+    void testCountry() {
+        assertTrue(QrisIsoRegistry.isIsoCountry("ID"));
+        assertFalse(QrisIsoRegistry.isIsoCountry("id"));
+        assertFalse(QrisIsoRegistry.isIsoCountry("XX"));
+        assertFalse(QrisIsoRegistry.isIsoCountry(null));
+        assertTrue(QrisIsoRegistry.isLocaleCountry("ID"));
+        assertTrue(QrisIsoRegistry.isLocaleCountry("id"));
+        assertFalse(QrisIsoRegistry.isLocaleCountry("IDN"));
+        assertFalse(QrisIsoRegistry.isLocaleCountry(""));
+        assertFalse(QrisIsoRegistry.isLocaleCountry(null));
+    }
+}
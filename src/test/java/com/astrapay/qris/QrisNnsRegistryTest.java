@@ -0,0 +1,85 @@
+package com.astrapay.qris;
+
+import com.astrapay.qris.QrisNationalNumberingSystem.Pjsp;
+import com.astrapay.qris.QrisNationalNumberingSystem.Switching;
+import com.astrapay.qris.QrisNnsRegistry.Participant;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QrisNnsRegistryTest {
+
+    @Test
+    void testSameAsEnum() {
+        QrisNnsRegistry registry = new QrisNnsRegistry();
+        for (Pjsp pjsp : Pjsp.values()) {
+            List<Participant> participants = registry.find(pjsp.getCode());
+            assertTrue(participants.contains(new Participant(pjsp.getCode(), pjsp.name(), pjsp.getSwitching())), pjsp.name());
+            assertEquals(Pjsp.valueOf(pjsp.getCode()).name(), participants.get(0).getName());
+        }
+        assertEquals(Set.of(Pjsp.values()).stream().map(Pjsp::getCode).distinct().count(), registry.size());
+    }
+
+    @Test
+    void testMultiSwitch() {
+        Set<Switching> switching = QrisNnsRegistry.getDefault().find(93600503).stream()
+                .map(Participant::getSwitching)
+                .collect(Collectors.toSet());
+
+        assertEquals(EnumSet.allOf(Switching.class), switching);
+        assertThrows(UnsupportedOperationException.class, () -> QrisNnsRegistry.getDefault().find(93600503).clear());
+    }
+
+    @Test
+    void testUnknown() {
+        QrisNnsRegistry registry = QrisNnsRegistry.getDefault();
+
+        assertTrue(registry.find(12345678).isEmpty());
+        assertTrue(registry.find(-1).isEmpty());
+        assertFalse(registry.contains(12345678));
+        assertTrue(registry.containsPan("9360015300000000001"));
+        assertFalse(registry.containsPan("936001A300000000001"));
+        assertFalse(registry.containsPan("9360015"));
+        assertFalse(registry.containsPan(null));
+        assertEquals(93600153, QrisNnsRegistry.nnsOf("9360015300000000001"));
+        assertEquals(-1, QrisNnsRegistry.nnsOf("+9360015300000000001"));
+    }
+
+    @Test
+    void testLoadAndReset() throws IOException {
+        QrisNnsRegistry registry = new QrisNnsRegistry();
+        int builtIn = registry.size();
+
+        registry.load(new StringReader("# nns,name,switching\n\n12345678,NEW PJSP,ALTO\n12345678, NEW PJSP , JALIN \n87654321,OTHER,RINTIS\n"));
+
+        assertEquals(2, registry.size());
+        assertEquals(List.of(new Participant(12345678, "NEW PJSP", Switching.ALTO), new Participant(12345678, "NEW PJSP", Switching.JALIN)),
+                registry.find(12345678));
+        assertFalse(registry.contains(93600153));
+        assertTrue(QrisNnsRegistry.getDefault().contains(93600153));
+
+        registry.reset();
+        assertEquals(builtIn, registry.size());
+        assertTrue(registry.contains(93600153));
+    }
+
+    @Test
+    void testLoadInvalid() throws IOException {
+        QrisNnsRegistry registry = new QrisNnsRegistry();
+        registry.load(new StringReader("12345678,NEW PJSP,ALTO"));
+
+        for (String csv : new String[]{"12345678,NEW PJSP", "1234567,NEW PJSP,ALTO", "1234567A,NEW PJSP,ALTO", "12345678,,ALTO", "12345678,NEW PJSP,BCA"}) {
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> registry.load(new StringReader("# header\n" + csv)), csv);
+            assertTrue(exception.getMessage().startsWith("Baris 2"), exception.getMessage());
+        }
+        assertTrue(registry.contains(12345678));
+    }
+}
@@ -0,0 +1,46 @@
+package com.astrapay.qris;
+
+/**
+ * Payload QRIS MPM yang dipakai bersama oleh test parser, encoder, validasi dan generator.
+ * <p>
+ * Body adalah QR text tanpa CRC (ID "63"). Test yang mengubah body, misalnya dengan {@link String#replace}, menghitung
+ * ulang CRC dengan {@link #withCrc(String)}.
+ * </p>
+ */
+public final class QrisTestPayloads {
+
+    /**
+     * MPM Payment statis dengan Merchant Account Information (ID "26") dan Domestic Central Repository (ID "51").
+     */
+    public static final String MPM_PAYMENT_BODY =
+            "00020101021126640018ID.CO.ASTRAPAY.WWW011893600822321000024002092100002400303UBE51440014ID.CO.QRIS.WWW0215ID20210662463920303UBE5204581253033605802ID5913TEST MERCHANT6007Jakarta61054433562080704AP01";
+
+    /**
+     * {@link #MPM_PAYMENT_BODY} dengan CRC 7F7A. Sample di {@code QrisParserMpmPaymentTest} memakai body yang sama
+     * dengan CRC A79C yang tidak valid, karena test parser tidak memeriksa CRC.
+     */
+    public static final String MPM_PAYMENT_QR = MPM_PAYMENT_BODY + "63047F7A";
+
+    /**
+     * MPM Transfer dinamis DMCT dengan Transfer Account Information (ID "40").
+     */
+    public static final String TRANSFER_BODY =
+            "00020101021240530013ID.CO.BCA.WWW011893600014151703139202105170313927520448295303360540410005802ID5916TEST BENEFICIARY6013Jakarta Pusat61051031062470804DMCT993500020001255170313927001770708668302";
+
+    /**
+     * {@link #TRANSFER_BODY} dengan CRC AE71, sama dengan sample di {@code QrisCrc16Test}.
+     */
+    public static final String TRANSFER_QR = TRANSFER_BODY + "6304AE71";
+
+    private QrisTestPayloads() {
+    }
+
+    /**
+     * @param body QR text tanpa CRC
+     * @return QR text dengan CRC (ID "63")
+     */
+    public static String withCrc(String body) {
+        String crcInput = body + "6304";
+        return crcInput + QrisCommon.generateChecksum(crcInput);
+    }
+}
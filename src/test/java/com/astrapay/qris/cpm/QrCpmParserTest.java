@@ -14,8 +14,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -33,7 +35,7 @@ class QrCpmParserTest {
      * DATA_MOCK_BASE64_1 all available tag = 85, 61 > 4F, 50, 5A, 5F2D, 63 >> 9F74
      * DATA_MOCK_BASE64_2 all available tag = 85, 61 > 4F, 50, 5A, 5F20, 5F2D, 9F25, 63 >> 9F74
      * DATA_MOCK_BASE64_3 all available tag = 85, 61 > 4F, 50, 5A, 5F20, 5F2D, 5F50, 63 >> 9F74
-     * DATA_MOCK_BASE64_4 all available tag = 85, 61 > 4F, 50, 5A, 9F25, 9F76 (UNKNOWN TAG), 63 >> 9F74
+     * DATA_MOCK_BASE64_4 all available tag = 85, 61 > 4F, 50, 5A, 9F25, 9F76 (UNKNOWN TAG, skipped), 63 >> 9F74
      * DATA_MOCK_BASE64_5 all available tag = 85, 61 > 4F, 50, 5A, 5F20, 5F2D, 9F25, 63 >> 9F74, 9F26, 9F10, 9F36, 82, 9F37
      * DATA_MOCK_BASE64_6 all available tag = 85, 61 > 4F, 50, 5A, 5F20, 5F2D, 9F25, 9F19, 9F24, 63 >> 9F74, 9F26, 9F10, 9F36, 82, 9F37
      * DATA_MOCK_BASE64_7 all available tag = 85
@@ -446,7 +448,7 @@ class QrCpmParserTest {
         QrCpmDataObject tag9F74 = new QrCpmDataObject();
         tag9F74.setTag(TagIndicator.ISSUER_QRIS_DATA.getValue());
         tag9F74.setLength("16");
-        tag9F74.setValue("3130393033323930");
+        tag9F74.setValue("3130393033323537");
 
         Map<String, QrCpmDataObject> tag63TemplateMap = new HashMap<>();
         tag63TemplateMap.put(TagIndicator.ISSUER_QRIS_DATA.getValue(), tag9F74);
@@ -474,7 +476,7 @@ class QrCpmParserTest {
         QrCpmDataObject tag63 = new QrCpmDataObject();
         tag63.setTag(TagIndicator.APPLICATION_SPECIFIC_TRANSPARENT_TEMPLATE.getValue());
         tag63.setLength("22");
-        tag63.setValue("9F74083130393033323930");
+        tag63.setValue("9F74083130393033323537");
         tag63.setTemplateMap(tag63TemplateMap);
 
         Map<String, QrCpmDataObject> tag61TemplateMap = new HashMap<>();
@@ -482,6 +484,7 @@ class QrCpmParserTest {
         tag61TemplateMap.put(TagIndicator.APPLICATION_LABEL.getValue(), tag50);
         tag61TemplateMap.put(TagIndicator.APP_PAN.getValue(), tag5A);
         tag61TemplateMap.put(TagIndicator.LAST_4_DIGIT_PAN.getValue(), tag9F25);
+        tag61TemplateMap.put(TagIndicator.APPLICATION_SPECIFIC_TRANSPARENT_TEMPLATE.getValue(), tag63);
 
         QrCpmDataObject tag85 = new QrCpmDataObject();
         tag85.setTag(TagIndicator.PAYLOAD_FORMAT_INDICATOR.getValue());
@@ -520,7 +523,13 @@ class QrCpmParserTest {
         Assertions.assertEquals(tag61TemplateMap.get(TagIndicator.APP_PAN.getValue()).getLength(), actualTag61TemplateMap.get(TagIndicator.APP_PAN.getValue()).getLength());
         Assertions.assertEquals(tag61TemplateMap.get(TagIndicator.LAST_4_DIGIT_PAN.getValue()).getLength(), actualTag61TemplateMap.get(TagIndicator.LAST_4_DIGIT_PAN.getValue()).getLength());
 
-        Assertions.assertNull(actualTag61TemplateMap.get(TagIndicator.APPLICATION_SPECIFIC_TRANSPARENT_TEMPLATE.getValue()));
+        // unknown tag 9F76 is skipped, tag 63 after it is still parsed
+        QrCpmDataObject actualTag63 = actualTag61TemplateMap.get(TagIndicator.APPLICATION_SPECIFIC_TRANSPARENT_TEMPLATE.getValue());
+        Assertions.assertEquals(tag63.getValue(), actualTag63.getValue());
+        Assertions.assertEquals(tag63.getLength(), actualTag63.getLength());
+        Assertions.assertEquals(tag9F74.getValue(), actualTag63.getTemplateMap().get(TagIndicator.ISSUER_QRIS_DATA.getValue()).getValue());
+        Assertions.assertEquals(tag9F74.getLength(), actualTag63.getTemplateMap().get(TagIndicator.ISSUER_QRIS_DATA.getValue()).getLength());
+
         Assertions.assertNull(actualTag61TemplateMap.get(TagIndicator.TRACK_2_EQUIVALENT_DATA.getValue()));
         Assertions.assertNull(actualTag61TemplateMap.get(TagIndicator.ISSUER_URL.getValue()));
         Assertions.assertNull(actualTag61TemplateMap.get(TagIndicator.CARDHOLDER_NAME.getValue()));
@@ -528,7 +537,6 @@ class QrCpmParserTest {
         Assertions.assertNull(actualTag61TemplateMap.get(TagIndicator.APPLICATION_VERSION_NUMBER.getValue()));
         Assertions.assertNull(actualTag61TemplateMap.get(TagIndicator.TOKEN_REQUESTOR_ID.getValue()));
         Assertions.assertNull(actualTag61TemplateMap.get(TagIndicator.PAYMENT_ACCOUNT_REFERENCE.getValue()));
-        Assertions.assertNull(actualTag61TemplateMap.get(TagIndicator.APPLICATION_SPECIFIC_TRANSPARENT_TEMPLATE.getValue()));
     }
 
     @Test
@@ -994,4 +1002,81 @@ class QrCpmParserTest {
         
         Assertions.assertEquals(applicationSpecificTransparentTemplate.get(TagIndicator.ISSUER_QRIS_DATA.getValue()).getValue(), "313233343536373839303132333435363738393031323334353637383930313233343536373839303132333435363738393031323334353637383930");
     }
+
+    @Test
+    void testParse_largeTemplateWithTwoBytesLength() throws DecoderException, IOException {
+        byte[] issuerQrisData = new byte[300];
+        for (int i = 0; i < issuerQrisData.length; i++) {
+            issuerQrisData[i] = (byte) i;
+        }
+        ByteArrayOutputStream tag63 = new ByteArrayOutputStream();
+        tag63.write(new byte[]{(byte) 0x9F, 0x74, (byte) 0x82, 0x01, 0x2C});
+        tag63.write(issuerQrisData);
+        ByteArrayOutputStream tag61 = new ByteArrayOutputStream();
+        tag61.write(new byte[]{0x4F, 0x07, (byte) 0xA0, 0x00, 0x00, 0x06, 0x02, 0x20, 0x20});
+        tag61.write(new byte[]{0x5A, 0x02, 0x12, 0x3F});
+        tag61.write(new byte[]{0x63, (byte) 0x82, 0x01, 0x31});
+        tag61.write(tag63.toByteArray());
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        payload.write(new byte[]{(byte) 0x85, 0x05, 'C', 'P', 'V', '0', '1', 0x61, (byte) 0x82});
+        payload.write(tag61.size() >> 8);
+        payload.write(tag61.size());
+        payload.write(tag61.toByteArray());
+
+        QrCpmPayload qrCpmPayload = qrCpmParser.parse(Base64.getEncoder().encodeToString(payload.toByteArray()));
+        Assertions.assertEquals(qrisHexConverter.encode(payload.toByteArray()), qrCpmPayload.getPayloadHex());
+
+        QrCpmDataObject applicationTemplate = qrCpmPayload.getQrisRoot().get(TagIndicator.APPLICATION_TEMPLATE.getValue());
+        Assertions.assertEquals(qrisHexConverter.encode(tag61.toByteArray()), applicationTemplate.getValue());
+        Assertions.assertEquals(String.valueOf(tag61.size() * 2), applicationTemplate.getLength());
+        Assertions.assertEquals("123", applicationTemplate.getTemplateMap().get(TagIndicator.APP_PAN.getValue()).getValue());
+        Assertions.assertEquals("3", applicationTemplate.getTemplateMap().get(TagIndicator.APP_PAN.getValue()).getLength());
+
+        QrCpmDataObject tag9F74 = applicationTemplate.getTemplateMap().get(TagIndicator.APPLICATION_SPECIFIC_TRANSPARENT_TEMPLATE.getValue())
+                .getTemplateMap().get(TagIndicator.ISSUER_QRIS_DATA.getValue());
+        Assertions.assertEquals(qrisHexConverter.encode(issuerQrisData), tag9F74.getValue());
+        Assertions.assertEquals("600", tag9F74.getLength());
+
+        tag9F74.setValue("3130");
+        Assertions.assertEquals("3130", tag9F74.getValue());
+    }
+
+    @Test
+    void testParse_truncatedValue() {
+        String truncated = Base64.getEncoder().encodeToString(new byte[]{(byte) 0x85, 0x05, 'C', 'P', 'V', '0', '1', 0x61, 0x09, 0x4F, 0x07, (byte) 0xA0});
+        Assertions.assertThrows(IllegalArgumentException.class, () -> qrCpmParser.parse(truncated));
+
+        String truncatedLength = Base64.getEncoder().encodeToString(new byte[]{(byte) 0x85, 0x05, 'C', 'P', 'V', '0', '1', 0x61, (byte) 0x82, 0x01});
+        Assertions.assertThrows(IllegalArgumentException.class, () -> qrCpmParser.parse(truncatedLength));
+    }
+
+    @Test
+    void testParse_tagInAnyOrder() throws DecoderException, IOException {
+        byte[] payload = qrisHexConverter.hexStringToByteArray("6122"
+                + "9F250234835A0A9360091834135333483F"
+                + "9F7402313250075152495343504D" + "4F01A0"
+                + "8505435056303162020000");
+
+        QrCpmPayload qrCpmPayload = qrCpmParser.parse(Base64.getEncoder().encodeToString(payload));
+        Map<String, QrCpmDataObject> qrisRoot = qrCpmPayload.getQrisRoot();
+        Assertions.assertEquals(2, qrisRoot.size());
+        Assertions.assertEquals("CPV01", qrisRoot.get(TagIndicator.PAYLOAD_FORMAT_INDICATOR.getValue()).getValue());
+
+        Map<String, QrCpmDataObject> applicationTemplate = qrisRoot.get(TagIndicator.APPLICATION_TEMPLATE.getValue()).getTemplateMap();
+        Assertions.assertEquals(4, applicationTemplate.size());
+        Assertions.assertEquals("3483", applicationTemplate.get(TagIndicator.LAST_4_DIGIT_PAN.getValue()).getValue());
+        Assertions.assertEquals("9360091834135333483", applicationTemplate.get(TagIndicator.APP_PAN.getValue()).getValue());
+        Assertions.assertEquals("QRISCPM", applicationTemplate.get(TagIndicator.APPLICATION_LABEL.getValue()).getValue());
+        Assertions.assertEquals("A0", applicationTemplate.get(TagIndicator.ADF_NAME.getValue()).getValue());
+        // 9F74 is only allowed in template 63
+        Assertions.assertNull(applicationTemplate.get(TagIndicator.ISSUER_QRIS_DATA.getValue()));
+
+        // length stays the parsed length when the value is replaced before it is read
+        QrCpmDataObject applicationLabel = applicationTemplate.get(TagIndicator.APPLICATION_LABEL.getValue());
+        applicationLabel.setValue("MASKED");
+        Assertions.assertEquals("7", applicationLabel.getLength());
+
+        String duplicate = Base64.getEncoder().encodeToString(qrisHexConverter.hexStringToByteArray("850543505630316103500100850100"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> qrCpmParser.parse(duplicate));
+    }
 }
@@ -14,6 +14,8 @@ import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Base64;
 
 @ExtendWith(MockitoExtension.class)
 
@@ -150,4 +152,44 @@ public class QrisCpmEncoderTest {
         byte[] expectedLength = new byte[]{(byte)0x83, (byte)0xFF, (byte)0xFF, (byte)0xFF};
         Assertions.assertArrayEquals(expectedLength, qrisCpmEncoder.getTagLength(foo));
     }
+
+    @Test
+    void testEncode_sameAsBase64OfBytes() throws IOException, DecoderException {
+        for (int i = 0; i < 6; i++) {
+            StringBuilder certificate = new StringBuilder();
+            for (int j = 0; j < 120 + i; j++) {
+                certificate.append("A5");
+            }
+            ApplicationSpecificTransparentTemplate applicationSpecificTransparentTemplate = ApplicationSpecificTransparentTemplate.builder()
+                    .issuerData("281012029560385043466010")
+                    .issuerPublicKeyCertificate(certificate.toString())
+                    .applicationTransactionCounter("0001")
+                    .build();
+            ApplicationTemplate applicationTemplate = ApplicationTemplate.builder()
+                    .applicationPan("9360091531624094763")
+                    .applicationSpecificTransparentTemplate(applicationSpecificTransparentTemplate)
+                    .build();
+            QrisCpm qrisCpm = QrisCpm.builder()
+                    .applicationTemplate(applicationTemplate)
+                    .build();
+
+            byte[] bytes = qrisCpmEncoder.getBytes(qrisCpm);
+            Assertions.assertEquals(Base64.getEncoder().encodeToString(bytes), qrisCpmEncoder.encode(qrisCpm));
+            // 85 (7 byte) + 61 with 2 byte length
+            Assertions.assertEquals((byte) 0x81, bytes[8]);
+            Assertions.assertEquals(bytes.length - 10, bytes[9] & 0xFF);
+            byte[] applicationTemplateBytes = qrisCpmEncoder.getApplicationTemplate(applicationTemplate);
+            Assertions.assertArrayEquals(Arrays.copyOfRange(bytes, 7, bytes.length), applicationTemplateBytes);
+        }
+        Assertions.assertArrayEquals(new byte[]{(byte) 0x85, 0x05, 'C', 'P', 'V', '0', '1'}, qrisCpmEncoder.getBytes(new QrisCpm()));
+        Assertions.assertEquals(0, qrisCpmEncoder.getApplicationTemplate(null).length);
+    }
+
+    @Test
+    void testGetLength() {
+        Assertions.assertArrayEquals(new byte[]{0x7F}, qrisCpmEncoder.getTagLength(new byte[0x7F]));
+        Assertions.assertArrayEquals(new byte[]{(byte) 0x81, (byte) 0x80}, qrisCpmEncoder.getTagLength(new byte[0x80]));
+        Assertions.assertArrayEquals(new byte[]{(byte) 0x82, 0x01, 0x00}, qrisCpmEncoder.getTagLength(new byte[0x100]));
+        Assertions.assertArrayEquals(new byte[]{(byte) 0x83, 0x01, 0x00, 0x00}, qrisCpmEncoder.getTagLength(new byte[0x10000]));
+    }
 }
@@ -0,0 +1,85 @@
+package com.astrapay.qris.cpm;
+
+import com.astrapay.qris.QrisHexConverter;
+import com.astrapay.qris.cpm.object.ApplicationTemplate;
+import com.astrapay.qris.cpm.object.QrisCpm;
+import com.astrapay.qris.mpm.object.ApplicationSpecificTransparentTemplate;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+
+@ExtendWith(MockitoExtension.class)
+class QrisCpmTemplateTest {
+
+    @InjectMocks
+    QrisCpmEncoder qrisCpmEncoder;
+
+    @Spy
+    QrisHexConverter qrisHexConverter;
+
+    private static ApplicationTemplate applicationTemplate(ApplicationSpecificTransparentTemplate applicationSpecificTransparentTemplate) {
+        return ApplicationTemplate.builder()
+                .track2EquivalentData("12345678901234523D49112011234567")
+                .applicationPan("9360091531624094763")
+                .cardholderName("Grace")
+                .issuerUrl("6d61696c746f3a6578616d706c6540656d76636f2e636f6d")
+                .applicationVersionNumber("0010")
+                .tokenRequestorId("099901234567")
+                .paymentAccountReference("39393939313233344142434445464748494a4b4c4d4e4f505152535455")
+                .last4DigitsPan("4763")
+                .applicationSpecificTransparentTemplate(applicationSpecificTransparentTemplate)
+                .build();
+    }
+
+    @Test
+    void testStamp_sameAsEncoder() throws IOException {
+        ApplicationSpecificTransparentTemplate staticTags = ApplicationSpecificTransparentTemplate.builder()
+                .issuerPublicKeyCertificate("A1B2C3D4E5F6A1B2C3D4")
+                .cryptogramInformationData("80")
+                .issuerApplicationData("000102030405060708090A0B0C0D0E0F")
+                .applicationInterchangeProfile("5980")
+                .build();
+        QrisCpmTemplate qrisCpmTemplate = qrisCpmEncoder.compile(applicationTemplate(staticTags));
+
+        String[][] dynamicTags = {
+                {"2810120295603850434", "0102030405060708", "0001", "01020304"},
+                {"123456789012345678901234567890123456789012345678901234567890123456789012345678901234567890", "0102030405060708", "FFFF", "A1B2C3D4"},
+                {"28101202956038504341", null, "0002", null},
+                {null, null, null, null}
+        };
+        for (String[] dynamic : dynamicTags) {
+            ApplicationSpecificTransparentTemplate applicationSpecificTransparentTemplate = ApplicationSpecificTransparentTemplate.builder()
+                    .issuerData(dynamic[0])
+                    .issuerPublicKeyCertificate("A1B2C3D4E5F6A1B2C3D4")
+                    .applicationCryptogram(dynamic[1])
+                    .cryptogramInformationData("80")
+                    .issuerApplicationData("000102030405060708090A0B0C0D0E0F")
+                    .applicationTransactionCounter(dynamic[2])
+                    .applicationInterchangeProfile("5980")
+                    .unpredictableNumber(dynamic[3])
+                    .build();
+            QrisCpm qrisCpm = QrisCpm.builder().applicationTemplate(applicationTemplate(applicationSpecificTransparentTemplate)).build();
+
+            Assertions.assertEquals(qrisCpmEncoder.encode(qrisCpm), qrisCpmTemplate.stamp(dynamic[0], dynamic[1], dynamic[2], dynamic[3]));
+        }
+    }
+
+    @Test
+    void testStamp_withoutStaticTransparentTemplate() throws IOException {
+        QrisCpmTemplate qrisCpmTemplate = qrisCpmEncoder.compile(applicationTemplate(null));
+        ApplicationSpecificTransparentTemplate applicationSpecificTransparentTemplate = ApplicationSpecificTransparentTemplate.builder()
+                .issuerData("281012029560385043466010")
+                .applicationTransactionCounter("0001")
+                .build();
+        QrisCpm qrisCpm = QrisCpm.builder().applicationTemplate(applicationTemplate(applicationSpecificTransparentTemplate)).build();
+
+        Assertions.assertEquals(qrisCpmEncoder.encode(qrisCpm), qrisCpmTemplate.stamp("281012029560385043466010", null, "0001", null));
+        Assertions.assertThrows(IOException.class, () -> qrisCpmTemplate.stamp("2810", "XYZ", null, null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> qrisCpmEncoder.compile(null));
+    }
+}
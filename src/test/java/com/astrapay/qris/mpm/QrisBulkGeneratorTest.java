@@ -0,0 +1,92 @@
+package com.astrapay.qris.mpm;
+
+import com.astrapay.qris.mpm.object.Qris;
+import com.astrapay.qris.mpm.object.QrisBulkReport;
+import com.astrapay.qris.mpm.object.QrisType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static com.astrapay.qris.QrisTestPayloads.MPM_PAYMENT_QR;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("QRIS Bulk Generator Test")
+class QrisBulkGeneratorTest {
+
+    private static Qris merchant(int index) {
+        Qris qris = new QrisParser().parseAndMap(MPM_PAYMENT_QR);
+        qris.setMerchantName("MERCHANT " + index);
+        return qris;
+    }
+
+    @Test
+    @DisplayName("Should write ordered lines and report failures without aborting")
+    void testGenerate() throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            QrisBulkGenerator generator = new QrisBulkGenerator(pool, QrisType.MPM_PAYMENT, 1000);
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            int records = 5000;
+
+            QrisBulkReport report = generator.generate(IntStream.range(0, records).boxed().iterator(), index -> {
+                if (index % 1234 == 7) {
+                    throw new IllegalStateException("record " + index);
+                }
+                return merchant(index);
+            }, Channels.newChannel(output));
+
+            String[] lines = new String(output.toByteArray(), StandardCharsets.UTF_8).split("\n", -1);
+            assertEquals(records + 1, lines.length);
+            assertEquals("", lines[records]);
+            QrisEncoder encoder = new QrisEncoder();
+            for (int i = 0; i < records; i++) {
+                assertEquals(i % 1234 == 7 ? "" : encoder.encode(merchant(i)), lines[i], "line " + i);
+            }
+            assertEquals(records, report.getRecords());
+            assertEquals(5, report.getFailed());
+            assertEquals(records - 5, report.getSucceeded());
+            assertEquals(output.size(), report.getBytes());
+            assertEquals(7, report.getFailures().get(0).getIndex());
+            assertEquals(1241, report.getFailures().get(1).getIndex());
+            assertEquals("record 7", report.getFailures().get(0).getCause().getMessage());
+            assertTrue(report.getRecordsPerSecond() > 0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should handle empty input and propagate channel errors")
+    void testEmptyAndIoError() {
+        QrisBulkGenerator generator = new QrisBulkGenerator();
+        assertDoesNotThrow(() -> assertEquals(0, generator.generate(Collections.<Qris>emptyIterator(),
+                Channels.newChannel(new ByteArrayOutputStream())).getRecords()));
+
+        WritableByteChannel broken = new WritableByteChannel() {
+            @Override
+            public int write(ByteBuffer src) throws IOException {
+                throw new IOException("disk full");
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        assertThrows(IOException.class, () -> generator.generate(Collections.singletonList(merchant(0)).spliterator(), broken));
+        assertThrows(IllegalArgumentException.class, () -> new QrisBulkGenerator(ForkJoinPool.commonPool(), QrisType.MPM_PAYMENT, 0));
+    }
+}
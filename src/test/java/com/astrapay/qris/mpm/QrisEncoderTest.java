@@ -0,0 +1,95 @@
+package com.astrapay.qris.mpm;
+
+import com.astrapay.qris.QrisCommon;
+import com.astrapay.qris.mpm.object.AdditionalData;
+import com.astrapay.qris.mpm.object.AdditionalDataFieldTransfer;
+import com.astrapay.qris.mpm.object.MerchantAccountInformation;
+import com.astrapay.qris.mpm.object.PurposeOfTransaction;
+import com.astrapay.qris.mpm.object.Qris;
+import com.astrapay.qris.mpm.object.QrisAmount;
+import com.astrapay.qris.mpm.object.Tip;
+import com.astrapay.qris.mpm.object.TransferAccountInformation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Currency;
+import java.util.Locale;
+
+import static com.astrapay.qris.QrisTestPayloads.MPM_PAYMENT_QR;
+import static com.astrapay.qris.QrisTestPayloads.TRANSFER_QR;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("QRIS Encoder Test")
+class QrisEncoderTest {
+
+    @Test
+    @DisplayName("Should re-encode parsed payment and transfer with computed CRC")
+    void testRoundTrip() {
+        QrisParser parser = new QrisParser();
+        QrisEncoder encoder = new QrisEncoder();
+        String payment = MPM_PAYMENT_QR;
+        String transfer = TRANSFER_QR;
+
+        Qris paymentQris = parser.parseAndMap(payment);
+        Qris transferQris = parser.parseAndMap(transfer);
+        assertEquals(payment, encoder.encode(paymentQris));
+        assertEquals(transfer, encoder.encodeTransfer(transferQris));
+        assertEquals(payment, encoder.encode(paymentQris));
+        assertEquals(payment, paymentQris.toString());
+        assertEquals(transfer, transferQris.toStringTransfer());
+
+        paymentQris.setCrc("0000");
+        assertTrue(paymentQris.toString().endsWith("63040000"));
+        assertEquals(payment, encoder.encode(paymentQris));
+
+        StringBuilder target = new StringBuilder("prefix");
+        assertEquals("prefix" + payment, QrisEncoder.encode(paymentQris, null, target).toString());
+    }
+
+    @Test
+    @DisplayName("Should keep toString layout for partial data objects")
+    void testLayout() {
+        Qris qris = Qris.builder()
+                .pointOfInitiationMethod(1)
+                .merchantAccountInformationDomestics(Collections.singletonMap(26, new MerchantAccountInformation()))
+                .merchantCategoryCode(42)
+                .transactionCurrency(Currency.getInstance("IDR"))
+                .transactionAmount(1500.9)
+                .tip(Tip.builder().indicator("02").percentage(2.5).fixed(500.0).build())
+                .countryCode(new Locale("", "ID"))
+                .build();
+        assertEquals("01011260052040042530336054061500.955020257032.556035005802ID", qris.toString());
+
+        qris.setTransactionAmountValue(QrisAmount.parse("0.00"));
+        qris.getTip().setFixedValue(QrisAmount.parse("500.50"));
+        assertEquals("01011260052040042530336055020257032.55606500.505802ID", qris.toString());
+
+        // seperti baseline, nominal yang tidak positif tidak ditulis dan nominal positif yang tidak dapat ditulis ditolak
+        qris.setTransactionAmount(-1.0);
+        qris.getTip().setPercentage(Double.NaN);
+        assertEquals(-1.0, qris.getTransactionAmount());
+        assertEquals("0101126005204004253033605502025606500.505802ID", qris.toString());
+        qris.setTransactionAmount(Double.POSITIVE_INFINITY);
+        StringBuilder target = new StringBuilder("prefix");
+        assertThrows(IllegalArgumentException.class, () -> QrisEncoder.encode(qris, null, target));
+        assertEquals("prefix", target.toString());
+        qris.setTransactionAmount(0.0);
+        qris.getTip().setPercentage(2.5);
+
+        String longValue = String.join("", Collections.nCopies(11, "0123456789"));
+        qris.setAdditionalData(AdditionalData.builder().value(longValue).build());
+        assertTrue(qris.toString().endsWith("62110" + longValue));
+
+        Qris transfer = Qris.builder()
+                .transferAccountInformation(new TransferAccountInformation())
+                .additionalDataFieldTransfer(AdditionalDataFieldTransfer.builder().defaultValue("").build())
+                .build();
+        assertEquals("", transfer.toStringTransfer());
+        assertEquals("6304" + QrisCommon.generateChecksum("6304"), new QrisEncoder().encodeTransfer(transfer));
+
+        transfer.getAdditionalDataFieldTransfer().setPurposeOfTransaction(PurposeOfTransaction.DMCT);
+        transfer.getAdditionalDataFieldTransfer().setUniqueData("a1d64af7470ce64d");
+        assertEquals("62320804DMCT99200116a1d64af7470ce64d", transfer.getAdditionalDataFieldTransfer().toString());
+    }
+}
@@ -0,0 +1,146 @@
+package com.astrapay.qris.mpm;
+
+import com.astrapay.qris.mpm.object.AdditionalData;
+import com.astrapay.qris.mpm.object.Qris;
+import com.astrapay.qris.mpm.object.QrisDataObject;
+import com.astrapay.qris.mpm.object.QrisPayload;
+import com.astrapay.qris.mpm.object.QrisType;
+import com.astrapay.qris.mpm.object.Tip;
+import com.astrapay.qris.mpm.validation.QrisValidationMode;
+import com.astrapay.qris.mpm.validation.QrisValidationPlan;
+import com.astrapay.qris.mpm.validation.QrisViolation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static com.astrapay.qris.QrisTestPayloads.MPM_PAYMENT_QR;
+import static com.astrapay.qris.QrisTestPayloads.TRANSFER_QR;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("QRIS Model Validator Test")
+class QrisModelValidatorTest {
+
+    private final QrisParser parser = new QrisParser();
+    private final QrisEncoder encoder = new QrisEncoder();
+
+    private static char[] chars(int length) {
+        char[] chars = new char[length];
+        Arrays.fill(chars, 'A');
+        return chars;
+    }
+
+    private List<QrisViolation> roundTrip(Qris qris, QrisType type) {
+        return QrisValidationPlan.forType(type).validate(parser.parse(encoder.encode(qris, type)));
+    }
+
+    @Test
+    @DisplayName("Should report the same violations as encode, parse and validate")
+    void testSameAsRoundTrip() {
+        List<Consumer<Qris>> payments = Arrays.asList(
+                qris -> { },
+                qris -> qris.setMerchantCategoryCode(null),
+                qris -> qris.setMerchantName("MERCHANT NAME LONGER THAN 25"),
+                qris -> qris.setMerchantCity(null),
+                qris -> qris.setPostalCode(null),
+                qris -> qris.setCountryCode(new Locale("", "IDN")),
+                qris -> qris.setTransactionCurrency(Currency.getInstance("USD")),
+                qris -> qris.setPointOfInitiationMethod(13),
+                qris -> qris.setPayloadFormatIndicator("02"),
+                qris -> qris.setMerchantCategoryCode(12345),
+                qris -> {
+                    qris.setDomesticCentralRepository(null);
+                    qris.setMerchantAccountInformationDomestics(null);
+                },
+                qris -> qris.setTip(new Tip("02", 500.5, null)),
+                qris -> qris.setTip(new Tip("03", null, 15.0)),
+                qris -> qris.setTransactionAmount(15000.25));
+        for (int i = 0; i < payments.size(); i++) {
+            Qris qris = parser.parseAndMap(MPM_PAYMENT_QR);
+            payments.get(i).accept(qris);
+            List<QrisViolation> expected = roundTrip(qris, QrisType.MPM_PAYMENT);
+            assertEquals(expected, QrisModelValidator.validate(qris, QrisType.MPM_PAYMENT), "payment " + i);
+            assertEquals(expected, QrisModelValidator.validate(qris, QrisValidationPlan.forType(QrisType.MPM_PAYMENT),
+                    QrisType.MPM_PAYMENT, QrisValidationMode.COLLECT_ALL), "payment " + i);
+            assertEquals(i == 0 || i >= 11, expected.isEmpty(), "payment " + i);
+        }
+
+        List<Consumer<Qris>> transfers = Arrays.asList(
+                qris -> { },
+                qris -> qris.setPointOfInitiationMethod(11),
+                qris -> qris.setMerchantCategoryCode(5812),
+                qris -> qris.setBeneficiaryName(null),
+                qris -> qris.getTransferAccountInformation().setCustomerPan("93600014ABC"),
+                qris -> qris.setAdditionalDataFieldTransfer(null));
+        for (int i = 0; i < transfers.size(); i++) {
+            Qris qris = parser.parseAndMap(TRANSFER_QR);
+            transfers.get(i).accept(qris);
+            List<QrisViolation> expected = roundTrip(qris, QrisType.MPM_TRANSFER);
+            assertEquals(expected, QrisModelValidator.validate(qris, QrisType.MPM_TRANSFER), "transfer " + i);
+            assertEquals(i == 0, expected.isEmpty(), "transfer " + i);
+        }
+
+        Qris qris = parser.parseAndMap(MPM_PAYMENT_QR);
+        qris.getDomesticCentralRepository().setMerchantId("ID2021066246392ID2021");
+        QrisValidationPlan plan = QrisValidationPlan.forType(QrisType.MPM_PAYMENT).withDataObjects();
+        List<QrisViolation> expected = plan.validate(parser.parse(encoder.encode(qris)));
+        assertEquals(1, expected.size());
+        assertEquals(expected, QrisModelValidator.validate(qris, plan, QrisType.MPM_PAYMENT, QrisValidationMode.COLLECT_ALL));
+    }
+
+    @Test
+    @DisplayName("Should report values longer than 99 characters and stop on fail-fast")
+    void testLongValueAndFailFast() {
+        Qris qris = parser.parseAndMap(MPM_PAYMENT_QR);
+        qris.setMerchantName(new String(chars(120)));
+
+        List<QrisViolation> violations = QrisModelValidator.validate(qris, QrisType.MPM_PAYMENT);
+        assertEquals(1, violations.size());
+        assertEquals("CharLength", violations.get(0).getCode());
+        assertEquals("qrisRoot", violations.get(0).getPath());
+        assertEquals(120, QrisModelValidator.toPayload(qris, QrisType.MPM_PAYMENT).getQrisRoot().get(59).getValue().length());
+        assertEquals("120", QrisModelValidator.toPayload(qris, QrisType.MPM_PAYMENT).getQrisRoot().get(59).getLength());
+
+        qris.setMerchantCity(null);
+        assertTrue(QrisModelValidator.validate(qris, QrisType.MPM_PAYMENT).size() > 1);
+        assertEquals(1, QrisModelValidator.validate(qris, QrisType.MPM_PAYMENT, QrisValidationMode.FAIL_FAST).size());
+    }
+
+    @Test
+    @DisplayName("Should build templates from sub-fields and compute the encoder CRC")
+    void testTemplatesAndCrc() {
+        Qris qris = parser.parseAndMap(MPM_PAYMENT_QR);
+        String qr = encoder.encode(qris);
+
+        QrisPayload payload = QrisModelValidator.toPayload(qris, QrisType.MPM_PAYMENT);
+        assertNull(payload.getPayload());
+        Map<Integer, QrisDataObject> root = payload.getQrisRoot();
+        assertEquals(qr.substring(qr.length() - 4), root.get(63).getValue());
+        assertEquals(qris.getDomesticCentralRepository().getMerchantId(), root.get(51).getTemplateMap().get(2).getValue());
+        assertEquals(parser.parse(qr).getQrisRoot().get(51).getValue(), root.get(51).getValue());
+
+        Qris transfer = parser.parseAndMap(TRANSFER_QR);
+        String transferQr = encoder.encodeTransfer(transfer);
+        Map<Integer, QrisDataObject> transferRoot = QrisModelValidator.toPayload(transfer, QrisType.MPM_TRANSFER).getQrisRoot();
+        assertEquals(transferQr.substring(transferQr.length() - 4), transferRoot.get(63).getValue());
+        assertEquals(parser.parse(transferQr).getQrisRoot().get(62).getValue(), transferRoot.get(62).getValue());
+        assertNotNull(transferRoot.get(62).getTemplateMap().get(99).getTemplateMap().get(0));
+    }
+
+    @Test
+    @DisplayName("Should reject an Additional Data value that is not ID-length-value")
+    void testInvalidAdditionalData() {
+        Qris qris = parser.parseAndMap(MPM_PAYMENT_QR);
+        qris.setAdditionalData(AdditionalData.builder().value("0705AP01").build());
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> QrisModelValidator.validate(qris, QrisType.MPM_PAYMENT));
+        assertEquals("Additional Data: Data object terpotong at offset 0 (id 7).", exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> parser.parse(encoder.encode(qris)));
+    }
+}
@@ -0,0 +1,76 @@
+package com.astrapay.qris.mpm;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk projection parsing {@link QrisParser#extract(CharSequence, QrisProjection, String[])}.
+ */
+@DisplayName("QRIS Parser extract Test")
+class QrisParserExtractTest {
+
+    private static final String MPM_PAYMENT_QR =
+            "00020101021126640018ID.CO.ASTRAPAY.WWW011893600822321000024002092100002400303UBE51440014ID.CO.QRIS.WWW0215ID20210662463920303UBE5204581253033605802ID5913TEST MERCHANT6007Jakarta61054433562080704AP016304A79C";
+
+    private QrisParser parser;
+
+    @BeforeEach
+    void setUp() {
+        parser = new QrisParser();
+    }
+
+    @Test
+    @DisplayName("Should extract requested root and template values into caller array")
+    void testExtract() {
+        QrisProjection projection = QrisProjection.compile(
+                QrisTagPath.of(52), QrisTagPath.of(54), QrisTagPath.of(59), QrisTagPath.of(62, 7),
+                QrisTagPath.of(26, 2), QrisTagPath.parse("51/02"));
+        String[] values = new String[projection.size()];
+
+        int found = parser.extract(MPM_PAYMENT_QR, projection, values);
+
+        assertEquals(5, found);
+        assertArrayEquals(new String[]{"5812", null, "TEST MERCHANT", "AP01", "210000240", "ID2021066246392"}, values);
+    }
+
+    @Test
+    @DisplayName("Should clear output array between calls and extract template itself")
+    void testReuseOutput() {
+        QrisProjection projection = QrisProjection.compile(QrisTagPath.of(62), QrisTagPath.of(62, 7), QrisTagPath.of(62, 1));
+        String[] values = {"x", "y", "z"};
+
+        assertEquals(2, parser.extract(new StringBuilder(MPM_PAYMENT_QR), projection, values));
+        assertArrayEquals(new String[]{"0704AP01", "AP01", null}, values);
+    }
+
+    @Test
+    @DisplayName("Should extract with varargs and report broken structure")
+    void testVarargsAndBrokenStructure() {
+        assertArrayEquals(new String[]{"ID", "ID.CO.QRIS.WWW"},
+                parser.extract(MPM_PAYMENT_QR, QrisTagPath.of(58), QrisTagPath.of(51, 0)));
+
+        QrisProjection projection = QrisProjection.compile(QrisTagPath.of(59));
+        String[] values = new String[1];
+        assertEquals(-1, parser.extract(MPM_PAYMENT_QR.substring(0, 30), projection, values));
+        assertThrows(IllegalArgumentException.class, () -> parser.extract("0005XX", QrisTagPath.of(1)));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid tag path")
+    void testInvalidPath() {
+        assertThrows(IllegalArgumentException.class, () -> QrisTagPath.of(100));
+        assertThrows(IllegalArgumentException.class, () -> QrisTagPath.parse("62/1"));
+        // digit Unicode (Arabic-Indic) bukan digit ASCII
+        assertThrows(IllegalArgumentException.class, () -> QrisTagPath.parse("62/\u0660\u0661"));
+        assertThrows(IllegalArgumentException.class, () -> QrisProjection.compile(QrisTagPath.of(54), QrisTagPath.of(54)));
+        // sub-path hanya boleh di bawah template
+        assertThrows(IllegalArgumentException.class, () -> QrisTagPath.parse("59/01"));
+        assertThrows(IllegalArgumentException.class, () -> QrisTagPath.of(62, 7, 0));
+        assertThrows(IllegalArgumentException.class, () -> parser.extract(MPM_PAYMENT_QR, QrisTagPath.parse("52"), QrisTagPath.parse("59/01")));
+        assertEquals("26/01", QrisTagPath.of(26, 1).toString());
+        assertEquals("62/99/00", QrisTagPath.parse("62/99/00").toString());
+    }
+}
@@ -11,6 +11,8 @@ import org.junit.jupiter.api.Test;
 import javax.validation.Validation;
 import javax.validation.Validator;
 import javax.validation.ValidatorFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -461,4 +463,71 @@ class QrisParserMpmPaymentTest {
         assertEquals(testPayload, payload.getPayload(), "Payload string should match");
         assertEquals(QrisType.MPM_PAYMENT, payload.getQrisType(), "Should be MPM_PAYMENT type");
     }
+
+    @Test
+    @DisplayName("Should decode nested proprietary template (62 → 99) on first read")
+    void testNestedProprietaryTemplateIsDecodedOnDemand() {
+        String qr = "000201010211"
+                + "6226" + "0704AP01" + "9914" + "0004ABCD" + "0102XY"
+                + "6304FFFF";
+
+        QrisPayload payload = parser.parse(qr);
+        QrisDataObject additionalData = payload.getQrisRoot().get(62);
+
+        assertEquals(2, additionalData.getTemplateMap().size(), "Tag 62 should have 2 sub tags");
+        Map<Integer, QrisDataObject> proprietary = additionalData.getTemplateMap().get(99).getTemplateMap();
+        assertNotNull(proprietary, "Tag 99 inside 62 should be a template");
+        assertEquals("ABCD", proprietary.get(0).getValue());
+        assertEquals("XY", proprietary.get(1).getValue());
+        assertNull(payload.getQrisRoot().get(1).getTemplateMap(), "Non template tag should not have templateMap");
+    }
+
+    @Test
+    @DisplayName("Should parse byte[], ByteBuffer and CharSequence the same way as String")
+    void testParseBytesAndSequences() {
+        String qr = MPM_PAYMENT_QR.replace("6304A79C", "63047F7A");
+        byte[] bytes = ("xx" + qr + "yy").getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer direct = ByteBuffer.allocateDirect(qr.length());
+        direct.put(qr.getBytes(StandardCharsets.US_ASCII)).flip();
+
+        QrisPayload fromString = parser.parse(qr);
+        QrisPayload[] payloads = {
+                parser.parse(bytes, 2, qr.length()),
+                parser.parse(ByteBuffer.wrap(bytes, 2, qr.length())),
+                parser.parse(direct),
+                parser.parse(new StringBuilder(qr))
+        };
+
+        assertEquals(0, direct.position(), "Buffer position should not be changed");
+        for (QrisPayload payload : payloads) {
+            assertEquals(QrisType.MPM_PAYMENT, payload.getQrisType());
+            assertEquals(fromString.getQrisRoot().keySet(), payload.getQrisRoot().keySet());
+            assertEquals("TEST MERCHANT", payload.getQrisRoot().get(59).getValue());
+            assertEquals("ID.CO.QRIS.WWW", payload.getQrisRoot().get(51).getTemplateMap().get(0).getValue());
+            assertTrue(validator.validate(payload).isEmpty(), "Payload should be valid, CRC included");
+            assertEquals(qr, payload.getPayload());
+        }
+    }
+
+    @Test
+    @DisplayName("Should detect wrong CRC when parsing bytes")
+    void testParseBytesWrongChecksum() {
+        byte[] bytes = MPM_PAYMENT_QR.replace("6304A79C", "6304A79D").getBytes(StandardCharsets.US_ASCII);
+
+        QrisPayload payload = parser.parse(bytes, 0, bytes.length);
+
+        assertFalse(validator.validate(payload).isEmpty(), "Wrong CRC should be reported");
+    }
+
+    @Test
+    @DisplayName("Should decode non ASCII bytes as UTF-8")
+    void testParseNonAsciiBytes() {
+        String qr = "000201010211" + "5905CAFÉ " + "6304FFFF";
+        byte[] bytes = qr.getBytes(StandardCharsets.UTF_8);
+
+        QrisPayload payload = parser.parse(bytes, 0, bytes.length);
+
+        assertEquals("CAFÉ ", payload.getQrisRoot().get(59).getValue());
+        assertEquals(qr, payload.getPayload());
+    }
 }
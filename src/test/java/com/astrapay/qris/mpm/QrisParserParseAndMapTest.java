@@ -0,0 +1,100 @@
+package com.astrapay.qris.mpm;
+
+import com.astrapay.qris.mpm.object.PurposeOfTransaction;
+import com.astrapay.qris.mpm.object.Qris;
+import com.astrapay.qris.mpm.object.QrisParseResult;
+import com.astrapay.qris.mpm.object.QrisParseStatus;
+import com.astrapay.qris.mpm.object.QrisPayload;
+import com.astrapay.qris.mpm.object.QrisType;
+import com.astrapay.qris.mpm.validation.QrisValidationMode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.astrapay.qris.QrisTestPayloads.withCrc;
+import static com.astrapay.qris.QrisTestPayloads.MPM_PAYMENT_BODY;
+import static com.astrapay.qris.QrisTestPayloads.TRANSFER_BODY;
+import static com.astrapay.qris.QrisTestPayloads.MPM_PAYMENT_QR;
+import static com.astrapay.qris.QrisTestPayloads.TRANSFER_QR;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk {@link QrisParser#parseAndMap(CharSequence)} dan {@link QrisParser#parseValidateAndMap(CharSequence)}.
+ */
+@DisplayName("QRIS Parser parseAndMap Test")
+class QrisParserParseAndMapTest {
+
+    private QrisParser parser;
+    private QrisMapper mapper;
+
+    @BeforeEach
+    void setUp() {
+        parser = new QrisParser();
+        mapper = new QrisMapper();
+    }
+
+    @Test
+    @DisplayName("Should map the same Qris as parse followed by map")
+    void testSameAsParseThenMap() {
+        for (String qr : new String[]{MPM_PAYMENT_QR, TRANSFER_QR}) {
+            Qris expected = mapper.map(parser.parse(qr).getQrisRoot());
+            Qris qris = parser.parseAndMap(qr);
+
+            if (qr.contains("0804DMCT")) {
+                assertEquals(expected.toStringTransfer(), qris.toStringTransfer());
+            } else {
+                assertEquals(expected.toString(), qris.toString());
+            }
+            assertEquals(expected.getTransactionCurrency(), qris.getTransactionCurrency());
+            assertEquals(expected.getCountryCode(), qris.getCountryCode());
+            assertEquals(expected.getTransactionAmountValue(), qris.getTransactionAmountValue());
+        }
+        Qris transfer = parser.parseAndMap(TRANSFER_QR);
+        assertEquals("TEST BENEFICIARY", transfer.getBeneficiaryName());
+        assertEquals(PurposeOfTransaction.DMCT, transfer.getAdditionalDataFieldTransfer().getPurposeOfTransaction());
+        assertEquals("TEST MERCHANT", parser.parseAndMap(MPM_PAYMENT_QR).getMerchantName());
+    }
+
+    @Test
+    @DisplayName("Should use detected type instead of re-reading tag 62")
+    void testMapWithType() {
+        QrisPayload payload = parser.parse(TRANSFER_QR);
+
+        assertNotNull(mapper.map(payload.getQrisRoot(), QrisType.MPM_TRANSFER).getTransferAccountInformation());
+        assertNull(mapper.map(payload.getQrisRoot(), QrisType.MPM_TRANSFER).getMerchantName());
+        assertNull(mapper.map(parser.parse(MPM_PAYMENT_QR).getQrisRoot(), QrisType.MPM_PAYMENT).getBeneficiaryName());
+    }
+
+    @Test
+    @DisplayName("Should validate before mapping")
+    void testParseValidateAndMap() {
+        QrisParseResult valid = parser.parseValidateAndMap(TRANSFER_QR);
+        assertTrue(valid.isSuccess());
+        assertEquals(QrisType.MPM_TRANSFER, valid.getPayload().getQrisType());
+        assertEquals("TEST BENEFICIARY", valid.getQris().getBeneficiaryName());
+        assertTrue(valid.getViolations().isEmpty());
+
+        QrisParseResult invalid = parser.parseValidateAndMap(withCrc(MPM_PAYMENT_BODY.replace("5802ID", "5802XX").replace("5913TEST MERCHANT", "")));
+        assertFalse(invalid.isSuccess());
+        assertEquals(QrisParseStatus.CONSTRAINT_VIOLATION, invalid.getStatus());
+        assertNotNull(invalid.getPayload());
+        assertNull(invalid.getQris());
+        assertEquals(3, invalid.getViolations().size());
+        assertEquals(1, parser.parseValidateAndMap(withCrc(MPM_PAYMENT_BODY.replace("5802ID", "5802XX")), QrisValidationMode.FAIL_FAST).getViolations().size());
+
+        QrisParseResult checksum = parser.parseValidateAndMap(MPM_PAYMENT_BODY + "63040000");
+        assertEquals(QrisParseStatus.CONSTRAINT_VIOLATION, checksum.getStatus());
+
+        QrisParseResult broken = parser.parseValidateAndMap("000201010211269");
+        assertEquals(QrisParseStatus.TRUNCATED, broken.getStatus());
+        assertNull(broken.getPayload());
+        assertTrue(broken.getViolations().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid structure and unsupported type like parse")
+    void testParseAndMapErrors() {
+        assertThrows(IllegalArgumentException.class, () -> parser.parseAndMap("000201010211269"));
+        assertThrows(UnsupportedOperationException.class, () -> parser.parseAndMap(withCrc(TRANSFER_BODY.replace("0804DMCT", "0804CWDL"))));
+    }
+}
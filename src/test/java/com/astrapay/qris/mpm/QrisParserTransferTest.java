@@ -376,4 +376,20 @@ class QrisParserTransferTest {
         assertEquals("QRIS Tuntas belum diimplementasikan", exception.getMessage(),
                 "Exception message should indicate not yet implemented");
     }
-}
\ No newline at end of file
+
+    /**
+     * Test bahwa peekType menghasilkan tipe yang sama dengan parse tanpa parse penuh.
+     */
+    @Test
+    void testPeekType() {
+        assertEquals(QrisType.MPM_TRANSFER, parser.peekType(TRANSFER_QR_DMCT));
+        assertEquals(QrisType.MPM_CASH_OUT, parser.peekType(TRANSFER_QR_CWDL));
+        assertEquals(QrisType.MPM_CASH_IN, parser.peekType(new StringBuilder(TRANSFER_QR_CDPT)));
+        assertEquals(QrisType.MPM_TRANSFER, parser.peekType(TRANSFER_QR_DMCT.replace("0804DMCT", "0804BOOK")));
+        assertEquals(QrisType.MPM_PAYMENT, parser.peekType(TRANSFER_QR_DMCT.replace("0804DMCT", "0804PYMT")));
+        assertEquals(QrisType.MPM_PAYMENT, parser.peekType(TRANSFER_QR_DMCT.replace("62470804DMCT", "62480805DMCTX")));
+        assertEquals(QrisType.MPM_PAYMENT, parser.peekType(TRANSFER_QR_DMCT.replace("4053", "4153")));
+        assertEquals(QrisType.UNKNOWN, parser.peekType(TRANSFER_QR_DMCT.substring(0, 50)));
+        assertEquals(QrisType.UNKNOWN, parser.peekType(TRANSFER_QR_DMCT.replace("0804DMCT", "08XXDMCT")));
+    }
+}
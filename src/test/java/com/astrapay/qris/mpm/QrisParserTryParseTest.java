@@ -0,0 +1,123 @@
+package com.astrapay.qris.mpm;
+
+import com.astrapay.qris.mpm.object.QrisParseResult;
+import com.astrapay.qris.mpm.object.QrisParseStatus;
+import com.astrapay.qris.mpm.object.QrisTransferPayload;
+import com.astrapay.qris.mpm.object.QrisType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk {@link QrisParser#tryParse(CharSequence)}.
+ * <p>
+ * Memastikan payload yang rusak ditolak dengan status, offset dan ID yang tepat tanpa exception.
+ * </p>
+ */
+@DisplayName("QRIS Parser tryParse Test")
+class QrisParserTryParseTest {
+
+    private static final String MPM_PAYMENT_QR =
+            "00020101021126640018ID.CO.ASTRAPAY.WWW011893600822321000024002092100002400303UBE51440014ID.CO.QRIS.WWW0215ID20210662463920303UBE5204581253033605802ID5913TEST MERCHANT6007Jakarta61054433562080704AP016304A79C";
+
+    private static final String TRANSFER_QR_DMCT =
+            "00020101021240530013ID.CO.BCA.WWW011893600014151703139202105170313927520448295303360540410005802ID5916TEST BENEFICIARY6013Jakarta Pusat61051031062470804DMCT99350002000125517031392700177070866830263041376";
+
+    private QrisParser parser;
+
+    @BeforeEach
+    void setUp() {
+        parser = new QrisParser();
+    }
+
+    private static void assertFailure(QrisParseResult result, QrisParseStatus status, int offset, int id) {
+        assertFalse(result.isSuccess());
+        assertNull(result.getPayload());
+        assertEquals(status, result.getStatus());
+        assertEquals(offset, result.getErrorOffset(), "error offset");
+        assertEquals(id, result.getErrorId(), "error id");
+    }
+
+    @Test
+    @DisplayName("Should return payload for valid MPM Payment and Transfer QR")
+    void testSuccess() {
+        QrisParseResult payment = parser.tryParse(MPM_PAYMENT_QR);
+        assertTrue(payment.isSuccess());
+        assertEquals(QrisType.MPM_PAYMENT, payment.getPayload().getQrisType());
+        assertEquals(MPM_PAYMENT_QR, payment.getPayload().getPayload());
+
+        byte[] bytes = TRANSFER_QR_DMCT.getBytes(StandardCharsets.US_ASCII);
+        QrisParseResult transfer = parser.tryParse(bytes, 0, bytes.length);
+        assertTrue(transfer.isSuccess());
+        assertInstanceOf(QrisTransferPayload.class, transfer.getPayload());
+    }
+
+    @Test
+    @DisplayName("Should reject empty and over-length payload")
+    void testLength() {
+        assertFailure(parser.tryParse(""), QrisParseStatus.EMPTY_PAYLOAD, 0, -1);
+        assertFailure(parser.tryParse((CharSequence) null), QrisParseStatus.EMPTY_PAYLOAD, 0, -1);
+
+        char[] chars = new char[513];
+        Arrays.fill(chars, '0');
+        assertFailure(parser.tryParse(new String(chars)), QrisParseStatus.PAYLOAD_TOO_LONG, 512, -1);
+
+        byte[] huge = new byte[1 << 20];
+        assertFailure(parser.tryParse(huge, 0, huge.length), QrisParseStatus.PAYLOAD_TOO_LONG, 512, -1);
+    }
+
+    @Test
+    @DisplayName("Should reject non digit id and length")
+    void testNonDigit() {
+        assertFailure(parser.tryParse("000201A10211"), QrisParseStatus.INVALID_ID, 6, -1);
+        assertFailure(parser.tryParse("00020101 211"), QrisParseStatus.INVALID_LENGTH, 8, 1);
+        assertFailure(parser.tryParse("0002010+01"), QrisParseStatus.INVALID_ID, 6, -1);
+    }
+
+    @Test
+    @DisplayName("Should reject truncated id, length and value")
+    void testTruncated() {
+        assertFailure(parser.tryParse("0002010"), QrisParseStatus.TRUNCATED, 6, -1);
+        assertFailure(parser.tryParse("00020101"), QrisParseStatus.TRUNCATED, 6, 1);
+        assertFailure(parser.tryParse("000201010511"), QrisParseStatus.TRUNCATED, 6, 1);
+        assertFailure(parser.tryParse("0002016304A7"), QrisParseStatus.TRUNCATED, 6, 63);
+    }
+
+    @Test
+    @DisplayName("Should reject duplicate id in root and template")
+    void testDuplicate() {
+        assertFailure(parser.tryParse("000201000201"), QrisParseStatus.DUPLICATE_ID, 6, 0);
+        assertFailure(parser.tryParse("0002016216" + "0704AP01" + "0704AP02"), QrisParseStatus.DUPLICATE_ID, 18, 7);
+    }
+
+    @Test
+    @DisplayName("Should reject malformed template and nested proprietary template")
+    void testMalformedTemplate() {
+        assertFailure(parser.tryParse("0002012606" + "000501"), QrisParseStatus.TRUNCATED, 10, 0);
+        assertFailure(parser.tryParse("0002016210" + "9906" + "00XX01"), QrisParseStatus.INVALID_LENGTH, 16, 0);
+    }
+
+    @Test
+    @DisplayName("Should report Tuntas as unsupported type")
+    void testUnsupportedType() {
+        QrisParseResult result = parser.tryParse(TRANSFER_QR_DMCT.replace("0804DMCT", "0804CWDL"));
+
+        assertEquals(QrisParseStatus.UNSUPPORTED_TYPE, result.getStatus());
+        assertEquals(62, result.getErrorId());
+        assertNull(result.getPayload());
+    }
+
+    @Test
+    @DisplayName("parse should throw IllegalArgumentException for malformed template")
+    void testParseThrowsForMalformedTemplate() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> parser.parse("0002016216" + "0704AP01" + "0704AP02"));
+        assertEquals("Duplicate key '7'.", exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> parser.parse("0002012606" + "000501"));
+    }
+}
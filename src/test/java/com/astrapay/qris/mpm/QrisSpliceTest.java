@@ -0,0 +1,83 @@
+package com.astrapay.qris.mpm;
+
+import com.astrapay.qris.mpm.object.QrisAmount;
+import com.astrapay.qris.mpm.object.QrisPayload;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.astrapay.qris.QrisTestPayloads.withCrc;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("QRIS Splice Test")
+class QrisSpliceTest {
+
+    private static final String MPM_PAYMENT_BODY =
+            "00020101021126640018ID.CO.ASTRAPAY.WWW011893600822321000024002092100002400303UBE" +
+            "27350015ID.CO.OTHER.WWW0212OTHER-MERCH2" +
+            "51440014ID.CO.QRIS.WWW0215ID20210662463920303UBE5204581253033605802ID5913TEST MERCHANT6007Jakarta61054433562080704AP01" +
+            "64240002ID0107Merchan0203Kot";
+
+    @Test
+    @DisplayName("Should convert static to dynamic without touching other bytes")
+    void testStaticToDynamic() {
+        QrisParser parser = new QrisParser();
+        QrisPayload payload = parser.parse(withCrc(MPM_PAYMENT_BODY));
+
+        String dynamic = QrisSplice.of(payload)
+                .pointOfInitiationMethod(QrisTemplate.DYNAMIC)
+                .transactionAmount(QrisAmount.parse("15000.50"))
+                .setAdditionalData(1, "INV-001")
+                .setAdditionalData(5, "REF123")
+                .apply();
+
+        assertEquals(withCrc(MPM_PAYMENT_BODY.replace("010211", "010212")
+                .replace("5303360", "5303360540815000.50")
+                .replace("62080704AP01", "62290107INV-0010506REF1230704AP01")), dynamic);
+        assertTrue(dynamic.contains("27350015ID.CO.OTHER.WWW0212OTHER-MERCH2"));
+        assertTrue(dynamic.contains("64240002ID0107Merchan0203Kot"));
+        assertEquals("15000.50", parser.parse(dynamic).getQrisRoot().get(54).getValue());
+
+        String restored = QrisSplice.of(dynamic)
+                .pointOfInitiationMethod(11)
+                .transactionAmount(QrisAmount.ZERO)
+                .removeAdditionalData(1)
+                .removeAdditionalData(5)
+                .apply();
+        assertEquals(withCrc(MPM_PAYMENT_BODY), restored);
+    }
+
+    @Test
+    @DisplayName("Should insert and drop additional data template")
+    void testAdditionalDataTemplate() {
+        String body = MPM_PAYMENT_BODY.replace("62080704AP01", "");
+        String added = QrisSplice.of(withCrc(body)).setAdditionalData(7, "T01").apply();
+        assertEquals(withCrc(body.replace("Jakarta610544335", "Jakarta61054433562070703T01")), added);
+
+        assertEquals(withCrc(body), QrisSplice.of(added).removeAdditionalData(7).apply());
+        assertEquals(withCrc(MPM_PAYMENT_BODY), QrisSplice.of(MPM_PAYMENT_BODY + "63040000").apply());
+        assertEquals(withCrc(MPM_PAYMENT_BODY), QrisSplice.of(MPM_PAYMENT_BODY).apply());
+    }
+
+    @Test
+    @DisplayName("Should reject templates and values longer than 99")
+    void testInvalid() {
+        QrisSplice splice = QrisSplice.of(withCrc(MPM_PAYMENT_BODY));
+        assertThrows(IllegalArgumentException.class, () -> splice.set(0, "02"));
+        assertThrows(IllegalArgumentException.class, () -> splice.set(63, "0000"));
+        assertThrows(IllegalArgumentException.class, () -> splice.set(26, ""));
+        assertThrows(IllegalArgumentException.class, () -> splice.set(62, ""));
+        assertThrows(IllegalArgumentException.class, () -> splice.setAdditionalData(99, ""));
+        assertThrows(IllegalArgumentException.class, () -> splice.set(59, new String(new char[100])));
+
+        String value = new String(new char[95]).replace('\0', 'x');
+        splice.setAdditionalData(1, value);
+        assertThrows(IllegalArgumentException.class, splice::apply);
+        StringBuilder target = new StringBuilder("prefix");
+        assertThrows(IllegalArgumentException.class, () -> splice.apply(target));
+        assertEquals("prefix", target.toString());
+
+        // 0704AP01 (8) + 0187 + 87 karakter = 99, tepat pada batas
+        splice.setAdditionalData(1, value.substring(0, 87));
+        assertTrue(splice.apply().contains("6299" + "0187" + value.substring(0, 87) + "0704AP01"));
+    }
+}
@@ -0,0 +1,73 @@
+package com.astrapay.qris.mpm;
+
+import com.astrapay.qris.mpm.object.AdditionalData;
+import com.astrapay.qris.mpm.object.Qris;
+import com.astrapay.qris.mpm.object.QrisAmount;
+import com.astrapay.qris.mpm.object.QrisPayload;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static com.astrapay.qris.QrisTestPayloads.withCrc;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("QRIS Template Test")
+class QrisTemplateTest {
+
+    private static final String MPM_PAYMENT_BODY =
+            "00020101021126640018ID.CO.ASTRAPAY.WWW011893600822321000024002092100002400303UBE51440014ID.CO.QRIS.WWW0215ID20210662463920303UBE5204581253033605502035703" +
+            "5.05802ID5913TEST MERCHANT6007Jakarta61054433562080704AP01";
+
+    @Test
+    @DisplayName("Should stamp the same payload as the encoder")
+    void testStamp() {
+        Qris qris = new QrisParser().parseAndMap(withCrc(MPM_PAYMENT_BODY));
+        QrisTemplate template = QrisTemplate.compile(qris);
+        QrisEncoder encoder = new QrisEncoder();
+
+        String stamped = template.stamp(QrisAmount.parse("15000"), "INV-001", "REF123");
+        assertEquals(withCrc(MPM_PAYMENT_BODY.replace("010211", "010212").replace("5303360", "5303360540515000")
+                .replace("62080704AP01", "62290107INV-0010506REF1230704AP01")), stamped);
+        assertTrue(new QrisParser().parseValidateAndMap(stamped).isSuccess());
+        assertEquals("0704AP01", qris.getAdditionalData().getValue());
+
+        Random random = new Random(5);
+        StringBuilder target = new StringBuilder();
+        for (int n = 0; n < 500; n++) {
+            QrisAmount amount = random.nextInt(10) == 0 ? null : QrisAmount.of(random.nextInt(100_000_000), random.nextInt(3));
+            String billNumber = random.nextInt(5) == 0 ? null : Long.toString(random.nextLong() >>> random.nextInt(60), 36);
+            String referenceLabel = random.nextInt(5) == 0 ? "" : "R" + random.nextInt();
+            StringBuilder additionalData = new StringBuilder();
+            if (billNumber != null) {
+                additionalData.append("01").append(String.format("%02d", billNumber.length())).append(billNumber);
+            }
+            if (!referenceLabel.isEmpty()) {
+                additionalData.append("05").append(String.format("%02d", referenceLabel.length())).append(referenceLabel);
+            }
+            additionalData.append("0704AP01");
+            qris.setPointOfInitiationMethod(QrisTemplate.DYNAMIC);
+            qris.setTransactionAmountValue(amount);
+            qris.setAdditionalData(AdditionalData.builder().value(additionalData.toString()).build());
+
+            target.setLength(0);
+            assertEquals(encoder.encode(qris), template.stamp(amount, billNumber, referenceLabel, target).toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Should omit empty additional data and reject malformed template")
+    void testAdditionalData() {
+        Qris qris = new QrisParser().parseAndMap(withCrc(MPM_PAYMENT_BODY));
+        qris.setAdditionalData(null);
+        String stamped = QrisTemplate.compile(qris).stamp(null, null, null);
+
+        QrisPayload payload = new QrisParser().parse(stamped);
+        assertFalse(payload.getQrisRoot().containsKey(54));
+        assertFalse(payload.getQrisRoot().containsKey(62));
+        assertEquals("12", payload.getQrisRoot().get(1).getValue());
+
+        qris.setAdditionalData(AdditionalData.builder().value("0799AP01").build());
+        assertThrows(IllegalArgumentException.class, () -> QrisTemplate.compile(qris));
+    }
+}
@@ -0,0 +1,149 @@
+package com.astrapay.qris.mpm.object;
+
+import com.astrapay.qris.mpm.QrisMapper;
+import com.astrapay.qris.mpm.QrisParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static com.astrapay.qris.QrisTestPayloads.withCrc;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("QRIS Amount Test")
+class QrisAmountTest {
+
+    private static final String MPM_PAYMENT_BODY =
+            "00020101021126640018ID.CO.ASTRAPAY.WWW011893600822321000024002092100002400303UBE51440014ID.CO.QRIS.WWW0215ID20210662463920303UBE5204581253033605407" +
+            "1000.5055020357040.505802ID5913TEST MERCHANT6007Jakarta61054433562080704AP01";
+
+    @Test
+    @DisplayName("Should parse unscaled value and scale")
+    void testParse() {
+        QrisAmount amount = QrisAmount.parse("1000.50");
+        assertEquals(100050, amount.getUnscaledValue());
+        assertEquals(2, amount.getScale());
+        assertEquals(1000, amount.longValue());
+        assertEquals(1000.5, amount.doubleValue());
+        assertEquals(new BigDecimal("1000.50"), amount.toBigDecimal());
+        assertEquals("1000.50", amount.toString());
+        assertEquals(7, amount.length());
+        assertEquals(100050, amount.toMinorUnits(2));
+        assertEquals(1000500, amount.toMinorUnits(3));
+        assertEquals(1001, QrisAmount.parse("1001.0").toMinorUnits(0));
+        assertThrows(ArithmeticException.class, () -> amount.toMinorUnits(0));
+
+        assertEquals(QrisAmount.of(1000, 0), QrisAmount.parse("1000."));
+        assertEquals("5.00", QrisAmount.parse("05.00").toString());
+        assertEquals("0.05", QrisAmount.parse(".05").toString());
+        assertSame(QrisAmount.ZERO, QrisAmount.parse("0"));
+        assertEquals(0, QrisAmount.parse("0.00").signum());
+        assertEquals(1, QrisAmount.parse("0.01").signum());
+        assertEquals(QrisAmount.parse("1000"), QrisAmount.tryParse("x1000y", 1, 5));
+        for (String invalid : new String[]{"", ".", "1.0.0", "-1", "+1", "1e3", " 1", "1,000", "99999999999999999999"}) {
+            assertNull(QrisAmount.tryParse(invalid), invalid);
+            assertThrows(NumberFormatException.class, () -> QrisAmount.parse(invalid), invalid);
+        }
+        assertNull(QrisAmount.tryParse(null));
+        assertThrows(IllegalArgumentException.class, () -> QrisAmount.of(-1, 0));
+        assertThrows(IllegalArgumentException.class, () -> QrisAmount.of(1, QrisAmount.MAX_SCALE + 1));
+    }
+
+    @Test
+    @DisplayName("Should match Double.parseDouble and BigDecimal for random amounts")
+    void testAgainstDouble() {
+        Random random = new Random(3);
+        for (int n = 0; n < 20000; n++) {
+            StringBuilder value = new StringBuilder();
+            for (int i = random.nextInt(15); i >= 0; i--) {
+                value.append((char) ('0' + random.nextInt(10)));
+            }
+            if (random.nextBoolean()) {
+                value.append('.');
+                for (int i = random.nextInt(4); i > 0; i--) {
+                    value.append((char) ('0' + random.nextInt(10)));
+                }
+            }
+            String text = value.toString();
+            QrisAmount amount = QrisAmount.parse(text);
+            assertEquals(Double.parseDouble(text), amount.doubleValue(), text);
+            assertEquals(0, new BigDecimal(text.endsWith(".") ? text + "0" : text).compareTo(amount.toBigDecimal()), text);
+            assertEquals(amount.toString().length(), amount.length(), text);
+            assertEquals(amount, QrisAmount.parse(amount.toString()), text);
+        }
+    }
+
+    @Test
+    @DisplayName("Should map and rewrite amounts without floating point")
+    void testMapAndToString() {
+        String qr = withCrc(MPM_PAYMENT_BODY);
+        QrisDataObject amount = new QrisParser().parse(qr).getQrisRoot().get(54);
+        assertSame(amount.toAmount(), amount.toAmount());
+
+        Qris qris = new QrisMapper().map(new QrisParser().parse(qr).getQrisRoot());
+
+        assertEquals(QrisAmount.parse("1000.50"), qris.getTransactionAmountValue());
+        assertEquals(1000.5, qris.getTransactionAmount());
+        assertEquals(QrisAmount.parse("0.50"), qris.getTip().getPercentageValue());
+        assertEquals(0.5, qris.getTip().getPercentage());
+        assertEquals(qr, qris.toString());
+
+        qris.setTransactionAmount(2000.75);
+        assertEquals(QrisAmount.parse("2000.75"), qris.getTransactionAmountValue());
+        assertTrue(qris.toString().contains("54072000.75"));
+        qris.setTransactionAmountValue(QrisAmount.parse("3000.10"));
+        assertEquals(3000.1, qris.getTransactionAmount());
+    }
+
+    @Test
+    @DisplayName("Should derive double and fixed-point amount from each other")
+    void testDoubleAmount() {
+        assertEquals("500.0", QrisAmount.valueOf(500.0).toString());
+        assertEquals("500", QrisAmount.valueOf(500.0).stripTrailingZeros().toString());
+        assertEquals("1000.5", QrisAmount.parse("1000.50").stripTrailingZeros().toString());
+        assertSame(QrisAmount.ZERO, QrisAmount.valueOf(0.0).stripTrailingZeros());
+        assertEquals("0.001", QrisAmount.valueOf(0.001).toString());
+        assertEquals("10000000", QrisAmount.valueOf(1.0E7).toString());
+        for (double invalid : new double[]{-1, Double.NaN, Double.POSITIVE_INFINITY, 1.0E19, 1.0E-20}) {
+            assertThrows(IllegalArgumentException.class, () -> QrisAmount.valueOf(invalid), String.valueOf(invalid));
+            assertNull(QrisAmount.tryValueOf(invalid), String.valueOf(invalid));
+
+            // setter model tetap menerima nilai apa pun, nominal yang tidak dapat ditulis ditolak oleh encoder
+            Qris qris = Qris.builder().transactionAmount(invalid).tip(new Tip("02", invalid, invalid)).build();
+            assertEquals(invalid, qris.getTransactionAmount());
+            assertNull(qris.getTransactionAmountValue());
+            assertEquals(invalid, qris.getTip().getFixed());
+            assertNull(qris.getTip().getFixedValue());
+            assertEquals(invalid, qris.getTip().getPercentage());
+            assertNull(qris.getTip().getPercentageValue());
+        }
+
+        Tip tip = new Tip("02", 500.0, 2.5);
+        assertEquals(QrisAmount.parse("500"), tip.getFixedValue());
+        assertEquals(QrisAmount.parse("2.5"), tip.getPercentageValue());
+        assertEquals(0.0, Tip.builder().build().getFixed());
+        assertNull(Tip.builder().fixed(null).build().getFixedValue());
+        assertEquals(0.0, Qris.builder().build().getTransactionAmount());
+        assertEquals(0.0, new Qris().getTransactionAmount());
+    }
+
+    @Test
+    @DisplayName("Should keep amounts when a mapped Qris is written and read as JSON")
+    void testJson() throws JsonProcessingException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        Qris qris = new QrisMapper().map(new QrisParser().parse(withCrc(MPM_PAYMENT_BODY)).getQrisRoot());
+
+        String json = objectMapper.writeValueAsString(qris);
+        assertFalse(json.contains("Value"), json);
+        Qris read = objectMapper.readValue(json, Qris.class);
+
+        assertEquals(1000.5, read.getTransactionAmount());
+        assertEquals(QrisAmount.parse("1000.5"), read.getTransactionAmountValue());
+        assertEquals(0.5, read.getTip().getPercentage());
+        assertEquals(qris.getTip().getFixed(), read.getTip().getFixed());
+    }
+}
@@ -0,0 +1,168 @@
+package com.astrapay.qris.mpm.object;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.astrapay.qris.QrisTestPayloads.MPM_PAYMENT_BODY;
+import static com.astrapay.qris.QrisTestPayloads.withCrc;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test untuk {@link QrisTlvMap}, penyimpanan data object berbasis offset terhadap payload.
+ */
+@DisplayName("QrisTlvMap Tests")
+class QrisTlvMapTest {
+
+    private static final String QR =
+            "00020101021126640018ID.CO.ASTRAPAY.WWW011893600822321000024002092100002400303UBE51440014ID.CO.QRIS.WWW0215ID20210662463920303UBE5204581253033605802ID5913TEST MERCHANT6007Jakarta61054433562080704AP016304A79C";
+
+    @Test
+    @DisplayName("Should keep payload order and expose Map view")
+    void testOrderAndMapView() {
+        QrisTlvMap map = QrisTlvMap.of(QR);
+
+        List<Integer> ids = new ArrayList<>(map.keySet());
+        assertEquals(Arrays.asList(0, 1, 26, 51, 52, 53, 58, 59, 60, 61, 62, 63), ids);
+        assertEquals(12, map.size());
+        assertEquals("TEST MERCHANT", map.get((Object) 59).getValue());
+        assertEquals("13", map.get(59).getLength());
+        assertEquals(59, map.get(59).getIntId());
+        assertSame(map.get(59), map.get(59), "Data object should be created once");
+        assertFalse(map.containsKey(54));
+        assertNull(map.get(99));
+        assertNull(map.get("59"));
+    }
+
+    @Test
+    @DisplayName("Should expose value offsets against the original payload")
+    void testOffsets() {
+        QrisTlvMap map = QrisTlvMap.of(QR);
+
+        int start = map.valueStart(59);
+        assertEquals("TEST MERCHANT", QR.substring(start, start + map.valueLength(59)));
+        assertEquals(-1, map.valueStart(54));
+        assertEquals(62, map.idAt(10));
+        assertSame(QR, map.getSource());
+    }
+
+    @Test
+    @DisplayName("Should read the parsed value when length is set before value")
+    void testSetLengthBeforeGetValue() {
+        QrisDataObject longer = QrisTlvMap.of(QR).get(59);
+        longer.setLength("14");
+        assertEquals("TEST MERCHANT", longer.getValue());
+
+        QrisDataObject shorter = QrisTlvMap.of(QR).get(59);
+        shorter.setLength("04");
+        assertEquals(4, shorter.getIntLength());
+        assertEquals("TEST MERCHANT", shorter.getValue());
+        assertEquals("04", shorter.getLength());
+
+        QrisDataObject amount = QrisTlvMap.of(withCrc(MPM_PAYMENT_BODY.replace("5802ID", "54061500.95802ID"))).get(54);
+        amount.setLength("02");
+        assertEquals("1500.9", amount.toAmount().toString());
+    }
+
+    @Test
+    @DisplayName("Should index templates on first read")
+    void testTemplate() {
+        QrisTlvMap map = QrisTlvMap.of(QR);
+
+        QrisTlvMap template = (QrisTlvMap) map.get(26).getTemplateMap();
+        assertEquals(26, template.getParentId());
+        assertEquals("ID.CO.ASTRAPAY.WWW", template.get(0).getValue());
+        assertEquals("UBE", template.get(3).getValue());
+        assertNull(template.get(3).getTemplateMap());
+        assertNull(map.get(59).getTemplateMap());
+    }
+
+    @Test
+    @DisplayName("Should support put and remove")
+    void testPutAndRemove() {
+        QrisTlvMap map = QrisTlvMap.of(QR);
+
+        assertNotNull(map.remove(26));
+        assertFalse(map.containsKey(26));
+        assertEquals(51, map.idAt(2));
+        assertEquals("5812", map.get(52).getValue());
+
+        map.put(54, new QrisDataObject("54", "05", "10000"));
+        assertEquals(54, map.idAt(map.size() - 1));
+        assertEquals("10000", map.get(54).getValue());
+        assertEquals(5, map.valueLength(54));
+        assertEquals(-1, map.valueStart(54));
+
+        QrisDataObject previous = map.put(59, new QrisDataObject("59", "03", "ABC"));
+        assertEquals("TEST MERCHANT", previous.getValue());
+        assertEquals("ABC", map.get(59).getValue());
+
+        for (Map.Entry<Integer, QrisDataObject> entry : map.entrySet()) {
+            if (entry.getKey() == 60) {
+                QrisDataObject city = entry.setValue(new QrisDataObject("60", "07", "Bandung"));
+                assertEquals("Jakarta", city.getValue());
+                assertEquals("Bandung", entry.getValue().getValue());
+            }
+        }
+        assertEquals("Bandung", map.get(60).getValue());
+        assertEquals(7, map.valueLength(60));
+    }
+
+    @Test
+    @DisplayName("Should reject duplicate id")
+    void testDuplicate() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> QrisTlvMap.of("000201000201"));
+        assertEquals("Duplicate key '0'.", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should reject non numeric id and truncated value")
+    void testMalformed() {
+        assertThrows(NumberFormatException.class, () -> QrisTlvMap.of("AB0201"));
+        assertThrows(StringIndexOutOfBoundsException.class, () -> QrisTlvMap.of("000501"));
+        assertThrows(StringIndexOutOfBoundsException.class, () -> QrisTlvMap.of("00020"));
+    }
+
+    @Test
+    @DisplayName("Should index and check templates in the same pass with tryOf")
+    void testTryOf() {
+        QrisTlvMap map = QrisTlvMap.tryOf(QR);
+        assertEquals(QrisParseStatus.OK, map.getStatus());
+        assertEquals(-1, map.getErrorOffset());
+        assertEquals(4, map.getTemplate(62).valueLength(7));
+        assertSame(map.getTemplate(62), map.get(62).getTemplateMap());
+        assertEquals("AP01", map.get(62).getTemplateMap().get(7).getValue());
+        assertEquals(QrisTlvMap.of(QR).getChecksum(), map.getChecksum());
+
+        QrisTlvMap duplicate = QrisTlvMap.tryOf("0002016216" + "0704AP01" + "0704AP02");
+        assertEquals(QrisParseStatus.DUPLICATE_ID, duplicate.getStatus());
+        assertEquals(18, duplicate.getErrorOffset());
+        assertEquals(7, duplicate.getErrorId());
+
+        QrisTlvMap nested = QrisTlvMap.tryOf("0002016210" + "9906" + "00XX01");
+        assertEquals(QrisParseStatus.INVALID_LENGTH, nested.getStatus());
+        assertEquals(16, nested.getErrorOffset());
+
+        assertEquals(QrisParseStatus.INVALID_ID, QrisTlvMap.tryOf("AB0201").getStatus());
+        assertEquals(QrisParseStatus.TRUNCATED, QrisTlvMap.tryOf("000501").getStatus());
+    }
+
+    @Test
+    @DisplayName("Should validate lazily read value")
+    void testValidateLazyValue() {
+        QrisTlvMap map = QrisTlvMap.of("00000102AB");
+
+        Set<ConstraintViolation<QrisDataObject>> violations =
+                Validation.buildDefaultValidatorFactory().getValidator().validate(map.get(0));
+        assertTrue(violations.stream().anyMatch(v -> v.getPropertyPath().toString().equals("value")),
+                "Empty value should be reported");
+    }
+}
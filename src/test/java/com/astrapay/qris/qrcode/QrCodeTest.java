@@ -0,0 +1,229 @@
+package com.astrapay.qris.qrcode;
+
+import com.google.zxing.ChecksumException;
+import com.google.zxing.FormatException;
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.decoder.Decoder;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import com.google.zxing.qrcode.encoder.ByteMatrix;
+import com.google.zxing.qrcode.encoder.Encoder;
+import com.google.zxing.qrcode.encoder.QRCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+import static com.astrapay.qris.QrisTestPayloads.MPM_PAYMENT_BODY;
+import static com.astrapay.qris.QrisTestPayloads.MPM_PAYMENT_QR;
+import static com.astrapay.qris.QrisTestPayloads.TRANSFER_QR;
+import static com.astrapay.qris.QrisTestPayloads.withCrc;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("QR Code Test")
+class QrCodeTest {
+
+    /**
+     * "HELLO WORLD" versi 1-Q dengan mask 6, contoh yang umum dipakai untuk menjelaskan ISO/IEC 18004 ("#" = gelap).
+     */
+    private static final String[] HELLO_WORLD_1Q = {
+            "#######....#..#######",
+            "#.....#.##..#.#.....#",
+            "#.###.#..#.##.#.###.#",
+            "#.###.#.#####.#.###.#",
+            "#.###.#.##.#..#.###.#",
+            "#.....#..#..#.#.....#",
+            "#######.#.#.#.#######",
+            "........##.##........",
+            ".#.####.##..###.##.#.",
+            "#.####.#....####.###.",
+            "..#.#.##...#..##.....",
+            "#.##.#...#.##...##...",
+            "##.########.###.#####",
+            "........#...#..#.#...",
+            "#######..##..##..####",
+            "#.....#.#.#..#..#.###",
+            "#.###.#.##.#..#...###",
+            "#.###.#.#.###...#.#..",
+            "#.###.#..#....#....##",
+            "#.....#.###..###..##.",
+            "#######..#.#.......#."
+    };
+
+    private static BitMatrix toBitMatrix(QrCode qrCode) {
+        BitMatrix bits = new BitMatrix(qrCode.getSize());
+        for (int y = 0; y < qrCode.getSize(); y++) {
+            for (int x = 0; x < qrCode.getSize(); x++) {
+                if (qrCode.isDark(x, y)) {
+                    bits.set(x, y);
+                }
+            }
+        }
+        return bits;
+    }
+
+    private static String repeat(char c, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+
+    @Test
+    @DisplayName("Should select the smallest version that fits the payload")
+    void testVersionSelection() {
+        assertEquals(1, QrCode.encode(repeat('a', 17), QrCodeErrorCorrection.L).getVersion());
+        assertEquals(2, QrCode.encode(repeat('a', 18), QrCodeErrorCorrection.L).getVersion());
+        assertEquals(10, QrCode.encode(repeat('a', 213), QrCodeErrorCorrection.M).getVersion());
+        assertEquals(11, QrCode.encode(repeat('a', 214), QrCodeErrorCorrection.M).getVersion());
+        assertEquals(1, QrCode.encode(repeat('A', 25), QrCodeErrorCorrection.L).getVersion());
+        assertEquals(2, QrCode.encode(repeat('A', 26), QrCodeErrorCorrection.L).getVersion());
+        assertEquals(40, QrCode.encode(repeat('a', 2953), QrCodeErrorCorrection.L).getVersion());
+        assertEquals(40, QrCode.encode(repeat('a', 1273), QrCodeErrorCorrection.H).getVersion());
+        assertThrows(IllegalArgumentException.class, () -> QrCode.encode(repeat('a', 1274), QrCodeErrorCorrection.H));
+        assertThrows(IllegalArgumentException.class, () -> QrCode.encode("a", QrCodeErrorCorrection.L, 8));
+
+        String payload = withCrc(MPM_PAYMENT_BODY + repeat('x', 512 - MPM_PAYMENT_BODY.length() - 8));
+        assertEquals(512, payload.length());
+        for (QrCodeErrorCorrection level : QrCodeErrorCorrection.values()) {
+            QrCode qrCode = QrCode.encode(payload, level);
+            assertEquals(qrCode.getVersion() * 4 + 17, qrCode.getSize());
+        }
+    }
+
+    @Test
+    @DisplayName("Should match the HELLO WORLD 1-Q module matrix")
+    void testGoldenVector() {
+        QrCode qrCode = QrCode.encode("HELLO WORLD", QrCodeErrorCorrection.Q, 6);
+        assertEquals(1, qrCode.getVersion());
+        assertEquals(HELLO_WORLD_1Q.length, qrCode.getSize());
+        for (int y = 0; y < qrCode.getSize(); y++) {
+            for (int x = 0; x < qrCode.getSize(); x++) {
+                assertEquals(HELLO_WORLD_1Q[y].charAt(x) == '#', qrCode.isDark(x, y), "module " + x + "," + y);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should produce the same modules as ZXing and decode back to the payload")
+    void testSameAsZxing() throws WriterException, FormatException, ChecksumException {
+        String[] payloads = {
+                "HELLO WORLD",
+                MPM_PAYMENT_QR,
+                TRANSFER_QR,
+                withCrc(MPM_PAYMENT_BODY + repeat('x', 512 - MPM_PAYMENT_BODY.length() - 8))
+        };
+        for (String payload : payloads) {
+            for (QrCodeErrorCorrection level : QrCodeErrorCorrection.values()) {
+                QRCode expected = Encoder.encode(payload, ErrorCorrectionLevel.valueOf(level.name()));
+                QrCode qrCode = QrCode.encode(payload, level, expected.getMaskPattern());
+                String message = level + " " + payload;
+
+                assertEquals(expected.getVersion().getVersionNumber(), qrCode.getVersion(), message);
+                ByteMatrix matrix = expected.getMatrix();
+                for (int y = 0; y < qrCode.getSize(); y++) {
+                    for (int x = 0; x < qrCode.getSize(); x++) {
+                        assertEquals(matrix.get(x, y) == 1, qrCode.isDark(x, y), message);
+                    }
+                }
+                assertEquals(payload, new Decoder().decode(toBitMatrix(QrCode.encode(payload, level))).getText(), message);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should draw finder, timing and format patterns")
+    void testFunctionPatterns() {
+        QrCode qrCode = QrCode.encode(MPM_PAYMENT_QR, QrCodeErrorCorrection.M);
+        int size = qrCode.getSize();
+        for (int i = 0; i < 7; i++) {
+            assertTrue(qrCode.isDark(i, 0));
+            assertTrue(qrCode.isDark(size - 1 - i, 6));
+            assertTrue(qrCode.isDark(0, size - 1 - i));
+            assertFalse(qrCode.isDark(i, 7));
+        }
+        assertTrue(qrCode.isDark(3, 3));
+        assertFalse(qrCode.isDark(1, 1));
+        for (int i = 8; i < size - 8; i++) {
+            assertEquals(i % 2 == 0, qrCode.isDark(i, 6));
+            assertEquals(i % 2 == 0, qrCode.isDark(6, i));
+        }
+        assertTrue(qrCode.isDark(8, size - 8));
+        assertFalse(qrCode.isDark(-1, 0));
+        assertFalse(qrCode.isDark(size, 0));
+
+        // format information pada kedua salinan harus sama
+        for (int i = 0; i < 8; i++) {
+            int y = i < 6 ? i : i + 1;
+            assertEquals(qrCode.isDark(8, y), qrCode.isDark(size - 1 - i, 8));
+        }
+    }
+
+    @Test
+    @DisplayName("Should render PNG and SVG")
+    void testRenderer() {
+        QrCode qrCode = QrCode.encode(MPM_PAYMENT_QR, QrCodeErrorCorrection.M);
+        int dimension = (qrCode.getSize() + 8) * 3;
+        byte[] png = QrCodeRenderer.toPng(qrCode, 3, 4);
+        ByteBuffer buffer = ByteBuffer.wrap(png);
+
+        assertEquals(0x89504E47, buffer.getInt());
+        assertEquals(0x0D0A1A0A, buffer.getInt());
+        String[] chunks = {"IHDR", "IDAT", "IEND"};
+        for (String chunk : chunks) {
+            int length = buffer.getInt();
+            byte[] type = new byte[4];
+            buffer.get(type);
+            assertEquals(chunk, new String(type, StandardCharsets.US_ASCII));
+            if ("IHDR".equals(chunk)) {
+                assertEquals(13, length);
+                assertEquals(dimension, buffer.getInt(buffer.position()));
+                assertEquals(dimension, buffer.getInt(buffer.position() + 4));
+            }
+            CRC32 crc = new CRC32();
+            crc.update(png, buffer.position() - 4, length + 4);
+            buffer.position(buffer.position() + length);
+            assertEquals((int) crc.getValue(), buffer.getInt());
+        }
+        assertFalse(buffer.hasRemaining());
+
+        String svg = QrCodeRenderer.toSvg(qrCode, 4);
+        assertTrue(svg.contains("viewBox=\"0 0 " + (qrCode.getSize() + 8) + " " + (qrCode.getSize() + 8) + "\""));
+        assertTrue(svg.contains("M4,4h7v1h-7z"));
+        assertTrue(svg.endsWith("</svg>\n"));
+        assertThrows(IllegalArgumentException.class, () -> QrCodeRenderer.toPng(qrCode, 0, 4));
+        assertThrows(IllegalArgumentException.class, () -> QrCodeRenderer.toSvg(qrCode, -1));
+    }
+
+    @Test
+    @DisplayName("Should cache rendered images with LRU eviction")
+    void testCache() {
+        QrCodeCache cache = new QrCodeCache(2, QrCodeErrorCorrection.M);
+        String first = MPM_PAYMENT_QR;
+        String second = withCrc(MPM_PAYMENT_BODY.replace("TEST MERCHANT", "TEST MERCHANX"));
+
+        byte[] png = cache.png(first);
+        png[0] = 0;
+        assertArrayEquals(QrCodeRenderer.toPng(QrCode.encode(first, QrCodeErrorCorrection.M), QrCodeCache.DEFAULT_SCALE,
+                QrCodeRenderer.DEFAULT_BORDER), cache.png(first));
+        assertSame(cache.svg(first), cache.svg(first));
+        assertEquals(2, cache.size());
+
+        String svg = cache.svg(second);
+        assertEquals(2, cache.size());
+        assertSame(svg, cache.svg(second));
+
+        // svg(first) paling lama tidak diakses sehingga dibuang saat PNG baru disimpan
+        String evicted = cache.svg(first);
+        cache.svg(second);
+        cache.png(first, 2, 0);
+        assertEquals(2, cache.size());
+        assertNotSame(evicted, cache.svg(first));
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertThrows(IllegalArgumentException.class, () -> new QrCodeCache(0, QrCodeErrorCorrection.M));
+    }
+}
@@ -0,0 +1,144 @@
+package com.astrapay.qris.validation;
+
+import com.astrapay.qris.mpm.QrisParser;
+import com.astrapay.qris.mpm.object.QrisDataObject;
+import com.astrapay.qris.mpm.object.QrisPayload;
+import com.astrapay.qris.mpm.object.QrisType;
+import com.astrapay.qris.mpm.validation.QrisValidationMode;
+import com.astrapay.qris.mpm.validation.QrisValidationPlan;
+import com.astrapay.qris.mpm.validation.QrisViolation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static com.astrapay.qris.QrisTestPayloads.withCrc;
+import static com.astrapay.qris.QrisTestPayloads.MPM_PAYMENT_BODY;
+import static com.astrapay.qris.QrisTestPayloads.TRANSFER_BODY;
+import static com.astrapay.qris.QrisTestPayloads.MPM_PAYMENT_QR;
+import static com.astrapay.qris.QrisTestPayloads.TRANSFER_QR;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("QRIS Validation Plan Test")
+class QrisValidationPlanTest {
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private final QrisParser parser = new QrisParser();
+
+    private static Set<String> codes(List<QrisViolation> violations) {
+        return violations.stream().map(v -> v.getCode() + "@" + v.getPath() + ":" + v.getMessage()).collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    private Set<String> hibernateCodes(QrisPayload payload) {
+        Set<String> codes = new TreeSet<>();
+        for (ConstraintViolation<QrisPayload> violation : validator.validate(payload)) {
+            codes.add(violation.getConstraintDescriptor().getAnnotation().annotationType().getSimpleName()
+                    + "@" + violation.getPropertyPath() + ":" + violation.getMessage());
+        }
+        return codes;
+    }
+
+    private Set<String> hibernateDataObjectCodes(Map<Integer, QrisDataObject> root) {
+        Set<String> codes = new TreeSet<>();
+        for (Map.Entry<Integer, QrisDataObject> entry : root.entrySet()) {
+            for (ConstraintViolation<QrisDataObject> violation : validator.validate(entry.getValue())) {
+                String path = violation.getPropertyPath().toString();
+                codes.add(violation.getConstraintDescriptor().getAnnotation().annotationType().getSimpleName()
+                        + "@qrisRoot[" + entry.getKey() + "]" + (path.isEmpty() ? "" : "." + path) + ":" + violation.getMessage());
+            }
+        }
+        return codes;
+    }
+
+    @Test
+    @DisplayName("Should report the same payload and root violations as Bean Validation")
+    void testSameAsBeanValidation() {
+        String[] qrs = {
+                MPM_PAYMENT_QR,
+                MPM_PAYMENT_BODY + "63040000",
+                withCrc(MPM_PAYMENT_BODY.replace("5303360", "5303000")),
+                withCrc(MPM_PAYMENT_BODY.replace("5802ID", "5802XX")),
+                withCrc(MPM_PAYMENT_BODY.replace("5802ID", "54010" + "550201" + "5802ID")),
+                withCrc(MPM_PAYMENT_BODY.replace("5802ID", "550202" + "5703100" + "5802ID")),
+                withCrc(MPM_PAYMENT_BODY.replace("5913TEST MERCHANT", "")),
+                withCrc(MPM_PAYMENT_BODY.replace("010211", "010213")),
+                TRANSFER_QR,
+                withCrc(TRANSFER_BODY.replace("010212", "010211")),
+                withCrc(TRANSFER_BODY.replace("52044829", "52045812")),
+                withCrc(TRANSFER_BODY.replace("0804DMCT", "0804BOOK").replace("5303360", "5303840")),
+        };
+        for (String qr : qrs) {
+            QrisPayload payload = parser.parse(qr);
+            Set<String> plan = codes(QrisValidationPlan.forType(payload.getQrisType()).validate(payload));
+            assertEquals(hibernateCodes(payload), plan, qr);
+        }
+    }
+
+    @Test
+    @DisplayName("Should report the same data object violations as Bean Validation on QrisDataObject")
+    void testDataObjectSameAsBeanValidation() {
+        String[] qrs = {
+                MPM_PAYMENT_QR,
+                withCrc(MPM_PAYMENT_BODY.replace("0303UBE5144", "0303XXX5144")),
+                withCrc(MPM_PAYMENT_BODY.replace("01189360082232100002400209", "011893600822A2100002400209")),
+                withCrc(MPM_PAYMENT_BODY.replace("0018ID.CO.ASTRAPAY.WWW", "0018-D.CO.ASTRAPAY.WWW")),
+                withCrc(MPM_PAYMENT_BODY.replace("62080704AP01", "62150704AP010903AAM")),
+        };
+        for (String qr : qrs) {
+            QrisPayload payload = parser.parse(qr);
+            Set<String> plan = codes(QrisValidationPlan.forType(payload.getQrisType()).withDataObjects().validate(payload));
+            plan.removeIf(code -> !code.contains("@qrisRoot["));
+            assertEquals(hibernateDataObjectCodes(payload.getQrisRoot()), plan, qr);
+        }
+    }
+
+    @Test
+    @DisplayName("Should pass valid payment and transfer QR")
+    void testValid() {
+        QrisPayload payment = parser.parse(MPM_PAYMENT_QR);
+        QrisPayload transfer = parser.parse(TRANSFER_QR);
+
+        assertTrue(QrisValidationPlan.forType(QrisType.MPM_PAYMENT).validate(payment).isEmpty());
+        assertTrue(QrisValidationPlan.forType(QrisType.MPM_PAYMENT).withDataObjects().validate(payment).isEmpty());
+        assertTrue(QrisValidationPlan.forType(QrisType.MPM_TRANSFER).validate(transfer, QrisValidationMode.FAIL_FAST).isEmpty());
+        assertSame(QrisValidationPlan.forType(QrisType.MPM_PAYMENT), QrisValidationPlan.forType(QrisType.MPM_PAYMENT));
+        assertSame(QrisValidationPlan.forType(QrisType.MPM_PAYMENT).withDataObjects(),
+                QrisValidationPlan.forType(QrisType.MPM_PAYMENT).withDataObjects().withDataObjects());
+    }
+
+    @Test
+    @DisplayName("Should stop at first violation in fail-fast mode")
+    void testFailFast() {
+        QrisPayload payload = parser.parse(withCrc(MPM_PAYMENT_BODY.replace("5913TEST MERCHANT", "").replace("5802ID", "5802XX")));
+        QrisValidationPlan plan = QrisValidationPlan.forType(QrisType.MPM_PAYMENT);
+
+        assertEquals(1, plan.validate(payload, QrisValidationMode.FAIL_FAST).size());
+        assertEquals(3, plan.validate(payload, QrisValidationMode.COLLECT_ALL).size());
+    }
+
+    @Test
+    @DisplayName("Should report validator exception as violation with tag")
+    void testValidatorException() {
+        QrisPayload payload = parser.parse(withCrc(MPM_PAYMENT_BODY.replace("26640018", "26570018").replace("0303UBE5144", "5144")));
+
+        List<QrisViolation> violations = QrisValidationPlan.forType(QrisType.MPM_PAYMENT).withDataObjects().validate(payload);
+
+        assertTrue(violations.stream().anyMatch(v -> v.getCode().equals("MerchantAccountInformationCriteria")
+                && v.getTag() == 26 && v.getPath().equals("qrisRoot[26]")), violations.toString());
+        assertTrue(violations.stream().anyMatch(v -> v.getCode().equals("MerchantAccountInformationMandatoryField")
+                && v.getMessage().equals("Merchant Account Information field 3 is mandatory")), violations.toString());
+    }
+
+    @Test
+    @DisplayName("Should reject type without payload class")
+    void testUnsupportedType() {
+        assertThrows(UnsupportedOperationException.class, () -> QrisValidationPlan.forType(QrisType.MPM_CASH_OUT));
+    }
+}